@@ -0,0 +1,162 @@
+package com.meli.ordermanagement.admission;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * A "Bouncer" that decides how many requests may be inside the application at once.
+ *
+ * There is no fixed number: the limit follows the latency of OrderService. Calls are averaged over
+ * short windows (e.g. 100 ms), and two figures are kept: the average of the latest window, and a slow
+ * moving average over the last few hundred windows (about a minute). While the latest window stays close
+ * to the long average, the database is keeping up and the limit slowly grows. When it climbs well above
+ * it, requests are queueing somewhere (usually for a database connection), and the limit shrinks in
+ * proportion, down to half per window at most.
+ * This is the "gradient" algorithm used by Netflix's concurrency-limits library.
+ *
+ * A single call counts for at most twice the slowdown that is tolerated (see onSample), so one call that
+ * was slow for its own reasons cannot drag a whole window's average down on its own.
+ *
+ * Requests over the limit are turned away at once, so the ones that are let in still finish quickly
+ * instead of every request slowing down and timing out together.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    // A window is only used once it holds this many calls, so a few odd calls cannot move the limit.
+    private static final int MIN_WINDOW_SAMPLES = 5;
+    // How many windows the long average roughly spans.
+    private static final int LONG_WINDOW = 600;
+    // No call counts for more than this many times (rttTolerance x the long average). Slower than that, the
+    // gradient is at its floor anyway, so the cap only keeps a lone outlier from weighing on its window.
+    private static final double MAX_SAMPLE_SLOWDOWN = 2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final long windowNanos;
+    private final LongSupplier clock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Only touched inside onSample (synchronized).
+    private long windowStart;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private double longRtt;
+
+    /**
+     * @param initialLimit The limit before any latency has been observed.
+     * @param minLimit     The limit never goes below this.
+     * @param maxLimit     The limit never goes above this.
+     * @param smoothing    How much of each new estimate is taken (0-1); lower reacts more slowly.
+     * @param rttTolerance How much slower than usual calls may get before the limit starts to shrink (e.g. 1.5).
+     * @param window       How long calls are averaged before the limit is recalculated.
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing, double rttTolerance,
+                                      Duration window) {
+        this(initialLimit, minLimit, maxLimit, smoothing, rttTolerance, window, System::nanoTime);
+    }
+
+    // For tests: a clock that can be moved by hand.
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing, double rttTolerance,
+                               Duration window, LongSupplier clock) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Expected 1 <= min-limit <= initial-limit <= max-limit.");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.windowNanos = window.toNanos();
+        this.clock = clock;
+        this.limit = initialLimit;
+        this.windowStart = clock.getAsLong();
+    }
+
+    /**
+     * Lets a request in if there is room. Every successful call must be followed by release().
+     *
+     * @return true if the request may go ahead, false if it should be turned away.
+     */
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > (int) limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gives back the place taken by tryAcquire().
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Feeds the duration of one OrderService call into the current window; when the window is over,
+     * the limit is recalculated from it.
+     *
+     * @param rttNanos How long the call took.
+     */
+    public synchronized void onSample(long rttNanos) {
+        if (longRtt > 0) {
+            rttNanos = (long) Math.min(rttNanos, MAX_SAMPLE_SLOWDOWN * rttTolerance * longRtt);
+        }
+        windowRttSum += rttNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight.get());
+        long now = clock.getAsLong();
+        if (now - windowStart < windowNanos || windowSamples < MIN_WINDOW_SAMPLES) {
+            return;
+        }
+        double shortRtt = (double) windowRttSum / windowSamples;
+        int maxInFlight = windowMaxInFlight;
+        windowStart = now;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        update(shortRtt, maxInFlight);
+    }
+
+    private void update(double shortRtt, int maxInFlight) {
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+            return;
+        }
+        longRtt += (shortRtt - longRtt) / LONG_WINDOW;
+
+        // After a slow period the long average lags behind; let it catch up with recovery quickly.
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+
+        double current = limit;
+        // With few requests inside, latency says nothing about how many more would fit.
+        if (maxInFlight < current / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        double estimate = current * gradient + Math.sqrt(current);
+        double next = current * (1 - smoothing) + estimate * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    /**
+     * @return The current limit.
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * @return How many requests are inside right now.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,119 @@
+package com.meli.ordermanagement.admission;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.ordermanagement.dto.ErrorResponseDTO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * The "Front Door" of the API, placed in the security filter chain right after Basic Auth.
+ *
+ * Every authenticated request to /api/** goes through two checks before it reaches a controller:
+ * 1. The user's own rate limit (PrincipalRateLimiter): too fast gives "429 Too Many Requests".
+ * 2. The application's current capacity (AdaptiveConcurrencyLimiter): full gives "503 Service Unavailable".
+ * Both answers carry Retry-After and the usual ErrorResponseDTO body. They are written here directly,
+ * because filters run before Spring MVC and so before the GlobalExceptionHandler.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String ADMIN_ROLE = "ROLE_ADMIN";
+
+    private final PrincipalRateLimiter rateLimiter;
+    private final PrincipalRateLimiter.Limit userLimit;
+    private final PrincipalRateLimiter.Limit adminLimit;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final ObjectMapper objectMapper;
+    private final Counter rateLimited;
+    private final Counter overloaded;
+
+    public AdmissionControlFilter(PrincipalRateLimiter rateLimiter,
+                                  PrincipalRateLimiter.Limit userLimit,
+                                  PrincipalRateLimiter.Limit adminLimit,
+                                  AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.userLimit = userLimit;
+        this.adminLimit = adminLimit;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.objectMapper = objectMapper;
+        this.rateLimited = Counter.builder("orders.admission.rejected").tag("reason", "rate_limit")
+                .description("Requests turned away before reaching the API").register(meterRegistry);
+        this.overloaded = Counter.builder("orders.admission.rejected").tag("reason", "overload")
+                .description("Requests turned away before reaching the API").register(meterRegistry);
+    }
+
+    // Only the order API is guarded; health, metrics and the docs stay reachable under load.
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            // Not logged in: the security chain answers 401 on its own.
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = rateLimiter.tryAcquire(authentication.getName(), limitFor(authentication));
+        if (waitNanos > 0) {
+            rateLimited.increment();
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            reject(request, response, HttpStatus.TOO_MANY_REQUESTS, retryAfter,
+                    Map.of("rate", "Too many requests for this user. Slow down and retry later."));
+            return;
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            overloaded.increment();
+            reject(request, response, HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    Map.of("load", "The service is at capacity. Retry later."));
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            concurrencyLimiter.release();
+        }
+    }
+
+    private PrincipalRateLimiter.Limit limitFor(Authentication authentication) {
+        boolean admin = authentication.getAuthorities().stream().anyMatch(authority -> ADMIN_ROLE.equals(authority.getAuthority()));
+        return admin ? adminLimit : userLimit;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status, long retryAfterSeconds,
+                        Map<String, String> details) throws IOException {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                status.value(),
+                status.getReasonPhrase(),
+                details,
+                "uri=" + request.getRequestURI()
+        );
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
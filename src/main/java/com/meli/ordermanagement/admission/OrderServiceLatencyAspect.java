@@ -0,0 +1,41 @@
+package com.meli.ordermanagement.admission;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Times every call into OrderService and hands the duration to the AdaptiveConcurrencyLimiter,
+ * which uses it to decide how many requests the application can take at once.
+ * Calls that fail are timed too: a timeout is the clearest sign of overload there is.
+ * It runs outside the transaction, so the wait for a database connection is part of the time.
+ *
+ * Only calls that answer a request and are done with it are timed. streamAllOrders lasts as long as its
+ * reader (an NDJSON client, or the customer search loading at startup) keeps reading, and
+ * saveAcceptedOrders is the write-behind intake's background group commit: their durations say nothing
+ * about how busy the database is, and one of them would make the limiter think it is overloaded.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class OrderServiceLatencyAspect {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public OrderServiceLatencyAspect(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Around("execution(public * com.meli.ordermanagement.service.OrderService.*(..))"
+            + " && !execution(* com.meli.ordermanagement.service.OrderService.streamAllOrders(..))"
+            + " && !execution(* com.meli.ordermanagement.service.OrderService.saveAcceptedOrders(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            limiter.onSample(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.meli.ordermanagement.admission;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A "Turnstile" per user: a token bucket for every logged-in user.
+ *
+ * Each user may send 'burst' requests at once and then 'permitsPerSecond' more every second.
+ * Instead of counting tokens, each bucket keeps a single timestamp, the moment the bucket will be
+ * full again (the "GCRA" form of a token bucket). Taking a token moves that moment forward with one
+ * compare-and-set, so there are no locks anywhere, neither in the map nor in the buckets.
+ *
+ * There is one bucket per user name, and only authenticated users reach this class, so the map
+ * never grows beyond the number of accounts.
+ */
+public class PrincipalRateLimiter {
+
+    /**
+     * How fast one user may send requests.
+     *
+     * @param permitsPerSecond The sustained rate.
+     * @param burst            How many requests may arrive at once after a quiet period.
+     */
+    public record Limit(double permitsPerSecond, int burst) {
+
+        public Limit {
+            if (permitsPerSecond <= 0 || burst < 1) {
+                throw new IllegalArgumentException("A rate limit needs a positive rate and a burst of at least 1.");
+            }
+        }
+
+        long intervalNanos() {
+            return (long) (1_000_000_000L / permitsPerSecond);
+        }
+    }
+
+    // user name -> the moment (System.nanoTime) at which that user's bucket is full again.
+    private final ConcurrentMap<String, AtomicLong> fullAt = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    public PrincipalRateLimiter() {
+        this(System::nanoTime);
+    }
+
+    // For tests: a clock that can be moved by hand.
+    PrincipalRateLimiter(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Takes one token from the user's bucket.
+     *
+     * @param principal The user name.
+     * @param limit     The limit for this user's role.
+     * @return 0 if the request may go ahead, otherwise how many nanoseconds until a token is free.
+     */
+    public long tryAcquire(String principal, Limit limit) {
+        long interval = limit.intervalNanos();
+        long tolerance = interval * limit.burst();
+        AtomicLong bucket = fullAt.get(principal);
+        if (bucket == null) {
+            bucket = fullAt.computeIfAbsent(principal, name -> new AtomicLong(clock.getAsLong()));
+        }
+        while (true) {
+            long now = clock.getAsLong();
+            long current = bucket.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
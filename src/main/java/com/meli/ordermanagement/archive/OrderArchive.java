@@ -0,0 +1,158 @@
+package com.meli.ordermanagement.archive;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.model.OrderStatus;
+import com.meli.ordermanagement.repository.ArchivedOrderRepository;
+import com.meli.ordermanagement.repository.DailyStatusTotal;
+import com.meli.ordermanagement.repository.OrderSearchCriteria;
+import com.meli.ordermanagement.sharding.ShardContext;
+
+/**
+ * The "Basement" of the orders: where OrderService looks when an order is not in the "orders" table.
+ *
+ * Reads by id (single, multi-get and ETag checks) fall through to the archive only after missing the
+ * orders table. Listing and searching only read the archive when it can hold a match: the archive only
+ * has orders in the archived statuses, placed more than 'minAge' ago (by any node's OrderArchiver), or
+ * before the newest order that was already there at startup (in case min-age was raised since).
+ * So the usual queries on recent orders, or on open statuses, never touch it.
+ * Archived orders are read-only: updating or deleting one answers 404.
+ */
+public class OrderArchive {
+
+    private final ArchivedOrderRepository archivedOrders;
+    private final Set<OrderStatus> archivedStatuses;
+    private final Duration minAge;
+
+    // Newest orderDate in the archive of each shard when it was first read (empty: the archive was empty).
+    private final ConcurrentMap<Integer, Optional<LocalDateTime>> newestAtStartup = new ConcurrentHashMap<>();
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * @param archivedOrders   The archive table.
+     * @param archivedStatuses The statuses the OrderArchiver moves (the final ones).
+     * @param minAge           How old (by orderDate) an order must be before the OrderArchiver moves it.
+     */
+    public OrderArchive(ArchivedOrderRepository archivedOrders, Set<OrderStatus> archivedStatuses, Duration minAge) {
+        this.archivedOrders = archivedOrders;
+        this.archivedStatuses = Set.copyOf(archivedStatuses);
+        this.minAge = minAge;
+    }
+
+    /**
+     * @param id The id of an order that is not in the orders table.
+     * @return The archived order, or empty if it is not archived either.
+     */
+    public Optional<OrderResponseDTO> findById(Long id) {
+        return findByIds(List.of(id)).stream().findFirst();
+    }
+
+    /**
+     * @param ids The ids of orders that are not in the orders table.
+     * @return The ones that are archived, in no particular order.
+     */
+    public List<OrderResponseDTO> findByIds(Collection<Long> ids) {
+        List<OrderResponseDTO> found = archivedOrders.findResponsesByIds(ids);
+        lookups.add(ids.size());
+        hits.add(found.size());
+        return found;
+    }
+
+    /**
+     * @param id The id of an order that is not in the orders table.
+     * @return Its archived version, or empty if it is not archived either.
+     */
+    public Optional<Long> findVersionById(Long id) {
+        Optional<Long> version = archivedOrders.findVersionById(id);
+        lookups.increment();
+        if (version.isPresent()) {
+            hits.increment();
+        }
+        return version;
+    }
+
+    /**
+     * Whether a search (or the page after 'afterDate') could find anything in the archive.
+     *
+     * @param criteria  The filters of the search.
+     * @param afterDate The orderDate of the last order of the previous page, or null for the first page.
+     * @return 'false' if the archive certainly holds no match, so it need not be read.
+     */
+    public boolean mayHold(OrderSearchCriteria criteria, LocalDateTime afterDate) {
+        if (criteria.status() != null && !archivedStatuses.contains(criteria.status())) {
+            return false;
+        }
+        LocalDateTime newest = newestArchivable();
+        if (criteria.from() != null && criteria.from().isAfter(newest)) {
+            return false;
+        }
+        return afterDate == null || !afterDate.isAfter(newest);
+    }
+
+    /**
+     * @see ArchivedOrderRepository#search
+     */
+    public List<OrderResponseDTO> search(OrderSearchCriteria criteria, LocalDateTime afterDate, Long afterId, int maxResults) {
+        return archivedOrders.search(criteria, afterDate, afterId, maxResults);
+    }
+
+    /**
+     * @return Every archived order.
+     */
+    public List<OrderResponseDTO> findAll() {
+        return archivedOrders.findAllResponses();
+    }
+
+    /**
+     * @return Every archived order, sorted by (orderDate, id); must be read inside a transaction and closed.
+     */
+    public Stream<OrderResponseDTO> streamAll() {
+        return archivedOrders.streamAllResponses();
+    }
+
+    /**
+     * @return The archive's orders and revenue per day and status, for the statistics reconciliation.
+     */
+    public List<DailyStatusTotal> sumByDayAndStatus() {
+        return archivedOrders.sumByDayAndStatus();
+    }
+
+    // The newest orderDate the archive of the current shard can hold.
+    private LocalDateTime newestArchivable() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(minAge);
+        Optional<LocalDateTime> atStartup = newestAtStartup.computeIfAbsent(shard(),
+                shard -> Optional.ofNullable(archivedOrders.findNewestOrderDate()));
+        return atStartup.filter(newest -> newest.isAfter(cutoff)).orElse(cutoff);
+    }
+
+    private static Integer shard() {
+        Integer shard = ShardContext.current();
+        return shard == null ? ShardContext.MAIN_SHARD : shard;
+    }
+
+    /**
+     * @return How many orders were looked for in the archive after missing the orders table.
+     */
+    public long getLookups() {
+        return lookups.sum();
+    }
+
+    /**
+     * @return How many of them were found there.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+}
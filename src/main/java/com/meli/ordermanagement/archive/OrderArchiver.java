@@ -0,0 +1,161 @@
+package com.meli.ordermanagement.archive;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.meli.ordermanagement.model.OrderStatus;
+import com.meli.ordermanagement.repository.ArchivedOrderRepository;
+import com.meli.ordermanagement.repository.OrderRepository;
+import com.meli.ordermanagement.sharding.OrderShards;
+
+/**
+ * The "Mover" that takes old, finished orders down to the archive (OrderArchive).
+ *
+ * Every orders.archive.interval it moves the orders placed more than 'minAge' ago that are in one of the
+ * archived statuses, oldest first, in batches of 'batchSize'. Each batch is one short transaction:
+ * the orders are copied with one INSERT ... SELECT and deleted with one DELETE, so the orders table is
+ * never locked for long. It rests 'pause' between batches and does at most 'maxBatchesPerRun' per run,
+ * so a big backlog is worked off over several runs instead of competing with live traffic.
+ *
+ * An order updated (or deleted) between the copy and the delete is not moved: the delete only takes the
+ * orders still at the copied version, and the copies of the others are removed in the same transaction.
+ * With sharding on, every shard moves its own orders into its own archive table.
+ */
+public class OrderArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiver.class);
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrders;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderShards shards;
+    private final Duration minAge;
+    private final Set<OrderStatus> statuses;
+    private final int batchSize;
+    private final Duration pause;
+    private final int maxBatchesPerRun;
+
+    private final LongAdder moved = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    /**
+     * @param orderRepository     The orders table.
+     * @param archivedOrders      The archive table.
+     * @param transactionTemplate Runs each batch in its own transaction.
+     * @param shards              The shards, or null when sharding is off.
+     * @param minAge              How old (by orderDate) an order must be to be moved.
+     * @param statuses            The statuses an order must be in to be moved (the final ones).
+     * @param batchSize           How many orders each transaction moves.
+     * @param pause               How long to rest between batches.
+     * @param maxBatchesPerRun    How many batches a run (per shard) may move at most.
+     */
+    public OrderArchiver(OrderRepository orderRepository, ArchivedOrderRepository archivedOrders,
+                         TransactionTemplate transactionTemplate, OrderShards shards,
+                         Duration minAge, Set<OrderStatus> statuses, int batchSize, Duration pause, int maxBatchesPerRun) {
+        this.orderRepository = orderRepository;
+        this.archivedOrders = archivedOrders;
+        this.transactionTemplate = transactionTemplate;
+        this.shards = shards;
+        this.minAge = minAge;
+        this.statuses = Set.copyOf(statuses);
+        this.batchSize = batchSize;
+        this.pause = pause;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    /**
+     * Moves the orders that are old enough (on every shard), batch by batch.
+     *
+     * @return How many orders were moved.
+     */
+    @Scheduled(fixedDelayString = "${orders.archive.interval:PT1H}",
+               initialDelayString = "${orders.archive.interval:PT1H}")
+    public int archive() {
+        long start = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now().minus(minAge);
+        int total;
+        if (shards == null) {
+            total = archiveBefore(cutoff);
+        } else {
+            try {
+                total = shards.onEachShard(shard -> archiveBefore(cutoff)).stream().mapToInt(Integer::intValue).sum();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        if (total > 0) {
+            log.info("Archived {} orders placed before {} in {} ms", total, cutoff, (System.nanoTime() - start) / 1_000_000);
+        }
+        return total;
+    }
+
+    // Moves the orders of the current shard.
+    private int archiveBefore(LocalDateTime cutoff) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            if (batch > 0 && !rest()) {
+                break;
+            }
+            BatchResult result = transactionTemplate.execute(status -> moveBatch(cutoff));
+            total += result.moved();
+            if (result.found() < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    // Waits 'pause' before the next batch; 'false' if the application is shutting down.
+    private boolean rest() {
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record BatchResult(int found, int moved) {
+    }
+
+    private BatchResult moveBatch(LocalDateTime cutoff) {
+        List<Long> ids = orderRepository.findArchivableIds(cutoff, statuses, Limit.of(batchSize));
+        if (ids.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+        archivedOrders.copyFromOrders(ids);
+        int deleted = orderRepository.deleteArchived(ids);
+        archivedOrders.deleteStillInOrders(ids);
+
+        moved.add(deleted);
+        batches.increment();
+        log.debug("Archived {} of {} orders", deleted, ids.size());
+        return new BatchResult(ids.size(), deleted);
+    }
+
+    /**
+     * @return How many orders were moved to the archive since startup.
+     */
+    public long getMoved() {
+        return moved.sum();
+    }
+
+    /**
+     * @return How many batches (transactions) moved them.
+     */
+    public long getBatches() {
+        return batches.sum();
+    }
+}
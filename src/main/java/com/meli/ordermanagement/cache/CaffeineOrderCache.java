@@ -0,0 +1,75 @@
+package com.meli.ordermanagement.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+
+/**
+ * The default, in-process OrderCache, built on Caffeine.
+ *
+ * Entries are dropped when the cache holds more than 'maxSize' orders (least useful first)
+ * or 'ttl' after they were loaded.
+ *
+ * The cache holds "promises" (CompletableFuture) of orders. On a miss, the first reader puts an
+ * empty promise in the cache and then loads the order OUTSIDE any cache lock, so the database call
+ * never blocks other keys nor pins a virtual thread; other readers of the same id wait on that promise.
+ * An invalidate() removes the promise even while it is still loading, so the old value it produces
+ * is handed to the readers already waiting but never stays in the cache.
+ */
+public class CaffeineOrderCache implements OrderCache {
+
+    private final AsyncCache<Long, OrderResponseDTO> cache;
+
+    /**
+     * @param maxSize The maximum number of orders to keep.
+     * @param ttl     How long an order may stay cached after it was loaded.
+     */
+    public CaffeineOrderCache(long maxSize, Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    @Override
+    public Optional<OrderResponseDTO> get(Long id, Function<Long, Optional<OrderResponseDTO>> loader) {
+        CompletableFuture<OrderResponseDTO> mine = new CompletableFuture<>();
+        CompletableFuture<OrderResponseDTO> cached = cache.get(id, (key, executor) -> mine);
+        if (cached == mine) {
+            // We are the loader. A promise completed with null (order not found) or with an error
+            // is dropped by Caffeine automatically, so misses and failures are not remembered.
+            try {
+                mine.complete(loader.apply(id).orElse(null));
+            } catch (RuntimeException e) {
+                mine.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return Optional.ofNullable(cached.join());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        }
+    }
+
+    @Override
+    public void invalidate(Long id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    @Override
+    public OrderCacheStats stats() {
+        Cache<Long, OrderResponseDTO> view = cache.synchronous();
+        CacheStats stats = view.stats();
+        return new OrderCacheStats(stats.hitCount(), stats.missCount(), stats.evictionCount(), view.estimatedSize());
+    }
+}
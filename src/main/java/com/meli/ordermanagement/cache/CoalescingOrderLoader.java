@@ -0,0 +1,181 @@
+package com.meli.ordermanagement.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.sharding.ShardContext;
+
+/**
+ * The "Carpool" for reading single orders from the database (the loader behind the OrderCache).
+ *
+ * Two things keep the number of queries down when many requests ask for orders at the same time:
+ * - Single flight: requests for the same id while it is being read wait for that read instead of
+ *   starting their own. Only used with the cache switched off: a cache already shares one load per id,
+ *   and knows when an update has made that load too old to join. The loader does not, so a request
+ *   arriving after an update could be handed a read that started before it, and cache it again.
+ * - Micro-batching (when batchWindow is above zero): the first request for an id waits batchWindow,
+ *   and every other id asked for meanwhile joins it, so they are all read with one
+ *   "WHERE id IN (...)" query. At most maxBatchSize ids share a query.
+ *
+ * The query runs on the thread of the first request, so a batch only gathers ids asked for on the
+ * same shard (ShardContext). Like the cache, a shared read can be a moment older than a change
+ * committed while it was running. Because any user may get another user's read, the batchLoader must
+ * read the same data whoever asks: OrderCacheConfig sends it to the primary, never to a read replica.
+ */
+public class CoalescingOrderLoader {
+
+    // The batch key when sharding is off.
+    private static final Object NO_SHARD = new Object();
+
+    private final Function<Collection<Long>, List<OrderResponseDTO>> batchLoader;
+    private final boolean coalesce;
+    private final boolean singleFlight;
+    private final long batchWindowNanos;
+    private final int maxBatchSize;
+
+    private final ConcurrentMap<Long, CompletableFuture<Optional<OrderResponseDTO>>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object, Batch> openBatches = new ConcurrentHashMap<>();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder queries = new LongAdder();
+
+    /**
+     * @param batchLoader  Reads the orders with the given ids (those that exist, in any order) with one query.
+     * @param coalesce     Whether concurrent requests may share reads at all.
+     * @param singleFlight Whether requests for an id that is being read wait for that read (see above).
+     * @param batchWindow  How long a read waits for more ids to join it; zero turns micro-batching off.
+     * @param maxBatchSize The most ids read with one query.
+     */
+    public CoalescingOrderLoader(Function<Collection<Long>, List<OrderResponseDTO>> batchLoader, boolean coalesce,
+                                 boolean singleFlight, Duration batchWindow, int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("max-batch-size must be at least 1");
+        }
+        this.batchLoader = batchLoader;
+        this.coalesce = coalesce;
+        this.singleFlight = singleFlight;
+        this.batchWindowNanos = batchWindow.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Reads one order, sharing the read with concurrent requests where possible.
+     *
+     * @param id The id of the order.
+     * @return The order, or empty if it does not exist.
+     */
+    public Optional<OrderResponseDTO> load(Long id) {
+        lookups.increment();
+        if (!coalesce) {
+            return read(List.of(id)).stream().findFirst();
+        }
+        if (!singleFlight) {
+            return batchWindowNanos > 0 ? loadInBatch(id) : read(List.of(id)).stream().findFirst();
+        }
+        CompletableFuture<Optional<OrderResponseDTO>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<OrderResponseDTO>> running = inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            return join(running);
+        }
+        try {
+            mine.complete(batchWindowNanos > 0 ? loadInBatch(id) : read(List.of(id)).stream().findFirst());
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, mine);
+        }
+        return join(mine);
+    }
+
+    private Optional<OrderResponseDTO> loadInBatch(Long id) {
+        Object shard = ShardContext.current() == null ? NO_SHARD : ShardContext.current();
+        while (true) {
+            Batch batch = openBatches.computeIfAbsent(shard, key -> new Batch());
+            int position = batch.join(id);
+            if (position < 0) {
+                // Full: the next request starts a new batch.
+                openBatches.remove(shard, batch);
+                continue;
+            }
+            if (position == 0) {
+                // First one in: wait for company, then read the whole batch.
+                LockSupport.parkNanos(batchWindowNanos);
+                openBatches.remove(shard, batch);
+                batch.run();
+            }
+            return Optional.ofNullable(join(batch.result).get(id));
+        }
+    }
+
+    private List<OrderResponseDTO> read(Collection<Long> ids) {
+        queries.increment();
+        return batchLoader.apply(ids);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        }
+    }
+
+    /**
+     * @return How many orders were asked for.
+     */
+    public long getLookups() {
+        return lookups.sum();
+    }
+
+    /**
+     * @return How many queries were needed to answer them.
+     */
+    public long getQueries() {
+        return queries.sum();
+    }
+
+    // The ids that will be read together by the request that opened the batch.
+    private final class Batch {
+
+        private final List<Long> ids = new ArrayList<>();
+        private final CompletableFuture<Map<Long, OrderResponseDTO>> result = new CompletableFuture<>();
+        private boolean closed;
+
+        // Returns the id's position in the batch, or -1 if the batch takes no more ids.
+        synchronized int join(Long id) {
+            if (closed || ids.size() >= maxBatchSize) {
+                return -1;
+            }
+            ids.add(id);
+            return ids.size() - 1;
+        }
+
+        void run() {
+            List<Long> toRead;
+            synchronized (this) {
+                closed = true;
+                toRead = List.copyOf(ids);
+            }
+            try {
+                Map<Long, OrderResponseDTO> byId = new HashMap<>();
+                read(toRead).forEach(order -> byId.put(order.getId(), order));
+                result.complete(byId);
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+}
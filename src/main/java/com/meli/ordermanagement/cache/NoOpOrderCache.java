@@ -0,0 +1,32 @@
+package com.meli.ordermanagement.cache;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+
+/**
+ * An OrderCache that remembers nothing: every read goes to the database.
+ * Used when orders.cache.enabled=false (for example to measure the cache's benefit).
+ */
+public class NoOpOrderCache implements OrderCache {
+
+    private final LongAdder misses = new LongAdder();
+
+    @Override
+    public Optional<OrderResponseDTO> get(Long id, Function<Long, Optional<OrderResponseDTO>> loader) {
+        misses.increment();
+        return loader.apply(id);
+    }
+
+    @Override
+    public void invalidate(Long id) {
+        // Nothing is cached, so there is nothing to forget.
+    }
+
+    @Override
+    public OrderCacheStats stats() {
+        return new OrderCacheStats(0, misses.sum(), 0, 0);
+    }
+}
@@ -0,0 +1,42 @@
+package com.meli.ordermanagement.cache;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+
+/**
+ * The "Short-Term Memory" for orders that were read recently.
+ *
+ * The OrderService only talks to this interface, so the in-process implementation
+ * (CaffeineOrderCache) can later be swapped for a cache shared by every node
+ * (Redis, Hazelcast, ...) just by providing a different bean.
+ *
+ * Implementations must make get() and invalidate() on the same id safe to run at the same time:
+ * an invalidate() that happens while a get() is loading must win, so a stale order is never left behind.
+ */
+public interface OrderCache {
+
+    /**
+     * Returns the cached order, or loads it with 'loader' and remembers it.
+     * Concurrent calls for the same missing id share a single load.
+     * Missing orders (empty results) are not remembered.
+     *
+     * @param id     The id of the order.
+     * @param loader Reads the order from the database when it is not cached.
+     * @return The order, or empty if it does not exist.
+     */
+    Optional<OrderResponseDTO> get(Long id, Function<Long, Optional<OrderResponseDTO>> loader);
+
+    /**
+     * Forgets the cached copy of an order, so the next read goes to the database.
+     *
+     * @param id The id of the order that changed or was deleted.
+     */
+    void invalidate(Long id);
+
+    /**
+     * @return A snapshot of the hit/miss/eviction counters.
+     */
+    OrderCacheStats stats();
+}
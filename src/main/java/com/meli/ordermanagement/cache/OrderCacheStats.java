@@ -0,0 +1,20 @@
+package com.meli.ordermanagement.cache;
+
+/**
+ * A point-in-time snapshot of how well the order cache is doing.
+ *
+ * @param hits      Reads answered from the cache.
+ * @param misses    Reads that had to go to the database.
+ * @param evictions Entries dropped because the cache was full or they expired.
+ * @param size      Entries currently held (approximate).
+ */
+public record OrderCacheStats(long hits, long misses, long evictions, long size) {
+
+    /**
+     * @return The fraction of reads answered from the cache, between 0 and 1.
+     */
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
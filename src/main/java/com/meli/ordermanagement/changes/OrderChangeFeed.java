@@ -0,0 +1,177 @@
+package com.meli.ordermanagement.changes;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+
+/**
+ * The "Notice Board" of order changes (create, update, delete), for GET /api/orders/changes.
+ *
+ * OrderService posts every committed change here. Each change gets the next sequence number and is
+ * turned into JSON ONCE, when it is posted; every subscriber then writes those same bytes.
+ * The board keeps the last 'capacity' changes in a ring buffer (the oldest is overwritten), so a
+ * client that reconnects with the last sequence it saw gets what it missed without rescanning the orders,
+ * as long as it was not away for more than 'capacity' changes.
+ *
+ * Sequence numbers start at the current time in microseconds, so numbers handed out before a restart
+ * are lower than any handed out after it and are recognised as "too old".
+ * The board lives in this process only: changes made through other nodes are not seen here.
+ */
+public class OrderChangeFeed {
+
+    /**
+     * What happened to the order.
+     */
+    public enum ChangeType { CREATED, UPDATED, DELETED }
+
+    /**
+     * One posted change.
+     *
+     * @param sequence Its number; later changes have higher numbers, without gaps.
+     * @param type     What happened.
+     * @param json     {"sequence":..,"type":..,"orderId":..,"order":{..}} in UTF-8, shared by every subscriber.
+     */
+    public record Change(long sequence, ChangeType type, byte[] json) {
+    }
+
+    /**
+     * What a subscriber gets when it asks for the changes after a sequence number.
+     *
+     * @param changes The changes, oldest first (empty if there is nothing new yet).
+     * @param missed  True if some of the requested changes are no longer (or were never) on the board.
+     */
+    public record Batch(List<Change> changes, boolean missed) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Change[] ring;
+
+    // Posting is rare next to reading, so one lock is enough; waiting subscribers park on 'posted'.
+    // A ReentrantLock (not synchronized) so waiting virtual threads do not pin their carrier.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition posted = lock.newCondition();
+
+    // The sequence of the first change ever posted, and of the latest one (first - 1 while empty).
+    private final long firstSequence;
+    private long lastSequence;
+
+    /**
+     * @param objectMapper Writes the changed orders as JSON.
+     * @param capacity     How many of the latest changes are kept for reconnecting clients.
+     */
+    public OrderChangeFeed(ObjectMapper objectMapper, int capacity) {
+        this.objectMapper = objectMapper;
+        this.ring = new Change[capacity];
+        this.firstSequence = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        this.lastSequence = firstSequence - 1;
+    }
+
+    /**
+     * Posts a committed change and wakes the subscribers. It never waits for them.
+     *
+     * @param type  What happened.
+     * @param order The order after the change (for DELETED, as it was before).
+     */
+    public void publish(ChangeType type, OrderResponseDTO order) {
+        byte[] orderJson;
+        try {
+            orderJson = objectMapper.writeValueAsBytes(order);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot write order " + order.getId() + " as JSON", e);
+        }
+        lock.lock();
+        try {
+            long sequence = lastSequence + 1;
+            ring[index(sequence)] = new Change(sequence, type, envelope(sequence, type, order.getId(), orderJson));
+            lastSequence = sequence;
+            posted.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The sequence of the latest change (a new subscriber starts after it).
+     */
+    public long latestSequence() {
+        lock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the changes posted after 'afterSequence'.
+     *
+     * @param afterSequence The last sequence the subscriber already has.
+     * @param max           The most changes to return at once.
+     * @return The changes, or 'missed' if the board no longer has all of them.
+     */
+    public Batch readAfter(long afterSequence, int max) {
+        lock.lock();
+        try {
+            long oldestKept = Math.max(firstSequence, lastSequence - ring.length + 1);
+            if (afterSequence < oldestKept - 1 || afterSequence > lastSequence) {
+                return new Batch(List.of(), true);
+            }
+            long until = Math.min(lastSequence, afterSequence + max);
+            List<Change> changes = new ArrayList<>((int) (until - afterSequence));
+            for (long sequence = afterSequence + 1; sequence <= until; sequence++) {
+                changes.add(ring[index(sequence)]);
+            }
+            return new Batch(changes, false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until a change after 'afterSequence' is posted.
+     *
+     * @param afterSequence The last sequence the subscriber already has.
+     * @param timeout       The longest wait.
+     * @return True if there is something new, false if the wait timed out.
+     * @throws InterruptedException If the waiting thread is interrupted.
+     */
+    public boolean awaitAfter(long afterSequence, Duration timeout) throws InterruptedException {
+        long nanos = timeout.toNanos();
+        lock.lock();
+        try {
+            while (lastSequence <= afterSequence) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = posted.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int index(long sequence) {
+        return (int) Math.floorMod(sequence, (long) ring.length);
+    }
+
+    // The event around the order is only numbers and an enum name, so it is written by hand
+    // around the order's JSON instead of serializing the order a second time.
+    private static byte[] envelope(long sequence, ChangeType type, Long orderId, byte[] orderJson) {
+        byte[] head = ("{\"sequence\":" + sequence + ",\"type\":\"" + type + "\",\"orderId\":" + orderId + ",\"order\":")
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] json = new byte[head.length + orderJson.length + 1];
+        System.arraycopy(head, 0, json, 0, head.length);
+        System.arraycopy(orderJson, 0, json, head.length, orderJson.length);
+        json[json.length - 1] = '}';
+        return json;
+    }
+}
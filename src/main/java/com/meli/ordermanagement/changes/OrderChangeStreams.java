@@ -0,0 +1,193 @@
+package com.meli.ordermanagement.changes;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import com.meli.ordermanagement.exception.TooManySubscribersException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The "Paper Boys" of the change feed: one per client connected to GET /api/orders/changes.
+ *
+ * Each subscriber gets its own virtual thread that reads the OrderChangeFeed from its own position and
+ * writes the changes to its connection. Publishing never waits for anyone: a slow client only slows
+ * its own thread. A client that falls so far behind that the changes it still needs were overwritten
+ * is disconnected (counted as "orders.changes.disconnects"); when it reconnects it is told to resync.
+ *
+ * Two formats are served: Server-Sent Events (the event id is the sequence, so browsers resume with
+ * Last-Event-ID on their own) and newline-delimited JSON (the sequence is in every line).
+ * Idle connections get a keep-alive every 'heartbeat' so dead ones are noticed.
+ * On shutdown every stream is ended first, so the web server's graceful shutdown does not wait for them.
+ */
+public class OrderChangeStreams implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderChangeStreams.class);
+
+    // How many changes a subscriber takes from the feed at a time.
+    private static final int READ_BATCH = 256;
+
+    private static final byte[] SSE_EVENT_END = "\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SSE_HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NDJSON_LINE_END = "\n".getBytes(StandardCharsets.UTF_8);
+
+    private final OrderChangeFeed feed;
+    private final MeterRegistry meterRegistry;
+    private final int maxSubscribers;
+    private final Duration heartbeat;
+    private final Duration timeout;
+
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Set<Thread> deliveries = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+
+    /**
+     * @param feed           The posted changes.
+     * @param meterRegistry  Where disconnections are counted.
+     * @param maxSubscribers The most clients connected at once.
+     * @param heartbeat      How often an idle connection gets a keep-alive.
+     * @param timeout        How long one connection may stay open (the client then reconnects).
+     */
+    public OrderChangeStreams(OrderChangeFeed feed, MeterRegistry meterRegistry, int maxSubscribers,
+                              Duration heartbeat, Duration timeout) {
+        this.feed = feed;
+        this.meterRegistry = meterRegistry;
+        this.maxSubscribers = maxSubscribers;
+        this.heartbeat = heartbeat;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Connects a new subscriber.
+     *
+     * @param lastSequence The last sequence the client saw (to resume), or null to get only new changes.
+     * @param ndjson       True for newline-delimited JSON, false for Server-Sent Events.
+     * @return The response body that the subscriber's thread keeps writing to.
+     * @throws TooManySubscribersException If 'maxSubscribers' clients are already connected, or the streams
+     *                                     are not running (before startup ends or during shutdown).
+     */
+    public ResponseBodyEmitter subscribe(Long lastSequence, boolean ndjson) {
+        if (!running) {
+            // Not started yet, or shutting down.
+            throw new TooManySubscribersException("The order changes cannot be followed right now.");
+        }
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            throw new TooManySubscribersException("Too many clients are following the order changes.");
+        }
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeout.toMillis());
+        AtomicBoolean open = new AtomicBoolean(true);
+        emitter.onCompletion(() -> open.set(false));
+        emitter.onTimeout(() -> open.set(false));
+        emitter.onError(error -> open.set(false));
+        Thread.ofVirtual().name("order-changes-subscriber").start(() -> {
+            deliveries.add(Thread.currentThread());
+            try {
+                deliver(emitter, open, lastSequence, ndjson);
+            } finally {
+                deliveries.remove(Thread.currentThread());
+                subscribers.decrementAndGet();
+            }
+        });
+        return emitter;
+    }
+
+    /**
+     * @return How many clients are connected right now.
+     */
+    public int getSubscriberCount() {
+        return subscribers.get();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /**
+     * Ends every stream: the waiting subscriber threads are woken up and complete their responses.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        deliveries.forEach(Thread::interrupt);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void deliver(ResponseBodyEmitter emitter, AtomicBoolean open, Long lastSequence, boolean ndjson) {
+        try {
+            long position = feed.latestSequence();
+            if (lastSequence != null) {
+                if (feed.readAfter(lastSequence, 0).missed()) {
+                    // Too old (or from before a restart): the client must reload the orders, then follow from here.
+                    sendReset(emitter, position, ndjson);
+                } else {
+                    position = lastSequence;
+                }
+            }
+            while (open.get() && running) {
+                OrderChangeFeed.Batch batch = feed.readAfter(position, READ_BATCH);
+                if (batch.missed()) {
+                    meterRegistry.counter("orders.changes.disconnects", "reason", "slow_consumer").increment();
+                    log.debug("Disconnecting a change feed subscriber that fell behind at sequence {}", position);
+                    break;
+                }
+                if (batch.changes().isEmpty()) {
+                    if (!feed.awaitAfter(position, heartbeat)) {
+                        emitter.send(ndjson ? NDJSON_LINE_END : SSE_HEARTBEAT, MediaType.APPLICATION_OCTET_STREAM);
+                    }
+                    continue;
+                }
+                for (OrderChangeFeed.Change change : batch.changes()) {
+                    send(emitter, change, ndjson);
+                    position = change.sequence();
+                }
+            }
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            // The client went away (or the emitter already completed): nothing left to do.
+            meterRegistry.counter("orders.changes.disconnects", "reason", "client").increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        }
+    }
+
+    private static void send(ResponseBodyEmitter emitter, OrderChangeFeed.Change change, boolean ndjson) throws IOException {
+        // The JSON bytes are shared by all subscribers; only the few framing bytes are written per client.
+        Set<ResponseBodyEmitter.DataWithMediaType> parts = new LinkedHashSet<>(4);
+        if (ndjson) {
+            parts.add(new ResponseBodyEmitter.DataWithMediaType(change.json(), MediaType.APPLICATION_OCTET_STREAM));
+            parts.add(new ResponseBodyEmitter.DataWithMediaType(NDJSON_LINE_END, MediaType.APPLICATION_OCTET_STREAM));
+        } else {
+            byte[] head = ("id: " + change.sequence() + "\nevent: " + change.type().name().toLowerCase() + "\ndata: ")
+                    .getBytes(StandardCharsets.UTF_8);
+            parts.add(new ResponseBodyEmitter.DataWithMediaType(head, MediaType.APPLICATION_OCTET_STREAM));
+            parts.add(new ResponseBodyEmitter.DataWithMediaType(change.json(), MediaType.APPLICATION_OCTET_STREAM));
+            parts.add(new ResponseBodyEmitter.DataWithMediaType(SSE_EVENT_END, MediaType.APPLICATION_OCTET_STREAM));
+        }
+        emitter.send(parts);
+    }
+
+    private static void sendReset(ResponseBodyEmitter emitter, long position, boolean ndjson) throws IOException {
+        String json = "{\"sequence\":" + position + ",\"type\":\"RESET\"}";
+        String frame = ndjson ? json + "\n" : "id: " + position + "\nevent: reset\ndata: " + json + "\n\n";
+        emitter.send(frame.getBytes(StandardCharsets.UTF_8), MediaType.APPLICATION_OCTET_STREAM);
+    }
+}
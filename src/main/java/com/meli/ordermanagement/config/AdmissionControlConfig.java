@@ -0,0 +1,89 @@
+package com.meli.ordermanagement.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.ordermanagement.admission.AdaptiveConcurrencyLimiter;
+import com.meli.ordermanagement.admission.AdmissionControlFilter;
+import com.meli.ordermanagement.admission.OrderServiceLatencyAspect;
+import com.meli.ordermanagement.admission.PrincipalRateLimiter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Switches on admission control for the order API (orders.admission.enabled=true):
+ * per-user rate limits and an adaptive limit on concurrent requests, both checked by the
+ * AdmissionControlFilter that SecurityConfig places after Basic Auth.
+ * The limit follows OrderService's latency, so it is only available on the servlet stack.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "orders.admission.enabled", havingValue = "true")
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+            @Value("${orders.admission.concurrency.initial-limit:20}") int initialLimit,
+            @Value("${orders.admission.concurrency.min-limit:4}") int minLimit,
+            @Value("${orders.admission.concurrency.max-limit:200}") int maxLimit,
+            @Value("${orders.admission.concurrency.smoothing:0.2}") double smoothing,
+            @Value("${orders.admission.concurrency.rtt-tolerance:1.5}") double rttTolerance,
+            @Value("${orders.admission.concurrency.window:100ms}") Duration window) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, smoothing, rttTolerance, window);
+    }
+
+    @Bean
+    public OrderServiceLatencyAspect orderServiceLatencyAspect(AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter) {
+        return new OrderServiceLatencyAspect(adaptiveConcurrencyLimiter);
+    }
+
+    @Bean
+    public AdmissionControlFilter admissionControlFilter(
+            AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${orders.admission.rate-limit.user.permits-per-second:50}") double userRate,
+            @Value("${orders.admission.rate-limit.user.burst:100}") int userBurst,
+            @Value("${orders.admission.rate-limit.admin.permits-per-second:200}") double adminRate,
+            @Value("${orders.admission.rate-limit.admin.burst:400}") int adminBurst) {
+        return new AdmissionControlFilter(new PrincipalRateLimiter(),
+                new PrincipalRateLimiter.Limit(userRate, userBurst),
+                new PrincipalRateLimiter.Limit(adminRate, adminBurst),
+                adaptiveConcurrencyLimiter, objectMapper, meterRegistry);
+    }
+
+    /**
+     * The filter runs inside the security chain; this stops Spring Boot from also adding it to the
+     * servlet container's own filters, which would check every request twice.
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilterRegistration(AdmissionControlFilter admissionControlFilter) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(admissionControlFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    /**
+     * Publishes the current limit and how much of it is in use (see /actuator/metrics/orders.admission.limit).
+     */
+    @Bean
+    public MeterBinder admissionControlMetrics(AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter) {
+        return registry -> {
+            Gauge.builder("orders.admission.limit", adaptiveConcurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Requests the API currently lets in at once")
+                    .register(registry);
+            Gauge.builder("orders.admission.in_flight", adaptiveConcurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("Requests currently inside the API")
+                    .register(registry);
+        };
+    }
+}
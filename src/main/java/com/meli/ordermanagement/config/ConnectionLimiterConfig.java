@@ -0,0 +1,78 @@
+package com.meli.ordermanagement.config;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Puts a ConnectionLimitingDataSource in front of the application's connection pool when
+ * orders.db-limiter.enabled=true (turned on by the "virtual-threads" profile).
+ *
+ * The number of permits is taken from the Hikari pool's maximum size, so the limiter and the
+ * pool always agree on how many queries can really run at once.
+ */
+@Configuration
+@ConditionalOnProperty(name = "orders.db-limiter.enabled", havingValue = "true")
+public class ConnectionLimiterConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // With read replicas, the pool behind the read/write proxy (ReadReplicaConfig) is limited already.
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource
+                        || bean instanceof LazyConnectionDataSourceProxy) {
+                    return bean;
+                }
+                HikariDataSource hikari = unwrapHikari(dataSource);
+                if (hikari == null) {
+                    return bean;
+                }
+                int maxWaiting = environment.getProperty("orders.db-limiter.max-waiting", Integer.class, 1000);
+                Duration timeout = environment.getProperty("orders.db-limiter.acquire-timeout", Duration.class,
+                        Duration.ofSeconds(2));
+                return new ConnectionLimitingDataSource(dataSource, hikari.getMaximumPoolSize(), maxWaiting, timeout);
+            }
+        };
+    }
+
+    // The pool may already be wrapped (e.g. by a proxy that logs queries), so look through wrappers.
+    private static HikariDataSource unwrapHikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Publishes how many callers are waiting for a connection and how many permits are free.
+     */
+    @Bean
+    public MeterBinder connectionLimiterMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConnectionLimitingDataSource limiter) {
+                Gauge.builder("orders.db.limiter.waiting", limiter, ConnectionLimitingDataSource::getWaitingCount)
+                        .description("Callers waiting for a database connection")
+                        .register(registry);
+                Gauge.builder("orders.db.limiter.available", limiter, ConnectionLimitingDataSource::getAvailablePermits)
+                        .description("Database connections that can still be handed out")
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.meli.ordermanagement.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.meli.ordermanagement.search.CustomerNameIndex;
+import com.meli.ordermanagement.search.CustomerSearch;
+import com.meli.ordermanagement.service.OrderService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Builds the in-memory customer name index behind GET /api/orders/search?q= (on unless orders.search.enabled=false).
+ * It is filled and kept up to date by OrderService, so it is only available on the servlet stack.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "orders.search.enabled", havingValue = "true", matchIfMissing = true)
+public class CustomerSearchConfig {
+
+    @Bean
+    public CustomerNameIndex customerNameIndex() {
+        return new CustomerNameIndex();
+    }
+
+    @Bean
+    public CustomerSearch customerSearch(CustomerNameIndex customerNameIndex, OrderService orderService) {
+        return new CustomerSearch(customerNameIndex, orderService);
+    }
+
+    /**
+     * Publishes the size of the index (see /actuator/metrics/orders.search.index.orders).
+     */
+    @Bean
+    public MeterBinder customerSearchMetrics(CustomerNameIndex customerNameIndex) {
+        return registry -> {
+            Gauge.builder("orders.search.index.orders", customerNameIndex, CustomerNameIndex::getOrderCount)
+                    .description("Orders in the customer search index")
+                    .register(registry);
+            Gauge.builder("orders.search.index.customers", customerNameIndex, CustomerNameIndex::getNameCount)
+                    .description("Different customer names in it")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.meli.ordermanagement.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Decides which beans still start eagerly when the "fast-startup" profile turns on lazy initialization
+ * (spring.main.lazy-initialization=true).
+ *
+ * Everything from Spring Boot and the libraries (the OpenAPI docs, actuator endpoints, extra message
+ * converters...) is only created when a request first needs it. The application's own beans are kept
+ * eager: they run scheduled jobs, listen for ApplicationReadyEvent or start background threads, and a
+ * lazy bean that is never asked for would quietly never do any of that. Creating them also creates the
+ * JPA EntityManagerFactory and the connection pool, so a broken database still fails the startup
+ * instead of the first request.
+ *
+ * This filter is always registered (it changes nothing while lazy initialization is off), so that a
+ * build with Spring AOT, which fixes the set of beans at build time, keeps it too.
+ */
+@Configuration
+public class FastStartupConfig {
+
+    private static final String APPLICATION_PACKAGE = "com.meli.ordermanagement.";
+
+    @Bean
+    public static LazyInitializationExcludeFilter applicationBeansStayEager() {
+        return (beanName, beanDefinition, beanType) ->
+                beanType != null && beanType.getName().startsWith(APPLICATION_PACKAGE);
+    }
+}
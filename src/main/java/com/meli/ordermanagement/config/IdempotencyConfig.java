@@ -0,0 +1,42 @@
+package com.meli.ordermanagement.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.ordermanagement.idempotency.DatabaseIdempotencyStore;
+import com.meli.ordermanagement.idempotency.IdempotencyStore;
+import com.meli.ordermanagement.idempotency.InMemoryIdempotencyStore;
+import com.meli.ordermanagement.repository.IdempotencyRecordRepository;
+
+/**
+ * Builds the store behind the Idempotency-Key header of POST /api/orders.
+ *
+ * orders.idempotency.store=memory (the default) keeps the answers in this process only;
+ * orders.idempotency.store=database keeps them in the idempotency_keys table for every node.
+ * Another IdempotencyStore bean (e.g. one backed by Redis) replaces both (@ConditionalOnMissingBean).
+ * Only the servlet stack takes the header, so the store is not built with the "reactive" profile.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(IdempotencyStore.class)
+    public IdempotencyStore idempotencyStore(@Value("${orders.idempotency.store:memory}") String store,
+                                             @Value("${orders.idempotency.ttl:24h}") Duration ttl,
+                                             @Value("${orders.idempotency.max-keys:100000}") long maxKeys,
+                                             @Value("${orders.idempotency.wait-timeout:10s}") Duration waitTimeout,
+                                             IdempotencyRecordRepository records,
+                                             ObjectMapper objectMapper) {
+        if ("database".equals(store)) {
+            return new DatabaseIdempotencyStore(records, objectMapper, ttl, waitTimeout);
+        }
+        return new InMemoryIdempotencyStore(ttl, maxKeys, waitTimeout);
+    }
+}
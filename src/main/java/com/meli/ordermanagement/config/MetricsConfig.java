@@ -0,0 +1,37 @@
+package com.meli.ordermanagement.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.meli.ordermanagement.metrics.TransactionMetrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The timers that Spring Boot does not create on its own.
+ *
+ * Out of the box we already get "http.server.requests" (per endpoint), "spring.data.repository.invocations"
+ * (per repository method) and "hikaricp.connections.acquire" (wait for a database connection).
+ * This adds "orders.service" (methods of classes marked @Timed) and "orders.transactions".
+ * Percentiles and histograms for all of them are switched on in application.yml (management.metrics.distribution).
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Makes @Timed work on Spring beans such as OrderService.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    /**
+     * Spring Boot registers this listener with the transaction manager automatically.
+     */
+    @Bean
+    public TransactionMetrics transactionMetrics(MeterRegistry registry) {
+        return new TransactionMetrics(registry);
+    }
+}
@@ -0,0 +1,89 @@
+package com.meli.ordermanagement.config;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.meli.ordermanagement.archive.OrderArchive;
+import com.meli.ordermanagement.archive.OrderArchiver;
+import com.meli.ordermanagement.model.OrderStatus;
+import com.meli.ordermanagement.repository.ArchivedOrderRepository;
+import com.meli.ordermanagement.repository.OrderRepository;
+import com.meli.ordermanagement.sharding.OrderShards;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Switches on the archive of old orders (orders.archive.enabled=true): the OrderArchiver moves old,
+ * finished orders to the "orders_archive" table, and OrderService reads them from there through the OrderArchive.
+ * Both work through JPA, so they are only available on the servlet stack.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "orders.archive.enabled", havingValue = "true")
+public class OrderArchiveConfig {
+
+    /**
+     * @throws IllegalArgumentException If orders.archive.statuses has a status that is not final:
+     *                                  archived orders can no longer change.
+     */
+    @Bean
+    public OrderArchive orderArchive(ArchivedOrderRepository archivedOrderRepository,
+                                     @Value("${orders.archive.statuses:DELIVERED,CANCELLED}") Set<OrderStatus> statuses,
+                                     @Value("${orders.archive.min-age:90d}") Duration minAge) {
+        statuses.stream().filter(status -> !status.isTerminal()).findAny().ifPresent(status -> {
+            throw new IllegalArgumentException("orders.archive.statuses may only hold final statuses, not " + status);
+        });
+        return new OrderArchive(archivedOrderRepository, statuses, minAge);
+    }
+
+    @Bean
+    public OrderArchiver orderArchiver(OrderRepository orderRepository, ArchivedOrderRepository archivedOrderRepository,
+                                       PlatformTransactionManager transactionManager, ObjectProvider<OrderShards> orderShards,
+                                       @Value("${orders.archive.min-age:90d}") Duration minAge,
+                                       @Value("${orders.archive.statuses:DELIVERED,CANCELLED}") Set<OrderStatus> statuses,
+                                       @Value("${orders.archive.batch-size:500}") int batchSize,
+                                       @Value("${orders.archive.pause-between-batches:200ms}") Duration pause,
+                                       @Value("${orders.archive.max-batches-per-run:100}") int maxBatchesPerRun) {
+        return new OrderArchiver(orderRepository, archivedOrderRepository, new TransactionTemplate(transactionManager),
+                orderShards.getIfAvailable(), minAge, statuses, batchSize, pause, maxBatchesPerRun);
+    }
+
+    /**
+     * Publishes how many orders were moved, and how many reads missed the orders table and were (or were not)
+     * found in the archive (see /actuator/metrics/orders.archive.lookups and orders.archive.hit-ratio).
+     */
+    @Bean
+    public MeterBinder orderArchiveMetrics(OrderArchiver orderArchiver, OrderArchive orderArchive) {
+        return registry -> {
+            FunctionCounter.builder("orders.archive.moved", orderArchiver, OrderArchiver::getMoved)
+                    .description("Orders moved to the archive")
+                    .register(registry);
+            FunctionCounter.builder("orders.archive.batches", orderArchiver, OrderArchiver::getBatches)
+                    .description("Transactions that moved them")
+                    .register(registry);
+            FunctionCounter.builder("orders.archive.lookups", orderArchive, OrderArchive::getHits)
+                    .tag("result", "hit")
+                    .description("Orders read by id that were not in the orders table")
+                    .register(registry);
+            FunctionCounter.builder("orders.archive.lookups", orderArchive, archive -> archive.getLookups() - archive.getHits())
+                    .tag("result", "miss")
+                    .description("Orders read by id that were not in the orders table")
+                    .register(registry);
+            Gauge.builder("orders.archive.hit-ratio", orderArchive,
+                            archive -> archive.getLookups() == 0 ? 0 : (double) archive.getHits() / archive.getLookups())
+                    .description("Share of those found in the archive")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package com.meli.ordermanagement.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.meli.ordermanagement.cache.CaffeineOrderCache;
+import com.meli.ordermanagement.cache.CoalescingOrderLoader;
+import com.meli.ordermanagement.cache.NoOpOrderCache;
+import com.meli.ordermanagement.cache.OrderCache;
+import com.meli.ordermanagement.replica.PrimaryReads;
+import com.meli.ordermanagement.repository.OrderRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Builds the order cache used by OrderService, and the loader that reads the orders it misses.
+ *
+ * To use a shared cache across nodes instead, declare another OrderCache bean:
+ * the in-process one below then steps aside (@ConditionalOnMissingBean).
+ */
+@Configuration
+public class OrderCacheConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(OrderCache.class)
+    public OrderCache orderCache(@Value("${orders.cache.enabled:true}") boolean enabled,
+                                 @Value("${orders.cache.max-size:10000}") long maxSize,
+                                 @Value("${orders.cache.ttl:10m}") Duration ttl) {
+        if (!enabled) {
+            return new NoOpOrderCache();
+        }
+        return new CaffeineOrderCache(maxSize, ttl);
+    }
+
+    /**
+     * Reads single orders for getOrderById, sharing the query with concurrent requests (see orders.lookup).
+     * It reads through JPA, so it only exists on the servlet stack.
+     * Its reads go to the primary even with read replicas on: what it reads is cached and shared by every
+     * user, so a row from a lagging replica would hide a change from its own writer until the cache expires.
+     * With the cache on, the cache already shares one read per order, so the loader only batches.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public CoalescingOrderLoader coalescingOrderLoader(OrderRepository orderRepository, OrderCache orderCache,
+                                                       @Value("${orders.lookup.coalesce:true}") boolean coalesce,
+                                                       @Value("${orders.lookup.batch-window:0ms}") Duration batchWindow,
+                                                       @Value("${orders.lookup.max-batch-size:100}") int maxBatchSize) {
+        return new CoalescingOrderLoader(ids -> PrimaryReads.call(() -> orderRepository.findResponsesByIds(ids)),
+                coalesce, orderCache instanceof NoOpOrderCache, batchWindow, maxBatchSize);
+    }
+
+    /**
+     * Publishes how many single-order reads were asked for and how many queries answered them
+     * (see /actuator/metrics/orders.lookup.queries).
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public MeterBinder orderLookupMetrics(CoalescingOrderLoader coalescingOrderLoader) {
+        return registry -> {
+            FunctionCounter.builder("orders.lookup.requests", coalescingOrderLoader, CoalescingOrderLoader::getLookups)
+                    .description("Single orders read from the database")
+                    .register(registry);
+            FunctionCounter.builder("orders.lookup.queries", coalescingOrderLoader, CoalescingOrderLoader::getQueries)
+                    .description("Queries that read them")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Publishes the cache counters as metrics (see /actuator/metrics/orders.cache.gets),
+     * whatever OrderCache implementation is in use.
+     */
+    @Bean
+    public MeterBinder orderCacheMetrics(OrderCache orderCache) {
+        return registry -> {
+            FunctionCounter.builder("orders.cache.gets", orderCache, cache -> cache.stats().hits())
+                    .tag("result", "hit")
+                    .description("Order reads answered from the cache")
+                    .register(registry);
+            FunctionCounter.builder("orders.cache.gets", orderCache, cache -> cache.stats().misses())
+                    .tag("result", "miss")
+                    .description("Order reads that went to the database")
+                    .register(registry);
+            FunctionCounter.builder("orders.cache.evictions", orderCache, cache -> cache.stats().evictions())
+                    .description("Orders dropped from the cache by size or age")
+                    .register(registry);
+            Gauge.builder("orders.cache.size", orderCache, cache -> cache.stats().size())
+                    .description("Orders currently cached")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.meli.ordermanagement.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.ordermanagement.changes.OrderChangeFeed;
+import com.meli.ordermanagement.changes.OrderChangeStreams;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Builds the order change feed (GET /api/orders/changes) from the orders.changes.* settings.
+ * The feed is fed by OrderService, so it only exists on the servlet stack.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class OrderChangesConfig {
+
+    @Bean
+    public OrderChangeFeed orderChangeFeed(ObjectMapper objectMapper,
+                                           @Value("${orders.changes.buffer-size:10000}") int bufferSize) {
+        return new OrderChangeFeed(objectMapper, bufferSize);
+    }
+
+    @Bean
+    public OrderChangeStreams orderChangeStreams(OrderChangeFeed orderChangeFeed, MeterRegistry meterRegistry,
+                                                 @Value("${orders.changes.max-subscribers:500}") int maxSubscribers,
+                                                 @Value("${orders.changes.heartbeat:15s}") Duration heartbeat,
+                                                 @Value("${orders.changes.timeout:30m}") Duration timeout) {
+        return new OrderChangeStreams(orderChangeFeed, meterRegistry, maxSubscribers, heartbeat, timeout);
+    }
+
+    /**
+     * Publishes how many clients follow the changes (see /actuator/metrics/orders.changes.subscribers).
+     */
+    @Bean
+    public MeterBinder orderChangesMetrics(OrderChangeStreams orderChangeStreams) {
+        return registry -> Gauge.builder("orders.changes.subscribers", orderChangeStreams, OrderChangeStreams::getSubscriberCount)
+                .description("Clients connected to the order change feed")
+                .register(registry);
+    }
+}
@@ -0,0 +1,43 @@
+package com.meli.ordermanagement.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.meli.ordermanagement.ids.SnowflakeIdGenerator;
+import com.meli.ordermanagement.sharding.ShardedOrderIdGenerator;
+
+/**
+ * Switches order ids from the "orders_seq" database sequence to Snowflake ids made in the application
+ * (orders.ids.strategy=snowflake), so no database call is ever needed to number a new order.
+ *
+ * Every running instance needs its own orders.ids.node-id (0-63). Snowflake ids are in the hundreds of
+ * trillions and up, far above anything the sequence will reach, so existing orders keep their ids and both kinds
+ * can be mixed during a rollout. They stay below 2^53, so JavaScript clients read them exactly. Snowflake ids have no room for a shard, so this cannot be combined with sharding.
+ */
+@Configuration
+@ConditionalOnProperty(name = "orders.ids.strategy", havingValue = "snowflake")
+public class OrderIdConfig {
+
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator(@Value("${orders.ids.node-id:0}") int nodeId,
+                                                     @Value("${orders.ids.max-clock-drift:1s}") Duration maxClockDrift,
+                                                     @Value("${orders.sharding.enabled:false}") boolean sharding) {
+        if (sharding) {
+            throw new IllegalStateException("orders.ids.strategy=snowflake cannot be used with orders.sharding.enabled=true");
+        }
+        return new SnowflakeIdGenerator(nodeId, maxClockDrift);
+    }
+
+    /**
+     * Hands the generator to Hibernate, where Order's id generator (ShardedOrderIdGenerator) picks it up.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer snowflakeOrderIds(SnowflakeIdGenerator snowflakeIdGenerator) {
+        return properties -> properties.put(ShardedOrderIdGenerator.SNOWFLAKE_SETTING, snowflakeIdGenerator);
+    }
+}
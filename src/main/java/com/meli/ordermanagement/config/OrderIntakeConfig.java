@@ -0,0 +1,46 @@
+package com.meli.ordermanagement.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.meli.ordermanagement.intake.OrderIntake;
+import com.meli.ordermanagement.service.OrderService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Switches on the write-behind intake for POST /api/orders (orders.write-behind.enabled=true).
+ * Without it, every order is saved before the request is answered, as before.
+ * The intake writes through OrderService, so it is only available on the servlet stack.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "orders.write-behind.enabled", havingValue = "true")
+public class OrderIntakeConfig {
+
+    @Bean
+    public OrderIntake orderIntake(OrderService orderService,
+                                   @Value("${orders.write-behind.queue-capacity:10000}") int capacity,
+                                   @Value("${orders.write-behind.batch-size:500}") int batchSize,
+                                   @Value("${orders.write-behind.offer-timeout:50ms}") Duration offerTimeout,
+                                   @Value("${orders.write-behind.shutdown-timeout:30s}") Duration shutdownTimeout,
+                                   @Value("${orders.write-behind.failed-ttl:1h}") Duration failedTtl) {
+        return new OrderIntake(orderService, capacity, batchSize, offerTimeout, shutdownTimeout, failedTtl);
+    }
+
+    /**
+     * Publishes how many accepted orders are still waiting to be written (see /actuator/metrics/orders.intake.queue).
+     */
+    @Bean
+    public MeterBinder orderIntakeMetrics(OrderIntake orderIntake) {
+        return registry -> Gauge.builder("orders.intake.queue", orderIntake, OrderIntake::getQueueSize)
+                .description("Accepted orders waiting to be written")
+                .register(registry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.meli.ordermanagement.config;
+
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import com.meli.ordermanagement.storage.OrderLog;
+
+/**
+ * Opens the embedded order log behind LogOrderRepository (orders.storage.engine=log, "edge" profile),
+ * so the reactive stack can run without any database. The log is replayed before the application
+ * takes requests, and flushed and closed when it shuts down.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(name = "orders.storage.engine", havingValue = "log")
+public class OrderLogConfig {
+
+    @Bean(destroyMethod = "close")
+    public OrderLog orderLog(@Value("${orders.storage.log.dir:./data/orders-log}") Path directory,
+                             @Value("${orders.storage.log.segment-size:64MB}") DataSize segmentSize,
+                             @Value("${orders.storage.log.fsync:false}") boolean fsync) {
+        return new OrderLog(directory, Math.toIntExact(segmentSize.toBytes()), fsync);
+    }
+}
@@ -0,0 +1,116 @@
+package com.meli.ordermanagement.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.meli.ordermanagement.replica.ReadYourWritesTracker;
+import com.meli.ordermanagement.replica.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Switches on read/write splitting (orders.replicas.enabled=true).
+ *
+ * spring.datasource stays the primary database and takes every read-write transaction.
+ * Read-only transactions (@Transactional(readOnly = true), e.g. OrderService.getAllOrders) go to the
+ * replicas listed under orders.replicas.datasources, through the ReplicaRoutingDataSource.
+ *
+ * The split is made by Spring's LazyConnectionDataSourceProxy: it only fetches the real connection when the
+ * first statement runs, by which time the transaction has marked it read-only or not, and picks the side then.
+ * Only JPA on the servlet stack goes through it; the "reactive" profile has its own R2DBC connections.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "orders.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    /**
+     * Where one replica is and how to log in to it (an entry of orders.replicas.datasources).
+     */
+    public record ReplicaProperties(String url, String username, String password) {
+    }
+
+    /**
+     * The primary's connection pool, built from spring.datasource just as Spring Boot would build it.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(@Value("${orders.replicas.sticky-window:5s}") Duration stickyWindow) {
+        return new ReadYourWritesTracker(stickyWindow);
+    }
+
+    /**
+     * One small connection pool per replica. Their connections are read-only, so a write that ends up
+     * there by mistake fails instead of making the replica differ from the primary.
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             ReadYourWritesTracker readYourWritesTracker,
+                                                             Environment environment,
+                                                             @Value("${orders.replicas.pool-size:10}") int poolSize) {
+        List<ReplicaProperties> replicas = Binder.get(environment)
+                .bind("orders.replicas.datasources", Bindable.listOf(ReplicaProperties.class))
+                .orElse(List.of());
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaProperties replica = replicas.get(i);
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.url())
+                    .username(replica.username())
+                    .password(replica.password())
+                    .build();
+            pool.setPoolName("replica-" + (i + 1));
+            pool.setMaximumPoolSize(poolSize);
+            pool.setReadOnly(true);
+            pools.put(pool.getPoolName(), pool);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, pools, readYourWritesTracker);
+    }
+
+    /**
+     * The DataSource that JPA and everything else uses: the primary, except for read-only transactions.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    /**
+     * Publishes how many replicas currently take reads (orders.replicas.healthy).
+     */
+    @Bean
+    public MeterBinder readReplicaMetrics(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return registry -> Gauge.builder("orders.replicas.healthy", replicaRoutingDataSource, ReplicaRoutingDataSource::getHealthyCount)
+                .description("Read replicas currently taking reads")
+                .register(registry);
+    }
+}
@@ -0,0 +1,13 @@
+package com.meli.ordermanagement.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on Spring's @Scheduled support for the application's background jobs
+ * (e.g. the statistics reconciliation).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,9 +1,20 @@
 package com.meli.ordermanagement.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.ReactiveAuthenticationManagerAdapter;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -11,10 +22,27 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.header.XFrameOptionsServerHttpHeadersWriter;
+
+import com.meli.ordermanagement.admission.AdmissionControlFilter;
+import com.meli.ordermanagement.security.CachingAuthenticationProvider;
 
 @Configuration
 public class SecurityConfig {
 
+    private final boolean authCacheEnabled;
+    private final Duration authCacheTtl;
+    private final long authCacheMaxSize;
+
+    public SecurityConfig(@Value("${orders.security.auth-cache.enabled:true}") boolean authCacheEnabled,
+                          @Value("${orders.security.auth-cache.ttl:5m}") Duration authCacheTtl,
+                          @Value("${orders.security.auth-cache.max-size:10000}") long authCacheMaxSize) {
+        this.authCacheEnabled = authCacheEnabled;
+        this.authCacheTtl = authCacheTtl;
+        this.authCacheMaxSize = authCacheMaxSize;
+    }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -39,18 +67,77 @@ public class SecurityConfig {
         return new InMemoryUserDetailsManager(user, admin);
     }
 
+    /**
+     * The login check used by Basic Auth. The real check (BCrypt against the users above) is
+     * wrapped in a short-lived cache of already verified credentials, so a client sending the
+     * same Authorization header on every request only pays for BCrypt once per TTL.
+     * Set orders.security.auth-cache.enabled=false to always run the full check.
+     *
+     * It is handed to the security chain directly instead of being published as a bean: Spring Security
+     * would otherwise also install it as the global login check (and warn about it on every startup).
+     */
+    private AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider bcryptProvider = new DaoAuthenticationProvider(userDetailsService);
+        bcryptProvider.setPasswordEncoder(passwordEncoder);
+        if (!authCacheEnabled) {
+            return bcryptProvider;
+        }
+        return new CachingAuthenticationProvider(bcryptProvider, authCacheTtl, authCacheMaxSize);
+    }
+
+    /**
+     * The rules of the servlet stack. When admission control is on (orders.admission.enabled=true),
+     * its filter runs right after Basic Auth, so rate limits can be applied per user.
+     */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public SecurityFilterChain filterChain(HttpSecurity http, UserDetailsService userDetailsService, PasswordEncoder passwordEncoder,
+                                           ObjectProvider<AdmissionControlFilter> admissionControlFilter) throws Exception {
         http
             .csrf(csrf -> csrf.disable()) 
             .authorizeHttpRequests(authz -> authz
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/h2-console/**").permitAll()
                 .anyRequest().authenticated()
             )
+            .authenticationManager(new ProviderManager(authenticationProvider(userDetailsService, passwordEncoder)))
             .httpBasic(Customizer.withDefaults());
 
         http.headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin()));
 
+        admissionControlFilter.ifAvailable(filter -> http.addFilterAfter(filter, BasicAuthenticationFilter.class));
+
+        return http.build();
+    }
+
+    /**
+     * The same login check for the reactive stack ("reactive" profile). The adapter runs it on a
+     * separate thread pool, so a BCrypt check never blocks one of WebFlux's few event-loop threads.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(UserDetailsService userDetailsService,
+                                                                       PasswordEncoder passwordEncoder) {
+        return new ReactiveAuthenticationManagerAdapter(new ProviderManager(authenticationProvider(userDetailsService, passwordEncoder)));
+    }
+
+    /**
+     * The same rules as filterChain, for the reactive stack.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         ReactiveAuthenticationManager reactiveAuthenticationManager) {
+        http
+            .csrf(csrf -> csrf.disable())
+            .authorizeExchange(exchanges -> exchanges
+                .pathMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                .anyExchange().authenticated()
+            )
+            .authenticationManager(reactiveAuthenticationManager)
+            .httpBasic(Customizer.withDefaults());
+
+        http.headers(headers -> headers.frameOptions(frameOptions -> frameOptions.mode(XFrameOptionsServerHttpHeadersWriter.Mode.SAMEORIGIN)));
+
         return http.build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package com.meli.ordermanagement.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.meli.ordermanagement.sharding.OrderShards;
+import com.meli.ordermanagement.sharding.ShardRoutingAspect;
+import com.meli.ordermanagement.sharding.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Switches on horizontal sharding of the orders table (orders.sharding.enabled=true).
+ *
+ * spring.datasource is shard 0, the main shard: it keeps the id sequence and every other table
+ * (e.g. idempotency_keys). The databases under orders.sharding.shards are shards 1, 2, ... and only hold orders.
+ * JPA talks to all of them through one ShardRoutingDataSource, and the ShardRoutingAspect picks the shard
+ * for each OrderService call (see there).
+ *
+ * Order ids carry their shard, so sharding has to be on from the first order, and shards can be added
+ * later but never removed. It cannot be combined with read replicas (orders.replicas.enabled).
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "orders.sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    /**
+     * Where one extra shard is and how to log in to it (an entry of orders.sharding.shards).
+     */
+    public record ShardProperties(String url, String username, String password) {
+    }
+
+    /**
+     * The main shard's connection pool, built from spring.datasource just as Spring Boot would build it.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource mainShardDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * The DataSource that JPA and everything else uses. One connection pool per extra shard, plus a small one
+     * on the main shard for drawing order ids. On embedded
+     * databases (orders.sharding.schema-init=embedded) their orders table is created from db/orders-schema.sql,
+     * since Hibernate only creates it on the main shard.
+     */
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(HikariDataSource mainShardDataSource,
+                                             DataSourceProperties properties,
+                                             Environment environment,
+                                             @Value("${orders.sharding.pool-size:10}") int poolSize,
+                                             @Value("${orders.sharding.schema-init:embedded}") DatabaseInitializationMode schemaInit) {
+        List<ShardProperties> shards = Binder.get(environment)
+                .bind("orders.sharding.shards", Bindable.listOf(ShardProperties.class))
+                .orElse(List.of());
+        List<DataSource> pools = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            ShardProperties shard = shards.get(i);
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.url())
+                    .username(shard.username())
+                    .password(shard.password())
+                    .build();
+            pool.setPoolName("shard-" + (i + 1));
+            pool.setMaximumPoolSize(poolSize);
+            if (schemaInit == DatabaseInitializationMode.ALWAYS
+                    || (schemaInit == DatabaseInitializationMode.EMBEDDED && EmbeddedDatabaseConnection.isEmbedded(pool))) {
+                new ResourceDatabasePopulator(new ClassPathResource("db/orders-schema.sql")).execute(pool);
+            }
+            pools.add(pool);
+        }
+        // A couple of connections to the main shard that only ever draw order ids (see ShardedOrderIdGenerator).
+        HikariDataSource idSequence = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        idSequence.setPoolName("shard-0-ids");
+        idSequence.setMaximumPoolSize(2);
+        return new ShardRoutingDataSource(mainShardDataSource, idSequence, pools);
+    }
+
+    @Bean
+    public OrderShards orderShards(ShardRoutingDataSource dataSource) {
+        return new OrderShards(dataSource.getShardCount());
+    }
+
+    @Bean
+    public ShardRoutingAspect shardRoutingAspect(OrderShards orderShards) {
+        return new ShardRoutingAspect(orderShards);
+    }
+}
@@ -0,0 +1,84 @@
+package com.meli.ordermanagement.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.meli.ordermanagement.metrics.TimedJacksonHttpMessageConverter;
+import com.meli.ordermanagement.model.OrderStatus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Web (Spring MVC) settings shared by all controllers.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+    private final MeterRegistry meterRegistry;
+
+    public WebConfig(ObjectMapper objectMapper, ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder,
+                     MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.objectMapperBuilder = objectMapperBuilder;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Lets URL parameters use the same status text as the JSON bodies ("?status=Shipped"),
+     * instead of only the Java enum name.
+     */
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, OrderStatus.class, OrderStatus::fromValue);
+    }
+
+    /**
+     * Swaps the JSON converter for one that times every body it reads or writes ("orders.json"),
+     * and puts the binary formats right after it.
+     *
+     * A client that sends "Accept: application/cbor" or "Accept: application/x-jackson-smile" gets the
+     * same fields in a compact binary encoding, and may send its request bodies that way too.
+     * These mappers are built from the same Spring Boot settings as the JSON one, except that dates are
+     * written as numbers ([2025, 1, 15, 10, 30, 15, 123456000]) instead of text. Amounts (BigDecimal)
+     * are already written as binary decimals by both formats.
+     * JSON stays first, so clients that accept anything keep getting JSON.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                converters.set(i, new TimedJacksonHttpMessageConverter(objectMapper, meterRegistry));
+                converters.add(i + 1, new MappingJackson2CborHttpMessageConverter(binaryMapper(new CBORFactory())));
+                converters.add(i + 2, new MappingJackson2SmileHttpMessageConverter(binaryMapper(new SmileFactory())));
+                return;
+            }
+        }
+    }
+
+    private ObjectMapper binaryMapper(JsonFactory factory) {
+        return objectMapperBuilder.getObject()
+                .factory(factory)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
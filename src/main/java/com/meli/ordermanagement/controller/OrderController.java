@@ -1,9 +1,24 @@
 package com.meli.ordermanagement.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,12 +26,31 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.ordermanagement.changes.OrderChangeStreams;
+import com.meli.ordermanagement.dto.BatchCreateResponseDTO;
 import com.meli.ordermanagement.dto.CreateOrderRequestDTO;
+import com.meli.ordermanagement.dto.OrderIntakeStatusDTO;
+import com.meli.ordermanagement.dto.OrderPageDTO;
 import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.dto.OrderStatsDTO;
 import com.meli.ordermanagement.dto.UpdateOrderRequestDTO;
+import com.meli.ordermanagement.exception.InvalidIdempotencyKeyException;
+import com.meli.ordermanagement.idempotency.IdempotencyStore;
+import com.meli.ordermanagement.idempotency.IdempotentResponse;
+import com.meli.ordermanagement.intake.OrderIntake;
+import com.meli.ordermanagement.model.OrderStatus;
+import com.meli.ordermanagement.repository.OrderSearchCriteria;
+import com.meli.ordermanagement.search.CustomerSearch;
 import com.meli.ordermanagement.service.OrderService;
 
 import jakarta.validation.Valid;
@@ -26,75 +60,331 @@ import jakarta.validation.Valid;
  * It handles all incoming web requests related to orders.
  * The @RestController tag tells Spring that this class will be receiving and sending web requests (like JSON).
  * The @RequestMapping("/api/orders") tag means all URLs for this controller will start with "http://.../api/orders".
+ * It runs on the servlet (Spring MVC) stack; with the "reactive" profile, ReactiveOrderController answers instead.
  */
 @RestController
 @RequestMapping("/api/orders")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class OrderController {
 
+    /**
+     * The response header that carries the cursor for the next page of orders.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Newline-delimited JSON: one order per line, so clients can parse while we are still writing.
+     */
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+
+    /**
+     * The request header a client sets to make retries of POST /api/orders safe.
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * The response header that marks an answer replayed from an earlier request with the same key.
+     */
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    // How many streamed orders we write before pushing the bytes out to the client.
+    private static final int STREAM_FLUSH_EVERY = 500;
+
     // The receptionist needs a direct line to the "brain" of the operation (our OrderService).
     private final OrderService orderService;
 
+    // Used to write the streamed orders one by one with the same JSON settings as the rest of the API.
+    private final ObjectMapper objectMapper;
+
+    // The write-behind intake, or null when new orders are saved before answering (the default).
+    private final OrderIntake orderIntake;
+
+    // Remembers the answers to requests sent with an Idempotency-Key.
+    private final IdempotencyStore idempotencyStore;
+
+    // Sends every order change to the clients following GET /api/orders/changes.
+    private final OrderChangeStreams orderChangeStreams;
+
+    // Finds orders by part of their customer's name, or null when orders.search.enabled is off.
+    private final CustomerSearch customerSearch;
+
     /**
      * This is the constructor. When Spring builds this Controller, it automatically
      * "injects" or provides a ready-to-use copy of the OrderService. This is called dependency injection.
      *
      * @param orderService The main service (the "brain") that handles all the business logic.
+     * @param objectMapper The application's JSON mapper.
+     * @param orderIntake      The write-behind intake, if it is switched on (orders.write-behind.enabled).
+     * @param idempotencyStore   Where the answers to requests with an Idempotency-Key are kept.
+     * @param orderChangeStreams The connections of the clients following the order changes.
+     * @param customerSearch     The customer search, if it is switched on (orders.search.enabled).
      */
     @Autowired
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, ObjectMapper objectMapper, ObjectProvider<OrderIntake> orderIntake,
+                           IdempotencyStore idempotencyStore, OrderChangeStreams orderChangeStreams,
+                           ObjectProvider<CustomerSearch> customerSearch) {
         this.orderService = orderService;
+        this.objectMapper = objectMapper;
+        this.orderIntake = orderIntake.getIfAvailable();
+        this.idempotencyStore = idempotencyStore;
+        this.orderChangeStreams = orderChangeStreams;
+        this.customerSearch = customerSearch.getIfAvailable();
     }
 
     /**
      * This method handles creating a new order.
      * It now accepts a DTO and uses @Valid to trigger validation rules.
      *
-     * @param requestDTO The order DTO with user-provided data.
-     * @return The newly created order as a response DTO and a "201 Created" status code.
+     * With the write-behind intake switched on, the order is only queued: the answer is "202 Accepted"
+     * with the order (including its id) and a Location header where its progress can be followed.
+     *
+     * A client that may retry (e.g. after a timeout) sends an "Idempotency-Key" header with a value of its own
+     * choosing (a UUID). A retry with the same key and body gets the first answer again, marked with
+     * "Idempotent-Replayed: true", instead of a second order. Keys are kept per user.
+     *
+     * @param requestDTO     The order DTO with user-provided data.
+     * @param idempotencyKey The client's key for this order, if it sent one.
+     * @param principal      The logged-in user (keys of different users never collide).
+     * @return The newly created order as a response DTO and a "201 Created" status code (or "202 Accepted").
      */
     @PostMapping
-    public ResponseEntity<OrderResponseDTO> createOrder(@Valid @RequestBody CreateOrderRequestDTO requestDTO) {
-        OrderResponseDTO newOrder = orderService.createOrder(requestDTO);
-        return new ResponseEntity<>(newOrder, HttpStatus.CREATED);
+    public ResponseEntity<OrderResponseDTO> createOrder(@Valid @RequestBody CreateOrderRequestDTO requestDTO,
+                                                        @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                        Principal principal) {
+        if (idempotencyKey == null) {
+            return toResponseEntity(create(requestDTO));
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException("The key must have between 1 and " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters.");
+        }
+        String user = principal == null ? "anonymous" : principal.getName();
+        return toResponseEntity(idempotencyStore.execute(user + ":" + idempotencyKey, fingerprint(requestDTO),
+                () -> create(requestDTO)));
+    }
+
+    /**
+     * This method handles creating many orders in a single request (up to 5000).
+     * Each order is validated on its own, so invalid ones are reported without blocking the others.
+     *
+     * @param requestDTOs The list of orders to create.
+     * @return One result per submitted order (CREATED with the order, or REJECTED with the errors), with "200 OK".
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCreateResponseDTO> createOrders(@RequestBody List<CreateOrderRequestDTO> requestDTOs) {
+        return ResponseEntity.ok(orderService.createOrders(requestDTOs));
     }
 
     /**
-     * This method handles fetching all orders in the system.
-     * It now returns a list of DTOs, hiding internal database details.
+     * This method handles fetching the orders in the system, one page at a time (oldest first).
+     * The optional filters narrow the results, e.g. "?status=Shipped&from=2025-01-01T00:00:00".
+     * When there are more orders, the cursor for the next page is sent in the "X-Next-Cursor" header;
+     * pass it back as '?cursor=' (with the same filters) to continue.
      *
-     * @return A list of all orders as DTOs and a "200 OK" status code.
+     * @param status   Only orders in this status.
+     * @param customer Only orders of this customer (exact name).
+     * @param from     Only orders placed at or after this date-time (ISO format).
+     * @param to       Only orders placed before this date-time (ISO format).
+     * @param cursor   The cursor from the previous page, or nothing for the first page.
+     * @param limit    How many orders to return (default 50, at most 500).
+     * @return A page of orders as DTOs and a "200 OK" status code.
      */
     @GetMapping
-    public ResponseEntity<List<OrderResponseDTO>> getAllOrders() {
-        List<OrderResponseDTO> orders = orderService.getAllOrders();
-        return new ResponseEntity<>(orders, HttpStatus.OK);
+    public ResponseEntity<List<OrderResponseDTO>> getAllOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String customer,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        OrderSearchCriteria criteria = new OrderSearchCriteria(status, customer, from, to);
+        OrderPageDTO page = orderService.searchOrders(criteria, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    /**
+     * This method finds orders by any part of their customer's name, e.g. "?q=pere" finds "José Pérez"
+     * (case, accents and extra spaces do not matter). It is answered from an in-memory index, not by scanning the table.
+     * The best matches come first: the exact name, then names that start with it, then names with a word
+     * that starts with it, then the rest; each customer's orders newest first.
+     * When there are more orders, the cursor for the next page is sent in the "X-Next-Cursor" header;
+     * pass it back as '?cursor=' (with the same 'q') to continue.
+     *
+     * @param q      Part of the customer name.
+     * @param cursor The cursor from the previous page, or nothing for the first page.
+     * @param limit  How many orders to return (default 50, at most 500).
+     * @return A page of orders as DTOs and a "200 OK" status code, or "404 Not Found" if the search is switched off.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<OrderResponseDTO>> searchByCustomer(@RequestParam String q,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(required = false) Integer limit) {
+        if (customerSearch == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        OrderPageDTO page = customerSearch.search(q, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    /**
+     * This method fetches many orders by id in one request, e.g. "?ids=1,2,3" (up to 500 ids).
+     * All of them are read with a single database query, instead of one request and one query per order.
+     *
+     * @param ids The ids of the orders to find.
+     * @return The orders that exist, in the order they were asked for, with a "200 OK" status code.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<OrderResponseDTO>> getOrdersByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(orderService.getOrdersByIds(ids));
+    }
+
+    /**
+     * This method streams every order in the system as newline-delimited JSON.
+     * Orders are written as they are read from the database, so memory use stays
+     * flat no matter how large the table is.
+     *
+     * @return The streaming body, with a "200 OK" status code.
+     */
+    @GetMapping(value = "/stream", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllOrders() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                int[] written = {0};
+                orderService.streamAllOrders(order -> {
+                    try {
+                        objectMapper.writeValue(generator, order);
+                        generator.writeRaw('\n');
+                        if (++written[0] % STREAM_FLUSH_EVERY == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(body);
+    }
+
+    /**
+     * This method keeps the connection open and sends every order change (created, updated, deleted)
+     * as it is committed, so other services do not need to poll the order list.
+     * By default the changes come as Server-Sent Events; with "Accept: application/x-ndjson" they come
+     * as one JSON object per line. Each change carries a sequence number (the SSE event id).
+     * A client that reconnects with "Last-Event-ID" (or '?after=') gets the changes it missed; if it was
+     * away too long, it first gets a RESET event and should reload the orders it cares about.
+     *
+     * @param lastEventId The last sequence the client saw, sent by SSE clients when they reconnect.
+     * @param after       The same, as a URL parameter (for NDJSON clients).
+     * @param accept      The formats the client accepts.
+     * @return The open stream, with a "200 OK" status code.
+     */
+    @GetMapping(value = "/changes", produces = {MediaType.TEXT_EVENT_STREAM_VALUE, NDJSON_VALUE})
+    public ResponseEntity<ResponseBodyEmitter> streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long after,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        boolean ndjson = accept != null && accept.contains(NDJSON_VALUE);
+        ResponseBodyEmitter emitter = orderChangeStreams.subscribe(after != null ? after : lastEventId, ndjson);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.parseMediaType(NDJSON_VALUE) : MediaType.TEXT_EVENT_STREAM)
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .body(emitter);
+    }
+
+    /**
+     * This method returns order counts and revenue: overall, per status, and per day.
+     * It is served from running counters, so it is equally fast with ten orders or ten million.
+     *
+     * @param from The first day of the per-day breakdown (default: 29 days before 'to').
+     * @param to   The last day of the per-day breakdown (default: today).
+     * @return The statistics with a "200 OK" status code.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<OrderStatsDTO> getStatistics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(orderService.getStatistics(from, to));
     }
 
     /**
      * This method handles fetching a single, specific order by its ID.
+     * The response carries the order's version as an ETag. A client that already has that version
+     * can send it back in "If-None-Match" and gets a bodiless "304 Not Modified" instead; this check
+     * only reads the version column, not the whole order.
      *
-     * @param id The unique ID of the order to find.
-     * @return The found order as a DTO with a "200 OK" status, or a "404 Not Found" status.
+     * @param id          The unique ID of the order to find.
+     * @param ifNoneMatch The ETag(s) of the copy the client already has, if any.
+     * @return The found order as a DTO with a "200 OK" status, "304 Not Modified", or a "404 Not Found" status.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<OrderResponseDTO> getOrderById(@PathVariable Long id) {
+    public ResponseEntity<OrderResponseDTO> getOrderById(@PathVariable Long id,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Optional<Long> version = orderService.getOrderVersion(id);
+            if (version.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            String currentETag = OrderETag.of(version.get());
+            if (OrderETag.matchesAny(ifNoneMatch, currentETag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag).build();
+            }
+        }
         return orderService.getOrderById(id)
-                .map(orderDTO -> new ResponseEntity<>(orderDTO, HttpStatus.OK))
+                .map(orderDTO -> ResponseEntity.ok().eTag(OrderETag.of(orderDTO.getVersion())).body(orderDTO))
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    /**
+     * This method tells a client where an order accepted with "202 Accepted" is.
+     * While it waits to be written (QUEUED) or if writing it failed (FAILED), the answer is "200 OK"
+     * with that state. Once it is saved, the client is sent to the order itself ("303 See Other").
+     *
+     * @param id The ID returned when the order was accepted.
+     * @return The order's intake state, a redirect to the saved order, or "404 Not Found".
+     */
+    @GetMapping("/intake/{id}")
+    public ResponseEntity<OrderIntakeStatusDTO> getIntakeStatus(@PathVariable Long id) {
+        Optional<OrderIntakeStatusDTO> pending = orderIntake == null ? Optional.empty() : orderIntake.status(id);
+        if (pending.isPresent()) {
+            return ResponseEntity.ok(pending.get());
+        }
+        if (orderService.getOrderVersion(id).isPresent()) {
+            return ResponseEntity.status(HttpStatus.SEE_OTHER)
+                    .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                            .path("/api/orders/{id}").buildAndExpand(id).toUri())
+                    .body(new OrderIntakeStatusDTO(id, OrderIntakeStatusDTO.State.SAVED, null));
+        }
+        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+
     /**
      * This method handles updating an existing order.
      * It now accepts an Update DTO and validates it.
+     * If the client sends "If-Match" with the ETag it last saw, the update only happens when the order
+     * is still at that version; otherwise the answer is "412 Precondition Failed".
      *
      * @param id         The ID of the order we want to update.
+     * @param ifMatch    The ETag(s) the client expects the order to have, if any.
      * @param requestDTO The new information for the order (sent as a DTO).
      * @return The updated order as a DTO with a "200 OK" status, or "404 Not Found".
      */
     @PutMapping("/{id}")
-    public ResponseEntity<OrderResponseDTO> updateOrder(@PathVariable Long id, @Valid @RequestBody UpdateOrderRequestDTO requestDTO) {
-        return orderService.updateOrder(id, requestDTO)
-                .map(updatedOrder -> new ResponseEntity<>(updatedOrder, HttpStatus.OK))
+    public ResponseEntity<OrderResponseDTO> updateOrder(@PathVariable Long id,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                        @Valid @RequestBody UpdateOrderRequestDTO requestDTO) {
+        Set<Long> expectedVersions = ifMatch == null ? null : OrderETag.parseIfMatch(ifMatch);
+        return orderService.updateOrder(id, requestDTO, expectedVersions)
+                .map(updatedOrder -> ResponseEntity.ok().eTag(OrderETag.of(updatedOrder.getVersion())).body(updatedOrder))
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
@@ -113,4 +403,39 @@ public class OrderController {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
-}
\ No newline at end of file
+
+    private IdempotentResponse create(CreateOrderRequestDTO requestDTO) {
+        if (orderIntake != null) {
+            OrderResponseDTO acceptedOrder = orderIntake.submit(requestDTO);
+            String location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                    .path("/intake/{id}").buildAndExpand(acceptedOrder.getId()).toUriString();
+            return new IdempotentResponse(HttpStatus.ACCEPTED.value(), acceptedOrder, location, null, false);
+        }
+        OrderResponseDTO newOrder = orderService.createOrder(requestDTO);
+        return new IdempotentResponse(HttpStatus.CREATED.value(), newOrder, null, OrderETag.of(newOrder.getVersion()), false);
+    }
+
+    private static ResponseEntity<OrderResponseDTO> toResponseEntity(IdempotentResponse response) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.status());
+        if (response.location() != null) {
+            builder.header(HttpHeaders.LOCATION, response.location());
+        }
+        if (response.eTag() != null) {
+            builder.eTag(response.eTag());
+        }
+        if (response.replayed()) {
+            builder.header(IDEMPOTENT_REPLAYED_HEADER, "true");
+        }
+        return builder.body(response.body());
+    }
+
+    // SHA-256 of the order as JSON, so a key reused for a different order can be told apart.
+    private String fingerprint(CreateOrderRequestDTO requestDTO) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(requestDTO);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint the order request", e);
+        }
+    }
+}
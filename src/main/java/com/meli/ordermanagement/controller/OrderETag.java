@@ -0,0 +1,71 @@
+package com.meli.ordermanagement.controller;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Small helper that turns an order's version into an HTTP ETag and back.
+ * The ETag is a strong tag holding just the version number, e.g. "3".
+ */
+final class OrderETag {
+
+    private OrderETag() {
+    }
+
+    /**
+     * @param version The order's version; null (a row written before orders had versions) counts as 0.
+     * @return The quoted ETag value, e.g. "\"3\"".
+     */
+    static String of(Long version) {
+        return "\"" + (version == null ? 0 : version) + "\"";
+    }
+
+    /**
+     * Checks an If-None-Match header against the current ETag.
+     * Weak tags (W/"3") are accepted too, as the HTTP spec allows for this header.
+     *
+     * @param ifNoneMatch The header sent by the client.
+     * @param currentETag The order's current ETag.
+     * @return 'true' if the client's copy is still up to date.
+     */
+    static boolean matchesAny(String ifNoneMatch, String currentETag) {
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.equals("*")) {
+                return true;
+            }
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals(currentETag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the versions listed in an If-Match header.
+     * Weak tags are ignored, because If-Match requires a strong comparison.
+     *
+     * @param ifMatch The header sent by the client.
+     * @return The accepted versions, or null when the header is "*" (any existing version is fine).
+     */
+    static Set<Long> parseIfMatch(String ifMatch) {
+        Set<Long> versions = new HashSet<>();
+        for (String tag : ifMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.equals("*")) {
+                return null;
+            }
+            if (candidate.length() > 2 && candidate.startsWith("\"") && candidate.endsWith("\"")) {
+                try {
+                    versions.add(Long.parseLong(candidate.substring(1, candidate.length() - 1)));
+                } catch (NumberFormatException e) {
+                    // Not one of our tags, so it can never match.
+                }
+            }
+        }
+        return versions;
+    }
+}
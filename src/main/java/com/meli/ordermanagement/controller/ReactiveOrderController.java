@@ -0,0 +1,133 @@
+package com.meli.ordermanagement.controller;
+
+import java.util.Set;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.meli.ordermanagement.dto.CreateOrderRequestDTO;
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.dto.UpdateOrderRequestDTO;
+import com.meli.ordermanagement.service.ReactiveOrderService;
+
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The "Receptionist" of the reactive stack ("reactive" profile), answering on WebFlux instead of Spring MVC.
+ * It offers the same create/read/update/delete contract as OrderController, with the same DTOs,
+ * validation, ETags and error bodies, but no request ever holds a thread while the database works.
+ * The servlet-only extras (batches, search and paging, statistics, the change feed, the write-behind
+ * intake and Idempotency-Key) are not available on this stack.
+ */
+@RestController
+@RequestMapping("/api/orders")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveOrderController {
+
+    private final ReactiveOrderService orderService;
+
+    public ReactiveOrderController(ReactiveOrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    /**
+     * This method handles creating a new order.
+     *
+     * @param requestDTO The order DTO with user-provided data.
+     * @return The newly created order with its ETag and a "201 Created" status code.
+     */
+    @PostMapping
+    public Mono<ResponseEntity<OrderResponseDTO>> createOrder(@Valid @RequestBody CreateOrderRequestDTO requestDTO) {
+        return orderService.createOrder(requestDTO)
+                .map(newOrder -> ResponseEntity.status(HttpStatus.CREATED).eTag(OrderETag.of(newOrder.getVersion())).body(newOrder));
+    }
+
+    /**
+     * This method streams every order in the system, oldest first.
+     * It is backpressured: orders are read from the database only as fast as the client takes them,
+     * so a slow client or a huge table never piles orders up in memory.
+     * By default they come as one JSON array; with "Accept: application/x-ndjson", as one order per line.
+     *
+     * @return The orders as DTOs, with a "200 OK" status code.
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<OrderResponseDTO> getAllOrders() {
+        return orderService.getAllOrders();
+    }
+
+    /**
+     * This method handles fetching a single order by its ID, with its version as the ETag.
+     * A client that sends the current ETag in "If-None-Match" gets a bodiless "304 Not Modified".
+     *
+     * @param id          The unique ID of the order to find.
+     * @param ifNoneMatch The ETag(s) of the copy the client already has, if any.
+     * @return The order with "200 OK", "304 Not Modified", or "404 Not Found".
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<OrderResponseDTO>> getOrderById(@PathVariable Long id,
+                                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return readOrder(id).defaultIfEmpty(ResponseEntity.notFound().build());
+        }
+        return orderService.getOrderVersion(id)
+                .flatMap(version -> {
+                    String currentETag = OrderETag.of(version);
+                    if (OrderETag.matchesAny(ifNoneMatch, currentETag)) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag).<OrderResponseDTO>build());
+                    }
+                    return readOrder(id);
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * This method handles updating an existing order.
+     * With "If-Match", the update only happens while the order is still at that version;
+     * otherwise the answer is "412 Precondition Failed".
+     *
+     * @param id         The ID of the order we want to update.
+     * @param ifMatch    The ETag(s) the client expects the order to have, if any.
+     * @param requestDTO The new information for the order.
+     * @return The updated order with "200 OK", or "404 Not Found".
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<OrderResponseDTO>> updateOrder(@PathVariable Long id,
+                                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                              @Valid @RequestBody UpdateOrderRequestDTO requestDTO) {
+        Set<Long> expectedVersions = ifMatch == null ? null : OrderETag.parseIfMatch(ifMatch);
+        return orderService.updateOrder(id, requestDTO, expectedVersions)
+                .map(updatedOrder -> ResponseEntity.ok().eTag(OrderETag.of(updatedOrder.getVersion())).body(updatedOrder))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * This method handles deleting an existing order.
+     *
+     * @param id The ID of the order we want to delete.
+     * @return "204 No Content" if it was deleted, or "404 Not Found".
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteOrder(@PathVariable Long id) {
+        return orderService.deleteOrder(id)
+                .map(deleted -> deleted ? ResponseEntity.noContent().<Void>build() : ResponseEntity.notFound().<Void>build());
+    }
+
+    private Mono<ResponseEntity<OrderResponseDTO>> readOrder(Long id) {
+        return orderService.getOrderById(id)
+                .map(orderDTO -> ResponseEntity.ok().eTag(OrderETag.of(orderDTO.getVersion())).body(orderDTO));
+    }
+}
@@ -0,0 +1,23 @@
+package com.meli.ordermanagement.dto;
+
+import java.util.List;
+
+/**
+ * The answer to a bulk order creation: one result per submitted order, plus totals.
+ */
+public class BatchCreateResponseDTO {
+
+    private final int created;
+    private final int rejected;
+    private final List<BatchItemResultDTO> results;
+
+    public BatchCreateResponseDTO(int created, int rejected, List<BatchItemResultDTO> results) {
+        this.created = created;
+        this.rejected = rejected;
+        this.results = results;
+    }
+
+    public int getCreated() { return created; }
+    public int getRejected() { return rejected; }
+    public List<BatchItemResultDTO> getResults() { return results; }
+}
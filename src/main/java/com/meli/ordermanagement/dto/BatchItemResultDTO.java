@@ -0,0 +1,38 @@
+package com.meli.ordermanagement.dto;
+
+import java.util.Map;
+
+/**
+ * The outcome of one order inside a batch request.
+ * 'index' is the position of the order in the request list, so clients can match results to inputs.
+ * Exactly one of 'order' (when CREATED) or 'validationErrors' (when REJECTED) is filled.
+ */
+public class BatchItemResultDTO {
+
+    public enum Outcome { CREATED, REJECTED }
+
+    private final int index;
+    private final Outcome outcome;
+    private final OrderResponseDTO order;
+    private final Map<String, String> validationErrors;
+
+    private BatchItemResultDTO(int index, Outcome outcome, OrderResponseDTO order, Map<String, String> validationErrors) {
+        this.index = index;
+        this.outcome = outcome;
+        this.order = order;
+        this.validationErrors = validationErrors;
+    }
+
+    public static BatchItemResultDTO created(int index, OrderResponseDTO order) {
+        return new BatchItemResultDTO(index, Outcome.CREATED, order, null);
+    }
+
+    public static BatchItemResultDTO rejected(int index, Map<String, String> validationErrors) {
+        return new BatchItemResultDTO(index, Outcome.REJECTED, null, validationErrors);
+    }
+
+    public int getIndex() { return index; }
+    public Outcome getOutcome() { return outcome; }
+    public OrderResponseDTO getOrder() { return order; }
+    public Map<String, String> getValidationErrors() { return validationErrors; }
+}
@@ -0,0 +1,26 @@
+package com.meli.ordermanagement.dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import com.meli.ordermanagement.model.OrderStatus;
+
+/**
+ * The order statistics of one calendar day: the day's totals plus a breakdown per status.
+ */
+public class DailyStatsDTO {
+
+    private final LocalDate day;
+    private final StatusStatsDTO total;
+    private final Map<OrderStatus, StatusStatsDTO> byStatus;
+
+    public DailyStatsDTO(LocalDate day, StatusStatsDTO total, Map<OrderStatus, StatusStatsDTO> byStatus) {
+        this.day = day;
+        this.total = total;
+        this.byStatus = byStatus;
+    }
+
+    public LocalDate getDay() { return day; }
+    public StatusStatsDTO getTotal() { return total; }
+    public Map<OrderStatus, StatusStatsDTO> getByStatus() { return byStatus; }
+}
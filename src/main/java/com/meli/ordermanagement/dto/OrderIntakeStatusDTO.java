@@ -0,0 +1,25 @@
+package com.meli.ordermanagement.dto;
+
+/**
+ * Where an order accepted with "202 Accepted" is in the write-behind intake.
+ * QUEUED: waiting to be written. SAVED: in the database (see /api/orders/{id}).
+ * FAILED: it could not be written; 'error' says why and the client should submit it again.
+ */
+public class OrderIntakeStatusDTO {
+
+    public enum State { QUEUED, SAVED, FAILED }
+
+    private final Long id;
+    private final State state;
+    private final String error;
+
+    public OrderIntakeStatusDTO(Long id, State state, String error) {
+        this.id = id;
+        this.state = state;
+        this.error = error;
+    }
+
+    public Long getId() { return id; }
+    public State getState() { return state; }
+    public String getError() { return error; }
+}
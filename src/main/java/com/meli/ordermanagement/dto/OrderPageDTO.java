@@ -0,0 +1,21 @@
+package com.meli.ordermanagement.dto;
+
+import java.util.List;
+
+/**
+ * One page of orders plus the opaque cursor needed to ask for the next page.
+ * 'nextCursor' is null when there are no more orders to read.
+ */
+public class OrderPageDTO {
+
+    private final List<OrderResponseDTO> items;
+    private final String nextCursor;
+
+    public OrderPageDTO(List<OrderResponseDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<OrderResponseDTO> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+}
@@ -3,13 +3,30 @@ package com.meli.ordermanagement.dto;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import com.meli.ordermanagement.model.OrderStatus;
+
 public class OrderResponseDTO {
 
     private Long id;
     private String customerName;
     private LocalDateTime orderDate;
-    private String status;
+    private OrderStatus status;
     private BigDecimal totalAmount;
+    private Long version;
+
+    public OrderResponseDTO() {
+    }
+
+    // Used by queries that read rows straight into DTOs (JPA constructor expressions).
+    public OrderResponseDTO(Long id, String customerName, LocalDateTime orderDate, OrderStatus status,
+                            BigDecimal totalAmount, Long version) {
+        this.id = id;
+        this.customerName = customerName;
+        this.orderDate = orderDate;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.version = version;
+    }
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -17,8 +34,10 @@ public class OrderResponseDTO {
     public void setCustomerName(String customerName) { this.customerName = customerName; }
     public LocalDateTime getOrderDate() { return orderDate; }
     public void setOrderDate(LocalDateTime orderDate) { this.orderDate = orderDate; }
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public OrderStatus getStatus() { return status; }
+    public void setStatus(OrderStatus status) { this.status = status; }
     public BigDecimal getTotalAmount() { return totalAmount; }
     public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
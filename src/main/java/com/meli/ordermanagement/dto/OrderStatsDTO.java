@@ -0,0 +1,32 @@
+package com.meli.ordermanagement.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import com.meli.ordermanagement.model.OrderStatus;
+
+/**
+ * The answer of GET /api/orders/stats: overall totals, totals per status,
+ * totals per day for the requested range, and when the numbers were last checked against the database.
+ */
+public class OrderStatsDTO {
+
+    private final StatusStatsDTO total;
+    private final Map<OrderStatus, StatusStatsDTO> byStatus;
+    private final List<DailyStatsDTO> byDay;
+    private final LocalDateTime lastReconciledAt;
+
+    public OrderStatsDTO(StatusStatsDTO total, Map<OrderStatus, StatusStatsDTO> byStatus,
+                         List<DailyStatsDTO> byDay, LocalDateTime lastReconciledAt) {
+        this.total = total;
+        this.byStatus = byStatus;
+        this.byDay = byDay;
+        this.lastReconciledAt = lastReconciledAt;
+    }
+
+    public StatusStatsDTO getTotal() { return total; }
+    public Map<OrderStatus, StatusStatsDTO> getByStatus() { return byStatus; }
+    public List<DailyStatsDTO> getByDay() { return byDay; }
+    public LocalDateTime getLastReconciledAt() { return lastReconciledAt; }
+}
@@ -0,0 +1,20 @@
+package com.meli.ordermanagement.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * How many orders and how much revenue, for one status or one day.
+ */
+public class StatusStatsDTO {
+
+    private final long orders;
+    private final BigDecimal revenue;
+
+    public StatusStatsDTO(long orders, BigDecimal revenue) {
+        this.orders = orders;
+        this.revenue = revenue;
+    }
+
+    public long getOrders() { return orders; }
+    public BigDecimal getRevenue() { return revenue; }
+}
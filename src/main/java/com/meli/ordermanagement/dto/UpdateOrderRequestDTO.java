@@ -2,6 +2,8 @@ package com.meli.ordermanagement.dto;
 
 import java.math.BigDecimal;
 
+import com.meli.ordermanagement.model.OrderStatus;
+
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -17,8 +19,8 @@ public class UpdateOrderRequestDTO {
     @NotBlank(message = "Customer name cannot be empty.")
     private String customerName;
 
-    @NotBlank(message = "Status cannot be empty.")
-    private String status;
+    @NotNull(message = "Status cannot be empty.")
+    private OrderStatus status;
 
     @NotNull(message = "Total amount cannot be null.")
     @Positive(message = "Total amount must be a positive number.")
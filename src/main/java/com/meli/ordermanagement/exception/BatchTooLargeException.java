@@ -0,0 +1,12 @@
+package com.meli.ordermanagement.exception;
+
+/**
+ * Thrown when a bulk request carries more orders than we accept in one call.
+ * It is turned into a "400 Bad Request" by the GlobalExceptionHandler.
+ */
+public class BatchTooLargeException extends RuntimeException {
+
+    public BatchTooLargeException(String message) {
+        super(message);
+    }
+}
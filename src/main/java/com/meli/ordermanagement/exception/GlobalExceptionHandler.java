@@ -1,26 +1,46 @@
 package com.meli.ordermanagement.exception;
 
+import java.sql.SQLTransientConnectionException;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import com.meli.ordermanagement.dto.ErrorResponseDTO;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * This is our global "Crisis Manager".
  * The @ControllerAdvice annotation allows it to intercept errors
  * from ANY controller in the application.
+ *
+ * Every rejected input is also counted as "orders.validation.failures", tagged with the field
+ * (or URL parameter) that was wrong, so we can see which mistakes clients make most.
+ * On the reactive stack, ReactiveExceptionHandler gives the same answers.
  */
 @ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * This method is activated specifically when a controller argument
      * annotated with @Valid fails validation.
@@ -37,6 +57,7 @@ public class GlobalExceptionHandler {
             String fieldName = ((FieldError) error).getField();
             String errorMessage = error.getDefaultMessage();
             errors.put(fieldName, errorMessage);
+            countValidationFailure(fieldName);
         });
 
         // We create our custom error response object.
@@ -49,4 +70,272 @@ public class GlobalExceptionHandler {
 
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
+
+    /**
+     * This method is activated when a client sends a pagination cursor we cannot read.
+     *
+     * @param ex      The exception describing what was wrong with the cursor.
+     * @param request The original web request that caused the error.
+     * @return A "400 Bad Request" error response in our standard format.
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidCursor(InvalidCursorException ex, WebRequest request) {
+        countValidationFailure("cursor");
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.BAD_REQUEST.value(),
+                "Invalid Cursor",
+                Map.of("cursor", ex.getMessage()),
+                request.getDescription(false)
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * This method is activated when a bulk request carries more orders than we accept.
+     *
+     * @param ex      The exception describing the limit.
+     * @param request The original web request that caused the error.
+     * @return A "400 Bad Request" error response in our standard format.
+     */
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ErrorResponseDTO> handleBatchTooLarge(BatchTooLargeException ex, WebRequest request) {
+        countValidationFailure("orders");
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.BAD_REQUEST.value(),
+                "Batch Too Large",
+                Map.of("orders", ex.getMessage()),
+                request.getDescription(false)
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * This method is activated when an "If-Match" update finds the order at a different version.
+     * The order's current ETag is sent back so the client can re-read and retry.
+     *
+     * @param ex      The exception holding the order's current version.
+     * @param request The original web request that caused the error.
+     * @return A "412 Precondition Failed" error response in our standard format.
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponseDTO> handlePreconditionFailed(PreconditionFailedException ex, WebRequest request) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                "Precondition Failed",
+                Map.of("If-Match", ex.getMessage()),
+                request.getDescription(false)
+        );
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag("\"" + ex.getCurrentVersion() + "\"")
+                .body(errorResponse);
+    }
+
+    /**
+     * This method is activated when two updates of the same order race and the later one loses
+     * the optimistic locking check (its copy of the order was already out of date).
+     *
+     * @param ex      The exception raised by Hibernate's version check.
+     * @param request The original web request that caused the error.
+     * @return A "409 Conflict" error response in our standard format.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex, WebRequest request) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                Map.of("order", "The order was modified concurrently. Read it again and retry."),
+                request.getDescription(false)
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * This method is activated when a URL parameter has the wrong format,
+     * e.g. "?status=Lost" or "?from=yesterday".
+     *
+     * @param ex      The exception naming the parameter that could not be read.
+     * @param request The original web request that caused the error.
+     * @return A "400 Bad Request" error response in our standard format.
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponseDTO> handleTypeMismatch(MethodArgumentTypeMismatchException ex, WebRequest request) {
+        countValidationFailure(ex.getName());
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.BAD_REQUEST.value(),
+                "Invalid Parameter",
+                Map.of(ex.getName(), "Invalid value: " + ex.getValue()),
+                request.getDescription(false)
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * This method is activated when the request body cannot be read,
+     * e.g. broken JSON or an unknown order status.
+     *
+     * @param ex      The exception raised while reading the body.
+     * @param request The original web request that caused the error.
+     * @return A "400 Bad Request" error response in our standard format.
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponseDTO> handleUnreadableBody(HttpMessageNotReadableException ex, WebRequest request) {
+        countValidationFailure("body");
+        Throwable cause = ex.getMostSpecificCause();
+        String detail = cause instanceof IllegalArgumentException
+                ? cause.getMessage()
+                : "The request body is not valid JSON.";
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.BAD_REQUEST.value(),
+                "Malformed Request",
+                Map.of("body", detail),
+                request.getDescription(false)
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * This method is activated when no database connection could be obtained in time,
+     * e.g. because the connection limiter is turning excess load away.
+     * Answering quickly with 503 is better than letting every request time out together.
+     *
+     * @param ex      The exception raised while starting the transaction.
+     * @param request The original web request that caused the error.
+     * @return A "503 Service Unavailable" error response with a Retry-After header.
+     * @throws CannotCreateTransactionException If the cause was something else, so it is not hidden.
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponseDTO> handleNoConnection(CannotCreateTransactionException ex, WebRequest request) {
+        Throwable cause = ex;
+        while (cause != null && !(cause instanceof SQLTransientConnectionException)) {
+            cause = cause.getCause();
+        }
+        if (cause == null) {
+            throw ex;
+        }
+
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                Map.of("database", cause.getMessage()),
+                request.getDescription(false)
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
+    /**
+     * This method is activated when the write-behind intake cannot take another order:
+     * too many orders are already waiting to be saved, or the application is shutting down.
+     *
+     * @param ex      The exception saying why the order was refused.
+     * @param request The original web request that caused the error.
+     * @return A "503 Service Unavailable" error response with a Retry-After header.
+     */
+    @ExceptionHandler(IntakeUnavailableException.class)
+    public ResponseEntity<ErrorResponseDTO> handleIntakeUnavailable(IntakeUnavailableException ex, WebRequest request) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                Map.of("order", ex.getMessage()),
+                request.getDescription(false)
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
+    /**
+     * This method is activated when the Idempotency-Key header is empty or too long.
+     *
+     * @param ex      The exception describing what was wrong with the key.
+     * @param request The original web request that caused the error.
+     * @return A "400 Bad Request" error response in our standard format.
+     */
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidIdempotencyKey(InvalidIdempotencyKeyException ex, WebRequest request) {
+        countValidationFailure("Idempotency-Key");
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.BAD_REQUEST.value(),
+                "Invalid Idempotency Key",
+                Map.of("Idempotency-Key", ex.getMessage()),
+                request.getDescription(false)
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * This method is activated when a client reuses an Idempotency-Key for a different request.
+     *
+     * @param ex      The exception raised by the idempotency store.
+     * @param request The original web request that caused the error.
+     * @return A "422 Unprocessable Entity" error response in our standard format.
+     */
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponseDTO> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex, WebRequest request) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                "Idempotency Key Reused",
+                Map.of("Idempotency-Key", ex.getMessage()),
+                request.getDescription(false)
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    /**
+     * This method is activated when a retry arrives while the first request with the same
+     * Idempotency-Key is still running and does not finish in time.
+     *
+     * @param ex      The exception raised by the idempotency store.
+     * @param request The original web request that caused the error.
+     * @return A "409 Conflict" error response with a Retry-After header.
+     */
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<ErrorResponseDTO> handleIdempotencyKeyInProgress(IdempotencyKeyInProgressException ex, WebRequest request) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.CONFLICT.value(),
+                "Request In Progress",
+                Map.of("Idempotency-Key", ex.getMessage()),
+                request.getDescription(false)
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
+    /**
+     * This method is activated when the order change feed already has as many clients as it allows.
+     *
+     * @param ex      The exception saying why the client was refused.
+     * @param request The original web request that caused the error.
+     * @return A "503 Service Unavailable" error response with a Retry-After header.
+     */
+    @ExceptionHandler(TooManySubscribersException.class)
+    public ResponseEntity<ErrorResponseDTO> handleTooManySubscribers(TooManySubscribersException ex, WebRequest request) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                Map.of("changes", ex.getMessage()),
+                request.getDescription(false)
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(errorResponse);
+    }
+
+    private void countValidationFailure(String field) {
+        meterRegistry.counter("orders.validation.failures", "field", field).increment();
+    }
 }
@@ -0,0 +1,13 @@
+package com.meli.ordermanagement.exception;
+
+/**
+ * Thrown when a retry arrives while the first request with the same Idempotency-Key is still
+ * running and does not finish in time. It is turned into a "409 Conflict" (with Retry-After)
+ * by the GlobalExceptionHandler.
+ */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    public IdempotencyKeyInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.meli.ordermanagement.exception;
+
+/**
+ * Thrown when a client sends an Idempotency-Key it already used, but with a different request body.
+ * Replaying the first answer would be wrong, so it is turned into a "422 Unprocessable Entity"
+ * by the GlobalExceptionHandler.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
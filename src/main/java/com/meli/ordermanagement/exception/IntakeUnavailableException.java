@@ -0,0 +1,13 @@
+package com.meli.ordermanagement.exception;
+
+/**
+ * Thrown when the write-behind intake cannot take another order right now:
+ * its queue is full or the application is shutting down.
+ * It is turned into a "503 Service Unavailable" (with Retry-After) by the GlobalExceptionHandler.
+ */
+public class IntakeUnavailableException extends RuntimeException {
+
+    public IntakeUnavailableException(String message) {
+        super(message);
+    }
+}
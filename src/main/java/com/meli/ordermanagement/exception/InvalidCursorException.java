@@ -0,0 +1,13 @@
+package com.meli.ordermanagement.exception;
+
+/**
+ * Thrown when a client sends a pagination cursor that we did not issue
+ * (or that was damaged on the way). It is turned into a "400 Bad Request"
+ * by the GlobalExceptionHandler.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.meli.ordermanagement.exception;
+
+/**
+ * Thrown when the Idempotency-Key header is empty or too long.
+ * It is turned into a "400 Bad Request" by the GlobalExceptionHandler.
+ */
+public class InvalidIdempotencyKeyException extends RuntimeException {
+
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
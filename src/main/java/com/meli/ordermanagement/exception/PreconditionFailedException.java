@@ -0,0 +1,23 @@
+package com.meli.ordermanagement.exception;
+
+/**
+ * Thrown when a client asks to change an order "only if it is still version X" (If-Match)
+ * and the order has moved on since. It is turned into a "412 Precondition Failed"
+ * by the GlobalExceptionHandler.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    private final Long currentVersion;
+
+    public PreconditionFailedException(String message, Long currentVersion) {
+        super(message);
+        this.currentVersion = currentVersion;
+    }
+
+    /**
+     * @return The order's version right now, so the client can see what it should have sent.
+     */
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
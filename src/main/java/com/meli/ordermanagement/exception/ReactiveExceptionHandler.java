@@ -0,0 +1,154 @@
+package com.meli.ordermanagement.exception;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.meli.ordermanagement.dto.ErrorResponseDTO;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The "Crisis Manager" of the reactive stack ("reactive" profile).
+ * WebFlux reports bad input with its own exceptions, so they are translated here into exactly the
+ * same ErrorResponseDTO bodies, status codes and "orders.validation.failures" counts as the
+ * GlobalExceptionHandler gives on the servlet stack.
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    private final MeterRegistry meterRegistry;
+
+    public ReactiveExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * This method is activated when a request body annotated with @Valid fails validation.
+     *
+     * @param ex       The exception that contains all the details of the validation error.
+     * @param exchange The request that caused the error.
+     * @return A "400 Bad Request" error response with one message per field.
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponseDTO> handleValidationExceptions(WebExchangeBindException ex, ServerWebExchange exchange) {
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach((error) -> {
+            String fieldName = ((FieldError) error).getField();
+            errors.put(fieldName, error.getDefaultMessage());
+            countValidationFailure(fieldName);
+        });
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.BAD_REQUEST.value(),
+                "Validation Failed",
+                errors,
+                describe(exchange)
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * This method is activated when the request body cannot be read (broken JSON, an unknown status)
+     * or a URL value has the wrong format (e.g. a non-numeric order id).
+     *
+     * @param ex       The exception raised while reading the request.
+     * @param exchange The request that caused the error.
+     * @return A "400 Bad Request" error response in our standard format.
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponseDTO> handleUnreadableInput(ServerWebInputException ex, ServerWebExchange exchange) {
+        MethodParameter parameter = ex.getMethodParameter();
+        ErrorResponseDTO errorResponse;
+        if (parameter == null || parameter.hasParameterAnnotation(RequestBody.class)) {
+            countValidationFailure("body");
+            Throwable cause = NestedExceptionUtils.getMostSpecificCause(ex);
+            String detail = cause instanceof IllegalArgumentException
+                    ? cause.getMessage()
+                    : "The request body is not valid JSON.";
+            errorResponse = new ErrorResponseDTO(
+                    HttpStatus.BAD_REQUEST.value(),
+                    "Malformed Request",
+                    Map.of("body", detail),
+                    describe(exchange)
+            );
+        } else {
+            String name = parameter.getParameterName();
+            Object value = ex.getCause() instanceof TypeMismatchException mismatch ? mismatch.getValue() : null;
+            countValidationFailure(name);
+            errorResponse = new ErrorResponseDTO(
+                    HttpStatus.BAD_REQUEST.value(),
+                    "Invalid Parameter",
+                    Map.of(name, "Invalid value: " + value),
+                    describe(exchange)
+            );
+        }
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * This method is activated when an "If-Match" update finds the order at a different version.
+     *
+     * @param ex       The exception holding the order's current version.
+     * @param exchange The request that caused the error.
+     * @return A "412 Precondition Failed" error response with the order's current ETag.
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponseDTO> handlePreconditionFailed(PreconditionFailedException ex, ServerWebExchange exchange) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                "Precondition Failed",
+                Map.of("If-Match", ex.getMessage()),
+                describe(exchange)
+        );
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag("\"" + ex.getCurrentVersion() + "\"")
+                .body(errorResponse);
+    }
+
+    /**
+     * This method is activated when two updates of the same order race and the later one finds
+     * the order already at a newer version.
+     *
+     * @param ex       The exception raised by the version check.
+     * @param exchange The request that caused the error.
+     * @return A "409 Conflict" error response in our standard format.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleOptimisticLockingFailure(OptimisticLockingFailureException ex, ServerWebExchange exchange) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                Map.of("order", "The order was modified concurrently. Read it again and retry."),
+                describe(exchange)
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    // The same "uri=/api/orders/1" text the servlet stack puts in the 'path' field.
+    private static String describe(ServerWebExchange exchange) {
+        return "uri=" + exchange.getRequest().getPath().value();
+    }
+
+    private void countValidationFailure(String field) {
+        meterRegistry.counter("orders.validation.failures", "field", field).increment();
+    }
+}
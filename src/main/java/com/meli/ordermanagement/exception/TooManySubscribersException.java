@@ -0,0 +1,13 @@
+package com.meli.ordermanagement.exception;
+
+/**
+ * Thrown when the order change feed already has as many connected clients as it allows,
+ * or takes none at all because the application is starting up or shutting down.
+ * It is turned into a "503 Service Unavailable" (with Retry-After) by the GlobalExceptionHandler.
+ */
+public class TooManySubscribersException extends RuntimeException {
+
+    public TooManySubscribersException(String message) {
+        super(message);
+    }
+}
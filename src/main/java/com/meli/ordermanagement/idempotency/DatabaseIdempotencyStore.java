@@ -0,0 +1,140 @@
+package com.meli.ordermanagement.idempotency;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.exception.IdempotencyKeyInProgressException;
+import com.meli.ordermanagement.exception.IdempotencyKeyReusedException;
+import com.meli.ordermanagement.repository.IdempotencyRecordRepository;
+import com.meli.ordermanagement.repository.StoredIdempotentResponse;
+
+/**
+ * The durable IdempotencyStore: receipts live in the idempotency_keys table, so they survive
+ * restarts and a retry that lands on another node still gets the stored answer.
+ * Used when orders.idempotency.store=database.
+ *
+ * The first request claims its key with an INSERT (the primary key lets only one win) and fills
+ * in the answer when it is done. A retry that finds the row still empty polls it every
+ * POLL_INTERVAL until the answer appears or 'waitTimeout' passes.
+ * Rows older than 'ttl' are deleted every orders.idempotency.purge-interval.
+ *
+ * If a node dies while running a request, its key stays "in progress" until the row expires.
+ */
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseIdempotencyStore.class);
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+
+    private final IdempotencyRecordRepository records;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+
+    /**
+     * @param records      The idempotency_keys table.
+     * @param objectMapper Writes and reads the stored answers' bodies.
+     * @param ttl          How long an answer is kept after the first request with its key.
+     * @param waitTimeout  How long a retry waits for a first request that is still running.
+     */
+    public DatabaseIdempotencyStore(IdempotencyRecordRepository records, ObjectMapper objectMapper,
+                                    Duration ttl, Duration waitTimeout) {
+        this.records = records;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    public IdempotentResponse execute(String key, String fingerprint, Supplier<IdempotentResponse> action) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            // Look first: most retries find a finished answer and never attempt the (failing) insert.
+            Optional<StoredIdempotentResponse> stored = records.findStored(key);
+            if (stored.isEmpty()) {
+                if (claim(key, fingerprint)) {
+                    return run(key, action);
+                }
+                continue;
+            }
+            if (!stored.get().fingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyReusedException("This Idempotency-Key was already used with a different request body.");
+            }
+            if (stored.get().status() != null) {
+                return toResponse(stored.get()).asReplay();
+            }
+            // Still running somewhere: look again shortly.
+            if (System.nanoTime() - deadline > 0) {
+                throw new IdempotencyKeyInProgressException("A request with this Idempotency-Key is still being processed.");
+            }
+            pause();
+        }
+    }
+
+    /**
+     * Deletes the receipts older than the TTL.
+     */
+    @Scheduled(fixedDelayString = "${orders.idempotency.purge-interval:PT10M}",
+               initialDelayString = "${orders.idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        int deleted = records.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+        log.debug("Purged {} expired idempotency keys", deleted);
+    }
+
+    private boolean claim(String key, String fingerprint) {
+        try {
+            records.claim(key, fingerprint, LocalDateTime.now());
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private IdempotentResponse run(String key, Supplier<IdempotentResponse> action) {
+        IdempotentResponse response;
+        try {
+            response = action.get();
+        } catch (RuntimeException | Error e) {
+            records.release(key);
+            throw e;
+        }
+        records.complete(key, response.status(), response.location(), response.eTag(), write(response.body()));
+        return response;
+    }
+
+    private IdempotentResponse toResponse(StoredIdempotentResponse stored) {
+        try {
+            OrderResponseDTO body = stored.body() == null ? null : objectMapper.readValue(stored.body(), OrderResponseDTO.class);
+            return new IdempotentResponse(stored.status(), body, stored.location(), stored.etag(), false);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response cannot be read", e);
+        }
+    }
+
+    private String write(OrderResponseDTO body) {
+        try {
+            return body == null ? null : objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Idempotent response cannot be stored", e);
+        }
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(POLL_INTERVAL);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException("A request with this Idempotency-Key is still being processed.");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.meli.ordermanagement.idempotency;
+
+import java.util.function.Supplier;
+
+import com.meli.ordermanagement.exception.IdempotencyKeyInProgressException;
+import com.meli.ordermanagement.exception.IdempotencyKeyReusedException;
+
+/**
+ * The "Receipt Book" for requests sent with an Idempotency-Key header.
+ *
+ * The first request with a key runs and its answer is written down; a retry with the same key
+ * gets that answer back without running again. If the retry arrives while the first request is
+ * still running, it waits for that one instead of racing it (so two orders are never created).
+ *
+ * The default store lives in memory (InMemoryIdempotencyStore); DatabaseIdempotencyStore keeps the
+ * receipts in a table, so they survive restarts and are shared by every node.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Runs 'action' once per key, or hands back the answer it gave the first time.
+     * If 'action' fails, nothing is remembered and the key can be used again.
+     *
+     * @param key         The client's key, already scoped to the caller.
+     * @param fingerprint A fingerprint of the request body; a key may only be reused for the same body.
+     * @param action      Does the real work (e.g. creates the order) and describes the answer.
+     * @return The answer, marked as replayed when it was stored earlier.
+     * @throws IdempotencyKeyReusedException     If the key was first used with a different body.
+     * @throws IdempotencyKeyInProgressException If the first request with this key is still running after the wait.
+     */
+    IdempotentResponse execute(String key, String fingerprint, Supplier<IdempotentResponse> action);
+}
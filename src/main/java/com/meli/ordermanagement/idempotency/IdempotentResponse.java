@@ -0,0 +1,23 @@
+package com.meli.ordermanagement.idempotency;
+
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+
+/**
+ * The answer given to the first request with an Idempotency-Key, kept so that retries with the
+ * same key get exactly the same answer instead of creating the order again.
+ *
+ * @param status   The HTTP status (201 Created, or 202 Accepted with the write-behind intake).
+ * @param body     The order that was created.
+ * @param location The Location header, if the answer had one.
+ * @param eTag     The ETag header, if the answer had one.
+ * @param replayed True when this is a stored answer handed out again, not a fresh one.
+ */
+public record IdempotentResponse(int status, OrderResponseDTO body, String location, String eTag, boolean replayed) {
+
+    /**
+     * @return The same answer, marked as replayed.
+     */
+    public IdempotentResponse asReplay() {
+        return new IdempotentResponse(status, body, location, eTag, true);
+    }
+}
@@ -0,0 +1,90 @@
+package com.meli.ordermanagement.idempotency;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.meli.ordermanagement.exception.IdempotencyKeyInProgressException;
+import com.meli.ordermanagement.exception.IdempotencyKeyReusedException;
+
+/**
+ * The default, in-process IdempotencyStore, built on Caffeine.
+ *
+ * Keys are kept for 'ttl' after their first request, and at most 'maxKeys' of them at once
+ * (the least useful are dropped first), so memory stays bounded however many keys clients send.
+ * The map underneath is a ConcurrentHashMap: lookups take no lock and writes only lock one bin,
+ * so requests with different keys never wait for each other.
+ *
+ * Like CaffeineOrderCache, each entry holds a "promise" of the answer. The first request claims the
+ * key with putIfAbsent and runs OUTSIDE any lock; retries of the same key wait on its promise.
+ * Receipts are only kept by this node, so a retry that lands on another node runs again.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final ConcurrentMap<String, Entry> entries;
+    private final Duration waitTimeout;
+
+    private record Entry(String fingerprint, CompletableFuture<IdempotentResponse> response) {
+    }
+
+    /**
+     * @param ttl         How long an answer is kept after the first request with its key.
+     * @param maxKeys     The most keys remembered at once.
+     * @param waitTimeout How long a retry waits for a first request that is still running.
+     */
+    public InMemoryIdempotencyStore(Duration ttl, long maxKeys, Duration waitTimeout) {
+        this.entries = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxKeys)
+                .<String, Entry>build()
+                .asMap();
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    public IdempotentResponse execute(String key, String fingerprint, Supplier<IdempotentResponse> action) {
+        Entry mine = new Entry(fingerprint, new CompletableFuture<>());
+        Entry existing = entries.putIfAbsent(key, mine);
+        if (existing != null) {
+            return replay(existing, fingerprint);
+        }
+        try {
+            IdempotentResponse response = action.get();
+            mine.response().complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            // Failures are not remembered: the key is freed and the waiting retries get the same error.
+            entries.remove(key, mine);
+            mine.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * @return How many keys are remembered right now (approximately).
+     */
+    public long size() {
+        return entries.size();
+    }
+
+    private IdempotentResponse replay(Entry existing, String fingerprint) {
+        if (!existing.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException("This Idempotency-Key was already used with a different request body.");
+        }
+        try {
+            return existing.response().get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS).asReplay();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInProgressException("A request with this Idempotency-Key is still being processed.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException("A request with this Idempotency-Key is still being processed.");
+        }
+    }
+}
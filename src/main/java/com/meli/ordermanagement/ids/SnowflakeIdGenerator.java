@@ -0,0 +1,135 @@
+package com.meli.ordermanagement.ids;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * A "Ticket Printer" for order ids that needs no database: every instance prints its own ids, and two
+ * instances never print the same one (Twitter's "Snowflake" scheme).
+ *
+ * An id is a positive number of at most 53 bits made of three parts:
+ *   [ 41 bits: milliseconds since EPOCH | 6 bits: node id | 6 bits: sequence ]
+ * - The time goes first, so ids sort by when they were created (across nodes, to within their clock difference).
+ * - The node id (0-63, one per running instance) keeps nodes apart.
+ * - The sequence counts the ids printed in the same millisecond, up to 64 (64,000 a second per instance).
+ * 41 bits of milliseconds last about 69 years from EPOCH. The usual Snowflake layout (10 node bits, 12 sequence
+ * bits) makes 63-bit ids, and JSON clients that read numbers as doubles (JavaScript) would round them;
+ * 53 bits is the most they hold exactly, so these ids stay plain JSON numbers.
+ *
+ * The last timestamp and sequence live together in one AtomicLong, so taking an id is a single
+ * compare-and-set: no locks, and threads never wait for each other.
+ *
+ * Clocks are not perfect, so the generator never trusts its clock to move forward:
+ * - If the clock goes back (e.g. an NTP correction), it keeps counting from the last timestamp it used,
+ *   so ids still never repeat nor go down.
+ * - If more than 64 ids are asked for in one millisecond, it borrows the next millisecond.
+ * Either way it may run ahead of the real clock, but never by more than maxClockDrift: past that, callers wait
+ * for the clock to catch up. A clock that went back by more than maxClockDrift is treated as broken, and
+ * nextId() fails instead of waiting that long.
+ * Ids are only unique while node ids are: two running instances must never share one.
+ */
+public class SnowflakeIdGenerator {
+
+    /**
+     * Time zero of the timestamp part (2025-01-01T00:00:00Z).
+     */
+    public static final long EPOCH = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+    public static final int TIMESTAMP_BITS = 41;
+    public static final int NODE_BITS = 6;
+    public static final int SEQUENCE_BITS = 6;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private static final long MAX_TIMESTAMP = (1L << TIMESTAMP_BITS) - 1;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+
+    private final long nodeBits;
+    private final long maxDriftMillis;
+    private final LongSupplier clock;
+
+    // (last timestamp used << SEQUENCE_BITS) | last sequence used
+    private final AtomicLong state;
+
+    /**
+     * @param nodeId        This instance's node id, 0 to MAX_NODE_ID, different on every running instance.
+     * @param maxClockDrift How far ahead of the real clock the generator may run (see above), e.g. 1s.
+     */
+    public SnowflakeIdGenerator(int nodeId, Duration maxClockDrift) {
+        this(nodeId, maxClockDrift, System::currentTimeMillis);
+    }
+
+    // For tests: a clock that can be moved by hand.
+    SnowflakeIdGenerator(int nodeId, Duration maxClockDrift, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("The node id must be between 0 and " + MAX_NODE_ID + ", got " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.maxDriftMillis = maxClockDrift.toMillis();
+        this.clock = clock;
+        this.state = new AtomicLong(now() << SEQUENCE_BITS);
+    }
+
+    /**
+     * @return A new id, greater than every id this instance returned before.
+     * @throws IllegalStateException If the clock went back by more than maxClockDrift, or the timestamp ran out.
+     */
+    public long nextId() {
+        while (true) {
+            long now = now();
+            long current = state.get();
+            long lastTimestamp = current >>> SEQUENCE_BITS;
+            long next;
+            if (now > lastTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else if ((current & MAX_SEQUENCE) < MAX_SEQUENCE) {
+                // Same millisecond, or the clock went back: keep counting on the last timestamp.
+                next = current + 1;
+            } else {
+                // This millisecond is used up: borrow the next one.
+                next = (lastTimestamp + 1) << SEQUENCE_BITS;
+            }
+            long timestamp = next >>> SEQUENCE_BITS;
+            if (timestamp - now > maxDriftMillis) {
+                // 'now' may be stale (this thread may have been paused), so look at the clock again:
+                // the generator never gets ahead of a fresh reading by more than the drift unless the clock went back.
+                if (lastTimestamp - now() > maxDriftMillis) {
+                    throw new IllegalStateException("The clock went back by " + (lastTimestamp - now())
+                            + " ms, more than the allowed " + maxDriftMillis + " ms; refusing to generate order ids.");
+                }
+                // Too far ahead of the clock: let it catch up.
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                continue;
+            }
+            if (timestamp > MAX_TIMESTAMP) {
+                throw new IllegalStateException("The " + TIMESTAMP_BITS + "-bit timestamp of order ids, counted from "
+                        + Instant.ofEpochMilli(EPOCH) + ", has run out.");
+            }
+            if (state.compareAndSet(current, next)) {
+                return (timestamp << TIMESTAMP_SHIFT) | nodeBits | (next & MAX_SEQUENCE);
+            }
+        }
+    }
+
+    private long now() {
+        return clock.getAsLong() - EPOCH;
+    }
+
+    /**
+     * @return The node id inside an id.
+     */
+    public static int nodeOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+
+    /**
+     * @return When an id was created (to the millisecond, give or take the drift described above).
+     */
+    public static Instant createdAt(long id) {
+        return Instant.ofEpochMilli((id >>> TIMESTAMP_SHIFT) + EPOCH);
+    }
+}
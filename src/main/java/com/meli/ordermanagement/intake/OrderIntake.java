@@ -0,0 +1,242 @@
+package com.meli.ordermanagement.intake;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.meli.ordermanagement.dto.CreateOrderRequestDTO;
+import com.meli.ordermanagement.dto.OrderIntakeStatusDTO;
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.exception.IntakeUnavailableException;
+import com.meli.ordermanagement.model.Order;
+import com.meli.ordermanagement.service.OrderService;
+
+/**
+ * The "Mail Room" for new orders (write-behind intake).
+ *
+ * Instead of saving each order in its own transaction while the client waits, submit() gives the order
+ * its id, puts it on a bounded in-memory queue and returns at once ("202 Accepted").
+ * A single background flusher takes everything that piled up (up to 'batchSize' orders) and saves it
+ * in ONE transaction (group commit), so under load many orders share each commit.
+ *
+ * Backpressure: when the queue is full for longer than 'offerTimeout', submit() refuses the order
+ * (IntakeUnavailableException, answered with 503) instead of letting memory grow without limit.
+ * Shutdown: new orders are refused first, then everything still queued is written before the
+ * application closes its database connections.
+ *
+ * Queued orders live only in memory: if the process dies before they are written, they are lost.
+ */
+public class OrderIntake implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIntake.class);
+
+    // How many times a batch is tried as a whole before its orders are tried one by one.
+    private static final int BATCH_ATTEMPTS = 3;
+
+    private final OrderService orderService;
+    private final BlockingQueue<Order> queue;
+    private final int batchSize;
+    private final long offerTimeoutNanos;
+    private final Duration shutdownTimeout;
+
+    // Orders accepted but not yet committed, so their status can be answered (QUEUED).
+    private final Map<Long, Order> inFlight = new ConcurrentHashMap<>();
+
+    // Orders that could not be written, remembered for a while so clients can find out (FAILED).
+    private final Cache<Long, String> failed;
+
+    // submit() holds the read lock while it queues; stop() takes the write lock to close the door,
+    // so no order can slip into the queue after the final drain.
+    private final ReadWriteLock door = new ReentrantReadWriteLock();
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private Thread flusher;
+
+    /**
+     * @param orderService    Reserves ids and writes the batches.
+     * @param capacity        How many accepted orders may wait to be written.
+     * @param batchSize       The most orders written in one transaction.
+     * @param offerTimeout    How long submit() waits for room in a full queue before refusing.
+     * @param shutdownTimeout How long shutdown may take to write the orders still queued.
+     * @param failedTtl       How long failed orders are remembered for status queries.
+     */
+    public OrderIntake(OrderService orderService, int capacity, int batchSize, Duration offerTimeout,
+                       Duration shutdownTimeout, Duration failedTtl) {
+        this.orderService = orderService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.shutdownTimeout = shutdownTimeout;
+        this.failed = Caffeine.newBuilder()
+                .expireAfterWrite(failedTtl)
+                .maximumSize(capacity)
+                .build();
+    }
+
+    /**
+     * Accepts a (validated) order for saving in the background.
+     *
+     * @param requestDTO The "form" with the basic order info from the user.
+     * @return The order as it will be saved, including its id.
+     * @throws IntakeUnavailableException If the queue stays full or the application is shutting down.
+     */
+    public OrderResponseDTO submit(CreateOrderRequestDTO requestDTO) {
+        door.readLock().lock();
+        try {
+            if (!accepting) {
+                throw new IntakeUnavailableException("The service is not accepting new orders right now.");
+            }
+            Order order = orderService.prepareOrder(requestDTO);
+            inFlight.put(order.getId(), order);
+            boolean queued;
+            try {
+                queued = queue.offer(order, offerTimeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queued = false;
+            }
+            if (!queued) {
+                inFlight.remove(order.getId());
+                throw new IntakeUnavailableException("Too many orders are waiting to be saved.");
+            }
+            return new OrderResponseDTO(order.getId(), order.getCustomerName(), order.getOrderDate(),
+                    order.getStatus(), order.getTotalAmount(), order.getVersion());
+        } finally {
+            door.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param id The id returned by submit().
+     * @return QUEUED or FAILED while the intake still knows about the order; empty once it was saved
+     *         (or if the id was never accepted here).
+     */
+    public Optional<OrderIntakeStatusDTO> status(Long id) {
+        if (inFlight.containsKey(id)) {
+            return Optional.of(new OrderIntakeStatusDTO(id, OrderIntakeStatusDTO.State.QUEUED, null));
+        }
+        String error = failed.getIfPresent(id);
+        if (error != null) {
+            return Optional.of(new OrderIntakeStatusDTO(id, OrderIntakeStatusDTO.State.FAILED, error));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return How many accepted orders are waiting to be written.
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        accepting = true;
+        flusher = Thread.ofPlatform().name("order-intake-flusher").start(this::flushUntilStopped);
+    }
+
+    @Override
+    public void stop() {
+        door.writeLock().lock();
+        try {
+            accepting = false;
+        } finally {
+            door.writeLock().unlock();
+        }
+        running = false;
+        try {
+            flusher.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive() || !queue.isEmpty()) {
+            log.warn("Order intake stopped with {} orders still unsaved", queue.size() + inFlight.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server (which has a higher phase) stopped taking requests,
+     * and before the database connections are closed.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void flushUntilStopped() {
+        List<Order> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Order first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Everything that arrived while the previous batch was being written goes in this one.
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                // Only stop() ends the flusher; queued orders must still be written.
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Order> batch) {
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    orderService.saveAcceptedOrders(batch);
+                    return;
+                } catch (RuntimeException e) {
+                    if (attempt == BATCH_ATTEMPTS) {
+                        log.warn("Could not save a batch of {} orders, saving them one by one", batch.size(), e);
+                        break;
+                    }
+                    pause(100L * attempt);
+                }
+            }
+            // One bad order must not sink the others.
+            for (Order order : batch) {
+                try {
+                    orderService.saveAcceptedOrders(List.of(order));
+                } catch (RuntimeException e) {
+                    log.warn("Could not save order {}", order.getId(), e);
+                    failed.put(order.getId(), "The order could not be saved. Please submit it again.");
+                }
+            }
+        } finally {
+            batch.forEach(order -> inFlight.remove(order.getId()));
+        }
+    }
+
+    // A short wait between attempts. An interrupt only cuts it short: the orders must still be written.
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            // Try again right away.
+        }
+    }
+}
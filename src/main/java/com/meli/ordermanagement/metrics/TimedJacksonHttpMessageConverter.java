@@ -0,0 +1,77 @@
+package com.meli.ordermanagement.metrics;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The usual JSON converter of the controllers, with a stopwatch around it.
+ *
+ * Every request and response body that goes through Jackson is timed as "orders.json", tagged with
+ * the direction ("read" or "write") and the body type ("OrderResponseDTO", "collection", ...).
+ * Writing includes pushing the bytes into the response buffer, so very large bodies also show network time.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final MeterRegistry registry;
+
+    /**
+     * @param objectMapper The ObjectMapper configured by Spring Boot.
+     * @param registry     Where the timings are recorded.
+     */
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, MeterRegistry registry) {
+        super(objectMapper);
+        this.registry = registry;
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            return super.read(type, contextClass, inputMessage);
+        } finally {
+            sample.stop(timer("read", typeName(type)));
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            sample.stop(timer("write", typeName(object.getClass())));
+        }
+    }
+
+    private Timer timer(String operation, String type) {
+        return Timer.builder("orders.json")
+                .description("Time spent reading and writing JSON bodies")
+                .tag("operation", operation)
+                .tag("type", type)
+                .register(registry);
+    }
+
+    // Only a few body types exist, so the tag stays small: every list or set is just "collection".
+    private static String typeName(Type type) {
+        Type raw = type instanceof ParameterizedType parameterized ? parameterized.getRawType() : type;
+        if (!(raw instanceof Class<?> bodyClass)) {
+            return "other";
+        }
+        return Collection.class.isAssignableFrom(bodyClass) ? "collection" : bodyClass.getSimpleName();
+    }
+}
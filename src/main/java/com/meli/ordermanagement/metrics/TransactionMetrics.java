@@ -0,0 +1,76 @@
+package com.meli.ordermanagement.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * The "Stopwatch" for database transactions.
+ *
+ * Spring Boot hands every TransactionExecutionListener bean to the transaction manager, which calls it
+ * when a transaction starts and when it commits or rolls back. This listener times that whole span
+ * (including the wait for a connection) as "orders.transactions", tagged with the transaction's name
+ * (e.g. "OrderService.updateOrder"), whether it was read-only and how it ended (commit or rollback).
+ * Transactions that join an already running one are not timed twice.
+ */
+public class TransactionMetrics implements TransactionExecutionListener {
+
+    private final MeterRegistry registry;
+
+    // The running transactions and when each one started. The keys are compared by identity.
+    private final Map<TransactionExecution, Timer.Sample> running = new ConcurrentHashMap<>();
+
+    public TransactionMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void beforeBegin(TransactionExecution transaction) {
+        running.put(transaction, Timer.start(registry));
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure != null) {
+            stop(transaction, "begin_failed");
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        stop(transaction, commitFailure == null ? "commit" : "commit_failed");
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        stop(transaction, "rollback");
+    }
+
+    private void stop(TransactionExecution transaction, String outcome) {
+        Timer.Sample sample = running.remove(transaction);
+        if (sample == null) {
+            return;
+        }
+        sample.stop(Timer.builder("orders.transactions")
+                .description("Time from the start of a database transaction to its commit or rollback")
+                .tag("name", shortName(transaction.getTransactionName()))
+                .tag("read_only", String.valueOf(transaction.isReadOnly()))
+                .tag("outcome", outcome)
+                .register(registry));
+    }
+
+    // "com.example.OrderService.updateOrder" -> "OrderService.updateOrder"
+    private static String shortName(String transactionName) {
+        if (transactionName == null || transactionName.isEmpty()) {
+            return "unnamed";
+        }
+        int method = transactionName.lastIndexOf('.');
+        int type = method > 0 ? transactionName.lastIndexOf('.', method - 1) : -1;
+        return transactionName.substring(type + 1);
+    }
+}
@@ -0,0 +1,51 @@
+package com.meli.ordermanagement.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * The "Blueprint" of an order that was moved to the archive (the "orders_archive" table) by the OrderArchiver.
+ *
+ * It has the same fields as Order, exactly as they were when it was moved, plus when that happened.
+ * The id is the order's own (nothing is generated here), and there is no @Version: archived orders
+ * are only read, never changed. Only the indexes the archive's reads need are kept, so moving orders in stays cheap.
+ */
+@Entity
+@Table(name = "orders_archive", indexes = {
+        @Index(name = "idx_orders_archive_order_date_id", columnList = "order_date, id"),
+        @Index(name = "idx_orders_archive_customer_order_date", columnList = "customer_name, order_date")
+})
+@Data
+public class ArchivedOrder {
+
+    @Id
+    private Long id;
+
+    private String customerName;
+
+    private LocalDateTime orderDate;
+
+    @Convert(converter = OrderStatusConverter.class)
+    @Column(columnDefinition = "SMALLINT")
+    private OrderStatus status;
+
+    private BigDecimal totalAmount;
+
+    /**
+     * The version the order had when it was archived (its ETag).
+     */
+    private Long version;
+
+    /**
+     * When the order was moved to the archive.
+     */
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,54 @@
+package com.meli.ordermanagement.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * One "receipt" of the database-backed IdempotencyStore: the answer given to the first request
+ * with an Idempotency-Key. While that request is still running, 'status' is empty.
+ * The created_at index lets the periodic clean-up find expired receipts without a full scan.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+@Data
+public class IdempotencyRecord {
+
+    /**
+     * The client's key, prefixed with the user who sent it.
+     */
+    @Id
+    @Column(name = "idempotency_key", length = 320)
+    private String idempotencyKey;
+
+    /**
+     * SHA-256 of the first request's body (hex).
+     */
+    @Column(length = 64, nullable = false)
+    private String fingerprint;
+
+    /**
+     * The HTTP status of the answer, or null while the first request is running.
+     */
+    private Integer status;
+
+    private String location;
+
+    private String etag;
+
+    /**
+     * The answer's body as JSON.
+     */
+    @Column(length = 4000)
+    private String body;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -3,35 +3,55 @@ package com.meli.ordermanagement.model;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 
+import org.hibernate.annotations.ColumnDefault;
+
+import com.meli.ordermanagement.sharding.ShardedOrderId;
+
 /**
  * This class is the "Blueprint" for an Order. It defines all the properties an order can have.
  * It's not code that "runs," it's just a definition of data.
  *
  * @Entity This tag tells Spring: "Hey, this blueprint should be turned into a table in my database."
  * @Table(name = "orders") This specifically names the database table "orders" (which is good, since "order" is a reserved SQL word).
+ * The (order_date, id) index lets the paginated listing jump straight to the next page instead of scanning,
+ * and the (status, order_date) and (customer_name, order_date) indexes serve the filtered searches.
  * @Data This is a shortcut from the Lombok library. It automatically writes all the boring "getter" and "setter" methods
  * for us in the background, so our code stays clean.
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_order_date_id", columnList = "order_date, id"),
+        @Index(name = "idx_orders_status_order_date", columnList = "status, order_date"),
+        @Index(name = "idx_orders_customer_order_date", columnList = "customer_name, order_date")
+})
 @Data
 public class Order {
 
+    /**
+     * How many ids Hibernate reserves from the database sequence in one go.
+     * Reserving a block means a new order gets its id from memory (no round trip),
+     * which is also what allows many inserts to be sent together as one JDBC batch.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     /**
      * The unique tracking number for the order.
      * @Id This marks it as the Primary Key (the main ID).
-     * @GeneratedValue This tells the database to automatically generate this number (like 1, 2, 3...)
-     * whenever we create a new order.
+     * @ShardedOrderId This tells Hibernate to generate this number from the "orders_seq" database sequence,
+     * handing out a pooled block of ID_ALLOCATION_SIZE ids per sequence call. With sharding on, the id
+     * also says which database holds the order (see ShardedOrderIdGenerator).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @ShardedOrderId
     private Long id;
 
     /**
@@ -45,9 +65,12 @@ public class Order {
     private LocalDateTime orderDate;
 
     /**
-     * The current status of the order (e.g., "Pending", "Shipped", "Cancelled").
+     * The current status of the order (e.g., Pending, Shipped, Cancelled).
+     * It is saved as a small number (SMALLINT) instead of text; see OrderStatusConverter.
      */
-    private String status;
+    @Convert(converter = OrderStatusConverter.class)
+    @Column(columnDefinition = "SMALLINT")
+    private OrderStatus status;
 
     /**
      * The total cost of the order.
@@ -55,4 +78,15 @@ public class Order {
      * (Using 'float' or 'double' for money can cause tiny rounding errors).
      */
     private BigDecimal totalAmount;
+
+    /**
+     * The revision number of the order. Hibernate raises it by one on every update and checks it
+     * in the UPDATE statement, so two people saving the same old copy cannot overwrite each other
+     * (optimistic locking). It is also what clients see as the order's ETag.
+     * The column defaults to 0, so rows written before it existed get a version too.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
\ No newline at end of file
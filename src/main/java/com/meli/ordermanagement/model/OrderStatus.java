@@ -0,0 +1,79 @@
+package com.meli.ordermanagement.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * The list of states an order can be in.
+ *
+ * Each status has:
+ * - a 'label' that is what clients see and send in JSON ("Pending", "Shipped", ...), and
+ * - a small numeric 'code' that is what we store in the database (see OrderStatusConverter).
+ *   Codes must never be changed or reused, because they are already saved in existing rows.
+ */
+public enum OrderStatus {
+
+    PENDING((short) 1, "Pending"),
+    PROCESSING((short) 2, "Processing"),
+    SHIPPED((short) 3, "Shipped"),
+    DELIVERED((short) 4, "Delivered"),
+    CANCELLED((short) 5, "Cancelled");
+
+    private final short code;
+    private final String label;
+
+    OrderStatus(short code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return 'true' if the order can no longer change (it was delivered or cancelled).
+     */
+    public boolean isTerminal() {
+        return this == DELIVERED || this == CANCELLED;
+    }
+
+    /**
+     * Reads a status sent by a client. Both the label ("Shipped") and the name ("SHIPPED") are
+     * accepted, ignoring upper/lower case.
+     *
+     * @param value The text sent by the client.
+     * @return The matching status.
+     * @throws IllegalArgumentException If the text is not a known status.
+     */
+    @JsonCreator
+    public static OrderStatus fromValue(String value) {
+        for (OrderStatus status : values()) {
+            if (status.label.equalsIgnoreCase(value) || status.name().equalsIgnoreCase(value)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown order status: " + value);
+    }
+
+    /**
+     * Finds the status stored in the database with the given code.
+     *
+     * @param code The stored code.
+     * @return The matching status.
+     * @throws IllegalArgumentException If no status uses that code.
+     */
+    public static OrderStatus fromCode(short code) {
+        for (OrderStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown order status code: " + code);
+    }
+}
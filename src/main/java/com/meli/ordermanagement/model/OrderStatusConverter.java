@@ -0,0 +1,23 @@
+package com.meli.ordermanagement.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores an OrderStatus as its 2-byte numeric code instead of a text column.
+ * This keeps rows and the (status, order_date) index small, and unlike storing the enum's position
+ * (ORDINAL) it does not break if someone reorders the enum.
+ */
+@Converter
+public class OrderStatusConverter implements AttributeConverter<OrderStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(OrderStatus status) {
+        return status == null ? null : status.getCode();
+    }
+
+    @Override
+    public OrderStatus convertToEntityAttribute(Short code) {
+        return code == null ? null : OrderStatus.fromCode(code);
+    }
+}
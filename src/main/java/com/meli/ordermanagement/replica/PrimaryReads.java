@@ -0,0 +1,41 @@
+package com.meli.ordermanagement.replica;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks reads that must see the primary database even though they are read-only.
+ *
+ * The ReplicaRoutingDataSource sends the read-only transactions started inside 'call' to the primary.
+ * It is used for reads whose result is kept and shared, like the ones that fill the order cache:
+ * a row read from a lagging replica would be served to every user, the writer included, until it expires.
+ * Without read replicas it changes nothing.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    /**
+     * @return Whether the current thread is inside 'call'.
+     */
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    /**
+     * Runs 'read' with its read-only transactions sent to the primary.
+     */
+    public static <T> T call(Supplier<T> read) {
+        if (isActive()) {
+            return read.get();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+}
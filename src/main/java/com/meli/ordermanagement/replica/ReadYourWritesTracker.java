@@ -0,0 +1,81 @@
+package com.meli.ordermanagement.replica;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * The "Memory" that makes users see their own changes while read replicas catch up.
+ *
+ * Replicas copy the primary database with a small delay. A user who has just created or changed an order
+ * and reads it back right away could get the old copy from a replica. So every time a read-write
+ * transaction commits, this listener (Spring Boot hands it to the transaction manager) notes which user it
+ * ran for. For the next 'window' that user's reads go to the primary too; other users keep using the replicas.
+ *
+ * Writes without a logged-in user (e.g. the write-behind intake's background thread) are not tracked.
+ * The map holds one entry per user name, so it never grows beyond the number of accounts.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    // user name -> when (System.nanoTime) that user's last write committed.
+    private final ConcurrentMap<String, Long> lastWriteAt = new ConcurrentHashMap<>();
+    private final long windowNanos;
+    private final LongSupplier clock;
+
+    /**
+     * @param window How long after a write the user's reads stay on the primary.
+     */
+    public ReadYourWritesTracker(Duration window) {
+        this(window, System::nanoTime);
+    }
+
+    // For tests: a clock that can be moved by hand.
+    ReadYourWritesTracker(Duration window, LongSupplier clock) {
+        this.windowNanos = window.toNanos();
+        this.clock = clock;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+            String user = currentUser();
+            if (user != null) {
+                lastWriteAt.put(user, clock.getAsLong());
+            }
+        }
+    }
+
+    /**
+     * @return true if the current user wrote something within the window, so their reads must see the primary.
+     */
+    public boolean isPinnedToPrimary() {
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteAt.get(user);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (clock.getAsLong() - writtenAt < windowNanos) {
+            return true;
+        }
+        lastWriteAt.remove(user, writtenAt);
+        return false;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,138 @@
+package com.meli.ordermanagement.replica;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * The "Dispatcher" for read-only work: hands out connections to the read replicas.
+ *
+ * The application's DataSource (see ReadReplicaConfig) sends read-write transactions to the primary and
+ * asks this class for the connections of read-only ones. Each request takes the next healthy replica in
+ * turn (round robin), so the reads are spread evenly. The primary is used instead when:
+ * - the current user has just written something (ReadYourWritesTracker), so they see their own change;
+ * - the read is going to be shared, e.g. kept in the order cache (PrimaryReads);
+ * - no replica is healthy.
+ *
+ * A replica that fails to give a connection is marked unhealthy at once and the next one is tried.
+ * Every few seconds (orders.replicas.health-check-interval) all replicas are checked again, so a replica
+ * that comes back is used again, and one that stops answering is left out before a request trips over it.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReadYourWritesTracker readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param primary        Used when no replica may or can answer.
+     * @param replicas       The replicas by name (the names only appear in logs), in round-robin order.
+     * @param readYourWrites Tells whether the current user must read from the primary.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReadYourWritesTracker readYourWrites) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private interface ConnectionSource {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (replicas.isEmpty() || PrimaryReads.isActive() || readYourWrites.isPinnedToPrimary()) {
+            return source.open(primary);
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return source.open(replica.dataSource);
+            } catch (SQLException e) {
+                replica.healthy = false;
+                log.warn("Read replica {} failed to give a connection, leaving it out until it recovers", replica.name, e);
+            }
+        }
+        return source.open(primary);
+    }
+
+    /**
+     * Checks every replica with a quick validation query and updates which ones take reads.
+     */
+    @Scheduled(fixedDelayString = "${orders.replicas.health-check-interval:PT5S}",
+               initialDelayString = "${orders.replicas.health-check-interval:PT5S}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy = isValid(replica);
+            if (healthy != replica.healthy) {
+                log.info("Read replica {} is now {}", replica.name, healthy ? "healthy" : "unhealthy");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    private static boolean isValid(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection()) {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return How many replicas currently take reads.
+     */
+    public int getHealthyCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    /**
+     * Closes the replicas' connection pools (the primary belongs to Spring).
+     */
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
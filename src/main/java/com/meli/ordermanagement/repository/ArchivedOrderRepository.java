@@ -0,0 +1,97 @@
+package com.meli.ordermanagement.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.model.ArchivedOrder;
+
+import jakarta.persistence.QueryHint;
+
+/**
+ * The "Database Manager" of the archive (the "orders_archive" table): the old orders the OrderArchiver
+ * moved out of "orders". The reads mirror OrderRepository's, so OrderArchive can fall through to them.
+ */
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long>, ArchivedOrderSearchRepository {
+
+    /**
+     * OrderRepository.ORDER_RESPONSE, on the archive.
+     */
+    String ARCHIVED_ORDER_RESPONSE = "SELECT new com.meli.ordermanagement.dto.OrderResponseDTO("
+            + "a.id, a.customerName, a.orderDate, a.status, a.totalAmount, a.version) FROM ArchivedOrder a";
+
+    /**
+     * Reads several archived orders with one query ("WHERE id IN (...)").
+     *
+     * @param ids The ids of the orders.
+     * @return The archived orders that exist, in no particular order.
+     */
+    @Transactional(readOnly = true)
+    @Query(ARCHIVED_ORDER_RESPONSE + " WHERE a.id IN :ids")
+    List<OrderResponseDTO> findResponsesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query(ARCHIVED_ORDER_RESPONSE)
+    List<OrderResponseDTO> findAllResponses();
+
+    /**
+     * Like OrderRepository.streamAllResponses: a database cursor, sorted by (orderDate, id), to be closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = OrderRepository.STREAM_FETCH_SIZE))
+    @Query(ARCHIVED_ORDER_RESPONSE + " ORDER BY a.orderDate ASC, a.id ASC")
+    Stream<OrderResponseDTO> streamAllResponses();
+
+    @Transactional(readOnly = true)
+    @Query("SELECT COALESCE(a.version, 0) FROM ArchivedOrder a WHERE a.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * @return The orderDate of the newest archived order, or null if the archive is empty.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT MAX(a.orderDate) FROM ArchivedOrder a")
+    LocalDateTime findNewestOrderDate();
+
+    /**
+     * OrderRepository.sumByDayAndStatus, on the archive.
+     */
+    @Query("SELECT new com.meli.ordermanagement.repository.DailyStatusTotal("
+            + "CAST(a.orderDate AS LocalDate), a.status, COUNT(a), SUM(a.totalAmount)) "
+            + "FROM ArchivedOrder a GROUP BY CAST(a.orderDate AS LocalDate), a.status")
+    List<DailyStatusTotal> sumByDayAndStatus();
+
+    /**
+     * Copies orders into the archive with one INSERT ... SELECT, as they are right now.
+     *
+     * @param ids The ids of the orders to copy.
+     * @return How many were copied.
+     */
+    @Modifying
+    @Query("INSERT INTO ArchivedOrder (id, customerName, orderDate, status, totalAmount, version, archivedAt) "
+            + "SELECT o.id, o.customerName, o.orderDate, o.status, o.totalAmount, o.version, LOCAL DATETIME "
+            + "FROM Order o WHERE o.id IN :ids")
+    int copyFromOrders(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Removes the copies of orders that are still in "orders" (they changed after being copied, see
+     * OrderRepository.deleteArchived), so no order is ever in both tables once the transaction commits.
+     *
+     * @param ids The ids of the orders that were copied.
+     * @return How many copies were removed.
+     */
+    @Modifying
+    @Query("DELETE FROM ArchivedOrder a WHERE a.id IN :ids AND EXISTS (SELECT o.id FROM Order o WHERE o.id = a.id)")
+    int deleteStillInOrders(@Param("ids") Collection<Long> ids);
+}
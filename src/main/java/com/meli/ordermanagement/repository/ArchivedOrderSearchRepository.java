@@ -0,0 +1,23 @@
+package com.meli.ordermanagement.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+
+/**
+ * The same filtered, paginated search as OrderSearchRepository, on the archive (the "orders_archive" table).
+ */
+public interface ArchivedOrderSearchRepository {
+
+    /**
+     * Reads one page of archived orders that match the criteria, sorted by (orderDate, id).
+     *
+     * @param criteria   The filters to apply.
+     * @param afterDate  The orderDate of the last order of the previous page, or null for the first page.
+     * @param afterId    The id of the last order of the previous page, or null for the first page.
+     * @param maxResults The maximum number of rows to read.
+     * @return Up to 'maxResults' matching archived orders.
+     */
+    List<OrderResponseDTO> search(OrderSearchCriteria criteria, LocalDateTime afterDate, Long afterId, int maxResults);
+}
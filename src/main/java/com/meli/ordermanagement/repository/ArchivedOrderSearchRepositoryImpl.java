@@ -0,0 +1,24 @@
+package com.meli.ordermanagement.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.model.ArchivedOrder;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * The code behind ArchivedOrderSearchRepository: OrderSearchRepositoryImpl's query, on ArchivedOrder.
+ */
+public class ArchivedOrderSearchRepositoryImpl implements ArchivedOrderSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderResponseDTO> search(OrderSearchCriteria criteria, LocalDateTime afterDate, Long afterId, int maxResults) {
+        return OrderSearchRepositoryImpl.search(entityManager, ArchivedOrder.class, criteria, afterDate, afterId, maxResults);
+    }
+}
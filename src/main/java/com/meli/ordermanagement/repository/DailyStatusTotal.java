@@ -0,0 +1,17 @@
+package com.meli.ordermanagement.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.meli.ordermanagement.model.OrderStatus;
+
+/**
+ * One row of the "orders and revenue per day and status" summary read from the orders table.
+ *
+ * @param day     The calendar day of orderDate.
+ * @param status  The order status.
+ * @param orders  How many orders.
+ * @param revenue The sum of their totalAmount.
+ */
+public record DailyStatusTotal(LocalDate day, OrderStatus status, long orders, BigDecimal revenue) {
+}
@@ -0,0 +1,80 @@
+package com.meli.ordermanagement.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.meli.ordermanagement.model.IdempotencyRecord;
+
+/**
+ * The "Database Manager" for the idempotency_keys table (see DatabaseIdempotencyStore).
+ *
+ * Every write is a single statement in its own transaction, committed right away, so other
+ * requests (and other nodes) see a claimed key at once. Reads go through a constructor query,
+ * so a retry that polls the row always gets the latest values rather than a cached entity.
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Claims a key by inserting its row. Two requests racing for the same key cannot both succeed:
+     * the primary key makes the second insert fail with a DataIntegrityViolationException.
+     *
+     * @param key         The scoped idempotency key.
+     * @param fingerprint The fingerprint of the request body.
+     * @param createdAt   Now.
+     * @return 1 when the key was claimed.
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, fingerprint, created_at) "
+            + "VALUES (:key, :fingerprint, :createdAt)", nativeQuery = true)
+    int claim(@Param("key") String key, @Param("fingerprint") String fingerprint, @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Stores the answer of the request that claimed the key.
+     *
+     * @return 1 when the row was still there.
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, r.location = :location, r.etag = :etag, r.body = :body "
+            + "WHERE r.idempotencyKey = :key")
+    int complete(@Param("key") String key, @Param("status") int status, @Param("location") String location,
+                 @Param("etag") String etag, @Param("body") String body);
+
+    /**
+     * Frees a key whose request failed, so it can be used again.
+     *
+     * @return 1 when the row was still there.
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :key")
+    int release(@Param("key") String key);
+
+    /**
+     * Deletes the receipts claimed before 'cutoff'.
+     *
+     * @return How many were deleted.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * @param key The scoped idempotency key.
+     * @return The stored answer (status empty while it is still being produced), or empty if the key is free.
+     */
+    @Query("SELECT new com.meli.ordermanagement.repository.StoredIdempotentResponse("
+            + "r.fingerprint, r.status, r.location, r.etag, r.body) FROM IdempotencyRecord r WHERE r.idempotencyKey = :key")
+    Optional<StoredIdempotentResponse> findStored(@Param("key") String key);
+}
@@ -0,0 +1,115 @@
+package com.meli.ordermanagement.repository;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import com.meli.ordermanagement.ids.SnowflakeIdGenerator;
+import com.meli.ordermanagement.model.Order;
+import com.meli.ordermanagement.storage.OrderLog;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The "Database Manager" of the reactive stack without a database (orders.storage.engine=log, "edge" profile):
+ * orders live in an OrderLog on the local disk.
+ *
+ * Reads and writes are copies in and out of memory-mapped files, so they run right on the calling thread.
+ * With orders.storage.log.fsync=true every write also waits for the disk, so writes then move to
+ * Reactor's boundedElastic threads to keep the event loop free.
+ *
+ * Ids come from the log itself (one more than the highest it has seen), or from the SnowflakeIdGenerator
+ * with orders.ids.strategy=snowflake. Garbage (old versions and deleted orders) is compacted in the background.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(name = "orders.storage.engine", havingValue = "log")
+public class LogOrderRepository implements ReactiveOrderRepository {
+
+    private static final Comparator<Order> OLDEST_FIRST = Comparator.comparing(Order::getOrderDate).thenComparing(Order::getId);
+
+    private final OrderLog orderLog;
+    private final SnowflakeIdGenerator snowflake;
+    private final Scheduler writes;
+    private final double compactionThreshold;
+
+    public LogOrderRepository(OrderLog orderLog, ObjectProvider<SnowflakeIdGenerator> snowflake,
+                              @Value("${orders.storage.log.fsync:false}") boolean fsync,
+                              @Value("${orders.storage.log.compaction-threshold:0.5}") double compactionThreshold) {
+        this.orderLog = orderLog;
+        this.snowflake = snowflake.getIfAvailable();
+        this.writes = fsync ? Schedulers.boundedElastic() : Schedulers.immediate();
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    @Override
+    public Mono<Order> insert(Order order) {
+        return Mono.fromCallable(() -> {
+            order.setId(snowflake != null ? snowflake.nextId() : orderLog.nextId());
+            order.setVersion(0L);
+            if (!orderLog.insert(order)) {
+                throw new IllegalStateException("Order id " + order.getId() + " is already taken");
+            }
+            return order;
+        }).subscribeOn(writes);
+    }
+
+    /**
+     * Every order is read and sorted in memory first: the log has no (orderDate, id) index.
+     */
+    @Override
+    public Flux<Order> findAll() {
+        return Flux.defer(() -> {
+            List<Order> orders = orderLog.findAll();
+            orders.sort(OLDEST_FIRST);
+            return Flux.fromIterable(orders);
+        });
+    }
+
+    @Override
+    public Mono<Order> findById(Long id) {
+        return Mono.fromCallable(() -> orderLog.find(id).orElse(null));
+    }
+
+    @Override
+    public Mono<Long> findVersionById(Long id) {
+        return findById(id).map(Order::getVersion);
+    }
+
+    @Override
+    public Mono<Long> update(Order order) {
+        return Mono.fromCallable(() -> {
+            Order next = new Order();
+            next.setId(order.getId());
+            next.setCustomerName(order.getCustomerName());
+            next.setOrderDate(order.getOrderDate());
+            next.setStatus(order.getStatus());
+            next.setTotalAmount(order.getTotalAmount());
+            next.setVersion(order.getVersion() + 1);
+            return orderLog.update(next, order.getVersion()) ? 1L : 0L;
+        }).subscribeOn(writes);
+    }
+
+    @Override
+    public Mono<Boolean> deleteById(Long id) {
+        return Mono.fromCallable(() -> orderLog.delete(id)).subscribeOn(writes);
+    }
+
+    /**
+     * Rewrites the log segments that are mostly garbage (see OrderLog.compact).
+     */
+    @Scheduled(fixedDelayString = "${orders.storage.log.compaction-interval:PT1M}",
+            initialDelayString = "${orders.storage.log.compaction-interval:PT1M}")
+    public void compact() {
+        orderLog.compact(compactionThreshold);
+    }
+}
@@ -0,0 +1,28 @@
+package com.meli.ordermanagement.repository;
+
+import java.util.List;
+
+import com.meli.ordermanagement.model.Order;
+
+/**
+ * Hand-written writes for orders whose id is known before they are saved (the write-behind intake).
+ * The code lives in OrderBulkInsertRepositoryImpl; Spring plugs it in automatically.
+ */
+public interface OrderBulkInsertRepository {
+
+    /**
+     * Takes the next order id from the same pooled "orders_seq" blocks Hibernate uses for save(),
+     * so reserved ids and normally generated ids never clash.
+     *
+     * @return A new, unused order id.
+     */
+    Long reserveId();
+
+    /**
+     * Inserts orders that already have their id, as one JDBC batch, in the current transaction.
+     * Each order is saved with version 0, exactly like a first save() would.
+     *
+     * @param orders The orders to insert; their id, date, status and amount must be set.
+     */
+    void insertAll(List<Order> orders);
+}
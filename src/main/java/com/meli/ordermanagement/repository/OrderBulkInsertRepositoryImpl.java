@@ -0,0 +1,76 @@
+package com.meli.ordermanagement.repository;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import com.meli.ordermanagement.model.Order;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceUnit;
+
+/**
+ * The code behind OrderBulkInsertRepository.
+ *
+ * Ids come from Hibernate's own generator for Order (the pooled "orders_seq"), which hands out ids from
+ * memory and only calls the database once per Order.ID_ALLOCATION_SIZE ids. Rows are written with plain
+ * JDBC, because JPA's persist() does not accept an entity whose generated id was already set.
+ */
+public class OrderBulkInsertRepositoryImpl implements OrderBulkInsertRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO orders "
+            + "(id, customer_name, order_date, status, total_amount, version) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
+    private volatile IdentifierGenerator idGenerator;
+
+    @Override
+    public Long reserveId() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            return (Long) idGenerator(sessionFactory).generate((SharedSessionContractImplementor) session, null);
+        }
+    }
+
+    @Override
+    public void insertAll(List<Order> orders) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+                for (Order order : orders) {
+                    order.setVersion(0L);
+                    insert.setLong(1, order.getId());
+                    insert.setString(2, order.getCustomerName());
+                    insert.setObject(3, order.getOrderDate());
+                    insert.setShort(4, order.getStatus().getCode());
+                    insert.setBigDecimal(5, order.getTotalAmount());
+                    insert.setLong(6, order.getVersion());
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        });
+    }
+
+    private IdentifierGenerator idGenerator(SessionFactoryImplementor sessionFactory) {
+        IdentifierGenerator generator = idGenerator;
+        if (generator == null) {
+            generator = (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+                    .getEntityDescriptor(Order.class)
+                    .getGenerator();
+            idGenerator = generator;
+        }
+        return generator;
+    }
+}
@@ -1,9 +1,26 @@
 package com.meli.ordermanagement.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.meli.ordermanagement.dto.OrderResponseDTO;
 import com.meli.ordermanagement.model.Order;
+import com.meli.ordermanagement.model.OrderStatus;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * This is the "Database Manager" interface (a Repository).
@@ -13,12 +30,109 @@ import com.meli.ordermanagement.model.Order;
  *
  * By "extending" JpaRepository, we get a huge amount of pre-built functionality from Spring Data JPA.
  * Spring automatically gives us methods like save(), findById(), findAll(), delete(), etc., for our "Order" blueprint.
- * We don't have to write any SQL code at all!
  *
  * It knows to manage "Order" objects, and it knows their ID is of type "Long".
+ * The filtered, paginated search comes from OrderSearchRepository, and the inserts of orders
+ * with a pre-reserved id (write-behind intake) from OrderBulkInsertRepository.
  */
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
-    // That's it! No more code is needed here.
-    // Spring provides all the functionality in the background.
-}
\ No newline at end of file
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderSearchRepository, OrderBulkInsertRepository {
+
+    /**
+     * How many rows the JDBC driver should pull from the database per round trip while streaming.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * The SELECT clause that reads an order straight into an OrderResponseDTO (a "constructor projection").
+     * Hibernate then builds only the DTO: no Order entity, no copy of it kept for dirty checking, and nothing
+     * left behind in the persistence context. The read paths of the API use it; writes still load entities.
+     */
+    String ORDER_RESPONSE = "SELECT new com.meli.ordermanagement.dto.OrderResponseDTO("
+            + "o.id, o.customerName, o.orderDate, o.status, o.totalAmount, o.version) FROM Order o";
+
+    /**
+     * Reads one order, ready to be sent to the client.
+     * Read-only, so with read replicas switched on it is served by a replica.
+     *
+     * @param id The id of the order.
+     * @return The order, or empty if it does not exist.
+     */
+    @Transactional(readOnly = true)
+    @Query(ORDER_RESPONSE + " WHERE o.id = :id")
+    Optional<OrderResponseDTO> findResponseById(@Param("id") Long id);
+
+    /**
+     * Reads several orders with one query ("WHERE id IN (...)").
+     * Read-only, so with read replicas switched on it is served by a replica.
+     *
+     * @param ids The ids of the orders.
+     * @return The orders that exist, in no particular order.
+     */
+    @Transactional(readOnly = true)
+    @Query(ORDER_RESPONSE + " WHERE o.id IN :ids")
+    List<OrderResponseDTO> findResponsesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * @return Every order, ready to be sent to the client.
+     */
+    @Query(ORDER_RESPONSE)
+    List<OrderResponseDTO> findAllResponses();
+
+    /**
+     * Opens a database cursor over every order. Rows are fetched in small chunks
+     * (see STREAM_FETCH_SIZE), so the whole table is never held in memory at once.
+     * It must be called inside a transaction and the stream must be closed afterwards.
+     *
+     * @return A lazy stream of all orders sorted by (orderDate, id), ready to be sent to the client.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(ORDER_RESPONSE + " ORDER BY o.orderDate ASC, o.id ASC")
+    Stream<OrderResponseDTO> streamAllResponses();
+
+    /**
+     * Reads only the version number of an order, without loading the whole order.
+     * Used to answer "has this order changed?" (If-None-Match) as cheaply as possible.
+     *
+     * @param id The id of the order.
+     * @return The current version (0 for a row not yet given one), or empty if the order does not exist.
+     */
+    @Query("SELECT COALESCE(o.version, 0) FROM Order o WHERE o.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Adds up orders and revenue per calendar day and status across the whole table.
+     * This is a full scan, so it is only used by the periodic statistics reconciliation.
+     *
+     * @return One row per (day, status) that has orders.
+     */
+    @Query("SELECT new com.meli.ordermanagement.repository.DailyStatusTotal("
+            + "CAST(o.orderDate AS LocalDate), o.status, COUNT(o), SUM(o.totalAmount)) "
+            + "FROM Order o GROUP BY CAST(o.orderDate AS LocalDate), o.status")
+    List<DailyStatusTotal> sumByDayAndStatus();
+
+    /**
+     * Finds the oldest orders the OrderArchiver may move: placed before 'cutoff' and in one of 'statuses'.
+     *
+     * @param cutoff   Only orders placed before this moment.
+     * @param statuses Only orders in one of these (final) statuses.
+     * @param limit    How many to take at most.
+     * @return The ids of the orders, oldest first.
+     */
+    @Query("SELECT o.id FROM Order o "
+            + "WHERE o.orderDate < :cutoff AND o.status IN :statuses ORDER BY o.orderDate ASC, o.id ASC")
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff,
+                                            @Param("statuses") Collection<OrderStatus> statuses, Limit limit);
+
+    /**
+     * Deletes the orders that were just copied to the archive (ArchivedOrderRepository.copyFromOrders),
+     * but only those still at the version that was copied: an order updated in between stays here.
+     *
+     * @param ids The ids of the orders that were copied.
+     * @return How many orders were deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id IN :ids "
+            + "AND o.version = (SELECT a.version FROM ArchivedOrder a WHERE a.id = o.id)")
+    int deleteArchived(@Param("ids") Collection<Long> ids);
+}
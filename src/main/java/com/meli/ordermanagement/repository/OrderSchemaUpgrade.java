@@ -0,0 +1,185 @@
+package com.meli.ordermanagement.repository;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.meli.ordermanagement.model.Order;
+import com.meli.ordermanagement.model.OrderStatus;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * The "Handyman" that fixes what "ddl-auto: update" leaves undone on a database that already had orders.
+ *
+ * Hibernate adds the new tables, columns and sequences, but never looks at the rows already there.
+ * This runs once at startup on the main database, after Hibernate has updated the schema and before the
+ * first request, and brings the old data in line:
+ * - orders_seq: order ids used to come from an IDENTITY column. Hibernate creates the sequence that
+ *   replaced it starting at 1, so it would hand out ids that already exist. When the next block of ids
+ *   the sequence would give overlaps the highest id in orders or orders_archive, the sequence is
+ *   restarted just above it. Not done with Snowflake ids (no sequence used) or sharding (which must be
+ *   switched on before the first order is written).
+ * - version: when Hibernate added the column to a table that already had rows, it added it without a
+ *   value, and an order without a version has no ETag to compare. While the column still takes nulls,
+ *   the old rows (archived ones too) get version 0 and the column becomes NOT NULL DEFAULT 0, as a new
+ *   table has it. Once that is done the check is a look at the table's metadata.
+ * - status: it used to be a text column holding the labels ("Pending", "Shipped", ...), and Hibernate never
+ *   changes the type of a column that exists, so every read would fail on it. While orders.status (or
+ *   orders_archive.status) is still text, its labels are rewritten to the OrderStatus codes and the column
+ *   becomes SMALLINT. A value that is not a known status stops the startup before anything is changed,
+ *   since it cannot be read either way.
+ *
+ * Each step checks first and changes nothing on an up-to-date database, so it is safe on every startup.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class OrderSchemaUpgrade implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderSchemaUpgrade.class);
+
+    private static final String ID_SEQUENCE = "orders_seq";
+
+    private static final Set<Integer> TEXT_TYPES = Set.of(Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR,
+            Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR, Types.CLOB);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean sequenceIds;
+
+    public OrderSchemaUpgrade(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory,
+                              @Value("${orders.ids.strategy:sequence}") String idStrategy,
+                              @Value("${orders.sharding.enabled:false}") boolean sharding) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.sequenceIds = "sequence".equals(idStrategy) && !sharding;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        upgrade();
+    }
+
+    /**
+     * Runs every step.
+     */
+    public void upgrade() {
+        // Reaching the dialect also waits for Hibernate to finish the schema, when it starts in the background
+        // (the fast-startup profile).
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        if (sequenceIds) {
+            moveIdSequencePastExistingOrders(dialect);
+        }
+        giveOldOrdersAVersion();
+        storeStatusesAsCodes("orders", dialect);
+        storeStatusesAsCodes("orders_archive", dialect);
+    }
+
+    private void moveIdSequencePastExistingOrders(Dialect dialect) {
+        long highestId = Math.max(highestId("orders"), highestId("orders_archive"));
+        if (highestId == 0) {
+            return;
+        }
+        // Asking the database (and not Hibernate) wastes one block of ids, but leaves the sequence
+        // exactly where Hibernate's next call will find it.
+        long next = jdbcTemplate.queryForObject(dialect.getSequenceSupport().getSequenceNextValString(ID_SEQUENCE), Long.class);
+        // Hibernate's pooled optimizer hands out the block that ends at the value it gets: (next - size, next].
+        if (next - Order.ID_ALLOCATION_SIZE >= highestId) {
+            return;
+        }
+        long restartWith = highestId + Order.ID_ALLOCATION_SIZE;
+        jdbcTemplate.execute("ALTER SEQUENCE " + ID_SEQUENCE + " RESTART WITH " + restartWith);
+        log.warn("{} was at {}, below existing order id {}; restarted it at {}", ID_SEQUENCE, next, highestId, restartWith);
+    }
+
+    private void giveOldOrdersAVersion() {
+        if (!isNullable("orders", "version")) {
+            return;
+        }
+        int orders = jdbcTemplate.update("UPDATE orders SET version = 0 WHERE version IS NULL");
+        int archived = jdbcTemplate.update("UPDATE orders_archive SET version = 0 WHERE version IS NULL");
+        jdbcTemplate.execute("ALTER TABLE orders ALTER COLUMN version SET DEFAULT 0");
+        jdbcTemplate.execute("ALTER TABLE orders ALTER COLUMN version SET NOT NULL");
+        log.warn("Gave version 0 to {} orders and {} archived orders written before orders had versions", orders, archived);
+    }
+
+    private void storeStatusesAsCodes(String table, Dialect dialect) {
+        if (!isText(table, "status")) {
+            return;
+        }
+        // Every label and name a client could have sent (see OrderStatus.fromValue), upper-cased, and the codes
+        // themselves, in case the new code already wrote some into the text column.
+        String known = Arrays.stream(OrderStatus.values())
+                .flatMap(status -> List.of(status.getLabel().toUpperCase(Locale.ROOT), status.name(),
+                        String.valueOf(status.getCode())).stream())
+                .distinct()
+                .map(value -> "'" + value + "'")
+                .collect(Collectors.joining(", "));
+        List<String> unknown = jdbcTemplate.queryForList("SELECT DISTINCT status FROM " + table
+                + " WHERE status IS NOT NULL AND UPPER(TRIM(status)) NOT IN (" + known + ")", String.class);
+        if (!unknown.isEmpty()) {
+            throw new IllegalStateException(table + ".status holds values that are not an order status: " + unknown
+                    + ". Change them to one of " + Arrays.toString(OrderStatus.values()) + " and start again.");
+        }
+        String toCode = Arrays.stream(OrderStatus.values())
+                .map(status -> "WHEN '" + status.getLabel().toUpperCase(Locale.ROOT) + "' THEN '" + status.getCode()
+                        + "' WHEN '" + status.name() + "' THEN '" + status.getCode() + "'")
+                .collect(Collectors.joining(" ", "CASE UPPER(TRIM(status)) ", " ELSE TRIM(status) END"));
+        int rows = jdbcTemplate.update("UPDATE " + table + " SET status = " + toCode + " WHERE status IS NOT NULL");
+        String alter = "ALTER TABLE " + table + " " + dialect.getAlterColumnTypeString("status", "SMALLINT", "SMALLINT");
+        if (dialect instanceof PostgreSQLDialect) {
+            // PostgreSQL does not turn text into numbers on its own.
+            alter += " USING CAST(status AS SMALLINT)";
+        }
+        jdbcTemplate.execute(alter);
+        log.warn("Changed {}.status from text to SMALLINT codes ({} rows)", table, rows);
+    }
+
+    private boolean isNullable(String table, String column) {
+        return Boolean.TRUE.equals(readColumn(table, column,
+                columns -> columns.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls));
+    }
+
+    private boolean isText(String table, String column) {
+        return Boolean.TRUE.equals(readColumn(table, column, columns -> TEXT_TYPES.contains(columns.getInt("DATA_TYPE"))));
+    }
+
+    // Reads one column's entry in the table's metadata; null when the column does not exist.
+    private <T> T readColumn(String table, String column, ColumnReader<T> reader) {
+        return jdbcTemplate.execute((ConnectionCallback<T>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            boolean upperCase = metaData.storesUpperCaseIdentifiers();
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null,
+                    upperCase ? table.toUpperCase(Locale.ROOT) : table, upperCase ? column.toUpperCase(Locale.ROOT) : column)) {
+                return columns.next() ? reader.read(columns) : null;
+            }
+        });
+    }
+
+    private interface ColumnReader<T> {
+        T read(ResultSet columns) throws SQLException;
+    }
+
+    private long highestId(String table) {
+        Long highest = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return highest == null ? 0 : highest;
+    }
+}
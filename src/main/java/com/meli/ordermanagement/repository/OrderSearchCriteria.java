@@ -0,0 +1,23 @@
+package com.meli.ordermanagement.repository;
+
+import java.time.LocalDateTime;
+
+import com.meli.ordermanagement.model.OrderStatus;
+
+/**
+ * The optional filters of an order search. Any of them may be null, meaning "do not filter on this".
+ *
+ * @param status       Only orders in this status.
+ * @param customerName Only orders of this customer (exact name).
+ * @param from         Only orders placed at or after this moment.
+ * @param to           Only orders placed before this moment.
+ */
+public record OrderSearchCriteria(OrderStatus status, String customerName, LocalDateTime from, LocalDateTime to) {
+
+    /**
+     * @return Criteria that match every order.
+     */
+    public static OrderSearchCriteria none() {
+        return new OrderSearchCriteria(null, null, null, null);
+    }
+}
@@ -0,0 +1,27 @@
+package com.meli.ordermanagement.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+
+/**
+ * Extra, hand-written queries that OrderRepository offers on top of the ones Spring generates.
+ * The code lives in OrderSearchRepositoryImpl; Spring plugs it in automatically.
+ */
+public interface OrderSearchRepository {
+
+    /**
+     * Reads one page of orders that match the criteria, sorted by (orderDate, id).
+     * Only the filters that are set are added to the SQL, so the database can use the
+     * (status, order_date) or (customer_name, order_date) index.
+     * Rows are read straight into DTOs, without loading Order entities.
+     *
+     * @param criteria   The filters to apply.
+     * @param afterDate  The orderDate of the last order of the previous page, or null for the first page.
+     * @param afterId    The id of the last order of the previous page, or null for the first page.
+     * @param maxResults The maximum number of rows to read.
+     * @return Up to 'maxResults' matching orders.
+     */
+    List<OrderResponseDTO> search(OrderSearchCriteria criteria, LocalDateTime afterDate, Long afterId, int maxResults);
+}
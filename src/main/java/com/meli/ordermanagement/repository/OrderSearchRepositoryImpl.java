@@ -0,0 +1,72 @@
+package com.meli.ordermanagement.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.model.Order;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * The code behind OrderSearchRepository. It builds the SQL with the JPA Criteria API,
+ * adding a WHERE condition only for the filters that were actually given.
+ * The archive (ArchivedOrderSearchRepositoryImpl) runs the same search on its own table.
+ */
+public class OrderSearchRepositoryImpl implements OrderSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderResponseDTO> search(OrderSearchCriteria criteria, LocalDateTime afterDate, Long afterId, int maxResults) {
+        return search(entityManager, Order.class, criteria, afterDate, afterId, maxResults);
+    }
+
+    // 'entity' is Order or ArchivedOrder, which have the same fields.
+    static List<OrderResponseDTO> search(EntityManager entityManager, Class<?> entity, OrderSearchCriteria criteria,
+                                         LocalDateTime afterDate, Long afterId, int maxResults) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderResponseDTO> query = cb.createQuery(OrderResponseDTO.class);
+        Root<?> order = query.from(entity);
+        Path<LocalDateTime> orderDate = order.get("orderDate");
+        Path<Long> id = order.get("id");
+
+        List<Predicate> where = new ArrayList<>();
+        if (criteria.status() != null) {
+            where.add(cb.equal(order.get("status"), criteria.status()));
+        }
+        if (criteria.customerName() != null) {
+            where.add(cb.equal(order.get("customerName"), criteria.customerName()));
+        }
+        if (criteria.from() != null) {
+            where.add(cb.greaterThanOrEqualTo(orderDate, criteria.from()));
+        }
+        if (criteria.to() != null) {
+            where.add(cb.lessThan(orderDate, criteria.to()));
+        }
+        if (afterDate != null && afterId != null) {
+            // Keyset condition: (orderDate, id) > (afterDate, afterId)
+            where.add(cb.or(
+                    cb.greaterThan(orderDate, afterDate),
+                    cb.and(cb.equal(orderDate, afterDate), cb.greaterThan(id, afterId))));
+        }
+
+        query.select(cb.construct(OrderResponseDTO.class,
+                        id, order.get("customerName"), orderDate, order.get("status"),
+                        order.get("totalAmount"), order.get("version")))
+                .where(where.toArray(new Predicate[0]))
+                .orderBy(cb.asc(orderDate), cb.asc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(maxResults)
+                .getResultList();
+    }
+}
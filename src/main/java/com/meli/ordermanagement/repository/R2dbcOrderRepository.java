@@ -0,0 +1,135 @@
+package com.meli.ordermanagement.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+
+import com.meli.ordermanagement.ids.SnowflakeIdGenerator;
+import com.meli.ordermanagement.model.Order;
+import com.meli.ordermanagement.model.OrderStatusConverter;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The non-blocking "Database Manager" for orders, used by the reactive stack ("reactive" profile).
+ * It is the default ReactiveOrderRepository; orders.storage.engine=log swaps it for LogOrderRepository.
+ *
+ * It reads and writes the same "orders" table as OrderRepository, through R2DBC: every method returns
+ * at once and the rows arrive later, so no thread waits for the database.
+ * Each write is a single statement, so no transaction is needed: the version check of an update
+ * is part of its WHERE clause, just like Hibernate's @Version check.
+ *
+ * Ids are taken one at a time from the same "orders_seq" sequence. Hibernate uses each value it gets as the
+ * top of a block of Order.ID_ALLOCATION_SIZE ids, so a value taken here never falls inside one of its blocks,
+ * and both stacks can write to the same table (e.g. during a rollout).
+ * With orders.ids.strategy=snowflake, ids come from the same SnowflakeIdGenerator as on the servlet stack.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(name = "orders.storage.engine", havingValue = "database", matchIfMissing = true)
+public class R2dbcOrderRepository implements ReactiveOrderRepository {
+
+    private static final String COLUMNS = "id, customer_name, order_date, status, total_amount, version";
+
+    private static final OrderStatusConverter STATUS_CONVERTER = new OrderStatusConverter();
+
+    private final DatabaseClient databaseClient;
+    private final SnowflakeIdGenerator snowflake;
+
+    public R2dbcOrderRepository(DatabaseClient databaseClient, ObjectProvider<SnowflakeIdGenerator> snowflake) {
+        this.databaseClient = databaseClient;
+        this.snowflake = snowflake.getIfAvailable();
+    }
+
+    @Override
+    public Mono<Order> insert(Order order) {
+        Mono<Long> nextId = snowflake != null
+                ? Mono.fromSupplier(snowflake::nextId)
+                : databaseClient.sql("SELECT nextval('orders_seq')").map(row -> row.get(0, Long.class)).one();
+        return nextId
+                .flatMap(id -> databaseClient.sql("INSERT INTO orders (" + COLUMNS
+                                + ") VALUES (:id, :customerName, :orderDate, :status, :totalAmount, 0)")
+                        .bind("id", id)
+                        .bind("customerName", Parameter.fromOrEmpty(order.getCustomerName(), String.class))
+                        .bind("orderDate", order.getOrderDate())
+                        .bind("status", status(order))
+                        .bind("totalAmount", Parameter.fromOrEmpty(order.getTotalAmount(), BigDecimal.class))
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(id))
+                .map(id -> {
+                    order.setId(id);
+                    order.setVersion(0L);
+                    return order;
+                });
+    }
+
+    @Override
+    public Flux<Order> findAll() {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM orders ORDER BY order_date, id")
+                .map(R2dbcOrderRepository::toOrder)
+                .all();
+    }
+
+    @Override
+    public Mono<Order> findById(Long id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM orders WHERE id = :id")
+                .bind("id", id)
+                .map(R2dbcOrderRepository::toOrder)
+                .one();
+    }
+
+    @Override
+    public Mono<Long> findVersionById(Long id) {
+        return databaseClient.sql("SELECT COALESCE(version, 0) AS version FROM orders WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("version", Long.class))
+                .one();
+    }
+
+    @Override
+    public Mono<Long> update(Order order) {
+        return databaseClient.sql("UPDATE orders SET customer_name = :customerName, status = :status, "
+                        + "total_amount = :totalAmount, version = version + 1 WHERE id = :id AND version = :version")
+                .bind("customerName", Parameter.fromOrEmpty(order.getCustomerName(), String.class))
+                .bind("status", status(order))
+                .bind("totalAmount", Parameter.fromOrEmpty(order.getTotalAmount(), BigDecimal.class))
+                .bind("id", order.getId())
+                .bind("version", order.getVersion())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    @Override
+    public Mono<Boolean> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM orders WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated()
+                .map(deleted -> deleted > 0);
+    }
+
+    // Bound as the status' SMALLINT code, exactly as OrderStatusConverter stores it for Hibernate.
+    private static Parameter status(Order order) {
+        return Parameter.fromOrEmpty(STATUS_CONVERTER.convertToDatabaseColumn(order.getStatus()), Short.class);
+    }
+
+    private static Order toOrder(Readable row) {
+        Order order = new Order();
+        order.setId(row.get("id", Long.class));
+        order.setCustomerName(row.get("customer_name", String.class));
+        order.setOrderDate(row.get("order_date", LocalDateTime.class));
+        order.setStatus(STATUS_CONVERTER.convertToEntityAttribute(row.get("status", Short.class)));
+        order.setTotalAmount(row.get("total_amount", BigDecimal.class));
+        order.setVersion(row.get("version", Long.class));
+        return order;
+    }
+}
@@ -0,0 +1,61 @@
+package com.meli.ordermanagement.repository;
+
+import com.meli.ordermanagement.model.Order;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The non-blocking "Database Manager" for orders, used by the reactive stack ("reactive" profile).
+ *
+ * Every method returns at once and the answer arrives later, so no thread waits for the storage.
+ * An update only applies to the version the order was read at, just like Hibernate's @Version check.
+ *
+ * Two implementations, chosen with orders.storage.engine:
+ * - database (the default): R2dbcOrderRepository, the same "orders" table as OrderRepository, through R2DBC.
+ * - log ("edge" profile): LogOrderRepository, an embedded append-only log on the local disk (OrderLog).
+ */
+public interface ReactiveOrderRepository {
+
+    /**
+     * Saves a new order with version 0, giving it the next id.
+     *
+     * @param order The order to insert; its date, status and amount must be set.
+     * @return The same order, with its id and version filled in.
+     */
+    Mono<Order> insert(Order order);
+
+    /**
+     * @return Every order, oldest first.
+     */
+    Flux<Order> findAll();
+
+    /**
+     * @param id The ID of the order.
+     * @return The order, or empty if it does not exist.
+     */
+    Mono<Order> findById(Long id);
+
+    /**
+     * Reads only the version, for cheap ETag checks.
+     *
+     * @param id The ID of the order.
+     * @return The order's current version, or empty if it does not exist.
+     */
+    Mono<Long> findVersionById(Long id);
+
+    /**
+     * Writes the order's new fields, but only if it is still at the version it was read with.
+     *
+     * @param order The order with its new values and the version it was read at.
+     * @return 1 if the order was updated (its version is then raised by one), 0 if it was deleted
+     *         or changed by someone else in the meantime.
+     */
+    Mono<Long> update(Order order);
+
+    /**
+     * @param id The ID of the order to delete.
+     * @return 'true' if an order was deleted, 'false' if there was none with that ID.
+     */
+    Mono<Boolean> deleteById(Long id);
+}
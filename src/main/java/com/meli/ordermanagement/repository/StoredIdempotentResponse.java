@@ -0,0 +1,13 @@
+package com.meli.ordermanagement.repository;
+
+/**
+ * The columns of an idempotency_keys row that a retry needs, read fresh from the table each time.
+ *
+ * @param fingerprint The fingerprint of the first request's body.
+ * @param status      The HTTP status, or null while the first request is running.
+ * @param location    The Location header, if any.
+ * @param etag        The ETag header, if any.
+ * @param body        The answer's body as JSON.
+ */
+public record StoredIdempotentResponse(String fingerprint, Integer status, String location, String etag, String body) {
+}
@@ -0,0 +1,298 @@
+package com.meli.ordermanagement.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * The "Phone Book" of customers: finds orders by any part of their customer's name, without a
+ * "LIKE '%...%'" query that would read the whole orders table.
+ *
+ * Names are compared normalized: lower case, without accents and with single spaces ("José  Pérez" is "jose perez").
+ * Every distinct name is kept once, with a number, and with the sorted ids of its orders (a LongPostings).
+ * Every three-letter piece of a name (a trigram: "jos", "ose", "se ", ...) points to the sorted numbers of
+ * the names that hold it (an IntPostings). A search for "pere" only looks at the names that hold both "per"
+ * and "ere", and then checks that they really contain "pere". Searches shorter than a trigram check every name.
+ *
+ * Matching names are ranked: the name itself first, then names that start with the search, then names with
+ * a word that starts with it, then the rest; shorter names first within each group. Only the best names that
+ * the page needs are kept while matching. The orders of each name follow each other, newest (highest id) first.
+ *
+ * It is safe to use from many threads: searches share a read lock, changes take the write lock.
+ */
+public class CustomerNameIndex {
+
+    private static final int TRIGRAM = 3;
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // names[n] = the n-th normalized name (null once it has no orders left); orders[n] = the ids of its orders
+    private String[] names = new String[1024];
+    private LongPostings[] orders = new LongPostings[1024];
+    private final Map<String, Integer> nameNumbers = new HashMap<>();
+    private final Map<Long, IntPostings> namesByTrigram = new HashMap<>();
+
+    // Numbers of names that were removed, reused by the next new names
+    private int[] freeNumbers = new int[16];
+    private int freeCount;
+    private int nameCount;
+    private long orderCount;
+
+    /**
+     * @return 'name' the way the index compares it: lower case, without accents and with single spaces.
+     */
+    public static String normalize(String name) {
+        String withoutAccents = ACCENTS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(withoutAccents.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+
+    /**
+     * @return Whether a search for 'query' matches the customer name 'name'.
+     */
+    public static boolean matches(String name, String query) {
+        String normalizedQuery = normalize(query);
+        return name != null && !normalizedQuery.isEmpty() && normalize(name).contains(normalizedQuery);
+    }
+
+    /**
+     * Adds an order under its customer's name. Adding the same order twice changes nothing.
+     */
+    public void add(long orderId, String customerName) {
+        if (customerName == null) {
+            return;
+        }
+        String name = normalize(customerName);
+        lock.writeLock().lock();
+        try {
+            Integer number = nameNumbers.get(name);
+            if (number == null) {
+                number = addName(name);
+            }
+            if (orders[number].add(orderId)) {
+                orderCount++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an order from under its customer's name (e.g. it was deleted).
+     */
+    public void remove(long orderId, String customerName) {
+        if (customerName == null) {
+            return;
+        }
+        String name = normalize(customerName);
+        lock.writeLock().lock();
+        try {
+            Integer number = nameNumbers.get(name);
+            if (number != null && orders[number].remove(orderId)) {
+                orderCount--;
+                if (orders[number].size() == 0) {
+                    removeName(number);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves an order whose customer name changed.
+     */
+    public void rename(long orderId, String oldCustomerName, String newCustomerName) {
+        if (oldCustomerName != null && newCustomerName != null && normalize(oldCustomerName).equals(normalize(newCustomerName))) {
+            return;
+        }
+        remove(orderId, oldCustomerName);
+        add(orderId, newCustomerName);
+    }
+
+    /**
+     * Finds the orders whose customer name contains 'query', best matches first.
+     *
+     * @param query  Any part of a customer name (compared normalized).
+     * @param offset How many of the ranked orders to skip.
+     * @param max    How many to return at most.
+     * @return The order ids, in rank order.
+     */
+    public List<Long> search(String query, int offset, int max) {
+        String normalizedQuery = normalize(query);
+        if (normalizedQuery.isEmpty() || max <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            // Every name has at least one order, so the page is among the best 'offset + max' names.
+            long[] best = bestNames(normalizedQuery, (int) Math.min((long) offset + max, Integer.MAX_VALUE));
+
+            List<Long> found = new ArrayList<>(Math.min(max, 1024));
+            long skip = offset;
+            for (long key : best) {
+                LongPostings ids = orders[(int) key];
+                if (skip >= ids.size()) {
+                    skip -= ids.size();
+                    continue;
+                }
+                for (int i = ids.size() - 1 - (int) skip; i >= 0 && found.size() < max; i--) {
+                    found.add(ids.get(i));
+                }
+                skip = 0;
+                if (found.size() == max) {
+                    break;
+                }
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return How many different customer names are indexed.
+     */
+    public int getNameCount() {
+        lock.readLock().lock();
+        try {
+            return nameCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return How many orders are indexed.
+     */
+    public long getOrderCount() {
+        lock.readLock().lock();
+        try {
+            return orderCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The keys (see key()) of the 'limit' best ranked names that contain 'query', best first.
+    private long[] bestNames(String query, int limit) {
+        // Worst of the best so far on top: a candidate only gets in if it beats it.
+        PriorityQueue<Long> best = new PriorityQueue<>(Comparator.reverseOrder());
+        String wordStart = " " + query;
+        if (query.length() < TRIGRAM) {
+            for (int number = 0; number < names.length; number++) {
+                if (names[number] != null && names[number].contains(query)) {
+                    offer(best, key(number, query, wordStart), limit);
+                }
+            }
+        } else {
+            // Intersect the names of every trigram of the query, starting from the shortest list.
+            long[] trigrams = trigrams(query);
+            IntPostings[] postings = new IntPostings[trigrams.length];
+            for (int i = 0; i < trigrams.length; i++) {
+                postings[i] = namesByTrigram.get(trigrams[i]);
+                if (postings[i] == null) {
+                    return new long[0];
+                }
+            }
+            Arrays.sort(postings, Comparator.comparingInt(IntPostings::size));
+            next:
+            for (int i = 0; i < postings[0].size(); i++) {
+                int number = postings[0].get(i);
+                for (int j = 1; j < postings.length; j++) {
+                    if (!postings[j].contains(number)) {
+                        continue next;
+                    }
+                }
+                // Holding every trigram is not enough ("abcab" holds the trigrams of "bcabc"): check the whole query.
+                if (names[number].contains(query)) {
+                    offer(best, key(number, query, wordStart), limit);
+                }
+            }
+        }
+        long[] keys = new long[best.size()];
+        for (int i = keys.length - 1; i >= 0; i--) {
+            keys[i] = best.poll();
+        }
+        return keys;
+    }
+
+    private static void offer(PriorityQueue<Long> best, long key, int limit) {
+        if (best.size() < limit) {
+            best.add(key);
+        } else if (key < best.peek()) {
+            best.poll();
+            best.add(key);
+        }
+    }
+
+    // The rank, the length and the number of a name packed in a long, so that smaller is better:
+    // the name itself (0), names that start with the query (1), names with a word that starts with it (2), the rest (3).
+    private long key(int number, String query, String wordStart) {
+        String name = names[number];
+        int rank = name.equals(query) ? 0 : name.startsWith(query) ? 1 : name.contains(wordStart) ? 2 : 3;
+        return ((long) rank << 48) | ((long) Math.min(name.length(), 0xFFFF) << 32) | number;
+    }
+
+    private int addName(String name) {
+        int number;
+        if (freeCount > 0) {
+            number = freeNumbers[--freeCount];
+        } else {
+            number = nameCount;
+            if (number == names.length) {
+                names = Arrays.copyOf(names, number * 2);
+                orders = Arrays.copyOf(orders, number * 2);
+            }
+        }
+        names[number] = name;
+        orders[number] = new LongPostings();
+        nameNumbers.put(name, number);
+        for (long trigram : trigrams(name)) {
+            namesByTrigram.computeIfAbsent(trigram, key -> new IntPostings()).add(number);
+        }
+        nameCount++;
+        return number;
+    }
+
+    private void removeName(int number) {
+        String name = names[number];
+        for (long trigram : trigrams(name)) {
+            IntPostings postings = namesByTrigram.get(trigram);
+            postings.remove(number);
+            if (postings.size() == 0) {
+                namesByTrigram.remove(trigram);
+            }
+        }
+        nameNumbers.remove(name);
+        names[number] = null;
+        orders[number] = null;
+        if (freeCount == freeNumbers.length) {
+            freeNumbers = Arrays.copyOf(freeNumbers, freeCount * 2);
+        }
+        freeNumbers[freeCount++] = number;
+        nameCount--;
+    }
+
+    // The distinct trigrams of 'text', each packed in a long (three 16-bit chars).
+    private static long[] trigrams(String text) {
+        if (text.length() < TRIGRAM) {
+            return new long[0];
+        }
+        long[] trigrams = new long[text.length() - TRIGRAM + 1];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        return Arrays.stream(trigrams).distinct().toArray();
+    }
+}
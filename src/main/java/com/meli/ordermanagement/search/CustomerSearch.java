@@ -0,0 +1,95 @@
+package com.meli.ordermanagement.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import com.meli.ordermanagement.dto.OrderPageDTO;
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.exception.InvalidCursorException;
+import com.meli.ordermanagement.service.OrderPages;
+import com.meli.ordermanagement.service.OrderService;
+
+/**
+ * The "Help Desk" search of GET /api/orders/search?q=: orders by any part of their customer's name.
+ *
+ * The CustomerNameIndex is filled once at startup by streaming every order (archived ones and every shard
+ * included), and OrderService keeps it up to date after each committed change. Changes made through other
+ * nodes are not seen here until a restart. A search ranks the order ids in the index, then reads that page
+ * of orders with one multi-get; orders that no longer match (changed meanwhile) are left out of the page.
+ * Pages are numbered by position, so orders created between two pages can shift the next one.
+ */
+public class CustomerSearch {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerSearch.class);
+
+    private static final String CURSOR_VERSION = "s1|";
+
+    private final CustomerNameIndex index;
+    private final OrderService orderService;
+
+    public CustomerSearch(CustomerNameIndex index, OrderService orderService) {
+        this.index = index;
+        this.orderService = orderService;
+    }
+
+    /**
+     * Fills the index with the orders that already exist.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        long start = System.nanoTime();
+        orderService.streamAllOrders(order -> index.add(order.getId(), order.getCustomerName()));
+        log.info("Customer search index loaded with {} orders of {} customers in {} ms",
+                index.getOrderCount(), index.getNameCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @param query  Any part of a customer name; case, accents and extra spaces do not matter.
+     * @param cursor The cursor returned with the previous page, or null for the first page.
+     * @param limit  The requested page size, or null for the default. Capped at MAX_PAGE_SIZE.
+     * @return The page of matching orders, best matches first, plus the cursor for the next one (null when this is the last page).
+     * @throws InvalidCursorException If the cursor is not one of ours.
+     */
+    public OrderPageDTO search(String query, String cursor, Integer limit) {
+        int pageSize = OrderPages.pageSize(limit);
+        int offset = cursor == null || cursor.isBlank() ? 0 : decode(cursor);
+
+        // We take one extra id: if it shows up, we know there is a next page.
+        List<Long> ids = index.search(query, offset, pageSize + 1);
+        boolean more = ids.size() > pageSize;
+        if (more) {
+            ids = ids.subList(0, pageSize);
+        }
+        List<OrderResponseDTO> orders = ids.isEmpty() ? List.of() : orderService.getOrdersByIds(ids).stream()
+                .filter(order -> CustomerNameIndex.matches(order.getCustomerName(), query))
+                .toList();
+        return new OrderPageDTO(orders, more ? encode(offset + pageSize) : null);
+    }
+
+    private static String encode(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_VERSION + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(CURSOR_VERSION)) {
+                throw new InvalidCursorException("Malformed pagination cursor.");
+            }
+            int offset = Integer.parseInt(raw.substring(CURSOR_VERSION.length()));
+            if (offset < 0) {
+                throw new InvalidCursorException("Malformed pagination cursor.");
+            }
+            return offset;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed pagination cursor.");
+        }
+    }
+}
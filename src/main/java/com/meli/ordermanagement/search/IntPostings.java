@@ -0,0 +1,56 @@
+package com.meli.ordermanagement.search;
+
+import java.util.Arrays;
+
+/**
+ * A sorted set of ints in one growing int[] (a "posting list"): the customer names that hold one trigram.
+ * Not thread-safe: CustomerNameIndex guards it.
+ */
+final class IntPostings {
+
+    private int[] values = new int[2];
+    private int size;
+
+    /**
+     * @return 'false' if the value was already there.
+     */
+    boolean add(int value) {
+        int position = size == 0 || value > values[size - 1] ? -size - 1 : Arrays.binarySearch(values, 0, size, value);
+        if (position >= 0) {
+            return false;
+        }
+        int insertAt = -position - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1));
+        }
+        System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+        values[insertAt] = value;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return 'false' if the value was not there.
+     */
+    boolean remove(int value) {
+        int position = Arrays.binarySearch(values, 0, size, value);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(values, position + 1, values, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    boolean contains(int value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+}
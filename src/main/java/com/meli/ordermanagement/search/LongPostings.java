@@ -0,0 +1,53 @@
+package com.meli.ordermanagement.search;
+
+import java.util.Arrays;
+
+/**
+ * A sorted set of longs in one growing long[] (a "posting list"): the ids of the orders of one customer.
+ * Order ids mostly grow over time, so adding one is nearly always an append.
+ * Not thread-safe: CustomerNameIndex guards it.
+ */
+final class LongPostings {
+
+    private long[] values = new long[1];
+    private int size;
+
+    /**
+     * @return 'false' if the value was already there.
+     */
+    boolean add(long value) {
+        int position = size == 0 || value > values[size - 1] ? -size - 1 : Arrays.binarySearch(values, 0, size, value);
+        if (position >= 0) {
+            return false;
+        }
+        int insertAt = -position - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + Math.max(1, size >> 1));
+        }
+        System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+        values[insertAt] = value;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return 'false' if the value was not there.
+     */
+    boolean remove(long value) {
+        int position = Arrays.binarySearch(values, 0, size, value);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(values, position + 1, values, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    long get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+}
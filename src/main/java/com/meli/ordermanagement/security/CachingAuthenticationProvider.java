@@ -0,0 +1,116 @@
+package com.meli.ordermanagement.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * A "Fast Lane" in front of the real login check.
+ *
+ * Checking a password with BCrypt is slow on purpose (tens of milliseconds of CPU), and with
+ * Basic Auth the client sends its password on EVERY request. This provider remembers, for a short
+ * time, the credentials it has already verified, so repeated requests skip BCrypt entirely.
+ *
+ * The passwords themselves are never stored: the cache key is an HMAC-SHA256 of the username and
+ * password, made with a random key that only lives in this process's memory.
+ * Only successful logins are remembered; failures always go through the full check.
+ * A remembered credential is trusted until its TTL runs out, so after a password change (or a removed
+ * user) the old password keeps working for at most that long. Keep the TTL short.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    // The real (slow) check, e.g. a DaoAuthenticationProvider with BCrypt.
+    private final AuthenticationProvider delegate;
+
+    // fingerprint of (username, password) -> the successful authentication it produced.
+    private final Cache<String, Authentication> verified;
+
+    // An initialised HMAC that is never used directly, only cloned. Mac objects are not thread-safe,
+    // and a ThreadLocal would be useless with virtual threads (one new thread per request).
+    private final Mac prototypeMac;
+
+    /**
+     * @param delegate The provider that performs the real check.
+     * @param ttl      How long a verified credential is trusted before BCrypt runs again.
+     * @param maxSize  The maximum number of credentials remembered at once.
+     */
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, Duration ttl, long maxSize) {
+        this.delegate = delegate;
+        this.verified = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        try {
+            this.prototypeMac = Mac.getInstance(HMAC_ALGORITHM);
+            this.prototypeMac.init(new SecretKeySpec(secret, HMAC_ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!(authentication instanceof UsernamePasswordAuthenticationToken)
+                || !(authentication.getCredentials() instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+
+        String fingerprint = fingerprint(authentication.getName(), password);
+        Authentication cached = verified.getIfPresent(fingerprint);
+        if (cached != null) {
+            return cached;
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()) {
+            verified.put(fingerprint, result);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    /**
+     * @return How many verified credentials are currently remembered (approximate).
+     */
+    public long size() {
+        return verified.estimatedSize();
+    }
+
+    private String fingerprint(String username, String password) {
+        Mac mac = newMac();
+        // The length prefix keeps ("ab", "c") and ("a", "bc") from producing the same input.
+        mac.update((username.length() + ":" + username).getBytes(StandardCharsets.UTF_8));
+        byte[] digest = mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+
+    private Mac newMac() {
+        try {
+            return (Mac) prototypeMac.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HMAC-SHA256 implementation cannot be cloned", e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.meli.ordermanagement.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.meli.ordermanagement.exception.InvalidCursorException;
+
+/**
+ * The "bookmark" we hand to clients so they can continue reading where the last page stopped.
+ * It remembers the (orderDate, id) of the last order that was returned.
+ *
+ * Clients must treat the token as opaque: it is just Base64 text, and its inside format
+ * may change at any time without breaking anyone.
+ */
+final class OrderCursor {
+
+    private static final String VERSION = "v1";
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime orderDate;
+    private final long id;
+
+    OrderCursor(LocalDateTime orderDate, long id) {
+        this.orderDate = orderDate;
+        this.id = id;
+    }
+
+    LocalDateTime getOrderDate() { return orderDate; }
+    long getId() { return id; }
+
+    /**
+     * Turns the bookmark into the opaque text token sent to the client.
+     */
+    String encode() {
+        String raw = VERSION + SEPARATOR + orderDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a token previously produced by {@link #encode()}.
+     *
+     * @param token The token sent back by the client.
+     * @return The decoded bookmark.
+     * @throws InvalidCursorException If the token is not one of ours.
+     */
+    static OrderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new InvalidCursorException("Malformed pagination cursor.");
+            }
+            return new OrderCursor(LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Malformed pagination cursor.");
+        }
+    }
+}
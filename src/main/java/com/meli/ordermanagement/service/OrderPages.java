@@ -0,0 +1,113 @@
+package com.meli.ordermanagement.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+import com.meli.ordermanagement.dto.OrderPageDTO;
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+
+/**
+ * Helpers for pages of orders, which are always sorted by (orderDate, id), oldest first.
+ */
+public final class OrderPages {
+
+    /**
+     * The order in which every page lists its orders.
+     */
+    public static final Comparator<OrderResponseDTO> PAGE_ORDER =
+            Comparator.comparing(OrderResponseDTO::getOrderDate).thenComparing(OrderResponseDTO::getId);
+
+    private OrderPages() {
+    }
+
+    /**
+     * @param limit The page size a client asked for, or null.
+     * @return The page size that is really used: DEFAULT_PAGE_SIZE if none was asked for, at most MAX_PAGE_SIZE.
+     */
+    public static int pageSize(Integer limit) {
+        return limit == null ? OrderService.DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, OrderService.MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Joins the same page read from several databases (shards) into one page.
+     *
+     * Each page is already sorted, so they are merged like sorted card piles: a priority queue holds the
+     * next order of every page, and the smallest one is taken each time (a k-way merge), until the page is
+     * full. If orders are left over, or any of the pages had a next page, the merged page gets a cursor
+     * pointing after its last order; with the same cursor, every database carries on from there.
+     *
+     * @param pages The page read from each database, with the same filters, cursor and limit.
+     * @param limit The page size the client asked for, or null.
+     * @return The merged page.
+     */
+    public static OrderPageDTO merge(List<OrderPageDTO> pages, Integer limit) {
+        int pageSize = pageSize(limit);
+        List<OrderResponseDTO> merged = mergeSorted(pages.stream().map(OrderPageDTO::getItems).toList(), pageSize + 1);
+        boolean more = merged.size() > pageSize || pages.stream().anyMatch(page -> page.getNextCursor() != null);
+        if (merged.size() > pageSize) {
+            merged = merged.subList(0, pageSize);
+        }
+        String nextCursor = null;
+        if (more && !merged.isEmpty()) {
+            OrderResponseDTO last = merged.get(merged.size() - 1);
+            nextCursor = new OrderCursor(last.getOrderDate(), last.getId()).encode();
+        }
+        return new OrderPageDTO(merged, nextCursor);
+    }
+
+    /**
+     * Merges lists that are each sorted by PAGE_ORDER into one sorted list of at most 'max' orders.
+     * An order found in two lists (e.g. moved to the archive between the two reads) is only taken once.
+     */
+    public static List<OrderResponseDTO> mergeSorted(List<List<OrderResponseDTO>> lists, int max) {
+        record Head(OrderResponseDTO order, int list, int position) {
+        }
+        PriorityQueue<Head> heads = new PriorityQueue<>(Math.max(1, lists.size()),
+                Comparator.comparing(Head::order, PAGE_ORDER));
+        for (int i = 0; i < lists.size(); i++) {
+            if (!lists.get(i).isEmpty()) {
+                heads.add(new Head(lists.get(i).get(0), i, 0));
+            }
+        }
+        List<OrderResponseDTO> merged = new ArrayList<>();
+        while (!heads.isEmpty() && merged.size() < max) {
+            Head head = heads.poll();
+            if (merged.isEmpty() || !merged.get(merged.size() - 1).getId().equals(head.order().getId())) {
+                merged.add(head.order());
+            }
+            List<OrderResponseDTO> list = lists.get(head.list());
+            int next = head.position() + 1;
+            if (next < list.size()) {
+                heads.add(new Head(list.get(next), head.list(), next));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Passes the orders of two streams that are each sorted by PAGE_ORDER to 'sink', still sorted.
+     * As with mergeSorted, an order found in both is only passed once.
+     */
+    public static void mergeSorted(Iterator<OrderResponseDTO> first, Iterator<OrderResponseDTO> second,
+                                   Consumer<OrderResponseDTO> sink) {
+        OrderResponseDTO a = first.hasNext() ? first.next() : null;
+        OrderResponseDTO b = second.hasNext() ? second.next() : null;
+        while (a != null || b != null) {
+            int comparison = a == null ? 1 : b == null ? -1 : PAGE_ORDER.compare(a, b);
+            if (comparison <= 0) {
+                sink.accept(a);
+                a = first.hasNext() ? first.next() : null;
+            }
+            if (comparison >= 0) {
+                if (comparison > 0) {
+                    sink.accept(b);
+                }
+                b = second.hasNext() ? second.next() : null;
+            }
+        }
+    }
+}
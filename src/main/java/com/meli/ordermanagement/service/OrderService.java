@@ -1,17 +1,52 @@
 package com.meli.ordermanagement.service;
 
+import com.meli.ordermanagement.archive.OrderArchive;
+import com.meli.ordermanagement.cache.CoalescingOrderLoader;
+import com.meli.ordermanagement.cache.OrderCache;
+import com.meli.ordermanagement.changes.OrderChangeFeed;
+import com.meli.ordermanagement.changes.OrderChangeFeed.ChangeType;
+import com.meli.ordermanagement.dto.BatchCreateResponseDTO;
+import com.meli.ordermanagement.dto.BatchItemResultDTO;
 import com.meli.ordermanagement.dto.CreateOrderRequestDTO;
+import com.meli.ordermanagement.dto.OrderPageDTO;
 import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.dto.OrderStatsDTO;
 import com.meli.ordermanagement.dto.UpdateOrderRequestDTO;
+import com.meli.ordermanagement.exception.BatchTooLargeException;
+import com.meli.ordermanagement.exception.PreconditionFailedException;
 import com.meli.ordermanagement.model.Order;
+import com.meli.ordermanagement.model.OrderStatus;
 import com.meli.ordermanagement.repository.OrderRepository;
+import com.meli.ordermanagement.repository.OrderSearchCriteria;
+import com.meli.ordermanagement.search.CustomerNameIndex;
+import com.meli.ordermanagement.stats.OrderStatistics;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * This is the "Brain" of the application (a Service).
@@ -22,23 +57,103 @@ import java.util.stream.Collectors;
  * tell the Repository (database manager) to save it."
  *
  * @Service This tag tells Spring: "This class contains the main business logic."
+ * @Timed Every public method is timed as "orders.service" (tagged with the method name).
+ * It belongs to the servlet stack (Spring MVC + JPA); the "reactive" profile uses ReactiveOrderService instead.
  */
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Timed(value = "orders.service", description = "Time spent in OrderService methods")
 public class OrderService {
 
+    /**
+     * How many orders a page holds when the client does not ask for a specific size.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    /**
+     * The biggest page a client may ask for. Bigger requests are silently capped.
+     */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * The most orders we accept in a single bulk request.
+     */
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    /**
+     * How many orders may be asked for by id in one call (see getOrdersByIds).
+     */
+    public static final int MAX_LOOKUP_IDS = 500;
+
+    /**
+     * How many new orders we hand to the database before flushing and clearing the persistence context.
+     * It matches hibernate.jdbc.batch_size, so each flush becomes exactly one JDBC batch.
+     */
+    static final int INSERT_FLUSH_SIZE = 50;
+
+    /**
+     * How many days the statistics list covers when the client does not choose a range,
+     * and the longest range it may ask for.
+     */
+    public static final int DEFAULT_STATS_DAYS = 30;
+    public static final int MAX_STATS_DAYS = 366;
+
     // The brain needs its main tool: the "database manager" (Repository).
     private final OrderRepository orderRepository;
 
+    // Used while bulk inserting, to let go of orders we no longer need.
+    private final EntityManager entityManager;
+
+    // Checks each order of a bulk request on its own, so one bad order does not reject the rest.
+    private final Validator validator;
+
+    // Remembers recently read orders so repeated reads skip the database.
+    private final OrderCache orderCache;
+
+    // Reads the orders the cache misses, sharing queries between concurrent requests.
+    private final CoalescingOrderLoader orderLoader;
+
+    // Running counts and revenue, kept up to date on every committed change.
+    private final OrderStatistics orderStatistics;
+
+    // Tells the clients following GET /api/orders/changes about every committed change.
+    private final OrderChangeFeed orderChangeFeed;
+
+    // Where old, finished orders are moved to (null when orders.archive.enabled is off).
+    private final OrderArchive orderArchive;
+
+    // Finds orders by part of their customer's name (null when orders.search.enabled is off).
+    private final CustomerNameIndex customerNameIndex;
+
     /**
      * Constructor for the service.
      * Spring's @Autowired will automatically provide (inject) the OrderRepository
      * so this service can use it.
      *
      * @param orderRepository The repository that will handle database operations.
+     * @param entityManager   The JPA entity manager of the current transaction.
+     * @param validator       The Bean Validation validator.
+     * @param orderCache      The cache of recently read orders.
+     * @param orderLoader     Reads the orders the cache misses.
+     * @param orderStatistics The running order statistics.
+     * @param orderChangeFeed The feed of committed order changes.
+     * @param orderArchive    The archive of old orders, if it is switched on.
+     * @param customerNameIndex The index behind the customer search, if it is switched on.
      */
     @Autowired
-    public OrderService(OrderRepository orderRepository) {
+    public OrderService(OrderRepository orderRepository, EntityManager entityManager, Validator validator,
+                        OrderCache orderCache, CoalescingOrderLoader orderLoader, OrderStatistics orderStatistics,
+                        OrderChangeFeed orderChangeFeed, ObjectProvider<OrderArchive> orderArchive,
+                        ObjectProvider<CustomerNameIndex> customerNameIndex) {
         this.orderRepository = orderRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.orderCache = orderCache;
+        this.orderLoader = orderLoader;
+        this.orderStatistics = orderStatistics;
+        this.orderChangeFeed = orderChangeFeed;
+        this.orderArchive = orderArchive.getIfAvailable();
+        this.customerNameIndex = customerNameIndex.getIfAvailable();
     }
 
     /**
@@ -48,68 +163,341 @@ public class OrderService {
      * @return The final, saved order, converted to a response DTO.
      */
     public OrderResponseDTO createOrder(CreateOrderRequestDTO requestDTO) {
-        // Convert the incoming DTO to a database Entity
-        Order order = new Order();
-        order.setCustomerName(requestDTO.getCustomerName());
-        order.setTotalAmount(requestDTO.getTotalAmount());
-        
-        // This is our business logic:
-        // 1. Set the order's date to the exact time it was created.
-        order.setOrderDate(LocalDateTime.now());
-        // 2. Set the default status to "Pending".
-        order.setStatus("Pending");
-
-        // 3. Tell the repository to save this new order to the database.
+        // Convert the incoming DTO to a new database Entity (with its date and default status).
+        Order order = newOrder(requestDTO);
+
+        // Tell the repository to save this new order to the database.
         Order savedOrder = orderRepository.save(order);
 
         // Convert the saved Entity back to a DTO for the response
-        return convertToDTO(savedOrder);
+        OrderResponseDTO savedDTO = convertToDTO(savedOrder);
+        afterCommit(() -> {
+            orderStatistics.recordCreated(savedOrder.getOrderDate(), savedOrder.getStatus(), savedOrder.getTotalAmount());
+            indexCustomer(savedDTO);
+            orderChangeFeed.publish(ChangeType.CREATED, savedDTO);
+        });
+        return savedDTO;
+    }
+
+    /**
+     * The business logic for creating many orders in one go.
+     * Every order is validated on its own: valid ones are inserted, invalid ones are reported back.
+     * All valid orders are written in a single transaction using JDBC batch inserts.
+     *
+     * @param requestDTOs The orders to create, in the order the client sent them.
+     * @return One result per submitted order, in the same order, plus totals.
+     * @throws BatchTooLargeException If more than MAX_BATCH_SIZE orders are submitted.
+     */
+    @Transactional
+    public BatchCreateResponseDTO createOrders(List<CreateOrderRequestDTO> requestDTOs) {
+        if (requestDTOs.size() > MAX_BATCH_SIZE) {
+            throw new BatchTooLargeException("A batch may contain at most " + MAX_BATCH_SIZE + " orders.");
+        }
+
+        List<BatchItemResultDTO> results = new ArrayList<>(requestDTOs.size());
+        List<OrderResponseDTO> createdOrders = new ArrayList<>();
+        int created = 0;
+        int pending = 0;
+        for (int index = 0; index < requestDTOs.size(); index++) {
+            CreateOrderRequestDTO requestDTO = requestDTOs.get(index);
+            Map<String, String> errors = validate(requestDTO);
+            if (!errors.isEmpty()) {
+                results.add(BatchItemResultDTO.rejected(index, errors));
+                continue;
+            }
+
+            // The id comes from the pooled sequence in memory, so persist() does not hit the database yet.
+            Order order = newOrder(requestDTO);
+            entityManager.persist(order);
+            OrderResponseDTO createdOrder = convertToDTO(order);
+            results.add(BatchItemResultDTO.created(index, createdOrder));
+            createdOrders.add(createdOrder);
+            created++;
+
+            // Every INSERT_FLUSH_SIZE orders we send one JDBC batch and forget the saved entities.
+            if (++pending == INSERT_FLUSH_SIZE) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+        afterCommit(() -> createdOrders.forEach(order -> {
+            orderStatistics.recordCreated(order.getOrderDate(), order.getStatus(), order.getTotalAmount());
+            indexCustomer(order);
+            orderChangeFeed.publish(ChangeType.CREATED, order);
+        }));
+        return new BatchCreateResponseDTO(created, requestDTOs.size() - created, results);
+    }
+
+    /**
+     * The business logic for accepting an order that will be saved a little later (write-behind intake).
+     * The order gets its id, date and status right now, exactly as createOrder would give them,
+     * but nothing is written to the database yet; see saveAcceptedOrders.
+     *
+     * @param requestDTO The "form" with the basic order info from the user (already validated).
+     * @return The new order, with its id reserved but not yet saved.
+     */
+    public Order prepareOrder(CreateOrderRequestDTO requestDTO) {
+        Order order = newOrder(requestDTO);
+        order.setId(orderRepository.reserveId());
+        order.setVersion(0L);
+        return order;
+    }
+
+    /**
+     * The business logic for saving many orders accepted earlier by prepareOrder, all in one
+     * transaction (group commit): one JDBC batch and a single commit instead of one per order.
+     *
+     * @param orders The accepted orders to write.
+     */
+    @Transactional
+    public void saveAcceptedOrders(List<Order> orders) {
+        orderRepository.insertAll(orders);
+        List<OrderResponseDTO> savedOrders = orders.stream().map(this::convertToDTO).toList();
+        afterCommit(() -> savedOrders.forEach(order -> {
+            orderStatistics.recordCreated(order.getOrderDate(), order.getStatus(), order.getTotalAmount());
+            indexCustomer(order);
+            orderChangeFeed.publish(ChangeType.CREATED, order);
+        }));
     }
 
     /**
      * Logic for getting a list of all orders, returned as DTOs.
      *
-     * @return A list of every order in the database, converted to DTOs.
+     * Read-only, so with read replicas switched on (orders.replicas.enabled) it is served by a replica.
+     *
+     * With the archive on, the archived orders are listed too.
+     *
+     * @return A list of every order in the database, read straight into DTOs.
      */
+    @Transactional(readOnly = true)
     public List<OrderResponseDTO> getAllOrders() {
-        return orderRepository.findAll()
-                .stream()
-                .map(this::convertToDTO) // Convert each Order to an OrderResponseDTO
-                .collect(Collectors.toList());
+        List<OrderResponseDTO> orders = orderRepository.findAllResponses();
+        if (orderArchive == null) {
+            return orders;
+        }
+        // An order moved to the archive between the two reads is only listed once.
+        Set<Long> ids = new HashSet<>();
+        orders.forEach(order -> ids.add(order.getId()));
+        List<OrderResponseDTO> all = new ArrayList<>(orders);
+        orderArchive.findAll().stream().filter(order -> !ids.contains(order.getId())).forEach(all::add);
+        return all;
+    }
+
+    /**
+     * Logic for reading one page of orders, oldest first.
+     * Uses keyset pagination, so reading page 10,000 is as cheap as reading page 1.
+     *
+     * @param cursor The opaque cursor returned with the previous page, or null for the first page.
+     * @param limit  The requested page size, or null for the default. Capped at MAX_PAGE_SIZE.
+     * @return The page of orders plus the cursor for the next one (null when this is the last page).
+     */
+    public OrderPageDTO getOrdersPage(String cursor, Integer limit) {
+        return searchOrders(OrderSearchCriteria.none(), cursor, limit);
+    }
+
+    /**
+     * Logic for searching orders by status, customer and/or date range, one page at a time (oldest first).
+     * The same cursor rules as getOrdersPage apply; the client must send the same filters with every page.
+     * With the archive on, archived orders are searched too, but only when they could match (see OrderArchive.mayHold):
+     * pages of recent orders, or of open statuses, never read the archive.
+     *
+     * @param criteria The filters to apply (unset filters match everything).
+     * @param cursor   The opaque cursor returned with the previous page, or null for the first page.
+     * @param limit    The requested page size, or null for the default. Capped at MAX_PAGE_SIZE.
+     * @return The page of matching orders plus the cursor for the next one (null when this is the last page).
+     */
+    @Transactional(readOnly = true)
+    public OrderPageDTO searchOrders(OrderSearchCriteria criteria, String cursor, Integer limit) {
+        int pageSize = OrderPages.pageSize(limit);
+        OrderCursor position = (cursor == null || cursor.isBlank()) ? null : OrderCursor.decode(cursor);
+
+        LocalDateTime afterDate = position == null ? null : position.getOrderDate();
+        Long afterId = position == null ? null : position.getId();
+
+        // We read one extra row: if it shows up, we know there is a next page.
+        // The orders table is read first: an order being archived meanwhile then shows up at least once.
+        List<OrderResponseDTO> rows = orderRepository.search(criteria, afterDate, afterId, pageSize + 1);
+        if (orderArchive != null && orderArchive.mayHold(criteria, afterDate)) {
+            List<OrderResponseDTO> archived = orderArchive.search(criteria, afterDate, afterId, pageSize + 1);
+            rows = OrderPages.mergeSorted(List.of(rows, archived), pageSize + 1);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            OrderResponseDTO last = rows.get(pageSize - 1);
+            nextCursor = new OrderCursor(last.getOrderDate(), last.getId()).encode();
+        }
+        return new OrderPageDTO(rows, nextCursor);
+    }
+
+    /**
+     * Logic for walking over every order without ever holding them all in memory.
+     * Each order is read straight into a DTO and handed to the 'sink' as soon as it is read;
+     * nothing stays in the persistence context, so memory use stays flat however big the table is.
+     *
+     * With the archive on, the archived orders are merged in, still in (orderDate, id) order.
+     *
+     * @param sink Receives each order, converted to a DTO, in (orderDate, id) order.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllOrders(Consumer<OrderResponseDTO> sink) {
+        try (Stream<OrderResponseDTO> orders = orderRepository.streamAllResponses()) {
+            if (orderArchive == null) {
+                orders.forEach(sink);
+                return;
+            }
+            try (Stream<OrderResponseDTO> archived = orderArchive.streamAll()) {
+                OrderPages.mergeSorted(orders.iterator(), archived.iterator(), sink);
+            }
+        }
     }
 
     /**
      * Logic for finding one specific order, returned as a DTO.
      * We return an "Optional" because the order might not exist.
+     * Recently read orders are answered from the OrderCache without touching the database.
+     * On a cache miss, the CoalescingOrderLoader reads it: requests for the same id at the same time share one read,
+     * and (with orders.lookup.batch-window) misses for different ids are read together with one query.
+     * The order is read straight into a DTO (no entity is loaded) in its own read-only transaction, on the
+     * primary even with read replicas on: the read is cached for everyone, so it must not come from a replica
+     * that has not caught up with the last change yet. The method itself is not wrapped in a
+     * transaction on purpose: a transaction takes a database connection as soon as it starts, even for a cache hit.
+     * With the archive on, an order that is not in the orders table is looked for there.
      *
      * @param id The ID of the order to find.
      * @return An Optional that might contain the order DTO, or might be empty.
      */
     public Optional<OrderResponseDTO> getOrderById(Long id) {
-        return orderRepository.findById(id).map(this::convertToDTO);
+        if (orderArchive == null) {
+            return orderCache.get(id, orderLoader::load);
+        }
+        return orderCache.get(id, key -> orderLoader.load(key).or(() -> orderArchive.findById(key)));
+    }
+
+    /**
+     * Logic for finding many orders at once (a "multi-get"), with one "WHERE id IN (...)" query
+     * instead of one query per order. It does not go through the cache.
+     * With the archive on, the ids that are not in the orders table are looked for there (with one more query).
+     *
+     * @param ids The ids of the orders; repeated ids are only looked up once.
+     * @return The orders that exist, in the order their ids were first given.
+     * @throws BatchTooLargeException If more than MAX_LOOKUP_IDS different ids are given.
+     */
+    public List<OrderResponseDTO> getOrdersByIds(List<Long> ids) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        if (distinctIds.size() > MAX_LOOKUP_IDS) {
+            throw new BatchTooLargeException("At most " + MAX_LOOKUP_IDS + " orders may be looked up at once.");
+        }
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, OrderResponseDTO> found = new HashMap<>();
+        orderRepository.findResponsesByIds(distinctIds).forEach(order -> found.put(order.getId(), order));
+        if (orderArchive != null && found.size() < distinctIds.size()) {
+            List<Long> missing = distinctIds.stream().filter(id -> !found.containsKey(id)).toList();
+            orderArchive.findByIds(missing).forEach(order -> found.put(order.getId(), order));
+        }
+        return distinctIds.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Logic for reading the order statistics: counts and revenue overall, per status and per day.
+     * The numbers come from running counters, so this never scans the orders table.
+     *
+     * @param fromDay The first day of the per-day list, or null for DEFAULT_STATS_DAYS ago.
+     * @param toDay   The last day of the per-day list, or null for today.
+     * @return The statistics; the per-day list is capped at MAX_STATS_DAYS days.
+     */
+    public OrderStatsDTO getStatistics(LocalDate fromDay, LocalDate toDay) {
+        LocalDate to = toDay == null ? LocalDate.now() : toDay;
+        LocalDate from = fromDay == null ? to.minusDays(DEFAULT_STATS_DAYS - 1) : fromDay;
+        if (from.isBefore(to.minusDays(MAX_STATS_DAYS - 1))) {
+            from = to.minusDays(MAX_STATS_DAYS - 1);
+        }
+        return orderStatistics.snapshot(from, to);
+    }
+
+    /**
+     * Logic for reading only the current version of an order (its ETag), without loading the whole order.
+     *
+     * @param id The ID of the order.
+     * @return The current version, or empty if the order does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> getOrderVersion(Long id) {
+        Optional<Long> version = orderRepository.findVersionById(id);
+        if (version.isEmpty() && orderArchive != null) {
+            return orderArchive.findVersionById(id);
+        }
+        return version;
     }
 
     /**
      * Logic for updating an existing order using a DTO.
+     * It needs its own @Transactional: calling the other updateOrder on 'this' skips Spring's proxy,
+     * so that one's transaction would never start.
      *
      * @param id           The ID of the order to update.
      * @param requestDTO An Order object containing the new information.
      * @return An Optional containing the updated order DTO, or empty if the ID wasn't found.
      */
+    @Transactional
     public Optional<OrderResponseDTO> updateOrder(Long id, UpdateOrderRequestDTO requestDTO) {
+        return updateOrder(id, requestDTO, null);
+    }
+
+    /**
+     * Logic for updating an existing order, but only if it is still at one of the versions the client expects.
+     * Even without an expected version, Hibernate's @Version check stops two concurrent updates from
+     * silently overwriting each other: the later one fails with an optimistic locking error.
+     *
+     * @param id               The ID of the order to update.
+     * @param requestDTO       The new information for the order.
+     * @param expectedVersions The versions the client says it has (from If-Match), or null for "any".
+     * @return An Optional containing the updated order DTO, or empty if the ID wasn't found
+     *         (archived orders are read-only, so they are not found here either).
+     * @throws PreconditionFailedException If the order is no longer at any of the expected versions.
+     */
+    @Transactional
+    public Optional<OrderResponseDTO> updateOrder(Long id, UpdateOrderRequestDTO requestDTO, Set<Long> expectedVersions) {
         // First, we find the order we want to update.
         return orderRepository.findById(id)
                 .map(existingOrder -> {
-                    // If we find it, we update its fields with the new details from the DTO.
+                    // If the client was looking at an older copy, we refuse instead of overwriting newer changes.
+                    if (expectedVersions != null && !expectedVersions.contains(existingOrder.getVersion())) {
+                        throw new PreconditionFailedException("The order was modified by someone else.",
+                                existingOrder.getVersion());
+                    }
+
+                    // We remember the old values, so the statistics can move the order to its new status
+                    // (and the customer search to its new customer).
+                    OrderStatus oldStatus = existingOrder.getStatus();
+                    BigDecimal oldAmount = existingOrder.getTotalAmount();
+                    String oldCustomerName = existingOrder.getCustomerName();
+
+                    // We update its fields with the new details from the DTO.
                     existingOrder.setCustomerName(requestDTO.getCustomerName());
                     existingOrder.setStatus(requestDTO.getStatus());
                     existingOrder.setTotalAmount(requestDTO.getTotalAmount());
                     
                     // Finally, we save the changed order back to the database.
-                    Order updatedOrder = orderRepository.save(existingOrder);
+                    // Flushing now makes Hibernate run the versioned UPDATE, so the DTO carries the new version.
+                    Order updatedOrder = orderRepository.saveAndFlush(existingOrder);
+                    invalidateCachedOrder(id);
 
                     // Convert the updated entity to a DTO for the response
-                    return convertToDTO(updatedOrder);
+                    OrderResponseDTO updatedDTO = convertToDTO(updatedOrder);
+                    afterCommit(() -> {
+                        orderStatistics.recordUpdated(updatedOrder.getOrderDate(), oldStatus, oldAmount,
+                                updatedOrder.getStatus(), updatedOrder.getTotalAmount());
+                        if (customerNameIndex != null) {
+                            customerNameIndex.rename(id, oldCustomerName, updatedDTO.getCustomerName());
+                        }
+                        orderChangeFeed.publish(ChangeType.UPDATED, updatedDTO);
+                    });
+                    return updatedDTO;
                 });
     }
 
@@ -117,18 +505,117 @@ public class OrderService {
      * Logic for deleting an order.
      *
      * @param id The ID of the order to delete.
-     * @return 'true' if the deletion was successful, 'false' if the order was not found.
+     * @return 'true' if the deletion was successful, 'false' if the order was not found (or is archived).
      */
+    @Transactional
     public boolean deleteOrder(Long id) {
         // First, find the order.
         return orderRepository.findById(id)
                 .map(order -> {
                     // If we find it, delete it.
                     orderRepository.delete(order);
+                    invalidateCachedOrder(id);
+                    OrderResponseDTO deletedDTO = convertToDTO(order);
+                    afterCommit(() -> {
+                        orderStatistics.recordDeleted(order.getOrderDate(), order.getStatus(), order.getTotalAmount());
+                        if (customerNameIndex != null) {
+                            customerNameIndex.remove(id, deletedDTO.getCustomerName());
+                        }
+                        orderChangeFeed.publish(ChangeType.DELETED, deletedDTO);
+                    });
                     return true; // Report success.
                 }).orElse(false); // Otherwise, report failure (it wasn't found).
     }
 
+    /**
+     * Private helper that makes the cache forget an order that was just changed or deleted.
+     *
+     * We forget it right away AND again when the transaction finishes: a reader running in between
+     * could have re-cached the old (still committed) row, and the second invalidation removes it.
+     * Doing it on completion (not only on commit) also drops anything cached from a rolled-back change.
+     *
+     * @param id The id of the order that changed.
+     */
+    private void invalidateCachedOrder(Long id) {
+        orderCache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    orderCache.invalidate(id);
+                }
+            });
+        }
+    }
+
+    /**
+     * Private helper that adds a new order to the customer search, when it is switched on.
+     *
+     * @param order The order that was just created.
+     */
+    private void indexCustomer(OrderResponseDTO order) {
+        if (customerNameIndex != null) {
+            customerNameIndex.add(order.getId(), order.getCustomerName());
+        }
+    }
+
+    /**
+     * Private helper that runs 'action' once the current transaction has committed (or right away
+     * when there is no transaction). Used for side effects, like statistics, that must not count
+     * changes that end up rolled back.
+     *
+     * @param action The work to run after the commit.
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Private helper that applies our creation rules to a new order:
+     * the date is the exact time it was created and the status starts as PENDING.
+     * The date is cut to microseconds, the precision databases store, so the value we keep in
+     * memory (and put in pagination cursors) is exactly the one saved in the table.
+     *
+     * @param requestDTO The "form" with the basic order info from the user.
+     * @return A new, not yet saved, Order entity.
+     */
+    private Order newOrder(CreateOrderRequestDTO requestDTO) {
+        Order order = new Order();
+        order.setCustomerName(requestDTO.getCustomerName());
+        order.setTotalAmount(requestDTO.getTotalAmount());
+        order.setOrderDate(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        order.setStatus(OrderStatus.PENDING);
+        return order;
+    }
+
+    /**
+     * Private helper that runs the DTO's validation rules and collects the failures
+     * in the same "field -> message" shape the GlobalExceptionHandler uses.
+     *
+     * @param requestDTO The order to check.
+     * @return The validation errors, empty when the order is valid.
+     */
+    private Map<String, String> validate(CreateOrderRequestDTO requestDTO) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (requestDTO == null) {
+            errors.put("order", "Order cannot be null.");
+            return errors;
+        }
+        for (ConstraintViolation<CreateOrderRequestDTO> violation : validator.validate(requestDTO)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+
     /**
      * Private helper method to convert a database Order entity into a response DTO.
      * This avoids repeating code and separates concerns.
@@ -143,6 +630,7 @@ public class OrderService {
         dto.setOrderDate(order.getOrderDate());
         dto.setStatus(order.getStatus());
         dto.setTotalAmount(order.getTotalAmount());
+        dto.setVersion(order.getVersion());
         return dto;
     }
 }
\ No newline at end of file
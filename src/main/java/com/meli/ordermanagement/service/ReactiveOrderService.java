@@ -0,0 +1,122 @@
+package com.meli.ordermanagement.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import com.meli.ordermanagement.dto.CreateOrderRequestDTO;
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.dto.UpdateOrderRequestDTO;
+import com.meli.ordermanagement.exception.PreconditionFailedException;
+import com.meli.ordermanagement.model.Order;
+import com.meli.ordermanagement.model.OrderStatus;
+import com.meli.ordermanagement.repository.ReactiveOrderRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The "Brain" of the reactive stack ("reactive" profile): the same business rules as OrderService
+ * for creating, reading, updating and deleting orders, but every answer is a Mono or a Flux
+ * that completes when the database has answered, instead of a value the caller waits for.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveOrderService {
+
+    private final ReactiveOrderRepository orderRepository;
+
+    public ReactiveOrderService(ReactiveOrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+    }
+
+    /**
+     * The business logic for creating a new order: it gets today's date and starts as PENDING.
+     *
+     * @param requestDTO The "form" with the basic order info from the user.
+     * @return The saved order, converted to a response DTO.
+     */
+    public Mono<OrderResponseDTO> createOrder(CreateOrderRequestDTO requestDTO) {
+        Order order = new Order();
+        order.setCustomerName(requestDTO.getCustomerName());
+        order.setTotalAmount(requestDTO.getTotalAmount());
+        // Cut to microseconds, the precision databases store, as OrderService does.
+        order.setOrderDate(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        order.setStatus(OrderStatus.PENDING);
+        return orderRepository.insert(order).map(ReactiveOrderService::convertToDTO);
+    }
+
+    /**
+     * Logic for reading every order, oldest first.
+     * Nothing is collected in memory: orders are read from the database as the client takes them.
+     *
+     * @return The orders as DTOs.
+     */
+    public Flux<OrderResponseDTO> getAllOrders() {
+        return orderRepository.findAll().map(ReactiveOrderService::convertToDTO);
+    }
+
+    /**
+     * @param id The ID of the order to find.
+     * @return The order as a DTO, or empty if it does not exist.
+     */
+    public Mono<OrderResponseDTO> getOrderById(Long id) {
+        return orderRepository.findById(id).map(ReactiveOrderService::convertToDTO);
+    }
+
+    /**
+     * @param id The ID of the order.
+     * @return The order's current version (its ETag), or empty if it does not exist.
+     */
+    public Mono<Long> getOrderVersion(Long id) {
+        return orderRepository.findVersionById(id);
+    }
+
+    /**
+     * Logic for updating an existing order, but only if it is still at one of the versions the client expects.
+     * Even without an expected version, the update only applies to the version that was read, so two
+     * concurrent updates cannot silently overwrite each other.
+     *
+     * @param id               The ID of the order to update.
+     * @param requestDTO       The new information for the order.
+     * @param expectedVersions The versions the client says it has (from If-Match), or null for "any".
+     * @return The updated order as a DTO, or empty if the ID wasn't found. Fails with PreconditionFailedException
+     *         if the order is not at an expected version, or OptimisticLockingFailureException if it changed meanwhile.
+     */
+    public Mono<OrderResponseDTO> updateOrder(Long id, UpdateOrderRequestDTO requestDTO, Set<Long> expectedVersions) {
+        return orderRepository.findById(id)
+                .flatMap(existingOrder -> {
+                    if (expectedVersions != null && !expectedVersions.contains(existingOrder.getVersion())) {
+                        return Mono.error(new PreconditionFailedException("The order was modified by someone else.",
+                                existingOrder.getVersion()));
+                    }
+                    existingOrder.setCustomerName(requestDTO.getCustomerName());
+                    existingOrder.setStatus(requestDTO.getStatus());
+                    existingOrder.setTotalAmount(requestDTO.getTotalAmount());
+                    return orderRepository.update(existingOrder).flatMap(updated -> {
+                        if (updated == 0) {
+                            return Mono.error(new OptimisticLockingFailureException("Order " + id + " was modified concurrently"));
+                        }
+                        existingOrder.setVersion(existingOrder.getVersion() + 1);
+                        return Mono.just(convertToDTO(existingOrder));
+                    });
+                });
+    }
+
+    /**
+     * @param id The ID of the order to delete.
+     * @return 'true' if the deletion was successful, 'false' if the order was not found.
+     */
+    public Mono<Boolean> deleteOrder(Long id) {
+        return orderRepository.deleteById(id);
+    }
+
+    private static OrderResponseDTO convertToDTO(Order order) {
+        return new OrderResponseDTO(order.getId(), order.getCustomerName(), order.getOrderDate(),
+                order.getStatus(), order.getTotalAmount(), order.getVersion());
+    }
+}
@@ -0,0 +1,112 @@
+package com.meli.ordermanagement.sharding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.service.OrderPages;
+
+/**
+ * Streams the orders of every shard as one stream, still sorted by (orderDate, id).
+ *
+ * Every shard streams its own orders (already sorted) on its own thread into a small buffer. The caller's
+ * thread keeps the next order of each shard in a priority queue and always passes on the smallest one
+ * (a k-way merge). A shard that gets ahead simply waits for room in its buffer, so memory stays flat
+ * however many orders there are. If the caller stops (e.g. the client went away), the shards stop too.
+ */
+final class MergedOrderStream {
+
+    private static final int BUFFER_SIZE = 256;
+    private static final Object END = new Object();
+
+    private record Failure(Throwable error) {
+    }
+
+    private record Head(OrderResponseDTO order, int shard) {
+    }
+
+    /**
+     * Streams the orders of one shard to 'out'.
+     */
+    @FunctionalInterface
+    interface ShardStream {
+        void stream(int shard, Consumer<OrderResponseDTO> out) throws Throwable;
+    }
+
+    private MergedOrderStream() {
+    }
+
+    static void merge(OrderShards shards, ShardStream stream, Consumer<OrderResponseDTO> sink) throws Throwable {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        List<BlockingQueue<Object>> buffers = new ArrayList<>(shards.count());
+        List<Future<Object>> producers = new ArrayList<>(shards.count());
+        for (int shard = 0; shard < shards.count(); shard++) {
+            BlockingQueue<Object> buffer = new ArrayBlockingQueue<>(BUFFER_SIZE);
+            buffers.add(buffer);
+            producers.add(shards.submit(shard, s -> {
+                try {
+                    stream.stream(s, order -> put(buffer, order, cancelled));
+                    put(buffer, END, cancelled);
+                } catch (CancellationException e) {
+                    // The caller stopped reading.
+                } catch (Throwable e) {
+                    put(buffer, new Failure(e), cancelled);
+                }
+                return null;
+            }));
+        }
+        try {
+            PriorityQueue<Head> heads = new PriorityQueue<>(Math.max(1, shards.count()),
+                    Comparator.comparing(Head::order, OrderPages.PAGE_ORDER));
+            for (int shard = 0; shard < shards.count(); shard++) {
+                takeNext(buffers.get(shard), shard, heads);
+            }
+            while (!heads.isEmpty()) {
+                Head head = heads.poll();
+                sink.accept(head.order());
+                takeNext(buffers.get(head.shard()), head.shard(), heads);
+            }
+        } finally {
+            cancelled.set(true);
+            for (Future<Object> producer : producers) {
+                try {
+                    producer.get();
+                } catch (Exception e) {
+                    // Already reported through its buffer, or cancelled on purpose.
+                }
+            }
+        }
+    }
+
+    private static void takeNext(BlockingQueue<Object> buffer, int shard, PriorityQueue<Head> heads) throws Throwable {
+        Object next = buffer.take();
+        if (next instanceof Failure failure) {
+            throw failure.error();
+        }
+        if (next != END) {
+            heads.add(new Head((OrderResponseDTO) next, shard));
+        }
+    }
+
+    private static void put(BlockingQueue<Object> buffer, Object item, AtomicBoolean cancelled) {
+        try {
+            while (!buffer.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                if (cancelled.get()) {
+                    throw new CancellationException();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        }
+    }
+}
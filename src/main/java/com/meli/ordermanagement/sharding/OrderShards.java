@@ -0,0 +1,108 @@
+package com.meli.ordermanagement.sharding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The "Map" of the shards: how many there are, which one an order belongs to, and how to ask all of them
+ * something at once.
+ *
+ * - An existing order is found from its id alone (ShardedOrderIds).
+ * - A new order goes to the shard of its customer, so one customer's orders are written together.
+ * - Questions for every shard (listings, searches, statistics) run in parallel, one virtual thread per shard,
+ *   so they take as long as the slowest shard instead of the sum of all of them.
+ */
+public class OrderShards implements AutoCloseable {
+
+    /**
+     * Work that runs once per shard and is told which shard it is on.
+     */
+    @FunctionalInterface
+    public interface ShardTask<T> {
+        T run(int shard) throws Throwable;
+    }
+
+    private final int count;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * @param count How many shards there are, including the main one.
+     */
+    public OrderShards(int count) {
+        if (count < 1 || count > ShardedOrderIds.MAX_SHARDS) {
+            throw new IllegalArgumentException("Expected between 1 and " + ShardedOrderIds.MAX_SHARDS + " shards, got " + count);
+        }
+        this.count = count;
+    }
+
+    /**
+     * @return How many shards there are.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * @return The shard that holds the order with this id. Ids that no shard could have given out
+     *         (e.g. typed in by hand) go to the main shard, which simply does not find them.
+     */
+    public int shardOf(long id) {
+        int shard = ShardedOrderIds.shardOf(id);
+        return shard < count ? shard : ShardContext.MAIN_SHARD;
+    }
+
+    /**
+     * @return The shard that new orders of this customer are written to.
+     */
+    public int shardForCustomer(String customerName) {
+        int hash = customerName == null ? 0 : customerName.hashCode();
+        // Mix the high bits in, so names that differ only at the end still spread out.
+        return Math.floorMod(hash ^ (hash >>> 16), count);
+    }
+
+    /**
+     * Runs 'task' on every shard at the same time and waits for all of them.
+     *
+     * @return One result per shard, in shard order.
+     * @throws Throwable The first failure, if any shard failed.
+     */
+    public <T> List<T> onEachShard(ShardTask<T> task) throws Throwable {
+        List<Future<T>> futures = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            futures.add(submit(shard, task));
+        }
+        List<T> results = new ArrayList<>(count);
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Starts 'task' on one shard, on its own virtual thread.
+     */
+    public <T> Future<T> submit(int shard, ShardTask<T> task) {
+        return executor.submit(() -> {
+            try {
+                return ShardContext.callOn(shard, () -> task.run(shard));
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
@@ -0,0 +1,59 @@
+package com.meli.ordermanagement.sharding;
+
+/**
+ * Remembers which shard the current thread is working on.
+ *
+ * The ShardRoutingAspect sets it around each OrderService call, before the transaction starts, and the
+ * ShardRoutingDataSource reads it when the transaction asks for its connection. Nothing set means shard 0,
+ * the main database (spring.datasource).
+ */
+public final class ShardContext {
+
+    /**
+     * The shard that keeps the id sequence and every table other than "orders".
+     */
+    public static final int MAIN_SHARD = 0;
+
+    /**
+     * Not a shard of its own: the main shard again, but over the few connections kept aside for drawing
+     * order ids (see ShardedOrderIdGenerator).
+     */
+    public static final int ID_SEQUENCE = -1;
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    /**
+     * A piece of work to run on one shard.
+     */
+    @FunctionalInterface
+    public interface ShardWork<T> {
+        T run() throws Throwable;
+    }
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return The shard the current thread works on, or null if no shard was chosen.
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs 'work' on the given shard, then goes back to the shard (if any) the thread was on before.
+     */
+    public static <T> T callOn(int shard, ShardWork<T> work) throws Throwable {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.run();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.meli.ordermanagement.sharding;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import com.meli.ordermanagement.dto.BatchCreateResponseDTO;
+import com.meli.ordermanagement.dto.BatchItemResultDTO;
+import com.meli.ordermanagement.dto.CreateOrderRequestDTO;
+import com.meli.ordermanagement.dto.OrderPageDTO;
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.service.OrderPages;
+import com.meli.ordermanagement.service.OrderService;
+
+/**
+ * The "Switchboard" of sharding: decides, for every OrderService call, which shard(s) it runs on.
+ *
+ * - getOrderById, getOrderVersion, updateOrder, deleteOrder: the shard in the order's id, and only that one.
+ * - createOrder, prepareOrder (write-behind): the shard of the order's customer.
+ * - createOrders: the batch is split by customer shard, each part is written on its shard, and the
+ *   results are put back in request order.
+ * - saveAcceptedOrders, getOrdersByIds: the ids are grouped by the shard in them, and each group is
+ *   handled on its shard (the found orders are put back in request order).
+ * - getAllOrders, getOrdersPage, searchOrders, streamAllOrders: every shard is asked at once
+ *   (scatter) and the answers are merged in (orderDate, id) order (gather).
+ *
+ * It runs before the transaction starts (its order is higher than the transaction advice's), so the
+ * transaction gets its connection from the right shard. Calls on several shards go through the OrderService
+ * proxy again on other threads, one transaction per shard; this aspect lets those through untouched.
+ * A batch split over several shards is committed shard by shard, so it is no longer all-or-nothing.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ShardRoutingAspect {
+
+    private static final String SERVICE = "com.meli.ordermanagement.service.OrderService";
+
+    private final OrderShards shards;
+
+    public ShardRoutingAspect(OrderShards shards) {
+        this.shards = shards;
+    }
+
+    @Around("execution(public * " + SERVICE + ".*(Long, ..)) && args(id, ..)")
+    public Object onShardOfId(ProceedingJoinPoint joinPoint, Long id) throws Throwable {
+        if (ShardContext.current() != null || id == null) {
+            return joinPoint.proceed();
+        }
+        return ShardContext.callOn(shards.shardOf(id), joinPoint::proceed);
+    }
+
+    @Around("execution(public * " + SERVICE + ".*(com.meli.ordermanagement.dto.CreateOrderRequestDTO)) && args(request)")
+    public Object onShardOfCustomer(ProceedingJoinPoint joinPoint, CreateOrderRequestDTO request) throws Throwable {
+        if (ShardContext.current() != null) {
+            return joinPoint.proceed();
+        }
+        return ShardContext.callOn(shards.shardForCustomer(request.getCustomerName()), joinPoint::proceed);
+    }
+
+    @Around("execution(public * " + SERVICE + ".createOrders(java.util.List)) && args(requests)")
+    public Object splitBatch(ProceedingJoinPoint joinPoint, List<CreateOrderRequestDTO> requests) throws Throwable {
+        // Batches that are too big are refused by OrderService itself.
+        if (ShardContext.current() != null || requests.size() > OrderService.MAX_BATCH_SIZE) {
+            return joinPoint.proceed();
+        }
+        // positions.get(shard) = where, in the request, the orders for that shard are
+        List<List<Integer>> positions = new ArrayList<>();
+        for (int shard = 0; shard < shards.count(); shard++) {
+            positions.add(new ArrayList<>());
+        }
+        for (int index = 0; index < requests.size(); index++) {
+            positions.get(shards.shardForCustomer(requests.get(index).getCustomerName())).add(index);
+        }
+        List<BatchCreateResponseDTO> parts = shards.onEachShard(shard -> positions.get(shard).isEmpty() ? null
+                : (BatchCreateResponseDTO) invoke(joinPoint, positions.get(shard).stream().map(requests::get).toList()));
+
+        BatchItemResultDTO[] results = new BatchItemResultDTO[requests.size()];
+        int created = 0;
+        for (int shard = 0; shard < parts.size(); shard++) {
+            BatchCreateResponseDTO part = parts.get(shard);
+            if (part == null) {
+                continue;
+            }
+            created += part.getCreated();
+            for (BatchItemResultDTO result : part.getResults()) {
+                int index = positions.get(shard).get(result.getIndex());
+                results[index] = result.getOutcome() == BatchItemResultDTO.Outcome.CREATED
+                        ? BatchItemResultDTO.created(index, result.getOrder())
+                        : BatchItemResultDTO.rejected(index, result.getValidationErrors());
+            }
+        }
+        return new BatchCreateResponseDTO(created, requests.size() - created, List.of(results));
+    }
+
+    @Around("execution(public void " + SERVICE + ".saveAcceptedOrders(java.util.List)) && args(orders)")
+    public void groupAcceptedOrders(ProceedingJoinPoint joinPoint, List<com.meli.ordermanagement.model.Order> orders) throws Throwable {
+        if (ShardContext.current() != null) {
+            joinPoint.proceed();
+            return;
+        }
+        List<List<com.meli.ordermanagement.model.Order>> byShard = new ArrayList<>();
+        for (int shard = 0; shard < shards.count(); shard++) {
+            byShard.add(new ArrayList<>());
+        }
+        orders.forEach(order -> byShard.get(shards.shardOf(order.getId())).add(order));
+        shards.onEachShard(shard -> byShard.get(shard).isEmpty() ? null : invoke(joinPoint, byShard.get(shard)));
+    }
+
+    @Around("execution(public java.util.List " + SERVICE + ".getOrdersByIds(java.util.List)) && args(ids)")
+    public Object groupIds(ProceedingJoinPoint joinPoint, List<Long> ids) throws Throwable {
+        // Too many ids are refused by OrderService itself.
+        if (ShardContext.current() != null || ids.size() > OrderService.MAX_LOOKUP_IDS) {
+            return joinPoint.proceed();
+        }
+        List<List<Long>> byShard = new ArrayList<>();
+        for (int shard = 0; shard < shards.count(); shard++) {
+            byShard.add(new ArrayList<>());
+        }
+        ids.forEach(id -> byShard.get(shards.shardOf(id)).add(id));
+        Map<Long, OrderResponseDTO> found = new HashMap<>();
+        for (Object part : shards.onEachShard(shard -> byShard.get(shard).isEmpty() ? List.of() : invoke(joinPoint, byShard.get(shard)))) {
+            @SuppressWarnings("unchecked")
+            List<OrderResponseDTO> orders = (List<OrderResponseDTO>) part;
+            orders.forEach(order -> found.put(order.getId(), order));
+        }
+        return ids.stream().distinct().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    @Around("execution(public java.util.List " + SERVICE + ".getAllOrders())")
+    public Object gatherAll(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ShardContext.current() != null) {
+            return joinPoint.proceed();
+        }
+        List<OrderResponseDTO> all = new ArrayList<>();
+        for (Object part : shards.onEachShard(shard -> invoke(joinPoint))) {
+            @SuppressWarnings("unchecked")
+            List<OrderResponseDTO> orders = (List<OrderResponseDTO>) part;
+            all.addAll(orders);
+        }
+        return all;
+    }
+
+    // getOrdersPage(cursor, limit) and searchOrders(criteria, cursor, limit): the limit is always last.
+    @Around("execution(public com.meli.ordermanagement.dto.OrderPageDTO " + SERVICE + ".*(..))")
+    public Object gatherPages(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ShardContext.current() != null) {
+            return joinPoint.proceed();
+        }
+        Object[] args = joinPoint.getArgs();
+        List<OrderPageDTO> pages = shards.onEachShard(shard -> (OrderPageDTO) invoke(joinPoint, args));
+        return OrderPages.merge(pages, (Integer) args[args.length - 1]);
+    }
+
+    @Around("execution(public void " + SERVICE + ".streamAllOrders(java.util.function.Consumer)) && args(sink)")
+    public void mergeStreams(ProceedingJoinPoint joinPoint, Consumer<OrderResponseDTO> sink) throws Throwable {
+        if (ShardContext.current() != null) {
+            joinPoint.proceed();
+            return;
+        }
+        MergedOrderStream.merge(shards, (shard, out) -> invoke(joinPoint, out), sink);
+    }
+
+    // Calls the same OrderService method through its proxy (so with its transaction) on the current thread's shard.
+    private static Object invoke(ProceedingJoinPoint joinPoint, Object... args) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        try {
+            return method.invoke(joinPoint.getThis(), args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.meli.ordermanagement.sharding;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * The DataSource of JPA when sharding is on: hands out a connection to the shard the current thread
+ * works on (ShardContext), or to the main shard when none was chosen.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final List<DataSource> otherShards;
+    private final DataSource idSequence;
+
+    /**
+     * @param mainShard   Shard 0 (spring.datasource, owned by Spring).
+     * @param idSequence  Shard 0 again, through the connections kept for drawing order ids; closed with this DataSource.
+     * @param otherShards Shards 1, 2, ... in order; they are closed with this DataSource.
+     */
+    public ShardRoutingDataSource(DataSource mainShard, DataSource idSequence, List<DataSource> otherShards) {
+        this.otherShards = List.copyOf(otherShards);
+        this.idSequence = idSequence;
+        Map<Object, Object> shards = new HashMap<>();
+        shards.put(ShardContext.MAIN_SHARD, mainShard);
+        shards.put(ShardContext.ID_SEQUENCE, idSequence);
+        for (int i = 0; i < otherShards.size(); i++) {
+            shards.put(i + 1, otherShards.get(i));
+        }
+        setTargetDataSources(shards);
+        setDefaultTargetDataSource(mainShard);
+        // A shard that does not exist is a bug, not a reason to quietly use the main one.
+        setLenientFallback(false);
+    }
+
+    /**
+     * @return How many shards there are, including the main one.
+     */
+    public int getShardCount() {
+        return otherShards.size() + 1;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    @Override
+    public void close() throws Exception {
+        List<Exception> failures = new ArrayList<>();
+        List<DataSource> owned = new ArrayList<>(otherShards);
+        owned.add(idSequence);
+        for (DataSource shard : owned) {
+            if (shard instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    failures.add(e);
+                }
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw failures.get(0);
+        }
+    }
+}
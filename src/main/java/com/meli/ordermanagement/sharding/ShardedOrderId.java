@@ -0,0 +1,17 @@
+package com.meli.ordermanagement.sharding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Marks Order's id as generated by ShardedOrderIdGenerator.
+ */
+@IdGeneratorType(ShardedOrderIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ShardedOrderId {
+}
@@ -0,0 +1,74 @@
+package com.meli.ordermanagement.sharding;
+
+import java.util.Properties;
+
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import com.meli.ordermanagement.ids.SnowflakeIdGenerator;
+import com.meli.ordermanagement.model.Order;
+
+/**
+ * The id generator of Order (see ShardedOrderId).
+ *
+ * Without sharding it is exactly the pooled "orders_seq" sequence Order always had: blocks of
+ * Order.ID_ALLOCATION_SIZE ids, handed out from memory.
+ *
+ * When the current thread works on a shard (ShardContext), the next value still comes from that same
+ * pooled sequence, but always from the main shard's copy of it, through a session of its own. Every shard
+ * therefore draws from one sequence and no two orders can get the same number. The shard is then added
+ * to the number (ShardedOrderIds), so the id says where the order lives.
+ * That session uses connections of its own too (ShardContext.ID_SEQUENCE): a new block of ids is fetched
+ * while holding the generator's lock, and if it had to wait for the main shard's pool, whose connections
+ * may all be held by transactions waiting for that same lock, nobody would ever move again.
+ *
+ * With orders.ids.strategy=snowflake, OrderIdConfig hands a SnowflakeIdGenerator to Hibernate (under
+ * SNOWFLAKE_SETTING) and every id comes from it instead, without touching the database.
+ */
+public class ShardedOrderIdGenerator extends SequenceStyleGenerator {
+
+    /**
+     * The Hibernate setting that holds the SnowflakeIdGenerator to use, if any.
+     */
+    public static final String SNOWFLAKE_SETTING = "orders.ids.snowflake";
+
+    private SnowflakeIdGenerator snowflake;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        // The sequence is declared either way, so the schema does not depend on the strategy.
+        parameters.put(SEQUENCE_PARAM, "orders_seq");
+        parameters.put(INCREMENT_PARAM, Integer.toString(Order.ID_ALLOCATION_SIZE));
+        super.configure(type, parameters, serviceRegistry);
+        snowflake = (SnowflakeIdGenerator) serviceRegistry.requireService(ConfigurationService.class)
+                .getSettings().get(SNOWFLAKE_SETTING);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (snowflake != null) {
+            return snowflake.nextId();
+        }
+        Integer shard = ShardContext.current();
+        if (shard == null) {
+            return super.generate(session, object);
+        }
+        long sequenceValue;
+        try {
+            sequenceValue = ShardContext.callOn(ShardContext.ID_SEQUENCE, () -> {
+                try (StatelessSession sequenceSession = session.getFactory().openStatelessSession()) {
+                    return (Long) super.generate((SharedSessionContractImplementor) sequenceSession, object);
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+        return ShardedOrderIds.encode(sequenceValue, shard);
+    }
+}
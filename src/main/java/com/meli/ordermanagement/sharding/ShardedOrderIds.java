@@ -0,0 +1,45 @@
+package com.meli.ordermanagement.sharding;
+
+/**
+ * How an order id says which shard holds the order.
+ *
+ * With sharding on, an id is the next value of the main shard's "orders_seq" sequence followed by
+ * SHARD_BITS bits with the shard number: id = (sequence value << SHARD_BITS) | shard. Any id can then be
+ * sent straight to its shard, with no lookup table, and adding shards later never moves existing orders.
+ * Ids stay well inside the 2^53 that JavaScript clients can hold exactly.
+ */
+public final class ShardedOrderIds {
+
+    /**
+     * How many low bits of an id hold the shard number.
+     */
+    public static final int SHARD_BITS = 10;
+
+    /**
+     * The most shards ids can tell apart.
+     */
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+
+    private ShardedOrderIds() {
+    }
+
+    /**
+     * @param sequenceValue A value from the main shard's id sequence (unique across all shards).
+     * @param shard         The shard the order is written to.
+     * @return The order id.
+     */
+    public static long encode(long sequenceValue, int shard) {
+        if (shard < 0 || shard >= MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard " + shard + " is outside 0.." + (MAX_SHARDS - 1));
+        }
+        return (sequenceValue << SHARD_BITS) | shard;
+    }
+
+    /**
+     * @param id An order id created with sharding on.
+     * @return The shard that holds the order.
+     */
+    public static int shardOf(long id) {
+        return (int) (id & (MAX_SHARDS - 1));
+    }
+}
@@ -0,0 +1,49 @@
+package com.meli.ordermanagement.stats;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A running total of money amounts that many threads can add to at the same time.
+ *
+ * It works like java.util.concurrent.atomic.LongAdder, but for BigDecimal: the total is split into
+ * a few "cells", each thread adds to the cell picked by its identity, and reading the total sums
+ * the cells. Threads rarely fight over the same cell, so adding stays cheap under load.
+ */
+final class BigDecimalAdder {
+
+    private final AtomicReference<BigDecimal>[] cells;
+    private final int mask;
+
+    /**
+     * @param stripes The number of cells; rounded up to a power of two.
+     */
+    @SuppressWarnings("unchecked")
+    BigDecimalAdder(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.cells = new AtomicReference[size];
+        for (int i = 0; i < size; i++) {
+            cells[i] = new AtomicReference<>(BigDecimal.ZERO);
+        }
+        this.mask = size - 1;
+    }
+
+    void add(BigDecimal amount) {
+        if (amount == null || amount.signum() == 0) {
+            return;
+        }
+        int hash = Thread.currentThread().hashCode();
+        cells[(hash ^ (hash >>> 16)) & mask].accumulateAndGet(amount, BigDecimal::add);
+    }
+
+    /**
+     * @return The current total. Adds that happen while summing may or may not be included.
+     */
+    BigDecimal sum() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (AtomicReference<BigDecimal> cell : cells) {
+            total = total.add(cell.get());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,174 @@
+package com.meli.ordermanagement.stats;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.meli.ordermanagement.dto.DailyStatsDTO;
+import com.meli.ordermanagement.dto.OrderStatsDTO;
+import com.meli.ordermanagement.dto.StatusStatsDTO;
+import com.meli.ordermanagement.model.OrderStatus;
+import com.meli.ordermanagement.repository.DailyStatusTotal;
+
+/**
+ * The "Scoreboard" of the order service: running counts and revenue per status and per day.
+ *
+ * OrderService tells it about every committed create, update and delete, so answering
+ * "how many orders / how much revenue?" never has to scan the orders table.
+ * Counters are striped (LongAdder / BigDecimalAdder), so many requests can update them at once
+ * without waiting on each other.
+ *
+ * Because the numbers live in memory (and each node only sees its own writes), OrderStatsReconciler
+ * regularly recomputes them from the database and corrects any drift with reconcile().
+ */
+@Component
+public class OrderStatistics {
+
+    // Global counters: few threads per status, so a handful of stripes is enough.
+    private static final int GLOBAL_STRIPES = 16;
+
+    // Per-day counters: many days exist, so each one is kept small.
+    private static final int DAILY_STRIPES = 2;
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final StatsBucket[] byStatus = newBuckets(GLOBAL_STRIPES);
+    private final ConcurrentHashMap<LocalDate, StatsBucket[]> byDay = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastReconciledAt;
+
+    /**
+     * Counts a newly created order.
+     */
+    public void recordCreated(LocalDateTime orderDate, OrderStatus status, BigDecimal amount) {
+        add(orderDate.toLocalDate(), status, 1, amount);
+    }
+
+    /**
+     * Moves an order from its old status/amount to its new ones.
+     */
+    public void recordUpdated(LocalDateTime orderDate, OrderStatus oldStatus, BigDecimal oldAmount,
+                              OrderStatus newStatus, BigDecimal newAmount) {
+        LocalDate day = orderDate.toLocalDate();
+        add(day, oldStatus, -1, negate(oldAmount));
+        add(day, newStatus, 1, newAmount);
+    }
+
+    /**
+     * Removes a deleted order from the counts.
+     */
+    public void recordDeleted(LocalDateTime orderDate, OrderStatus status, BigDecimal amount) {
+        add(orderDate.toLocalDate(), status, -1, negate(amount));
+    }
+
+    /**
+     * Reads the current numbers. The cost depends only on the number of statuses and of days asked for,
+     * never on the number of orders.
+     *
+     * @param fromDay The first day to include in the per-day list.
+     * @param toDay   The last day to include in the per-day list.
+     * @return The statistics.
+     */
+    public OrderStatsDTO snapshot(LocalDate fromDay, LocalDate toDay) {
+        Map<OrderStatus, StatusStatsDTO> statusTotals = toDTOs(byStatus);
+        List<DailyStatsDTO> days = new ArrayList<>();
+        for (LocalDate day = fromDay; !day.isAfter(toDay); day = day.plusDays(1)) {
+            StatsBucket[] buckets = byDay.get(day);
+            if (buckets != null) {
+                Map<OrderStatus, StatusStatsDTO> dayByStatus = toDTOs(buckets);
+                days.add(new DailyStatsDTO(day, sum(dayByStatus), dayByStatus));
+            }
+        }
+        return new OrderStatsDTO(sum(statusTotals), statusTotals, days, lastReconciledAt);
+    }
+
+    /**
+     * Corrects the in-memory numbers with totals freshly computed from the database.
+     *
+     * Instead of overwriting the counters, we add the difference (database minus memory).
+     * That way, orders recorded by other threads while this runs are not thrown away.
+     * A write that commits while the database totals are being read can still leave a small
+     * error, which the next reconciliation fixes.
+     *
+     * @param totals The per-day, per-status totals of the orders table.
+     */
+    public void reconcile(List<DailyStatusTotal> totals) {
+        Map<LocalDate, Map<OrderStatus, DailyStatusTotal>> expected = new HashMap<>();
+        for (DailyStatusTotal total : totals) {
+            expected.computeIfAbsent(total.day(), d -> new EnumMap<>(OrderStatus.class)).put(total.status(), total);
+        }
+
+        Set<LocalDate> days = new HashSet<>(byDay.keySet());
+        days.addAll(expected.keySet());
+        for (LocalDate day : days) {
+            StatsBucket[] buckets = dayBuckets(day);
+            Map<OrderStatus, DailyStatusTotal> dayExpected = expected.getOrDefault(day, Map.of());
+            for (OrderStatus status : STATUSES) {
+                DailyStatusTotal want = dayExpected.get(status);
+                long wantOrders = want == null ? 0 : want.orders();
+                BigDecimal wantRevenue = want == null || want.revenue() == null ? BigDecimal.ZERO : want.revenue();
+
+                StatsBucket bucket = buckets[status.ordinal()];
+                long orderDrift = wantOrders - bucket.orders();
+                BigDecimal revenueDrift = wantRevenue.subtract(bucket.revenue());
+                if (orderDrift != 0 || revenueDrift.signum() != 0) {
+                    bucket.add(orderDrift, revenueDrift);
+                    byStatus[status.ordinal()].add(orderDrift, revenueDrift);
+                }
+            }
+        }
+        lastReconciledAt = LocalDateTime.now();
+    }
+
+    private void add(LocalDate day, OrderStatus status, long orderDelta, BigDecimal revenueDelta) {
+        if (status == null) {
+            return;
+        }
+        byStatus[status.ordinal()].add(orderDelta, revenueDelta);
+        dayBuckets(day)[status.ordinal()].add(orderDelta, revenueDelta);
+    }
+
+    private StatsBucket[] dayBuckets(LocalDate day) {
+        return byDay.computeIfAbsent(day, d -> newBuckets(DAILY_STRIPES));
+    }
+
+    private static StatsBucket[] newBuckets(int stripes) {
+        StatsBucket[] buckets = new StatsBucket[STATUSES.length];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new StatsBucket(stripes);
+        }
+        return buckets;
+    }
+
+    private static Map<OrderStatus, StatusStatsDTO> toDTOs(StatsBucket[] buckets) {
+        Map<OrderStatus, StatusStatsDTO> result = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : STATUSES) {
+            StatsBucket bucket = buckets[status.ordinal()];
+            result.put(status, new StatusStatsDTO(bucket.orders(), bucket.revenue()));
+        }
+        return result;
+    }
+
+    private static StatusStatsDTO sum(Map<OrderStatus, StatusStatsDTO> parts) {
+        long orders = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        for (StatusStatsDTO part : parts.values()) {
+            orders += part.getOrders();
+            revenue = revenue.add(part.getRevenue());
+        }
+        return new StatusStatsDTO(orders, revenue);
+    }
+
+    private static BigDecimal negate(BigDecimal amount) {
+        return amount == null ? null : amount.negate();
+    }
+}
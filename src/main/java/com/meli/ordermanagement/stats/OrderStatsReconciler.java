@@ -0,0 +1,104 @@
+package com.meli.ordermanagement.stats;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.meli.ordermanagement.archive.OrderArchive;
+import com.meli.ordermanagement.repository.DailyStatusTotal;
+import com.meli.ordermanagement.model.OrderStatus;
+import com.meli.ordermanagement.repository.OrderRepository;
+import com.meli.ordermanagement.sharding.OrderShards;
+
+/**
+ * The "Auditor" of the statistics scoreboard.
+ *
+ * Once at startup (to load the numbers for existing orders) and then every
+ * orders.stats.reconcile-interval, it recomputes the totals from the orders table and
+ * lets OrderStatistics correct any drift (e.g. writes made by other nodes).
+ * It reads through JPA, so it only runs on the servlet stack.
+ * With sharding on, every shard is asked at once and the totals of the same day and status are added up.
+ * With the archive on (orders.archive.enabled), the archived orders are added too, so moving orders
+ * there does not change the statistics.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class OrderStatsReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStatsReconciler.class);
+
+    private final OrderRepository orderRepository;
+    private final OrderStatistics orderStatistics;
+    private final OrderShards shards;
+    private final OrderArchive orderArchive;
+
+    public OrderStatsReconciler(OrderRepository orderRepository, OrderStatistics orderStatistics,
+                                ObjectProvider<OrderShards> shards, ObjectProvider<OrderArchive> orderArchive) {
+        this.orderRepository = orderRepository;
+        this.orderStatistics = orderStatistics;
+        this.shards = shards.getIfAvailable();
+        this.orderArchive = orderArchive.getIfAvailable();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${orders.stats.reconcile-interval:PT10M}",
+               initialDelayString = "${orders.stats.reconcile-interval:PT10M}")
+    public void reconcile() {
+        long start = System.nanoTime();
+        List<DailyStatusTotal> totals = shards == null ? sumOnShard() : sumOverShards();
+        orderStatistics.reconcile(totals);
+        log.debug("Order statistics reconciled from {} day/status groups in {} ms",
+                totals.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // The totals of the current shard (or the only database), archive included.
+    private List<DailyStatusTotal> sumOnShard() {
+        List<DailyStatusTotal> totals = orderRepository.sumByDayAndStatus();
+        return orderArchive == null ? totals : add(List.of(totals, orderArchive.sumByDayAndStatus()));
+    }
+
+    private List<DailyStatusTotal> sumOverShards() {
+        try {
+            return add(shards.onEachShard(shard -> sumOnShard()));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Adds up the totals of the same day and status. A group whose orders have no amount sums to null.
+    // Package-private for tests.
+    static List<DailyStatusTotal> add(List<List<DailyStatusTotal>> parts) {
+        record Key(LocalDate day, OrderStatus status) {
+        }
+        Map<Key, DailyStatusTotal> sums = new LinkedHashMap<>();
+        for (List<DailyStatusTotal> totals : parts) {
+            for (DailyStatusTotal total : totals) {
+                sums.merge(new Key(total.day(), total.status()), total, (a, b) -> new DailyStatusTotal(a.day(), a.status(),
+                        a.orders() + b.orders(), orZero(a.revenue()).add(orZero(b.revenue()))));
+            }
+        }
+        return new ArrayList<>(sums.values());
+    }
+
+    private static BigDecimal orZero(BigDecimal revenue) {
+        return revenue == null ? BigDecimal.ZERO : revenue;
+    }
+}
@@ -0,0 +1,30 @@
+package com.meli.ordermanagement.stats;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One "counter box": how many orders and how much revenue, for one status (and optionally one day).
+ */
+final class StatsBucket {
+
+    private final LongAdder orders = new LongAdder();
+    private final BigDecimalAdder revenue;
+
+    StatsBucket(int stripes) {
+        this.revenue = new BigDecimalAdder(stripes);
+    }
+
+    void add(long orderDelta, BigDecimal revenueDelta) {
+        orders.add(orderDelta);
+        revenue.add(revenueDelta);
+    }
+
+    long orders() {
+        return orders.sum();
+    }
+
+    BigDecimal revenue() {
+        return revenue.sum();
+    }
+}
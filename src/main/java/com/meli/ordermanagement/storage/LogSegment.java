@@ -0,0 +1,222 @@
+package com.meli.ordermanagement.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One file of the OrderLog, memory-mapped: records are appended by copying them into the mapping
+ * (no write() call per record), and reads come straight from the page cache.
+ *
+ * The file starts with a header: [int magic][int format version][long id floor], where the id floor is
+ * the highest order id handed out before the segment was created. Records follow, up to writePosition;
+ * the rest of the file is zeros. Only the newest segment is written to; the older ones never change
+ * until compaction deletes them.
+ */
+final class LogSegment implements Closeable {
+
+    static final int MAGIC = 0x4F4C4F47; // "OLOG"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 16;
+
+    private static final String PREFIX = "orders-";
+    private static final String SUFFIX = ".log";
+
+    private final int number;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    // Guarded by the OrderLog's lock.
+    private int writePosition = HEADER_SIZE;
+    private long deadBytes;
+
+    private LogSegment(int number, Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.number = number;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static LogSegment create(Path directory, int number, int size, long idFloor) {
+        Path path = directory.resolve(fileName(number));
+        LogSegment segment = map(number, path, size, true);
+        segment.buffer.putInt(0, MAGIC).putInt(4, FORMAT_VERSION).putLong(8, idFloor);
+        segment.buffer.force(0, HEADER_SIZE);
+        return segment;
+    }
+
+    static LogSegment open(Path path) {
+        try {
+            LogSegment segment = map(numberOf(path), path, Math.toIntExact(Files.size(path)), false);
+            if (segment.buffer.getInt(0) != MAGIC || segment.buffer.getInt(4) != FORMAT_VERSION) {
+                segment.close();
+                throw new IllegalStateException(path + " is not an order log segment of format " + FORMAT_VERSION);
+            }
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static LogSegment map(int number, Path path, int size, boolean create) {
+        try {
+            FileChannel channel = create
+                    ? FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                    : FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // Mapping past the end of a new file grows it to 'size', full of zeros.
+            return new LogSegment(number, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    static int numberOf(Path path) {
+        String name = path.getFileName().toString();
+        return Integer.parseInt(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static String fileName(int number) {
+        return String.format("%s%08d%s", PREFIX, number, SUFFIX);
+    }
+
+    int number() {
+        return number;
+    }
+
+    long idFloor() {
+        return buffer.getLong(8);
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    boolean fits(int frameLength) {
+        return writePosition + frameLength <= buffer.capacity();
+    }
+
+    /**
+     * @return The offset the frame was written at.
+     */
+    int append(byte[] frame) {
+        int offset = writePosition;
+        buffer.put(offset, frame);
+        writePosition += frame.length;
+        return offset;
+    }
+
+    /**
+     * @return Whether 'offset' is past the last record (only zeros follow).
+     */
+    boolean isEnd(int offset) {
+        return offset + OrderRecords.FRAME_HEADER > buffer.capacity() || buffer.getInt(offset) == 0;
+    }
+
+    /**
+     * @return The length of the frame at 'offset' (header included), or 0 if its length cannot be right.
+     */
+    int frameLength(int offset) {
+        if (offset + OrderRecords.FRAME_HEADER > buffer.capacity()) {
+            return 0;
+        }
+        int bodyLength = buffer.getInt(offset);
+        if (bodyLength <= 0 || bodyLength > buffer.capacity() - offset - OrderRecords.FRAME_HEADER) {
+            return 0;
+        }
+        return OrderRecords.FRAME_HEADER + bodyLength;
+    }
+
+    byte[] read(int offset, int frameLength) {
+        byte[] frame = new byte[frameLength];
+        buffer.get(offset, frame);
+        return frame;
+    }
+
+    byte[] read(int offset) {
+        return read(offset, frameLength(offset));
+    }
+
+    byte type(int offset) {
+        return buffer.get(offset + OrderRecords.TYPE_OFFSET);
+    }
+
+    long id(int offset) {
+        return buffer.getLong(offset + OrderRecords.ID_OFFSET);
+    }
+
+    long version(int offset) {
+        return buffer.getLong(offset + OrderRecords.VERSION_OFFSET);
+    }
+
+    /**
+     * Ends the segment at 'offset' (found by recovery), wiping whatever half-written record follows.
+     */
+    void truncate(int offset) {
+        byte[] zeros = new byte[64 * 1024];
+        for (int position = offset; position < buffer.capacity(); position += zeros.length) {
+            buffer.put(position, zeros, 0, Math.min(zeros.length, buffer.capacity() - position));
+        }
+        buffer.force(offset, buffer.capacity() - offset);
+        writePosition = offset;
+    }
+
+    int writePosition() {
+        return writePosition;
+    }
+
+    void setWritePosition(int writePosition) {
+        this.writePosition = writePosition;
+    }
+
+    void addDeadBytes(int bytes) {
+        deadBytes += bytes;
+    }
+
+    /**
+     * @return The share of the records' bytes that are overwritten, deleted or tombstones (0-1).
+     */
+    double garbageRatio() {
+        int used = writePosition - HEADER_SIZE;
+        return used == 0 ? 0 : (double) deadBytes / used;
+    }
+
+    void force(int offset, int length) {
+        buffer.force(offset, length);
+    }
+
+    void force() {
+        buffer.force(0, writePosition);
+    }
+
+    void delete() {
+        close();
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Closes the file. The mapping itself is released by the GC once no reader holds it anymore.
+     */
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
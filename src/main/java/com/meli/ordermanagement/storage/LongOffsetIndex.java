@@ -0,0 +1,161 @@
+package com.meli.ordermanagement.storage;
+
+import java.util.function.LongConsumer;
+
+/**
+ * The "Card Catalogue" of the OrderLog: for every order id, where its latest record is in the log.
+ *
+ * It is a hash table of primitive longs (open addressing with linear probing), so an entry costs
+ * 16 bytes in two arrays, with no boxed Long keys, no entry objects and nothing for the GC to follow.
+ * Removals shift the following entries back instead of leaving "deleted" markers behind, so lookups
+ * never slow down after many deletes.
+ * Values must not be negative (ABSENT is -1). Not thread-safe: the OrderLog guards it with its lock.
+ */
+final class LongOffsetIndex {
+
+    static final long ABSENT = -1;
+
+    // 0 marks an empty slot in 'keys', so the key 0 is kept on the side.
+    private static final long EMPTY = 0;
+    private static final double MAX_LOAD = 0.6;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    LongOffsetIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / MAX_LOAD)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * @return The value stored for the key, or ABSENT.
+     */
+    long get(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey ? zeroValue : ABSENT;
+        }
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return values[slot];
+            }
+            if (current == EMPTY) {
+                return ABSENT;
+            }
+        }
+    }
+
+    /**
+     * @return The value the key had before, or ABSENT if it is new.
+     */
+    long put(long key, long value) {
+        if (key == EMPTY) {
+            long previous = hasZeroKey ? zeroValue : ABSENT;
+            if (!hasZeroKey) {
+                size++;
+            }
+            hasZeroKey = true;
+            zeroValue = value;
+            return previous;
+        }
+        int slot = slot(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                long previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= resizeAt) {
+            allocate(keys.length * 2);
+        }
+        return ABSENT;
+    }
+
+    /**
+     * @return The value the key had, or ABSENT if there was none.
+     */
+    long remove(long key) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                return ABSENT;
+            }
+            hasZeroKey = false;
+            size--;
+            return zeroValue;
+        }
+        int slot = slot(key);
+        while (keys[slot] != key) {
+            if (keys[slot] == EMPTY) {
+                return ABSENT;
+            }
+            slot = (slot + 1) & mask;
+        }
+        long previous = values[slot];
+        size--;
+        // Move back every following entry that would no longer be found past the new gap.
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = slot(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = EMPTY;
+        return previous;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEachValue(LongConsumer action) {
+        if (hasZeroKey) {
+            action.accept(zeroValue);
+        }
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                action.accept(values[slot]);
+            }
+        }
+    }
+
+    private int slot(long key) {
+        // Fibonacci hashing: spreads ids that only differ in their low bits (sequences) over the whole table.
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private void allocate(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * MAX_LOAD);
+        if (oldKeys == null) {
+            return;
+        }
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY) {
+                int slot = slot(key);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
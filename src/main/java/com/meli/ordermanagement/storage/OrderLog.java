@@ -0,0 +1,350 @@
+package com.meli.ordermanagement.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.meli.ordermanagement.model.Order;
+
+/**
+ * An embedded storage engine for orders that needs no database: an append-only log of records
+ * in memory-mapped segment files, plus an index in memory (the "Bitcask" design).
+ *
+ * - Every change appends a record (see OrderRecords): a PUT with the whole order, or a DELETE tombstone.
+ *   Nothing on disk is ever overwritten, so a crash can only cut off the last record.
+ * - The LongOffsetIndex says where each order's latest PUT is, so a read is one hash lookup and one copy
+ *   out of the mapping.
+ * - On startup the segments are replayed oldest first to rebuild the index. A half-written record at the
+ *   end of the newest segment is wiped; a broken record anywhere else fails the startup.
+ * - When the newest segment is full a new one is started. Overwritten and deleted records are garbage,
+ *   and compact() rewrites the older segments that are mostly garbage: their live records are appended
+ *   again and the files are deleted.
+ *
+ * Writes are copies into the page cache, so they survive the process dying but not the machine losing
+ * power, unless fsync is on (each write then waits for the disk).
+ * Reads run in parallel; writes, and each record moved by compaction, take turns (one lock).
+ * All orders' locations must fit in memory (16 bytes each); the orders themselves stay on disk.
+ */
+public class OrderLog implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderLog.class);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<Integer, LogSegment> segments = new TreeMap<>();
+    private final LongOffsetIndex index = new LongOffsetIndex(1024);
+    private final AtomicLong maxId = new AtomicLong();
+    private LogSegment active;
+
+    /**
+     * Opens the log in 'directory' (created if missing) and replays it.
+     *
+     * @param directory   Where the segment files live. Only one OrderLog may use it at a time.
+     * @param segmentSize How big each segment file is (e.g. 64 MB); no record may be bigger.
+     * @param fsync       Whether every write waits until it is on disk.
+     */
+    public OrderLog(Path directory, int segmentSize, boolean fsync) {
+        if (segmentSize <= LogSegment.HEADER_SIZE) {
+            throw new IllegalArgumentException("The segment size must be more than " + LogSegment.HEADER_SIZE + " bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(LogSegment::isSegment).map(LogSegment::open).forEach(segment -> segments.put(segment.number(), segment));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (LogSegment segment : segments.values()) {
+            replay(segment, segment == segments.lastEntry().getValue());
+        }
+        active = segments.isEmpty() ? roll(1) : segments.lastEntry().getValue();
+        log.info("Order log {} opened: {} orders in {} segments", directory, index.size(), segments.size());
+    }
+
+    private void replay(LogSegment segment, boolean newest) {
+        maxId.accumulateAndGet(segment.idFloor(), Math::max);
+        int offset = LogSegment.HEADER_SIZE;
+        while (!segment.isEnd(offset)) {
+            int length = segment.frameLength(offset);
+            if (length == 0 || !OrderRecords.isIntact(segment.read(offset, length))) {
+                if (!newest) {
+                    throw new IllegalStateException("Order log segment " + segment.number() + " is damaged at offset " + offset);
+                }
+                log.warn("Order log segment {}: wiping a half-written record at offset {}", segment.number(), offset);
+                segment.truncate(offset);
+                return;
+            }
+            apply(segment, offset, length);
+            offset += length;
+        }
+        segment.setWritePosition(offset);
+    }
+
+    // Points the index at a record found while replaying, and counts what it replaces as garbage.
+    private void apply(LogSegment segment, int offset, int length) {
+        long id = segment.id(offset);
+        maxId.accumulateAndGet(id, Math::max);
+        long previous;
+        if (segment.type(offset) == OrderRecords.PUT) {
+            previous = index.put(id, location(segment.number(), offset));
+        } else {
+            previous = index.remove(id);
+            segment.addDeadBytes(length);
+        }
+        markDead(previous);
+    }
+
+    /**
+     * @return A new order id, higher than every id the log has seen.
+     */
+    public long nextId() {
+        return maxId.incrementAndGet();
+    }
+
+    /**
+     * @param id The ID of the order.
+     * @return The order, or empty if it does not exist.
+     */
+    public Optional<Order> find(long id) {
+        lock.readLock().lock();
+        try {
+            long location = index.get(id);
+            return location == LongOffsetIndex.ABSENT ? Optional.empty() : Optional.of(read(location));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Every order, in no particular order. They are all read into memory at once.
+     */
+    public List<Order> findAll() {
+        lock.readLock().lock();
+        try {
+            List<Order> orders = new ArrayList<>(index.size());
+            index.forEachValue(location -> orders.add(read(location)));
+            return orders;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return How many orders there are.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stores a new order.
+     *
+     * @param order The order, with its id and version set.
+     * @return 'false' if an order with that id already exists (nothing is written).
+     */
+    public boolean insert(Order order) {
+        byte[] frame = OrderRecords.put(order);
+        lock.writeLock().lock();
+        try {
+            if (index.get(order.getId()) != LongOffsetIndex.ABSENT) {
+                return false;
+            }
+            maxId.accumulateAndGet(order.getId(), Math::max);
+            index.put(order.getId(), append(frame));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces an order, but only if the stored one is still at 'expectedVersion' (optimistic locking).
+     *
+     * @param order           The new state of the order, with the version it should be stored with.
+     * @param expectedVersion The version the stored order must have.
+     * @return 'false' if the order does not exist or is at another version (nothing is written).
+     */
+    public boolean update(Order order, long expectedVersion) {
+        byte[] frame = OrderRecords.put(order);
+        lock.writeLock().lock();
+        try {
+            long location = index.get(order.getId());
+            if (location == LongOffsetIndex.ABSENT
+                    || segment(location).version(offset(location)) != expectedVersion) {
+                return false;
+            }
+            markDead(index.put(order.getId(), append(frame)));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param id The ID of the order to delete.
+     * @return 'true' if an order was deleted, 'false' if there was none with that ID.
+     */
+    public boolean delete(long id) {
+        byte[] frame = OrderRecords.delete(id);
+        lock.writeLock().lock();
+        try {
+            long previous = index.remove(id);
+            if (previous == LongOffsetIndex.ABSENT) {
+                return false;
+            }
+            markDead(previous);
+            markDead(append(frame));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the older segments where at least 'garbageRatio' of the bytes are garbage: live records are
+     * appended again at the end of the log, then the segment file is deleted. The newest segment is never
+     * compacted. Reads and writes carry on meanwhile; only the move of each single record takes the lock.
+     *
+     * A tombstone is kept (appended again) while an older segment exists, since that segment may still
+     * hold a PUT of the same order that the tombstone has to hide on the next replay.
+     *
+     * @param garbageRatio The share of garbage (0-1) from which a segment is compacted, e.g. 0.5.
+     * @return How many segments were compacted.
+     */
+    public synchronized int compact(double garbageRatio) {
+        List<LogSegment> candidates = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (LogSegment segment : segments.values()) {
+                if (segment != active && segment.garbageRatio() >= garbageRatio) {
+                    candidates.add(segment);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        for (LogSegment segment : candidates) {
+            compact(segment);
+        }
+        return candidates.size();
+    }
+
+    private void compact(LogSegment segment) {
+        int moved = 0;
+        int end = segment.writePosition();
+        for (int offset = LogSegment.HEADER_SIZE; offset < end; ) {
+            int length = segment.frameLength(offset);
+            long id = segment.id(offset);
+            lock.writeLock().lock();
+            try {
+                if (segment.type(offset) == OrderRecords.PUT) {
+                    if (index.get(id) == location(segment.number(), offset)) {
+                        index.put(id, append(segment.read(offset, length)));
+                        moved++;
+                    }
+                } else if (index.get(id) == LongOffsetIndex.ABSENT && segments.firstKey() < segment.number()) {
+                    markDead(append(segment.read(offset, length)));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            offset += length;
+        }
+        lock.writeLock().lock();
+        try {
+            // The copies must be on disk before the originals go.
+            active.force();
+            segments.remove(segment.number());
+            segment.delete();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Order log segment {} compacted: {} live orders moved", segment.number(), moved);
+    }
+
+    // Must hold the write lock.
+    private long append(byte[] frame) {
+        if (frame.length > segmentSize - LogSegment.HEADER_SIZE) {
+            throw new IllegalArgumentException("An order record of " + frame.length + " bytes does not fit in a segment");
+        }
+        if (!active.fits(frame.length)) {
+            active.force();
+            active = roll(active.number() + 1);
+        }
+        int offset = active.append(frame);
+        if (fsync) {
+            active.force(offset, frame.length);
+        }
+        return location(active.number(), offset);
+    }
+
+    private LogSegment roll(int number) {
+        LogSegment segment = LogSegment.create(directory, number, segmentSize, maxId.get());
+        segments.put(number, segment);
+        return segment;
+    }
+
+    private void markDead(long location) {
+        if (location != LongOffsetIndex.ABSENT) {
+            LogSegment segment = segment(location);
+            segment.addDeadBytes(segment.frameLength(offset(location)));
+        }
+    }
+
+    private Order read(long location) {
+        return OrderRecords.read(segment(location).read(offset(location)));
+    }
+
+    private LogSegment segment(long location) {
+        return segments.get((int) (location >>> 32));
+    }
+
+    private static int offset(long location) {
+        return (int) location;
+    }
+
+    private static long location(int segment, int offset) {
+        return (long) segment << 32 | offset;
+    }
+
+    /**
+     * Writes everything to disk and closes the segment files.
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            active.force();
+            for (Map.Entry<Integer, LogSegment> segment : segments.entrySet()) {
+                segment.getValue().close();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.meli.ordermanagement.storage;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+
+import com.meli.ordermanagement.model.Order;
+import com.meli.ordermanagement.model.OrderStatus;
+
+/**
+ * The binary format of the records in the OrderLog.
+ *
+ * Every record is framed as [int body length][int CRC32C of the body][body], and the body is one of:
+ *   PUT:    [byte 1][long id][long version][long orderDate seconds][int nanos][short status code]
+ *           [byte null flags][int amount scale][short length + amount unscaled bytes][int length + UTF-8 name]
+ *   DELETE: [byte 2][long id]
+ * A zero length marks the end of the records in a segment (new segments are filled with zeros), and a
+ * record whose checksum does not match was only half written when the process stopped.
+ * Dates are stored as UTC seconds and nanos of the LocalDateTime, so they come back exactly as written.
+ */
+final class OrderRecords {
+
+    static final int FRAME_HEADER = 8;
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+
+    // Where the fields every record has sit, counted from the start of the frame.
+    static final int TYPE_OFFSET = FRAME_HEADER;
+    static final int ID_OFFSET = TYPE_OFFSET + 1;
+    static final int VERSION_OFFSET = ID_OFFSET + 8;
+
+    private static final int NO_NAME = 1;
+    private static final int NO_AMOUNT = 2;
+    private static final int NO_STATUS = 4;
+    private static final int NO_DATE = 8;
+
+    private OrderRecords() {
+    }
+
+    static byte[] put(Order order) {
+        byte[] name = order.getCustomerName() == null ? new byte[0] : order.getCustomerName().getBytes(StandardCharsets.UTF_8);
+        byte[] unscaled = order.getTotalAmount() == null ? new byte[0] : order.getTotalAmount().unscaledValue().toByteArray();
+        int flags = (order.getCustomerName() == null ? NO_NAME : 0)
+                | (order.getTotalAmount() == null ? NO_AMOUNT : 0)
+                | (order.getStatus() == null ? NO_STATUS : 0)
+                | (order.getOrderDate() == null ? NO_DATE : 0);
+        int bodyLength = 1 + 8 + 8 + 8 + 4 + 2 + 1 + 4 + 2 + unscaled.length + 4 + name.length;
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER + bodyLength);
+        frame.position(FRAME_HEADER);
+        frame.put(PUT)
+                .putLong(order.getId())
+                .putLong(order.getVersion())
+                .putLong(order.getOrderDate() == null ? 0 : order.getOrderDate().toEpochSecond(ZoneOffset.UTC))
+                .putInt(order.getOrderDate() == null ? 0 : order.getOrderDate().getNano())
+                .putShort(order.getStatus() == null ? 0 : order.getStatus().getCode())
+                .put((byte) flags)
+                .putInt(order.getTotalAmount() == null ? 0 : order.getTotalAmount().scale())
+                .putShort((short) unscaled.length).put(unscaled)
+                .putInt(name.length).put(name);
+        return seal(frame);
+    }
+
+    static byte[] delete(long id) {
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER + 1 + 8);
+        frame.position(FRAME_HEADER);
+        frame.put(DELETE).putLong(id);
+        return seal(frame);
+    }
+
+    /**
+     * @return The order in a PUT frame.
+     */
+    static Order read(byte[] frame) {
+        ByteBuffer body = ByteBuffer.wrap(frame, ID_OFFSET, frame.length - ID_OFFSET);
+        Order order = new Order();
+        order.setId(body.getLong());
+        order.setVersion(body.getLong());
+        long seconds = body.getLong();
+        int nanos = body.getInt();
+        short status = body.getShort();
+        int flags = body.get();
+        int scale = body.getInt();
+        byte[] unscaled = new byte[body.getShort()];
+        body.get(unscaled);
+        byte[] name = new byte[body.getInt()];
+        body.get(name);
+        if ((flags & NO_DATE) == 0) {
+            order.setOrderDate(LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC));
+        }
+        if ((flags & NO_STATUS) == 0) {
+            order.setStatus(OrderStatus.fromCode(status));
+        }
+        if ((flags & NO_AMOUNT) == 0) {
+            order.setTotalAmount(new BigDecimal(new BigInteger(unscaled), scale));
+        }
+        if ((flags & NO_NAME) == 0) {
+            order.setCustomerName(new String(name, StandardCharsets.UTF_8));
+        }
+        return order;
+    }
+
+    /**
+     * @return Whether the body of a frame matches its checksum.
+     */
+    static boolean isIntact(byte[] frame) {
+        return ByteBuffer.wrap(frame).getInt(4) == checksum(frame);
+    }
+
+    private static byte[] seal(ByteBuffer frame) {
+        byte[] bytes = frame.array();
+        frame.putInt(0, bytes.length - FRAME_HEADER);
+        frame.putInt(4, checksum(bytes));
+        return bytes;
+    }
+
+    private static int checksum(byte[] frame) {
+        CRC32C crc = new CRC32C();
+        crc.update(frame, FRAME_HEADER, frame.length - FRAME_HEADER);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,34 @@
+-- The "orders" and "orders_archive" tables as Hibernate creates them for Order and ArchivedOrder (see OrderStatusConverter).
+-- Hibernate only creates them on the main database. This script creates them where Hibernate does not:
+-- on embedded databases for the "reactive" profile (no Hibernate there) and on the extra shards
+-- (orders.sharding.shards). On a real database the tables are managed with the rest of the schema.
+CREATE SEQUENCE IF NOT EXISTS orders_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS orders (
+    id BIGINT NOT NULL,
+    customer_name VARCHAR(255),
+    order_date TIMESTAMP(6),
+    status SMALLINT,
+    total_amount NUMERIC(38, 2),
+    version BIGINT DEFAULT 0 NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_orders_order_date_id ON orders (order_date, id);
+CREATE INDEX IF NOT EXISTS idx_orders_status_order_date ON orders (status, order_date);
+CREATE INDEX IF NOT EXISTS idx_orders_customer_order_date ON orders (customer_name, order_date);
+
+-- Old, finished orders moved out of "orders" by the OrderArchiver (see ArchivedOrder), on the same database.
+CREATE TABLE IF NOT EXISTS orders_archive (
+    id BIGINT NOT NULL,
+    customer_name VARCHAR(255),
+    order_date TIMESTAMP(6),
+    status SMALLINT,
+    total_amount NUMERIC(38, 2),
+    version BIGINT,
+    archived_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_orders_archive_order_date_id ON orders_archive (order_date, id);
+CREATE INDEX IF NOT EXISTS idx_orders_archive_customer_order_date ON orders_archive (customer_name, order_date);
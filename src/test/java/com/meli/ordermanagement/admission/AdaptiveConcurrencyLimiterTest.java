@@ -0,0 +1,120 @@
+package com.meli.ordermanagement.admission;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final Duration WINDOW = Duration.ofMillis(100);
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    public void whenLimitIsReached_shouldRejectUntilAPlaceIsReleased() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 10);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+
+        limiter.release();
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    public void whenLatencyRises_shouldShrinkTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40, 4, 200);
+        // Llega más carga de la que cabe: el límite queda lleno
+        while (limiter.tryAcquire()) {
+        }
+        windows(limiter, 20, FAST);
+        int before = limiter.getLimit();
+
+        // La base de datos se vuelve 10 veces más lenta
+        windows(limiter, 20, SLOW);
+
+        assertThat(limiter.getLimit()).isLessThan(before / 2);
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    public void whenLatencyIsSteadyAndTheLimitIsInUse_shouldGrowUpToTheMaximum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 4, 30);
+        fill(limiter, 20);
+
+        windows(limiter, 100, FAST);
+
+        assertThat(limiter.getLimit()).isEqualTo(30);
+    }
+
+    @Test
+    public void whenOneCallTakesVeryLong_shouldNotShrinkTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 4, 30);
+        fill(limiter, 20);
+        windows(limiter, 20, FAST);
+        int before = limiter.getLimit();
+
+        // Una sola llamada de un minuto (p. ej. un stream que alguien lee despacio) entre llamadas rápidas
+        now.addAndGet(WINDOW.toNanos());
+        limiter.onSample(TimeUnit.MINUTES.toNanos(1));
+        for (int i = 0; i < 4; i++) {
+            limiter.onSample(FAST);
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(before);
+    }
+
+    @Test
+    public void whenFewRequestsAreInside_shouldKeepTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 4, 200);
+        limiter.tryAcquire();
+
+        // Con poca carga la latencia no dice nada sobre la capacidad
+        windows(limiter, 10, FAST);
+        windows(limiter, 10, SLOW);
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    public void whenAWindowIsNotOver_shouldNotChangeTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 4, 200);
+        fill(limiter, 20);
+        windows(limiter, 5, FAST);
+        int before = limiter.getLimit();
+
+        // Muchas llamadas lentas, pero todas dentro de la misma ventana
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(SLOW);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(before);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, 0.2, 1.5, WINDOW, now::get);
+    }
+
+    // Cada ventana: cinco llamadas con la misma latencia y el reloj avanza una ventana.
+    private void windows(AdaptiveConcurrencyLimiter limiter, int count, long rttNanos) {
+        for (int w = 0; w < count; w++) {
+            now.addAndGet(WINDOW.toNanos());
+            for (int i = 0; i < 5; i++) {
+                limiter.onSample(rttNanos);
+            }
+        }
+    }
+
+    private static void fill(AdaptiveConcurrencyLimiter limiter, int requests) {
+        for (int i = 0; i < requests; i++) {
+            limiter.tryAcquire();
+        }
+    }
+}
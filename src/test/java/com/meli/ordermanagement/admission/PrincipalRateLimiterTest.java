@@ -0,0 +1,53 @@
+package com.meli.ordermanagement.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+public class PrincipalRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final PrincipalRateLimiter limiter = new PrincipalRateLimiter(now::get);
+    private final PrincipalRateLimiter.Limit tenPerSecond = new PrincipalRateLimiter.Limit(10, 3);
+
+    @Test
+    public void whenBurstIsUsedUp_shouldRejectAndSayHowLongToWait() {
+        // Las primeras 'burst' peticiones pasan de inmediato
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("user", tenPerSecond)).isZero();
+        }
+
+        // La siguiente tendría que esperar un intervalo (100 ms a 10 por segundo)
+        assertThat(limiter.tryAcquire("user", tenPerSecond)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    public void whenTimePasses_shouldRefillAtTheConfiguredRate() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("user", tenPerSecond);
+        }
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(limiter.tryAcquire("user", tenPerSecond)).isZero();
+        assertThat(limiter.tryAcquire("user", tenPerSecond)).isPositive();
+
+        // Tras un rato largo el balde vuelve a estar lleno, pero nunca por encima de 'burst'
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("user", tenPerSecond)).isZero();
+        }
+        assertThat(limiter.tryAcquire("user", tenPerSecond)).isPositive();
+    }
+
+    @Test
+    public void whenOneUserIsLimited_otherUsersAreNot() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("user", tenPerSecond);
+        }
+        assertThat(limiter.tryAcquire("user", tenPerSecond)).isPositive();
+
+        assertThat(limiter.tryAcquire("admin", tenPerSecond)).isZero();
+    }
+}
@@ -0,0 +1,113 @@
+package com.meli.ordermanagement.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Prueba de carga de la autenticación: latencia p50/p99 de GET /api/orders?limit=1
+ * con la caché de credenciales verificadas desactivada (BCrypt en cada petición) y activada.
+ * Se ejecuta con: ./mvnw test -Pbenchmark -Dtest='AuthenticationLatencyLoadTest*'
+ */
+@Tag("benchmark")
+public class AuthenticationLatencyLoadTest {
+
+    private static final int THREADS = 16;
+    private static final int REQUESTS_PER_THREAD = 200;
+    private static final String AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("user:user123".getBytes(StandardCharsets.UTF_8));
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    @TestPropertySource(properties = "orders.security.auth-cache.enabled=false")
+    class BcryptOnEveryRequest {
+
+        @LocalServerPort
+        private int port;
+
+        @Test
+        void measureLatency() throws Exception {
+            report("bcrypt on every request", runLoad(port));
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    @TestPropertySource(properties = "orders.security.auth-cache.enabled=true")
+    class VerifiedCredentialCache {
+
+        @LocalServerPort
+        private int port;
+
+        @Test
+        void measureLatency() throws Exception {
+            report("verified-credential cache", runLoad(port));
+        }
+    }
+
+    private static long[] runLoad(int port) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders?limit=1"))
+                .header("Authorization", AUTHORIZATION)
+                .GET()
+                .build();
+
+        // Calentamiento
+        for (int i = 0; i < 50; i++) {
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+
+        long[] latencies = new long[THREADS * REQUESTS_PER_THREAD];
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            Future<?>[] workers = new Future<?>[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                workers[t] = pool.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[next.getAndIncrement()] = System.nanoTime() - start;
+                        assertThat(response.statusCode()).isEqualTo(200);
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static void report(String mode, long[] sortedLatencies) {
+        System.out.printf("%s: p50=%.2f ms, p99=%.2f ms over %d requests%n", mode,
+                percentile(sortedLatencies, 0.50), percentile(sortedLatencies, 0.99), sortedLatencies.length);
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,142 @@
+package com.meli.ordermanagement.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.meli.ordermanagement.search.CustomerNameIndex;
+
+/**
+ * Benchmarks (JMH, latencia por búsqueda con percentiles) de la búsqueda por parte del nombre del cliente
+ * (GET /api/orders/search?q=) con ORDERS órdenes de unos 125.000 clientes distintos: el índice en memoria
+ * (CustomerNameIndex) frente a "LOWER(customer_name) LIKE '%...%'" en H2, que recorre la tabla entera.
+ * Las dos piden la primera página (PAGE_SIZE + 1 órdenes). Al armar el índice se imprime cuánta memoria ocupa.
+ * Se ejecuta con: ./mvnw test -Pbenchmark -Dtest=OrderHotPathsJmhTest -Djmh.include=CustomerSearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CustomerSearchBenchmark {
+
+    private static final int ORDERS = 1_000_000;
+    private static final int PAGE_SIZE = 50;
+
+    private static final String[] FIRST_NAMES = {"María", "José", "Juan", "Ana", "Luis", "Carmen", "Carlos", "Laura",
+            "Jorge", "Lucía", "Pedro", "Sofía", "Miguel", "Elena", "Diego", "Paula", "Javier", "Marta", "Andrés", "Julia",
+            "Pablo", "Sara", "Martín", "Valeria", "Tomás", "Camila", "Mateo", "Isabel", "Ricardo", "Daniela", "Fernando",
+            "Gabriela", "Raúl", "Victoria", "Sergio", "Florencia", "Hugo", "Rocío", "Gonzalo", "Agustina", "Nicolás",
+            "Micaela", "Federico", "Natalia", "Ignacio", "Julieta", "Emilio", "Carolina", "Santiago", "Lorena"};
+    private static final String[] LAST_NAMES = {"García", "Rodríguez", "González", "Fernández", "López", "Martínez",
+            "Sánchez", "Pérez", "Gómez", "Martín", "Jiménez", "Ruiz", "Hernández", "Díaz", "Moreno", "Álvarez", "Romero",
+            "Alonso", "Gutiérrez", "Navarro", "Torres", "Domínguez", "Vázquez", "Ramos", "Gil", "Ramírez", "Serrano",
+            "Blanco", "Suárez", "Molina", "Morales", "Ortega", "Delgado", "Castro", "Ortiz", "Rubio", "Marín", "Sanz",
+            "Iglesias", "Núñez", "Medina", "Garrido", "Santos", "Castillo", "Cortés", "Lozano", "Guerrero", "Cano",
+            "Prieto", "Méndez"};
+
+    /**
+     * Qué se busca: dos letras (se recorren los nombres), un trigrama muy común, un nombre completo y algo que no está.
+     */
+    @Param({"ma", "mar", "gonzalez", "ramirez ortega", "xyz"})
+    public String query;
+
+    private CustomerNameIndex index;
+    private Connection connection;
+    private PreparedStatement like;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        List<String> customers = customers();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long before = memory.getHeapMemoryUsage().getUsed();
+        index = new CustomerNameIndex();
+        for (int id = 1; id <= ORDERS; id++) {
+            index.add(id, customers.get(id % customers.size()));
+        }
+        System.gc();
+        long after = memory.getHeapMemoryUsage().getUsed();
+        System.out.printf("%nCustomerNameIndex: %,d orders, %,d customers, %,d MB (%,d bytes per order)%n",
+                index.getOrderCount(), index.getNameCount(), (after - before) >> 20, (after - before) / ORDERS);
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:customer-search-benchmark", "sa", "");
+        connection.createStatement().execute("RUNSCRIPT FROM 'classpath:db/orders-schema.sql'");
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO orders (id, customer_name) VALUES (?, ?)")) {
+            for (int id = 1; id <= ORDERS; id++) {
+                insert.setLong(1, id);
+                insert.setString(2, customers.get(id % customers.size()));
+                insert.addBatch();
+                if (id % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+        }
+        like = connection.prepareStatement("SELECT id FROM orders WHERE LOWER(customer_name) LIKE ? ORDER BY id DESC LIMIT ?");
+    }
+
+    @Benchmark
+    public List<Long> index() {
+        return index.search(query, 0, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<Long> h2Like() throws SQLException {
+        // Sin quitar acentos: H2 no sabe hacerlo, así que encuentra menos que el índice
+        like.setString(1, "%" + query + "%");
+        like.setInt(2, PAGE_SIZE + 1);
+        List<Long> ids = new ArrayList<>(PAGE_SIZE + 1);
+        try (ResultSet rows = like.executeQuery()) {
+            while (rows.next()) {
+                ids.add(rows.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    // Unos 125.000 nombres distintos: nombre, apellido y segundo apellido
+    private static List<String> customers() {
+        Random random = new Random(42);
+        List<String> customers = new ArrayList<>();
+        for (String first : FIRST_NAMES) {
+            for (String last : LAST_NAMES) {
+                for (String second : LAST_NAMES) {
+                    customers.add(first + " " + last + " " + second);
+                }
+            }
+        }
+        Collections.shuffle(customers, random);
+        return customers;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        // Para que el índice de esta prueba no se cuente en la memoria del índice de la siguiente
+        index = null;
+        connection.close();
+    }
+}
@@ -0,0 +1,207 @@
+package com.meli.ordermanagement.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Prueba de carga con sobrecarga: sin y con control de admisión (orders.admission.enabled).
+ * La base de datos es lenta (cada conexión tarda DB_DELAY_MS extra, pool de POOL_SIZE); primero se mide
+ * cuántas peticiones por segundo atiende así, y después las peticiones llegan a un ritmo fijo de OVERLOAD
+ * veces esa capacidad, sin esperar a las anteriores (carga abierta), y el
+ * cliente abandona las que tardan más de CLIENT_TIMEOUT.
+ * Se reporta el "goodput": respuestas 200 por segundo que llegaron a tiempo, más los rechazos rápidos (429/503).
+ * Se ejecuta con: ./mvnw test -Pbenchmark -Dtest='LoadSheddingLoadTest*'
+ */
+@Tag("benchmark")
+public class LoadSheddingLoadTest {
+
+    private static final int POOL_SIZE = 5;
+    private static final long DB_DELAY_MS = 200;
+    private static final int OVERLOAD = 5;
+    private static final int SECONDS = 15;
+    private static final Duration CLIENT_TIMEOUT = Duration.ofSeconds(2);
+    private static final String AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("user:user123".getBytes(StandardCharsets.UTF_8));
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "spring.datasource.url=jdbc:h2:mem:shedding-off",
+            "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+            "orders.cache.enabled=false"
+    })
+    @Import(SlowDatabaseConfig.class)
+    class WithoutAdmissionControl {
+
+        @LocalServerPort
+        private int port;
+
+        @Test
+        void measureGoodput() throws Exception {
+            runOverload("without admission control", port);
+        }
+    }
+
+    // Límites por usuario altos: aquí solo se mide el límite adaptativo de concurrencia.
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "spring.datasource.url=jdbc:h2:mem:shedding-on",
+            "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+            "orders.cache.enabled=false",
+            "orders.admission.enabled=true",
+            "orders.admission.rate-limit.user.permits-per-second=100000",
+            "orders.admission.rate-limit.user.burst=100000"
+    })
+    @Import(SlowDatabaseConfig.class)
+    class WithAdmissionControl {
+
+        @LocalServerPort
+        private int port;
+
+        @Test
+        void measureGoodput() throws Exception {
+            runOverload("with admission control", port);
+        }
+    }
+
+    @TestConfiguration
+    static class SlowDatabaseConfig {
+
+        // Envuelve el pool para que cada conexión entregada tarde un poco más (base de datos lenta).
+        @Bean
+        static BeanPostProcessor slowDatabasePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource) || bean instanceof SlowDataSource) {
+                        return bean;
+                    }
+                    return new SlowDataSource(dataSource);
+                }
+            };
+        }
+    }
+
+    static class SlowDataSource extends DelegatingDataSource {
+
+        SlowDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            try {
+                Thread.sleep(DB_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return connection;
+        }
+    }
+
+    private static int measureCapacity(HttpClient client, HttpRequest read) throws Exception {
+        LongAdder completed = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < POOL_SIZE; c++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        client.send(read, HttpResponse.BodyHandlers.discarding());
+                        completed.increment();
+                    }
+                    return null;
+                });
+            }
+        }
+        return (int) (completed.sum() / 3);
+    }
+
+    private static void runOverload(String mode, int port) throws Exception {
+        String base = "http://localhost:" + port + "/api/orders";
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        HttpResponse<String> created = client.send(HttpRequest.newBuilder(URI.create(base))
+                .header("Authorization", AUTHORIZATION)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"customerName\":\"Load Test\",\"totalAmount\":10.00}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(created.statusCode()).isEqualTo(201);
+        String id = created.body().replaceAll(".*\"id\":(\\d+).*", "$1");
+        HttpRequest read = HttpRequest.newBuilder(URI.create(base + "/" + id))
+                .header("Authorization", AUTHORIZATION)
+                .timeout(CLIENT_TIMEOUT)
+                .build();
+
+        // Calentamiento y medida de la capacidad real: tantos clientes como conexiones, uno tras otro
+        int capacity = measureCapacity(client, read);
+        int rate = capacity * OVERLOAD;
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        LongAdder good = new LongAdder();
+        LongAdder late = new LongAdder();
+        LongAdder shed = new LongAdder();
+        LongAdder timedOut = new LongAdder();
+        LongAdder other = new LongAdder();
+
+        // Carga abierta: cada petición sale a su hora, haya terminado o no la anterior
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+        long start = System.nanoTime();
+        for (long i = 0; i < (long) rate * SECONDS; i++) {
+            long sendAt = start + i * intervalNanos;
+            long now;
+            while ((now = System.nanoTime()) < sendAt) {
+                LockSupport.parkNanos(sendAt - now);
+            }
+            long requestStart = System.nanoTime();
+            inFlight.add(client.sendAsync(read, HttpResponse.BodyHandlers.discarding()).handle((response, error) -> {
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    (cause instanceof HttpTimeoutException ? timedOut : other).increment();
+                } else if (response.statusCode() == 200) {
+                    boolean inTime = System.nanoTime() - requestStart <= CLIENT_TIMEOUT.toNanos();
+                    (inTime ? good : late).increment();
+                } else if (response.statusCode() == 429 || response.statusCode() == 503) {
+                    shed.increment();
+                } else {
+                    other.increment();
+                }
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        System.out.printf("%s: offered %d req/s (%dx the measured %d) | goodput %.0f req/s | shed=%d timed out=%d late=%d other=%d of %d%n",
+                mode, rate, OVERLOAD, capacity, good.sum() / seconds,
+                shed.sum(), timedOut.sum(), late.sum(), other.sum(), inFlight.size());
+    }
+}
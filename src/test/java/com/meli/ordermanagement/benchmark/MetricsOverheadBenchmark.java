@@ -0,0 +1,90 @@
+package com.meli.ordermanagement.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.meli.ordermanagement.OrderManagementApplication;
+
+/**
+ * Overhead of the metrics (timers, percentiles and histograms) on real HTTP requests:
+ * GET /api/orders/{id} answered from the cache (the cheapest request, so the worst case in percent)
+ * and POST /api/orders, with all metrics recorded versus all meters and the @Timed aspect switched off.
+ * Run with: ./mvnw test -Pbenchmark -Dtest=OrderHotPathsJmhTest -Djmh.include=MetricsOverheadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(3)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 10, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MetricsOverheadBenchmark {
+
+    private static final String AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("user:user123".getBytes(StandardCharsets.UTF_8));
+
+    @Param({"true", "false"})
+    public boolean metricsEnabled;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest getOrder;
+    private HttpRequest createOrder;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws Exception {
+        context = new SpringApplicationBuilder(OrderManagementApplication.class)
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run("--server.port=0",
+                        "--management.metrics.enable.all=" + metricsEnabled,
+                        "--spring.aop.auto=" + metricsEnabled);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String base = "http://localhost:" + port + "/api/orders";
+
+        client = HttpClient.newHttpClient();
+        createOrder = HttpRequest.newBuilder(URI.create(base))
+                .header("Authorization", AUTHORIZATION)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"customerName\":\"Metrics Customer\",\"totalAmount\":10.00}"))
+                .build();
+        String created = client.send(createOrder, HttpResponse.BodyHandlers.ofString()).body();
+        String id = created.replaceAll(".*\"id\":(\\d+).*", "$1");
+        getOrder = HttpRequest.newBuilder(URI.create(base + "/" + id)).header("Authorization", AUTHORIZATION).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getOrderById() throws Exception {
+        return client.send(getOrder, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int createOrder() throws Exception {
+        return client.send(createOrder, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,91 @@
+package com.meli.ordermanagement.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.meli.ordermanagement.dto.BatchCreateResponseDTO;
+import com.meli.ordermanagement.dto.CreateOrderRequestDTO;
+import com.meli.ordermanagement.repository.OrderRepository;
+import com.meli.ordermanagement.service.OrderService;
+
+/**
+ * Compara filas por segundo: crear órdenes una por una contra el endpoint de lotes (JDBC batch) sobre H2.
+ * Se ejecuta con: ./mvnw test -Pbenchmark -Dtest=OrderBatchInsertBenchmarkTest
+ */
+@Tag("benchmark")
+@SpringBootTest
+public class OrderBatchInsertBenchmarkTest {
+
+    private static final int ROWS = 5000;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @AfterEach
+    public void cleanUp() {
+        orderRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void compareOneByOneWithBatchInsert() {
+        List<CreateOrderRequestDTO> requests = buildRequests();
+
+        // Calentamiento: una ronda de cada camino para que el JIT y el pool estén listos
+        insertOneByOne(requests);
+        orderService.createOrders(requests);
+        orderRepository.deleteAllInBatch();
+
+        long oneByOneNanos = 0;
+        long batchNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            insertOneByOne(requests);
+            oneByOneNanos += System.nanoTime() - start;
+            orderRepository.deleteAllInBatch();
+
+            start = System.nanoTime();
+            BatchCreateResponseDTO response = orderService.createOrders(requests);
+            batchNanos += System.nanoTime() - start;
+            assertThat(response.getCreated()).isEqualTo(ROWS);
+            orderRepository.deleteAllInBatch();
+        }
+
+        double oneByOneRate = rowsPerSecond(oneByOneNanos);
+        double batchRate = rowsPerSecond(batchNanos);
+        System.out.printf("one-by-one: %.0f rows/s | batch: %.0f rows/s | speed-up: %.1fx%n",
+                oneByOneRate, batchRate, batchRate / oneByOneRate);
+    }
+
+    private void insertOneByOne(List<CreateOrderRequestDTO> requests) {
+        for (CreateOrderRequestDTO request : requests) {
+            orderService.createOrder(request);
+        }
+    }
+
+    private static List<CreateOrderRequestDTO> buildRequests() {
+        List<CreateOrderRequestDTO> requests = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            CreateOrderRequestDTO request = new CreateOrderRequestDTO();
+            request.setCustomerName("Benchmark Customer " + i);
+            request.setTotalAmount(new BigDecimal("19.99"));
+            requests.add(request);
+        }
+        return requests;
+    }
+
+    private static double rowsPerSecond(long totalNanos) {
+        return (double) ROWS * ROUNDS / (totalNanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,94 @@
+package com.meli.ordermanagement.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.model.OrderStatus;
+
+/**
+ * Microbenchmarks (JMH) de los formatos de respuesta: escribir y leer una página de órdenes
+ * en JSON, CBOR y Smile, con los mismos ajustes que usa WebConfig para cada uno.
+ * Se ejecuta con: ./mvnw test -Pbenchmark -Dtest=ResponseFormatBenchmarkTest
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderFormatBenchmark {
+
+    private static final TypeReference<List<OrderResponseDTO>> ORDER_LIST = new TypeReference<>() { };
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"50"})
+    public int pageSize;
+
+    private ObjectMapper mapper;
+    private List<OrderResponseDTO> page;
+    private byte[] encodedPage;
+
+    @Setup
+    public void setUp() throws Exception {
+        mapper = mapperFor(format);
+        page = samplePage(pageSize);
+        encodedPage = mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderPage() throws Exception {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<OrderResponseDTO> deserializeOrderPage() throws Exception {
+        return mapper.readValue(encodedPage, ORDER_LIST);
+    }
+
+    // JSON como el ObjectMapper de Spring Boot; CBOR y Smile como en WebConfig (fechas como números).
+    static ObjectMapper mapperFor(String format) {
+        return switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory())
+                    .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(new SmileFactory())
+                    .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+    }
+
+    static List<OrderResponseDTO> samplePage(int size) {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 15, 10, 30, 15, 123_456_000);
+        OrderStatus[] statuses = OrderStatus.values();
+        List<OrderResponseDTO> page = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            page.add(new OrderResponseDTO(1_000_000L + i, "Customer " + i, start.plusSeconds(i * 37L),
+                    statuses[i % statuses.length], new BigDecimal("10.00").add(BigDecimal.valueOf(i, 2).multiply(BigDecimal.valueOf(137))), (long) i % 4));
+        }
+        return page;
+    }
+}
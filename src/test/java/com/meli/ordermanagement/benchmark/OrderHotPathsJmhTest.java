@@ -0,0 +1,41 @@
+package com.meli.ordermanagement.benchmark;
+
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks of the hot paths (OrderMappingBenchmark and OrderServiceBenchmark)
+ * with the GC profiler, which adds the allocation rate (gc.alloc.rate.norm = bytes per operation).
+ * Each class sets its own forks, warmup and measurement (@Fork / @Warmup / @Measurement).
+ * The results are also written to target/jmh-result.json.
+ * Run with: ./mvnw test -Pbenchmark -Dtest=OrderHotPathsJmhTest
+ * To run only some of them (any other JMH benchmark class too): -Djmh.include='OrderMappingBenchmark.serialize.*'
+ */
+@Tag("benchmark")
+public class OrderHotPathsJmhTest {
+
+    @Test
+    public void runHotPathBenchmarks() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(System.getProperty("jmh.include",
+                        OrderMappingBenchmark.class.getSimpleName() + "|" + OrderServiceBenchmark.class.getSimpleName()))
+                .shouldFailOnError(true)
+                .addProfiler(GCProfiler.class)
+                .result("target/jmh-result.json")
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertThat(results).isNotEmpty();
+    }
+}
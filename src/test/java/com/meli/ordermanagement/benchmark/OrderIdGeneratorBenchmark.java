@@ -0,0 +1,105 @@
+package com.meli.ordermanagement.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.meli.ordermanagement.ids.SnowflakeIdGenerator;
+import com.meli.ordermanagement.model.Order;
+
+/**
+ * Benchmarks (JMH) of where an order id comes from: the SnowflakeIdGenerator (one thread and
+ * four threads sharing it), against the database sequence of an in-memory H2, one call per id
+ * and one call per Order.ID_ALLOCATION_SIZE ids (Hibernate's pooled optimizer).
+ * Against a remote database every sequence call also pays a network round trip.
+ * Run with: ./mvnw test -Pbenchmark -Dtest=OrderHotPathsJmhTest -Djmh.include=OrderIdGeneratorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderIdGeneratorBenchmark {
+
+    private SnowflakeIdGenerator snowflake;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        snowflake = new SnowflakeIdGenerator(1, Duration.ofSeconds(1));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long snowflake() {
+        return snowflake.nextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long snowflakeFourThreads() {
+        return snowflake.nextId();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long sequencePerId(SequenceState sequence) throws SQLException {
+        return sequence.next();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long pooledSequence(SequenceState sequence) throws SQLException {
+        if (sequence.remaining == 0) {
+            sequence.hi = sequence.next();
+            sequence.remaining = Order.ID_ALLOCATION_SIZE;
+        }
+        return sequence.hi - --sequence.remaining;
+    }
+
+    @State(Scope.Thread)
+    public static class SequenceState {
+
+        private Connection connection;
+        private PreparedStatement nextValue;
+        long hi;
+        int remaining;
+
+        @Setup(Level.Trial)
+        public void open() throws SQLException {
+            connection = DriverManager.getConnection("jdbc:h2:mem:id-benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+            connection.createStatement().execute("CREATE SEQUENCE IF NOT EXISTS orders_seq START WITH 1 INCREMENT BY 1");
+            nextValue = connection.prepareStatement("SELECT NEXT VALUE FOR orders_seq");
+        }
+
+        long next() throws SQLException {
+            try (ResultSet result = nextValue.executeQuery()) {
+                result.next();
+                return result.getLong(1);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.meli.ordermanagement.benchmark;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+import com.meli.ordermanagement.model.Order;
+import com.meli.ordermanagement.model.OrderStatus;
+import com.meli.ordermanagement.model.OrderStatusConverter;
+import com.meli.ordermanagement.storage.OrderLog;
+
+/**
+ * Benchmarks (JMH, latencia por operación con percentiles) del log embebido (OrderLog, perfil "edge")
+ * frente a H2 en archivo con JDBC directo (sin Hibernate, lo más rápido que H2 puede ir):
+ * crear una orden y leer una orden por id, con ORDERS órdenes ya guardadas en cada uno.
+ * Ninguno de los dos espera al disco en cada escritura (fsync apagado en el log; H2 tampoco lo hace).
+ * Se ejecuta con: ./mvnw test -Pbenchmark -Dtest=OrderHotPathsJmhTest -Djmh.include=OrderLogBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderLogBenchmark {
+
+    private static final int ORDERS = 100_000;
+    private static final OrderStatusConverter STATUS_CONVERTER = new OrderStatusConverter();
+
+    private Path directory;
+    private OrderLog orderLog;
+    private Connection connection;
+    private PreparedStatement insert;
+    private PreparedStatement select;
+    private long[] h2Ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("order-log-benchmark");
+        orderLog = new OrderLog(directory.resolve("log"), 64 * 1024 * 1024, false);
+        for (int i = 0; i < ORDERS; i++) {
+            logCreate();
+        }
+
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("h2").toAbsolutePath(), "sa", "");
+        connection.createStatement().execute("RUNSCRIPT FROM 'classpath:db/orders-schema.sql'");
+        insert = connection.prepareStatement("INSERT INTO orders (id, customer_name, order_date, status, total_amount, version) "
+                + "VALUES (NEXT VALUE FOR orders_seq, ?, ?, ?, ?, 0)", new String[] {"id"});
+        select = connection.prepareStatement("SELECT id, customer_name, order_date, status, total_amount, version "
+                + "FROM orders WHERE id = ?");
+        h2Ids = new long[ORDERS];
+        for (int i = 0; i < ORDERS; i++) {
+            h2Ids[i] = h2Create();
+        }
+    }
+
+    @Benchmark
+    public long logCreate() {
+        Order order = newOrder();
+        order.setId(orderLog.nextId());
+        order.setVersion(0L);
+        orderLog.insert(order);
+        return order.getId();
+    }
+
+    @Benchmark
+    public Order logGet() {
+        return orderLog.find(ThreadLocalRandom.current().nextLong(1, ORDERS + 1)).orElseThrow();
+    }
+
+    @Benchmark
+    public long h2Create() throws SQLException {
+        Order order = newOrder();
+        insert.setString(1, order.getCustomerName());
+        insert.setObject(2, order.getOrderDate());
+        insert.setShort(3, STATUS_CONVERTER.convertToDatabaseColumn(order.getStatus()));
+        insert.setBigDecimal(4, order.getTotalAmount());
+        insert.executeUpdate();
+        try (ResultSet keys = insert.getGeneratedKeys()) {
+            keys.next();
+            return keys.getLong(1);
+        }
+    }
+
+    @Benchmark
+    public Order h2Get() throws SQLException {
+        select.setLong(1, h2Ids[ThreadLocalRandom.current().nextInt(ORDERS)]);
+        try (ResultSet row = select.executeQuery()) {
+            row.next();
+            Order order = new Order();
+            order.setId(row.getLong(1));
+            order.setCustomerName(row.getString(2));
+            order.setOrderDate(row.getObject(3, LocalDateTime.class));
+            order.setStatus(STATUS_CONVERTER.convertToEntityAttribute(row.getShort(4)));
+            order.setTotalAmount(row.getBigDecimal(5));
+            order.setVersion(row.getLong(6));
+            return order;
+        }
+    }
+
+    private static Order newOrder() {
+        Order order = new Order();
+        order.setCustomerName("Customer " + ThreadLocalRandom.current().nextInt(1000));
+        order.setTotalAmount(BigDecimal.valueOf(ThreadLocalRandom.current().nextInt(1, 100_000), 2));
+        order.setOrderDate(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        order.setStatus(OrderStatus.PENDING);
+        return order;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        orderLog.close();
+        connection.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+}
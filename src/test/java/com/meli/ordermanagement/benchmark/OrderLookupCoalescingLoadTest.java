@@ -0,0 +1,204 @@
+package com.meli.ordermanagement.benchmark;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.meli.ordermanagement.cache.CoalescingOrderLoader;
+import com.meli.ordermanagement.service.OrderService;
+
+/**
+ * Prueba de carga de getOrderById con ids repartidos según una ley de Zipf (unos pocos ids muy
+ * pedidos, como en una venta flash), sin caché, en tres modos:
+ * - sin coalescing: una consulta por lectura,
+ * - single flight: las lecturas simultáneas del mismo id comparten la consulta,
+ * - single flight + micro-batching (2 ms): además, ids distintos se leen juntos con un "IN".
+ * Cada conexión entregada tarda DB_DELAY_MS extra, como el viaje a una base real.
+ * Se reportan lecturas/s, consultas/s y cuántas consultas se ahorraron.
+ * Se ejecuta con: ./mvnw test -Pbenchmark -Dtest='OrderLookupCoalescingLoadTest*'
+ */
+@Tag("benchmark")
+public class OrderLookupCoalescingLoadTest {
+
+    private static final int ORDERS = 10_000;
+    private static final double ZIPF_EXPONENT = 1.1;
+    private static final int CLIENTS = 200;
+    private static final int READS_PER_CLIENT = 200;
+    private static final long DB_DELAY_MS = 5;
+
+    // cdf[i] = probabilidad de pedir uno de los ids 1..i+1
+    private static final double[] ZIPF_CDF = zipfCdf();
+
+    @Nested
+    @SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:lookup-plain", "orders.cache.enabled=false",
+            "orders.lookup.coalesce=false"})
+    @Import(SlowDatabaseConfig.class)
+    class Plain {
+
+        @Autowired
+        private OrderService orderService;
+
+        @Autowired
+        private CoalescingOrderLoader loader;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Test
+        void measureQueries() throws Exception {
+            runLoad("no coalescing", orderService, loader, jdbcTemplate);
+        }
+    }
+
+    @Nested
+    @SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:lookup-single-flight", "orders.cache.enabled=false"})
+    @Import(SlowDatabaseConfig.class)
+    class SingleFlight {
+
+        @Autowired
+        private OrderService orderService;
+
+        @Autowired
+        private CoalescingOrderLoader loader;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Test
+        void measureQueries() throws Exception {
+            runLoad("single flight", orderService, loader, jdbcTemplate);
+        }
+    }
+
+    @Nested
+    @SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:lookup-batched", "orders.cache.enabled=false",
+            "orders.lookup.batch-window=2ms"})
+    @Import(SlowDatabaseConfig.class)
+    class MicroBatching {
+
+        @Autowired
+        private OrderService orderService;
+
+        @Autowired
+        private CoalescingOrderLoader loader;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Test
+        void measureQueries() throws Exception {
+            runLoad("single flight + 2 ms batches", orderService, loader, jdbcTemplate);
+        }
+    }
+
+    @TestConfiguration
+    static class SlowDatabaseConfig {
+
+        // Envuelve el pool para que cada conexión entregada tarde un poco más (base remota).
+        @Bean
+        static BeanPostProcessor slowDatabasePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource) || bean instanceof SlowDataSource) {
+                        return bean;
+                    }
+                    return new SlowDataSource(dataSource);
+                }
+            };
+        }
+    }
+
+    static class SlowDataSource extends DelegatingDataSource {
+
+        SlowDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            try {
+                Thread.sleep(DB_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return connection;
+        }
+    }
+
+    private static void runLoad(String mode, OrderService orderService, CoalescingOrderLoader loader,
+                                JdbcTemplate jdbcTemplate) throws Exception {
+        jdbcTemplate.update("INSERT INTO orders (id, customer_name, order_date, status, total_amount, version) "
+                + "SELECT X, 'Customer ' || X, DATEADD('MINUTE', X, TIMESTAMP '2025-01-01 00:00:00'), 1, 10.00, 0 "
+                + "FROM SYSTEM_RANGE(1, " + ORDERS + ")");
+
+        // Calentamiento
+        for (int i = 0; i < 200; i++) {
+            orderService.getOrderById(nextId());
+        }
+
+        long lookupsBefore = loader.getLookups();
+        long queriesBefore = loader.getQueries();
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                workers.add(clients.submit(() -> {
+                    for (int i = 0; i < READS_PER_CLIENT; i++) {
+                        assertThat(orderService.getOrderById(nextId())).isPresent();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        long lookups = loader.getLookups() - lookupsBefore;
+        long queries = loader.getQueries() - queriesBefore;
+        System.out.printf("%s: %.0f reads/s, %.0f queries/s (%.1f%% of reads saved)%n",
+                mode, lookups / seconds, queries / seconds, 100.0 * (lookups - queries) / lookups);
+    }
+
+    private static long nextId() {
+        int index = Arrays.binarySearch(ZIPF_CDF, ThreadLocalRandom.current().nextDouble());
+        return (index < 0 ? -index - 1 : index) + 1L;
+    }
+
+    private static double[] zipfCdf() {
+        double[] cdf = new double[ORDERS];
+        double sum = 0;
+        for (int i = 0; i < ORDERS; i++) {
+            sum += 1 / Math.pow(i + 1, ZIPF_EXPONENT);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < ORDERS; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+}
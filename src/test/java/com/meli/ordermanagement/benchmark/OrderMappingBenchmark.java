@@ -0,0 +1,125 @@
+package com.meli.ordermanagement.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.ordermanagement.archive.OrderArchive;
+import com.meli.ordermanagement.dto.CreateOrderRequestDTO;
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.model.Order;
+import com.meli.ordermanagement.model.OrderStatus;
+import com.meli.ordermanagement.search.CustomerNameIndex;
+import com.meli.ordermanagement.service.OrderService;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+/**
+ * Microbenchmarks (JMH) of the CPU-only parts of the order request path: entity -> DTO conversion,
+ * JSON writing of one order and of a page of orders, and JSON reading plus Bean Validation of a create request.
+ * OrderHotPathsJmhTest runs it together with OrderServiceBenchmark; to run only this one:
+ * ./mvnw test -Pbenchmark -Dtest=OrderHotPathsJmhTest -Djmh.include=OrderMappingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderMappingBenchmark {
+
+    // OrderService.convertToDTO es privado; un MethodHandle estático lo llama sin costo de reflexión.
+    private static final MethodHandle CONVERT_TO_DTO;
+
+    static {
+        try {
+            CONVERT_TO_DTO = MethodHandles.privateLookupIn(OrderService.class, MethodHandles.lookup())
+                    .findVirtual(OrderService.class, "convertToDTO", MethodType.methodType(OrderResponseDTO.class, Order.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Param({"50"})
+    public int pageSize;
+
+    private OrderService orderService;
+    private ObjectMapper objectMapper;
+    private Validator validator;
+    private Order order;
+    private OrderResponseDTO orderDTO;
+    private List<OrderResponseDTO> page;
+    private byte[] createRequestJson;
+
+    @Setup
+    public void setUp() throws Throwable {
+        orderService = new OrderService(null, null, null, null, null, null, null,
+                new DefaultListableBeanFactory().getBeanProvider(OrderArchive.class),
+                new DefaultListableBeanFactory().getBeanProvider(CustomerNameIndex.class));
+        // Igual que el ObjectMapper que Spring Boot configura para los controladores
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+        order = new Order();
+        order.setId(12345L);
+        order.setCustomerName("Benchmark Customer");
+        order.setOrderDate(LocalDateTime.of(2025, 1, 15, 10, 30, 15, 123_456_000));
+        order.setStatus(OrderStatus.PROCESSING);
+        order.setTotalAmount(new BigDecimal("149.99"));
+        order.setVersion(3L);
+        orderDTO = (OrderResponseDTO) CONVERT_TO_DTO.invoke(orderService, order);
+
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            page.add(new OrderResponseDTO((long) i, "Customer " + i, order.getOrderDate().plusSeconds(i),
+                    OrderStatus.PENDING, new BigDecimal("10.00").add(BigDecimal.valueOf(i)), 0L));
+        }
+        createRequestJson = "{\"customerName\":\"Benchmark Customer\",\"totalAmount\":149.99}"
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public OrderResponseDTO convertToDTO() throws Throwable {
+        return (OrderResponseDTO) CONVERT_TO_DTO.invoke(orderService, order);
+    }
+
+    @Benchmark
+    public byte[] serializeOrder() throws Exception {
+        return objectMapper.writeValueAsBytes(orderDTO);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderPage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateOrderRequestDTO>> deserializeAndValidateCreateRequest() throws Exception {
+        CreateOrderRequestDTO request = objectMapper.readValue(createRequestJson, CreateOrderRequestDTO.class);
+        return validator.validate(request);
+    }
+}
@@ -0,0 +1,101 @@
+package com.meli.ordermanagement.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.meli.ordermanagement.dto.OrderPageDTO;
+import com.meli.ordermanagement.model.OrderStatus;
+import com.meli.ordermanagement.repository.OrderSearchCriteria;
+import com.meli.ordermanagement.service.OrderService;
+
+/**
+ * Siembra 1.000.000 de órdenes en H2 y comprueba que las búsquedas por estado y por cliente
+ * usan los índices (EXPLAIN) y responden en pocos milisegundos.
+ * Se ejecuta con: ./mvnw test -Pbenchmark -Dtest=OrderSearchBenchmarkTest
+ */
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class OrderSearchBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int CUSTOMERS = 10_000;
+    private static final int RUNS = 200;
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderService orderService;
+
+    @BeforeAll
+    public void seed() {
+        // Una orden por minuto, repartida entre 10.000 clientes y los 5 estados
+        jdbcTemplate.update("INSERT INTO orders (id, customer_name, order_date, status, total_amount, version) "
+                + "SELECT X, 'Customer ' || MOD(X, " + CUSTOMERS + "), "
+                + "DATEADD('MINUTE', X, TIMESTAMP '2025-01-01 00:00:00'), MOD(X, 5) + 1, 10.00, 0 "
+                + "FROM SYSTEM_RANGE(1, " + ROWS + ")");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    public void cleanUp() {
+        jdbcTemplate.update("DELETE FROM orders");
+    }
+
+    @Test
+    public void searchByStatusAndDateRangeUsesIndex() {
+        String plan = explain("SELECT id FROM orders WHERE status = 3 "
+                + "AND order_date >= TIMESTAMP '2025-03-01 00:00:00' AND order_date < TIMESTAMP '2025-04-01 00:00:00' "
+                + "ORDER BY order_date, id LIMIT 51");
+        assertThat(plan).containsIgnoringCase("IDX_ORDERS_STATUS_ORDER_DATE");
+
+        OrderSearchCriteria criteria = new OrderSearchCriteria(OrderStatus.SHIPPED, null,
+                START.plusMonths(2), START.plusMonths(3));
+        report("status + date range", criteria);
+    }
+
+    @Test
+    public void searchByCustomerUsesIndex() {
+        String plan = explain("SELECT id FROM orders WHERE customer_name = 'Customer 42' "
+                + "ORDER BY order_date, id LIMIT 51");
+        assertThat(plan).containsIgnoringCase("IDX_ORDERS_CUSTOMER_ORDER_DATE");
+
+        report("customer", new OrderSearchCriteria(null, "Customer 42", null, null));
+    }
+
+    private String explain(String sql) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+        System.out.println(plan);
+        return plan;
+    }
+
+    private void report(String name, OrderSearchCriteria criteria) {
+        // Calentamiento
+        for (int i = 0; i < 50; i++) {
+            orderService.searchOrders(criteria, null, 50);
+        }
+
+        long[] latencies = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            OrderPageDTO page = orderService.searchOrders(criteria, null, 50);
+            latencies[i] = System.nanoTime() - start;
+            assertThat(page.getItems()).isNotEmpty();
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%s over %d rows: p50=%.2f ms, p99=%.2f ms%n", name, ROWS,
+                latencies[RUNS / 2] / 1_000_000.0, latencies[(int) (RUNS * 0.99) - 1] / 1_000_000.0);
+    }
+}
@@ -0,0 +1,85 @@
+package com.meli.ordermanagement.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.meli.ordermanagement.OrderManagementApplication;
+import com.meli.ordermanagement.dto.CreateOrderRequestDTO;
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.service.OrderService;
+
+/**
+ * Benchmarks (JMH) of the full createOrder and getOrderById service paths against the embedded H2
+ * database of the "dev" profile, with the order cache turned on and off.
+ * OrderHotPathsJmhTest runs it together with OrderMappingBenchmark; to run only this one:
+ * ./mvnw test -Pbenchmark -Dtest=OrderHotPathsJmhTest -Djmh.include=OrderServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderServiceBenchmark {
+
+    private static final int PRELOADED_ORDERS = 1000;
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private CreateOrderRequestDTO request;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(OrderManagementApplication.class)
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+                // Arguments override application.yml. The security configuration needs a servlet
+                // context, so a server is started on a random port.
+                .run("--server.port=0", "--orders.cache.enabled=" + cacheEnabled);
+        orderService = context.getBean(OrderService.class);
+
+        request = new CreateOrderRequestDTO();
+        request.setCustomerName("Benchmark Customer");
+        request.setTotalAmount(new BigDecimal("149.99"));
+        firstId = orderService.createOrder(request).getId();
+        for (int i = 1; i < PRELOADED_ORDERS; i++) {
+            orderService.createOrder(request);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponseDTO createOrder() {
+        return orderService.createOrder(request);
+    }
+
+    @Benchmark
+    public Optional<OrderResponseDTO> getOrderById() {
+        return orderService.getOrderById(firstId + ThreadLocalRandom.current().nextInt(PRELOADED_ORDERS));
+    }
+}
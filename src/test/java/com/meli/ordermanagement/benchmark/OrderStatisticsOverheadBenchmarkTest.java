@@ -0,0 +1,98 @@
+package com.meli.ordermanagement.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.meli.ordermanagement.dto.CreateOrderRequestDTO;
+import com.meli.ordermanagement.model.OrderStatus;
+import com.meli.ordermanagement.repository.OrderRepository;
+import com.meli.ordermanagement.service.OrderService;
+import com.meli.ordermanagement.stats.OrderStatistics;
+
+/**
+ * Mide el costo que las estadísticas incrementales agregan al camino de escritura:
+ * nanosegundos por actualización de contadores (con 8 hilos a la vez) frente a la latencia de createOrder.
+ * Se ejecuta con: ./mvnw test -Pbenchmark -Dtest=OrderStatisticsOverheadBenchmarkTest
+ */
+@Tag("benchmark")
+@SpringBootTest
+public class OrderStatisticsOverheadBenchmarkTest {
+
+    private static final int THREADS = 8;
+    private static final int RECORDS_PER_THREAD = 1_000_000;
+    private static final int ORDERS = 2000;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @AfterEach
+    public void cleanUp() {
+        orderRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void measureWritePathOverhead() throws Exception {
+        OrderStatistics statistics = new OrderStatistics();
+        LocalDateTime now = LocalDateTime.now();
+        BigDecimal amount = new BigDecimal("19.99");
+
+        // Calentamiento
+        runConcurrently(() -> {
+            for (int i = 0; i < RECORDS_PER_THREAD / 10; i++) {
+                statistics.recordCreated(now, OrderStatus.PENDING, amount);
+            }
+        });
+
+        long start = System.nanoTime();
+        runConcurrently(() -> {
+            for (int i = 0; i < RECORDS_PER_THREAD; i++) {
+                statistics.recordCreated(now, OrderStatus.PENDING, amount);
+            }
+        });
+        double nanosPerRecord = (double) (System.nanoTime() - start) / RECORDS_PER_THREAD;
+
+        CreateOrderRequestDTO request = new CreateOrderRequestDTO();
+        request.setCustomerName("Stats Overhead Customer");
+        request.setTotalAmount(amount);
+        for (int i = 0; i < ORDERS / 4; i++) {
+            orderService.createOrder(request);
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < ORDERS; i++) {
+            orderService.createOrder(request);
+        }
+        double nanosPerCreate = (double) (System.nanoTime() - start) / ORDERS;
+
+        System.out.printf("statistics update: %.0f ns (per thread, %d threads) | createOrder: %.0f ns | overhead: %.2f%%%n",
+                nanosPerRecord, THREADS, nanosPerCreate, 100.0 * nanosPerRecord / nanosPerCreate);
+    }
+
+    private static void runConcurrently(Runnable work) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            Future<?>[] futures = new Future<?>[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                futures[t] = pool.submit(work);
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+}
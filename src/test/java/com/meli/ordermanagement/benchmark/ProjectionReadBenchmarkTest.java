@@ -0,0 +1,103 @@
+package com.meli.ordermanagement.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.model.Order;
+import com.meli.ordermanagement.repository.OrderRepository;
+
+/**
+ * Lectura de 100.000 órdenes de tres maneras:
+ * - entidades en una transacción normal (como se leía antes): Order gestionadas, copia para dirty checking y conversión a DTO,
+ * - entidades en una transacción de solo lectura: sin copia, pero igual se construyen y guardan las entidades,
+ * - proyección a DTO (findAllResponses, lo que usa hoy la API): Hibernate construye directamente el DTO.
+ * Se reportan la latencia (p50/p99) y los bytes reservados por lectura en el hilo que la hace.
+ * Se ejecuta con: ./mvnw test -Pbenchmark -Dtest=ProjectionReadBenchmarkTest
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "orders.cache.enabled=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ProjectionReadBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+    private static final int WARMUP = 5;
+    private static final int RUNS = 20;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    public void seed() {
+        jdbcTemplate.update("INSERT INTO orders (id, customer_name, order_date, status, total_amount, version) "
+                + "SELECT X, 'Customer ' || MOD(X, 1000), "
+                + "DATEADD('MINUTE', X, TIMESTAMP '2025-01-01 00:00:00'), MOD(X, 5) + 1, 10.00, 0 "
+                + "FROM SYSTEM_RANGE(1, " + ROWS + ")");
+    }
+
+    @AfterAll
+    public void cleanUp() {
+        jdbcTemplate.update("DELETE FROM orders");
+    }
+
+    @Test
+    public void compareEntityAndProjectionReads() {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        report("entities, read-write tx", () -> readWrite.execute(status -> toDtos(orderRepository.findAll())));
+        report("entities, read-only tx ", () -> readOnly.execute(status -> toDtos(orderRepository.findAll())));
+        report("DTO projection         ", () -> readOnly.execute(status -> orderRepository.findAllResponses()));
+    }
+
+    private void report(String mode, Supplier<List<OrderResponseDTO>> read) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertThat(read.get()).hasSize(ROWS);
+        }
+        long[] latencies = new long[RUNS];
+        long allocated = 0;
+        for (int i = 0; i < RUNS; i++) {
+            long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            read.get();
+            latencies[i] = System.nanoTime() - start;
+            allocated += threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%s: p50=%.1f ms p99=%.1f ms | %.1f MB allocated per read%n", mode,
+                latencies[RUNS / 2] / 1_000_000.0, latencies[RUNS - 1] / 1_000_000.0,
+                allocated / (double) RUNS / (1024 * 1024));
+    }
+
+    // La conversión campo a campo que hacía OrderService con cada entidad.
+    private static List<OrderResponseDTO> toDtos(List<Order> orders) {
+        return orders.stream()
+                .map(order -> new OrderResponseDTO(order.getId(), order.getCustomerName(), order.getOrderDate(),
+                        order.getStatus(), order.getTotalAmount(), order.getVersion()))
+                .toList();
+    }
+}
@@ -0,0 +1,219 @@
+package com.meli.ordermanagement.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import reactor.core.publisher.Mono;
+
+/**
+ * Prueba de carga comparativa: la API sobre servlets (Tomcat + JDBC) frente al perfil "reactive" (Netty + R2DBC).
+ * Muchos clientes a la vez y una base de datos lenta: cada conexión entregada tarda DB_DELAY_MS extra,
+ * en los dos casos con un pool de 20 conexiones. El 20% de las peticiones crean una orden y el resto
+ * leen una orden por id; también se mide cuánto tarda en llegar el listado completo en streaming.
+ * Se reportan peticiones por segundo, p50/p99 y los hilos vivos al terminar.
+ * Se ejecuta con: ./mvnw test -Pbenchmark -Dtest='ReactiveLoadTest*'
+ */
+@Tag("benchmark")
+public class ReactiveLoadTest {
+
+    private static final int CLIENTS = 2000;
+    private static final int REQUESTS_PER_CLIENT = 10;
+    private static final long DB_DELAY_MS = 20;
+    private static final String AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("user:user123".getBytes(StandardCharsets.UTF_8));
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "spring.datasource.url=jdbc:h2:mem:servlet-load",
+            "spring.datasource.hikari.maximum-pool-size=20",
+            "orders.cache.enabled=false"
+    })
+    @Import(SlowDatabaseConfig.class)
+    class Servlet {
+
+        @LocalServerPort
+        private int port;
+
+        @Test
+        void measureThroughput() throws Exception {
+            runLoad("servlet (tomcat + jdbc)", port);
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "spring.main.web-application-type=reactive",
+            "spring.r2dbc.url=r2dbc:h2:mem:///reactive-load"
+    })
+    @ActiveProfiles({"dev", "reactive"})
+    @Import(SlowDatabaseConfig.class)
+    class Reactive {
+
+        @LocalServerPort
+        private int port;
+
+        @Test
+        void measureThroughput() throws Exception {
+            runLoad("reactive (netty + r2dbc)", port);
+        }
+    }
+
+    @TestConfiguration
+    static class SlowDatabaseConfig {
+
+        // Envuelve el pool (JDBC o R2DBC) para que cada conexión entregada tarde un poco más.
+        // En JDBC el hilo duerme esperando; en R2DBC la conexión simplemente llega más tarde.
+        @Bean
+        static BeanPostProcessor slowDatabasePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof SlowDataSource)) {
+                        return new SlowDataSource(dataSource);
+                    }
+                    if (bean instanceof ConnectionFactory connectionFactory && !(bean instanceof SlowConnectionFactory)) {
+                        return new SlowConnectionFactory(connectionFactory);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    static class SlowDataSource extends DelegatingDataSource {
+
+        SlowDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            try {
+                Thread.sleep(DB_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return connection;
+        }
+    }
+
+    // Wrapped: así Spring Boot sigue encontrando las opciones del pool para ejecutar el schema.
+    record SlowConnectionFactory(ConnectionFactory target) implements ConnectionFactory, Wrapped<ConnectionFactory> {
+
+        @Override
+        public Publisher<? extends io.r2dbc.spi.Connection> create() {
+            return Mono.from(target.create()).delayElement(Duration.ofMillis(DB_DELAY_MS));
+        }
+
+        @Override
+        public ConnectionFactoryMetadata getMetadata() {
+            return target.getMetadata();
+        }
+
+        @Override
+        public ConnectionFactory unwrap() {
+            return target;
+        }
+    }
+
+    private static void runLoad(String mode, int port) throws Exception {
+        String base = "http://localhost:" + port + "/api/orders";
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        HttpRequest create = HttpRequest.newBuilder(URI.create(base))
+                .header("Authorization", AUTHORIZATION)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"customerName\":\"Load Test\",\"totalAmount\":10.00}"))
+                .build();
+        HttpResponse<String> created = client.send(create, HttpResponse.BodyHandlers.ofString());
+        assertThat(created.statusCode()).isEqualTo(201);
+        String id = created.body().replaceAll(".*\"id\":(\\d+).*", "$1");
+        HttpRequest read = HttpRequest.newBuilder(URI.create(base + "/" + id)).header("Authorization", AUTHORIZATION).build();
+
+        // Calentamiento
+        for (int i = 0; i < 100; i++) {
+            client.send(create, HttpResponse.BodyHandlers.discarding());
+            client.send(read, HttpResponse.BodyHandlers.discarding());
+        }
+
+        int total = CLIENTS * REQUESTS_PER_CLIENT;
+        long[] latencies = new long[total];
+        AtomicInteger count = new AtomicInteger();
+        LongAdder failed = new LongAdder();
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                int client0 = c;
+                workers.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        boolean write = (client0 + i) % 5 == 0;
+                        long requestStart = System.nanoTime();
+                        HttpResponse<Void> response = client.send(write ? create : read, HttpResponse.BodyHandlers.discarding());
+                        latencies[count.getAndIncrement()] = System.nanoTime() - requestStart;
+                        if (response.statusCode() != (write ? 201 : 200)) {
+                            failed.increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        // El listado de órdenes (en el perfil reactivo llega en streaming)
+        long listStart = System.nanoTime();
+        HttpResponse<String> all = client.send(HttpRequest.newBuilder(URI.create(base))
+                .header("Authorization", AUTHORIZATION).build(), HttpResponse.BodyHandlers.ofString());
+        double listMillis = (System.nanoTime() - listStart) / 1_000_000.0;
+        assertThat(all.statusCode()).isEqualTo(200);
+
+        Arrays.sort(latencies);
+        System.out.printf("%s: %.0f req/s | p50=%.1f ms p99=%.1f ms | errors=%d of %d | full list %d KB in %.0f ms | live threads=%d%n",
+                mode, total / seconds, percentile(latencies, 0.50), percentile(latencies, 0.99),
+                failed.sum(), total, all.body().length() / 1024, listMillis, Thread.activeCount());
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,61 @@
+package com.meli.ordermanagement.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+
+/**
+ * Compara los formatos de respuesta (JSON, CBOR, Smile): primero los bytes que viajan por la red para
+ * una orden y para páginas de órdenes, sin comprimir y con gzip (como lo hace Tomcat), y después el
+ * tiempo de escribir y leer una página con JMH (OrderFormatBenchmark).
+ * Los resultados de JMH quedan también en target/jmh-format-result.json.
+ * Se ejecuta con: ./mvnw test -Pbenchmark -Dtest=ResponseFormatBenchmarkTest
+ */
+@Tag("benchmark")
+public class ResponseFormatBenchmarkTest {
+
+    @Test
+    public void compareFormats() throws Exception {
+        for (int size : new int[] {1, 50, 500}) {
+            List<OrderResponseDTO> page = OrderFormatBenchmark.samplePage(size);
+            for (String format : List.of("json", "cbor", "smile")) {
+                ObjectMapper mapper = OrderFormatBenchmark.mapperFor(format);
+                byte[] raw = size == 1 ? mapper.writeValueAsBytes(page.get(0)) : mapper.writeValueAsBytes(page);
+                byte[] gzipped = gzip(raw);
+                System.out.printf("%-5s %3d orders: %7d bytes | gzip %7d bytes%n", format, size, raw.length, gzipped.length);
+            }
+        }
+
+        Options options = new OptionsBuilder()
+                .include(OrderFormatBenchmark.class.getSimpleName())
+                .shouldFailOnError(true)
+                .result("target/jmh-format-result.json")
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertThat(results).isNotEmpty();
+    }
+
+    private static byte[] gzip(byte[] raw) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        }
+        return out.toByteArray();
+    }
+}
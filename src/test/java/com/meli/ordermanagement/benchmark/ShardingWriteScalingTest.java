@@ -0,0 +1,158 @@
+package com.meli.ordermanagement.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.h2.api.Trigger;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.meli.ordermanagement.dto.CreateOrderRequestDTO;
+import com.meli.ordermanagement.service.OrderService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Escrituras por segundo de createOrder con 1, 2 y 4 shards.
+ * Cada shard es una base H2 propia con pocas conexiones (POOL_SIZE) y un trigger que hace tardar cada
+ * INSERT INSERT_DELAY_MS, como una base real ocupada: un shard solo aguanta POOL_SIZE escrituras a la vez,
+ * así que las escrituras deberían crecer casi en proporción al número de shards.
+ * Se ejecuta con: ./mvnw test -Pbenchmark -Dtest='ShardingWriteScalingTest*'
+ */
+@Tag("benchmark")
+public class ShardingWriteScalingTest {
+
+    private static final int CLIENTS = 64;
+    private static final int ORDERS_PER_CLIENT = 20;
+    private static final int POOL_SIZE = 2;
+    private static final long INSERT_DELAY_MS = 20;
+
+    private static final String SHARD_URL = "jdbc:h2:mem:sharding-load-%s;DB_CLOSE_DELAY=-1";
+    private static final String COMMON = "orders.sharding.enabled=true";
+    private static final String POOLS = "orders.sharding.pool-size=" + POOL_SIZE;
+    private static final String MAIN_POOL = "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE;
+
+    @Nested
+    @SpringBootTest(properties = {COMMON, POOLS, MAIN_POOL, "orders.cache.enabled=false",
+            "spring.datasource.url=jdbc:h2:mem:sharding-load-1-0;DB_CLOSE_DELAY=-1"})
+    class OneShard {
+
+        @Autowired
+        private OrderService orderService;
+
+        @Test
+        void measureWrites() throws Exception {
+            runLoad(orderService, 1, "1-0");
+        }
+    }
+
+    @Nested
+    @SpringBootTest(properties = {COMMON, POOLS, MAIN_POOL, "orders.cache.enabled=false",
+            "spring.datasource.url=jdbc:h2:mem:sharding-load-2-0;DB_CLOSE_DELAY=-1",
+            "orders.sharding.shards[0].url=jdbc:h2:mem:sharding-load-2-1;DB_CLOSE_DELAY=-1",
+            "orders.sharding.shards[0].username=sa"})
+    class TwoShards {
+
+        @Autowired
+        private OrderService orderService;
+
+        @Test
+        void measureWrites() throws Exception {
+            runLoad(orderService, 2, "2-0", "2-1");
+        }
+    }
+
+    @Nested
+    @SpringBootTest(properties = {COMMON, POOLS, MAIN_POOL, "orders.cache.enabled=false",
+            "spring.datasource.url=jdbc:h2:mem:sharding-load-4-0;DB_CLOSE_DELAY=-1",
+            "orders.sharding.shards[0].url=jdbc:h2:mem:sharding-load-4-1;DB_CLOSE_DELAY=-1",
+            "orders.sharding.shards[0].username=sa",
+            "orders.sharding.shards[1].url=jdbc:h2:mem:sharding-load-4-2;DB_CLOSE_DELAY=-1",
+            "orders.sharding.shards[1].username=sa",
+            "orders.sharding.shards[2].url=jdbc:h2:mem:sharding-load-4-3;DB_CLOSE_DELAY=-1",
+            "orders.sharding.shards[2].username=sa"})
+    class FourShards {
+
+        @Autowired
+        private OrderService orderService;
+
+        @Test
+        void measureWrites() throws Exception {
+            runLoad(orderService, 4, "4-0", "4-1", "4-2", "4-3");
+        }
+    }
+
+    /**
+     * Hace tardar cada INSERT en "orders", con la conexión ocupada mientras tanto.
+     */
+    public static class SlowInsertTrigger implements Trigger {
+
+        @Override
+        public void fire(Connection connection, Object[] oldRow, Object[] newRow) {
+            try {
+                Thread.sleep(INSERT_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void runLoad(OrderService orderService, int shardCount, String... shardNames) throws Exception {
+        List<JdbcTemplate> shards = new ArrayList<>();
+        for (int i = 0; i < shardNames.length; i++) {
+            // El principal usa el usuario de spring.datasource (application-dev.yml)
+            JdbcTemplate shard = new JdbcTemplate(new DriverManagerDataSource(
+                    SHARD_URL.formatted(shardNames[i]), "sa", i == 0 ? "password" : ""));
+            shard.execute("CREATE TRIGGER IF NOT EXISTS slow_insert BEFORE INSERT ON orders FOR EACH ROW CALL \""
+                    + SlowInsertTrigger.class.getName() + "\"");
+            shards.add(shard);
+        }
+
+        // Calentamiento
+        for (int i = 0; i < 50; i++) {
+            orderService.createOrder(request("Warm-up " + i));
+        }
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                int client = c;
+                workers.add(clients.submit(() -> {
+                    for (int i = 0; i < ORDERS_PER_CLIENT; i++) {
+                        orderService.createOrder(request("Customer " + client + "-" + i));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        List<Long> perShard = shards.stream()
+                .map(shard -> shard.queryForObject("SELECT COUNT(*) FROM orders", Long.class))
+                .toList();
+        assertThat(perShard.stream().mapToLong(Long::longValue).sum()).isEqualTo(50L + CLIENTS * ORDERS_PER_CLIENT);
+        System.out.printf("%d shard(s): %.0f writes/s | orders per shard %s%n",
+                shardCount, CLIENTS * ORDERS_PER_CLIENT / seconds, perShard);
+    }
+
+    private static CreateOrderRequestDTO request(String customer) {
+        CreateOrderRequestDTO request = new CreateOrderRequestDTO();
+        request.setCustomerName(customer);
+        request.setTotalAmount(new BigDecimal("10.00"));
+        return request;
+    }
+}
@@ -0,0 +1,159 @@
+package com.meli.ordermanagement.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Benchmark de arranque: lanza la aplicación empaquetada como un proceso nuevo en cada configuración
+ * y mide el tiempo hasta la primera respuesta 200 de GET /api/orders (incluye el arranque de la JVM)
+ * y la memoria residente (RSS) del proceso en ese momento. Se reporta la mediana de RUNS arranques.
+ *
+ * Configuraciones:
+ * - baseline: el jar tal cual, perfil dev.
+ * - lazy: el mismo jar con el perfil fast-startup (inicialización diferida, Hibernate sin metadatos JDBC).
+ * - aot: el jar extraído, con el código generado por Spring AOT.
+ * - aot+cds: lo anterior más el archivo CDS generado en el build.
+ * Las dos últimas necesitan el build con el perfil fast-startup; si no está, se omiten.
+ * Se ejecuta con: ./mvnw -Pfast-startup package -DskipTests && ./mvnw test -Pbenchmark -Dtest=StartupBenchmarkTest
+ */
+@Tag("benchmark")
+public class StartupBenchmarkTest {
+
+    private static final int RUNS = 5;
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+    private static final Path TARGET = Path.of("target");
+    private static final Path JAR = TARGET.resolve("order-management-0.0.1-SNAPSHOT.jar");
+    private static final Path EXTRACTED_JAR = TARGET.resolve("application/order-management-0.0.1-SNAPSHOT.jar");
+    private static final Path CDS_ARCHIVE = TARGET.resolve("application/application.jsa");
+    private static final Path LOGS = TARGET.resolve("startup-benchmark");
+    private static final String AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("user:user123".getBytes(StandardCharsets.UTF_8));
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    private record Configuration(String name, Path jar, List<String> jvmOptions, List<String> profiles) {
+    }
+
+    private record Sample(long millis, long rssKb) {
+    }
+
+    @Test
+    void compareStartup() throws Exception {
+        Assumptions.assumeTrue(Files.exists(JAR), "Falta " + JAR + ": ejecutar ./mvnw package -DskipTests antes");
+        Files.createDirectories(LOGS);
+
+        List<Configuration> configurations = new ArrayList<>();
+        configurations.add(new Configuration("baseline", JAR, List.of(), List.of("dev")));
+        configurations.add(new Configuration("lazy", JAR, List.of(), List.of("dev", "fast-startup")));
+        if (Files.exists(EXTRACTED_JAR) && Files.exists(CDS_ARCHIVE)) {
+            configurations.add(new Configuration("aot", EXTRACTED_JAR,
+                    List.of("-Dspring.aot.enabled=true"), List.of("dev", "fast-startup")));
+            configurations.add(new Configuration("aot+cds", EXTRACTED_JAR,
+                    List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + CDS_ARCHIVE),
+                    List.of("dev", "fast-startup")));
+        } else {
+            System.out.println("Sin build fast-startup (" + CDS_ARCHIVE + "): se omiten aot y aot+cds");
+        }
+
+        System.out.printf("%n%-10s %28s %14s%n", "config", "first 200 (median, min-max)", "RSS (median)");
+        for (Configuration configuration : configurations) {
+            List<Sample> samples = new ArrayList<>();
+            for (int run = 0; run < RUNS; run++) {
+                samples.add(start(configuration, run));
+            }
+            long[] millis = samples.stream().mapToLong(Sample::millis).sorted().toArray();
+            long[] rss = samples.stream().mapToLong(Sample::rssKb).sorted().toArray();
+            System.out.printf("%-10s %14d ms (%d-%d) %11d MB%n", configuration.name(),
+                    millis[RUNS / 2], millis[0], millis[RUNS - 1], rss[RUNS / 2] / 1024);
+        }
+    }
+
+    // Arranca la aplicación, espera la primera respuesta 200, lee el RSS y detiene el proceso.
+    private Sample start(Configuration configuration, int run) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(configuration.jvmOptions());
+        command.addAll(Arrays.asList("-jar", configuration.jar().toString(),
+                "--server.port=" + port,
+                "--spring.profiles.active=" + String.join(",", configuration.profiles())));
+        Path log = LOGS.resolve(configuration.name().replace('+', '-') + "-" + run + ".log");
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders"))
+                .header("Authorization", AUTHORIZATION)
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        long startNanos = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            long deadline = startNanos + STARTUP_TIMEOUT.toNanos();
+            while (true) {
+                assertThat(process.isAlive()).as("%s terminó durante el arranque, ver %s", configuration.name(), log).isTrue();
+                assertThat(System.nanoTime()).as("%s no respondió a tiempo, ver %s", configuration.name(), log).isLessThan(deadline);
+                if (isOk(request)) {
+                    break;
+                }
+                Thread.sleep(10);
+            }
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            return new Sample(millis, rssKb(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private boolean isOk(HttpRequest request) throws InterruptedException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            // Todavía no escucha en el puerto.
+            return false;
+        }
+    }
+
+    // VmRSS de /proc (Linux); 0 en otros sistemas.
+    private static long rssKb(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> line.replaceAll("\\D", ""))
+                .mapToLong(Long::parseLong)
+                .findFirst()
+                .orElse(0);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
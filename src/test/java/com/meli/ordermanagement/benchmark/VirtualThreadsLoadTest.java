@@ -0,0 +1,223 @@
+package com.meli.ordermanagement.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Prueba de carga comparativa: hilos de plataforma (pool de Tomcat) frente al perfil "virtual-threads".
+ * Se simula una base de datos lenta (cada conexión tarda DB_DELAY_MS extra) y muchos clientes a la vez.
+ * El 20% de las peticiones van a la base (GET /api/orders?limit=1) y el resto son lecturas cacheadas
+ * (GET /api/orders/{id}); se reportan rendimiento, p50/p99 por tipo y respuestas 503.
+ * En el modo virtual también se registran los eventos jdk.VirtualThreadPinned (JFR) para detectar pinning.
+ * Se ejecuta con: ./mvnw test -Pbenchmark -Dtest='VirtualThreadsLoadTest*'
+ */
+@Tag("benchmark")
+public class VirtualThreadsLoadTest {
+
+    private static final int CLIENTS = 1000;
+    private static final int REQUESTS_PER_CLIENT = 20;
+    private static final long DB_DELAY_MS = 20;
+    private static final String AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("user:user123".getBytes(StandardCharsets.UTF_8));
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    @Import(SlowDatabaseConfig.class)
+    @TestPropertySource(properties = "spring.datasource.hikari.maximum-pool-size=20")
+    class PlatformThreads {
+
+        @LocalServerPort
+        private int port;
+
+        @Test
+        void measureThroughput() throws Exception {
+            runLoad("platform threads", port);
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    @Import(SlowDatabaseConfig.class)
+    @ActiveProfiles({"dev", "virtual-threads"})
+    class VirtualThreads {
+
+        @LocalServerPort
+        private int port;
+
+        @Test
+        void measureThroughputAndPinning() throws Exception {
+            Map<String, LongAdder> pinnedAt = new ConcurrentHashMap<>();
+            try (RecordingStream pinning = new RecordingStream()) {
+                pinning.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(1)).withStackTrace();
+                pinning.onEvent("jdk.VirtualThreadPinned", event -> {
+                    String frame = event.getStackTrace() == null ? "?" : firstApplicationFrame(event.getStackTrace().getFrames());
+                    pinnedAt.computeIfAbsent(frame, key -> new LongAdder()).increment();
+                });
+                pinning.startAsync();
+
+                runLoad("virtual threads", port);
+            }
+            System.out.println("virtual threads pinned (>1 ms) at: " + (pinnedAt.isEmpty() ? "none" : pinnedAt));
+        }
+    }
+
+    @TestConfiguration
+    static class SlowDatabaseConfig {
+
+        // Envuelve el pool para que cada conexión entregada tarde un poco más (base de datos lenta).
+        @Bean
+        static BeanPostProcessor slowDatabasePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource) || bean instanceof SlowDataSource) {
+                        return bean;
+                    }
+                    return new SlowDataSource(dataSource);
+                }
+            };
+        }
+    }
+
+    static class SlowDataSource extends DelegatingDataSource {
+
+        SlowDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            try {
+                Thread.sleep(DB_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return connection;
+        }
+    }
+
+    private static void runLoad(String mode, int port) throws Exception {
+        String base = "http://localhost:" + port + "/api/orders";
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        HttpResponse<String> created = client.send(HttpRequest.newBuilder(URI.create(base))
+                .header("Authorization", AUTHORIZATION)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"customerName\":\"Load Test\",\"totalAmount\":10.00}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(created.statusCode()).isEqualTo(201);
+        String id = created.body().replaceAll(".*\"id\":(\\d+).*", "$1");
+
+        HttpRequest cached = HttpRequest.newBuilder(URI.create(base + "/" + id)).header("Authorization", AUTHORIZATION).build();
+        HttpRequest database = HttpRequest.newBuilder(URI.create(base + "?limit=1")).header("Authorization", AUTHORIZATION).build();
+
+        // Calentamiento
+        for (int i = 0; i < 50; i++) {
+            client.send(cached, HttpResponse.BodyHandlers.discarding());
+            client.send(database, HttpResponse.BodyHandlers.discarding());
+        }
+
+        int total = CLIENTS * REQUESTS_PER_CLIENT;
+        long[] cachedLatencies = new long[total];
+        long[] databaseLatencies = new long[total];
+        AtomicInteger cachedCount = new AtomicInteger();
+        AtomicInteger databaseCount = new AtomicInteger();
+        LongAdder rejected = new LongAdder();
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                int client0 = c;
+                workers.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        boolean toDatabase = (client0 + i) % 5 == 0;
+                        long requestStart = System.nanoTime();
+                        HttpResponse<Void> response = client.send(toDatabase ? database : cached,
+                                HttpResponse.BodyHandlers.discarding());
+                        long latency = System.nanoTime() - requestStart;
+                        if (response.statusCode() == 503) {
+                            rejected.increment();
+                        } else {
+                            assertThat(response.statusCode()).isEqualTo(200);
+                        }
+                        if (toDatabase) {
+                            databaseLatencies[databaseCount.getAndIncrement()] = latency;
+                        } else {
+                            cachedLatencies[cachedCount.getAndIncrement()] = latency;
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        long[] cachedSorted = Arrays.copyOf(cachedLatencies, cachedCount.get());
+        long[] databaseSorted = Arrays.copyOf(databaseLatencies, databaseCount.get());
+        Arrays.sort(cachedSorted);
+        Arrays.sort(databaseSorted);
+        System.out.printf("%s: %.0f req/s | cached p50=%.1f ms p99=%.1f ms | database p50=%.1f ms p99=%.1f ms | 503s=%d of %d%n",
+                mode, total / seconds,
+                percentile(cachedSorted, 0.50), percentile(cachedSorted, 0.99),
+                percentile(databaseSorted, 0.50), percentile(databaseSorted, 0.99),
+                rejected.sum(), total);
+    }
+
+    private static String firstApplicationFrame(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return frames.isEmpty() ? "?" : frames.get(0).getMethod().getType().getName();
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,189 @@
+package com.meli.ordermanagement.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.meli.ordermanagement.intake.OrderIntake;
+
+/**
+ * Prueba de carga comparativa de POST /api/orders: guardado síncrono (un commit por orden)
+ * frente a la intake write-behind (202 Accepted y commits agrupados en segundo plano).
+ * Cada conexión entregada tarda DB_DELAY_MS extra, como el viaje de ida y vuelta a una base real.
+ * Se reportan las peticiones por segundo, p50/p99, las respuestas 503 y, en el modo write-behind,
+ * cuánto tarda la última orden aceptada en quedar guardada.
+ * Se ejecuta con: ./mvnw test -Pbenchmark -Dtest='WriteBehindLoadTest*'
+ */
+@Tag("benchmark")
+public class WriteBehindLoadTest {
+
+    private static final int CLIENTS = 200;
+    private static final int REQUESTS_PER_CLIENT = 50;
+    private static final long DB_DELAY_MS = 50;
+    private static final String AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("user:user123".getBytes(StandardCharsets.UTF_8));
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = "spring.datasource.url=jdbc:h2:mem:sync-load")
+    @Import(SlowDatabaseConfig.class)
+    class Synchronous {
+
+        @LocalServerPort
+        private int port;
+
+        @Test
+        void measureThroughput() throws Exception {
+            runLoad("synchronous", port, 201);
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {"spring.datasource.url=jdbc:h2:mem:write-behind-load", "orders.write-behind.enabled=true"})
+    @Import(SlowDatabaseConfig.class)
+    class WriteBehind {
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private OrderIntake orderIntake;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Test
+        void measureThroughputAndDrainTime() throws Exception {
+            long loadEnd = runLoad("write-behind", port, 202);
+            while (orderIntake.getQueueSize() > 0) {
+                Thread.sleep(1);
+            }
+            Thread.sleep(DB_DELAY_MS * 4); // el último lote puede estar todavía en su commit
+            long saved = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Long.class);
+            System.out.printf("write-behind: queue drained %.0f ms after the last response, %d orders saved%n",
+                    (System.nanoTime() - loadEnd) / 1_000_000.0, saved);
+        }
+    }
+
+    @TestConfiguration
+    static class SlowDatabaseConfig {
+
+        // Envuelve el pool para que cada conexión entregada tarde un poco más (commit en una base remota).
+        @Bean
+        static BeanPostProcessor slowDatabasePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource) || bean instanceof SlowDataSource) {
+                        return bean;
+                    }
+                    return new SlowDataSource(dataSource);
+                }
+            };
+        }
+    }
+
+    static class SlowDataSource extends DelegatingDataSource {
+
+        SlowDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            try {
+                Thread.sleep(DB_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return connection;
+        }
+    }
+
+    // Devuelve el instante (System.nanoTime) en que terminó la última petición.
+    private static long runLoad(String mode, int port, int expectedStatus) throws Exception {
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        HttpRequest create = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders"))
+                .header("Authorization", AUTHORIZATION)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"customerName\":\"Load Test\",\"totalAmount\":10.00}"))
+                .build();
+
+        // Calentamiento
+        for (int i = 0; i < 200; i++) {
+            client.send(create, HttpResponse.BodyHandlers.discarding());
+        }
+
+        int total = CLIENTS * REQUESTS_PER_CLIENT;
+        long[] latencies = new long[total];
+        AtomicInteger count = new AtomicInteger();
+        LongAdder rejected = new LongAdder();
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                workers.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        long requestStart = System.nanoTime();
+                        HttpResponse<Void> response = client.send(create, HttpResponse.BodyHandlers.discarding());
+                        latencies[count.getAndIncrement()] = System.nanoTime() - requestStart;
+                        if (response.statusCode() == 503) {
+                            rejected.increment();
+                        } else {
+                            assertThat(response.statusCode()).isEqualTo(expectedStatus);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        long end = System.nanoTime();
+        double seconds = (end - start) / 1_000_000_000.0;
+
+        Arrays.sort(latencies);
+        System.out.printf("%s: %.0f req/s | p50=%.1f ms p99=%.1f ms | 503s=%d of %d%n",
+                mode, total / seconds, percentile(latencies, 0.50), percentile(latencies, 0.99),
+                rejected.sum(), total);
+        return end;
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+    }
+}
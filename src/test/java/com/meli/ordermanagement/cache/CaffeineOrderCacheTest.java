@@ -0,0 +1,80 @@
+package com.meli.ordermanagement.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.model.OrderStatus;
+
+public class CaffeineOrderCacheTest {
+
+    @Test
+    public void whenReadTwice_shouldLoadOnceAndCountHitAndMiss() {
+        CaffeineOrderCache cache = new CaffeineOrderCache(100, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, id -> { loads.incrementAndGet(); return Optional.of(order(id, OrderStatus.PENDING)); });
+        Optional<OrderResponseDTO> second = cache.get(1L, id -> { loads.incrementAndGet(); return Optional.empty(); });
+
+        assertThat(second).map(OrderResponseDTO::getStatus).contains(OrderStatus.PENDING);
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    public void whenOrderDoesNotExist_shouldNotRememberTheMiss() {
+        CaffeineOrderCache cache = new CaffeineOrderCache(100, Duration.ofMinutes(1));
+
+        assertThat(cache.get(1L, id -> Optional.empty())).isEmpty();
+        assertThat(cache.get(1L, id -> Optional.of(order(id, OrderStatus.PENDING)))).isPresent();
+    }
+
+    @Test
+    public void whenInvalidatedWhileLoading_shouldNotKeepTheOldValue() throws Exception {
+        CaffeineOrderCache cache = new CaffeineOrderCache(100, Duration.ofMinutes(1));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Un lector empieza a cargar la versión vieja y se queda esperando
+        CompletableFuture<Optional<OrderResponseDTO>> reader = CompletableFuture.supplyAsync(() ->
+                cache.get(1L, id -> {
+                    loading.countDown();
+                    await(release);
+                    return Optional.of(order(id, OrderStatus.PENDING));
+                }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Mientras tanto, una actualización invalida la orden
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> cache.invalidate(1L));
+        release.countDown();
+        reader.get(5, TimeUnit.SECONDS);
+        writer.get(5, TimeUnit.SECONDS);
+
+        // La siguiente lectura debe ir a la base de datos y ver la versión nueva
+        Optional<OrderResponseDTO> afterUpdate = cache.get(1L, id -> Optional.of(order(id, OrderStatus.SHIPPED)));
+        assertThat(afterUpdate).map(OrderResponseDTO::getStatus).contains(OrderStatus.SHIPPED);
+    }
+
+    private static OrderResponseDTO order(Long id, OrderStatus status) {
+        OrderResponseDTO dto = new OrderResponseDTO();
+        dto.setId(id);
+        dto.setStatus(status);
+        return dto;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.meli.ordermanagement.cache;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.model.OrderStatus;
+
+public class CoalescingOrderLoaderTest {
+
+    // Cada consulta que llega a la "base", con los ids que pidió
+    private final List<List<Long>> queries = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void concurrentReadsOfTheSameId_shareOneQuery() throws Exception {
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CoalescingOrderLoader loader = new CoalescingOrderLoader(ids -> {
+            querying.countDown();
+            await(release);
+            return database().apply(ids);
+        }, true, true, Duration.ZERO, 100);
+
+        // El primero queda dentro de la consulta; los demás llegan mientras tanto
+        CompletableFuture<Optional<OrderResponseDTO>> first = CompletableFuture.supplyAsync(() -> loader.load(1L));
+        assertThat(querying.await(5, TimeUnit.SECONDS)).isTrue();
+        List<CompletableFuture<Optional<OrderResponseDTO>>> others = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            others.add(CompletableFuture.supplyAsync(() -> loader.load(1L)));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isPresent();
+        for (CompletableFuture<Optional<OrderResponseDTO>> other : others) {
+            assertThat(other.get(5, TimeUnit.SECONDS)).map(OrderResponseDTO::getId).contains(1L);
+        }
+        assertThat(queries).hasSize(1);
+        assertThat(loader.getLookups()).isEqualTo(6);
+        assertThat(loader.getQueries()).isEqualTo(1);
+    }
+
+    @Test
+    public void readsOfDifferentIdsWithinTheWindow_areReadWithOneQuery() throws Exception {
+        CoalescingOrderLoader loader = new CoalescingOrderLoader(database(), true, true, Duration.ofMillis(300), 100);
+
+        List<CompletableFuture<Optional<OrderResponseDTO>>> reads = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            long orderId = id;
+            reads.add(CompletableFuture.supplyAsync(() -> loader.load(orderId)));
+        }
+
+        for (int i = 0; i < reads.size(); i++) {
+            assertThat(reads.get(i).get(5, TimeUnit.SECONDS)).map(OrderResponseDTO::getId).contains(i + 1L);
+        }
+        assertThat(queries).hasSize(1);
+        assertThat(queries.get(0)).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    public void aFullBatch_leavesTheRestForTheNextOne() throws Exception {
+        CoalescingOrderLoader loader = new CoalescingOrderLoader(database(), true, true, Duration.ofMillis(300), 2);
+
+        List<CompletableFuture<Optional<OrderResponseDTO>>> reads = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            long orderId = id;
+            reads.add(CompletableFuture.supplyAsync(() -> loader.load(orderId)));
+        }
+        for (CompletableFuture<Optional<OrderResponseDTO>> read : reads) {
+            assertThat(read.get(5, TimeUnit.SECONDS)).isPresent();
+        }
+
+        assertThat(queries).allSatisfy(ids -> assertThat(ids.size()).isLessThanOrEqualTo(2));
+        assertThat(queries.stream().mapToInt(List::size).sum()).isEqualTo(3);
+    }
+
+    @Test
+    public void missingOrders_areEmpty_andFailuresReachEveryReader() {
+        CoalescingOrderLoader loader = new CoalescingOrderLoader(database(), true, true, Duration.ofMillis(1), 100);
+        assertThat(loader.load(404L)).isEmpty();
+
+        CoalescingOrderLoader failing = new CoalescingOrderLoader(ids -> {
+            throw new IllegalStateException("database down");
+        }, true, true, Duration.ofMillis(1), 100);
+        assertThatThrownBy(() -> failing.load(1L)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void withoutCoalescing_everyReadIsItsOwnQuery() {
+        CoalescingOrderLoader loader = new CoalescingOrderLoader(database(), false, true, Duration.ofMillis(300), 100);
+
+        loader.load(1L);
+        loader.load(1L);
+
+        assertThat(queries).hasSize(2);
+    }
+
+    @Test
+    public void behindTheCache_aReadAfterAnUpdateDoesNotJoinAReadFromBeforeIt() throws Exception {
+        AtomicReference<OrderStatus> committed = new AtomicReference<>(OrderStatus.PENDING);
+        AtomicBoolean first = new AtomicBoolean(true);
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Con la caché prendida, la caché ya comparte la carga de cada id
+        CoalescingOrderLoader loader = new CoalescingOrderLoader(ids -> {
+            OrderStatus seen = committed.get();
+            if (first.getAndSet(false)) {
+                querying.countDown();
+                await(release);
+            }
+            return ids.stream().map(id -> new OrderResponseDTO(id, "Customer " + id, LocalDateTime.now(), seen,
+                    new BigDecimal("10.00"), 0L)).toList();
+        }, true, false, Duration.ZERO, 100);
+        CaffeineOrderCache cache = new CaffeineOrderCache(100, Duration.ofMinutes(1));
+
+        // La primera lectura se queda dentro de la consulta, con la orden todavía sin cambiar
+        CompletableFuture<Optional<OrderResponseDTO>> before = CompletableFuture.supplyAsync(() -> cache.get(1L, loader::load));
+        assertThat(querying.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Se confirma una actualización y se invalida la orden; después llega otra lectura
+        committed.set(OrderStatus.SHIPPED);
+        cache.invalidate(1L);
+        CompletableFuture<Optional<OrderResponseDTO>> after = CompletableFuture.supplyAsync(() -> cache.get(1L, loader::load));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(before.get(5, TimeUnit.SECONDS)).map(OrderResponseDTO::getStatus).contains(OrderStatus.PENDING);
+        assertThat(after.get(5, TimeUnit.SECONDS)).map(OrderResponseDTO::getStatus).contains(OrderStatus.SHIPPED);
+        // Lo que queda en la caché es la versión nueva
+        assertThat(cache.get(1L, id -> Optional.empty())).map(OrderResponseDTO::getStatus).contains(OrderStatus.SHIPPED);
+    }
+
+    // Una "base" donde existen las órdenes 1 a 100.
+    private Function<Collection<Long>, List<OrderResponseDTO>> database() {
+        return ids -> {
+            queries.add(List.copyOf(ids));
+            return ids.stream().filter(id -> id <= 100)
+                    .map(id -> new OrderResponseDTO(id, "Customer " + id, LocalDateTime.now(), OrderStatus.PENDING,
+                            new BigDecimal("10.00"), 0L))
+                    .toList();
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.meli.ordermanagement.changes;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.ordermanagement.changes.OrderChangeFeed.ChangeType;
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.model.OrderStatus;
+
+public class OrderChangeFeedTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private static OrderResponseDTO order(long id) {
+        return new OrderResponseDTO(id, "Feed Customer", LocalDateTime.of(2025, 1, 15, 10, 30),
+                OrderStatus.PENDING, new BigDecimal("10.00"), 0L);
+    }
+
+    @Test
+    public void whenChangesArePublished_shouldBeReadInOrderAsJson() throws Exception {
+        OrderChangeFeed feed = new OrderChangeFeed(objectMapper, 8);
+        long start = feed.latestSequence();
+
+        feed.publish(ChangeType.CREATED, order(1));
+        feed.publish(ChangeType.DELETED, order(1));
+
+        OrderChangeFeed.Batch batch = feed.readAfter(start, 10);
+        assertThat(batch.missed()).isFalse();
+        assertThat(batch.changes()).extracting(OrderChangeFeed.Change::sequence).containsExactly(start + 1, start + 2);
+        JsonNode json = objectMapper.readTree(new String(batch.changes().get(1).json(), StandardCharsets.UTF_8));
+        assertThat(json.get("sequence").asLong()).isEqualTo(start + 2);
+        assertThat(json.get("type").asText()).isEqualTo("DELETED");
+        assertThat(json.get("orderId").asLong()).isEqualTo(1L);
+        assertThat(json.get("order").get("customerName").asText()).isEqualTo("Feed Customer");
+        assertThat(feed.readAfter(start + 2, 10).changes()).isEmpty();
+    }
+
+    @Test
+    public void whenRingBufferWrapsAround_shouldReportOverwrittenChangesAsMissed() {
+        OrderChangeFeed feed = new OrderChangeFeed(objectMapper, 4);
+        long start = feed.latestSequence();
+        for (long id = 1; id <= 6; id++) {
+            feed.publish(ChangeType.CREATED, order(id));
+        }
+
+        // Quedan las 4 últimas (start+3 .. start+6): leer desde start+2 todavía se puede, desde start+1 no
+        assertThat(feed.readAfter(start + 2, 10).changes()).hasSize(4);
+        assertThat(feed.readAfter(start + 1, 10).missed()).isTrue();
+        // Un número que esta instancia nunca entregó (p. ej. de antes de un reinicio) también se pierde
+        assertThat(feed.readAfter(start + 100, 10).missed()).isTrue();
+    }
+
+    @Test
+    public void whenWaitingForChanges_shouldWakeUpOnPublish() throws Exception {
+        OrderChangeFeed feed = new OrderChangeFeed(objectMapper, 4);
+        long start = feed.latestSequence();
+
+        assertThat(feed.awaitAfter(start, Duration.ofMillis(20))).isFalse();
+        Thread.ofVirtual().start(() -> feed.publish(ChangeType.CREATED, order(1)));
+        assertThat(feed.awaitAfter(start, Duration.ofSeconds(5))).isTrue();
+    }
+}
@@ -0,0 +1,39 @@
+package com.meli.ordermanagement.changes;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.meli.ordermanagement.exception.TooManySubscribersException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class OrderChangeStreamsTest {
+
+    private final OrderChangeStreams streams = new OrderChangeStreams(
+            new OrderChangeFeed(Jackson2ObjectMapperBuilder.json().build(), 8), new SimpleMeterRegistry(),
+            1, Duration.ofSeconds(15), Duration.ofMinutes(1));
+
+    @Test
+    public void subscribersRefusedBeforeStart_doNotRaiseTheLimit() {
+        // Clientes que llegan antes de que arranque (o durante el apagado)
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> streams.subscribe(null, false)).isInstanceOf(TooManySubscribersException.class);
+        }
+        assertThat(streams.getSubscriberCount()).isZero();
+
+        streams.start();
+        try {
+            // El límite sigue siendo uno
+            streams.subscribe(null, false);
+            assertThat(streams.getSubscriberCount()).isEqualTo(1);
+            assertThatThrownBy(() -> streams.subscribe(null, true)).isInstanceOf(TooManySubscribersException.class);
+            assertThat(streams.getSubscriberCount()).isEqualTo(1);
+        } finally {
+            streams.stop();
+        }
+    }
+}
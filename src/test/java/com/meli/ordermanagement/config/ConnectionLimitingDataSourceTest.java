@@ -0,0 +1,91 @@
+package com.meli.ordermanagement.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConnectionLimitingDataSourceTest {
+
+    @Test
+    public void whenConnectionIsClosedTwice_shouldReleaseThePermitOnce() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        Connection real = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(real);
+        ConnectionLimitingDataSource limiter = new ConnectionLimitingDataSource(pool, 1, 10, Duration.ofMillis(50));
+
+        Connection connection = limiter.getConnection();
+        assertThat(limiter.getAvailablePermits()).isZero();
+
+        connection.close();
+        connection.close();
+
+        verify(real, times(2)).close();
+        assertThat(limiter.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    public void whenAllPermitsAreTaken_shouldTimeOutWithTransientException() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionLimitingDataSource limiter = new ConnectionLimitingDataSource(pool, 1, 10, Duration.ofMillis(50));
+
+        Connection held = limiter.getConnection();
+
+        assertThatThrownBy(limiter::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        // Al devolver la conexión, el siguiente pedido vuelve a funcionar
+        held.close();
+        limiter.getConnection().close();
+    }
+
+    @Test
+    public void whenWaitingLineIsFull_shouldRejectImmediately() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionLimitingDataSource limiter = new ConnectionLimitingDataSource(pool, 1, 1, Duration.ofSeconds(5));
+
+        Connection held = limiter.getConnection();
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.getConnection();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limiter.getWaitingCount() < 1 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+
+        long start = System.nanoTime();
+        assertThatThrownBy(limiter::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+
+        held.close();
+        waiting.get(5, TimeUnit.SECONDS).close();
+        assertThat(limiter.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    public void whenPoolFails_shouldGiveThePermitBack() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenThrow(new SQLException("boom"));
+        ConnectionLimitingDataSource limiter = new ConnectionLimitingDataSource(pool, 1, 10, Duration.ofMillis(50));
+
+        assertThatThrownBy(limiter::getConnection).hasMessage("boom");
+        assertThat(limiter.getAvailablePermits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,56 @@
+package com.meli.ordermanagement.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Control de admisión activo con un límite muy bajo para "user": 2 peticiones y después una cada 10 segundos.
+@SpringBootTest(properties = {
+        "orders.admission.enabled=true",
+        "orders.admission.rate-limit.user.permits-per-second=0.1",
+        "orders.admission.rate-limit.user.burst=2"
+})
+@AutoConfigureMockMvc
+public class AdmissionControlTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void whenUserExceedsTheRateLimit_thenStatus429WithRetryAfter() throws Exception {
+        mockMvc.perform(get("/api/orders/stats").with(httpBasic("user", "user123"))).andExpect(status().isOk());
+        mockMvc.perform(get("/api/orders/stats").with(httpBasic("user", "user123"))).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/orders/stats").with(httpBasic("user", "user123")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "10"))
+                .andExpect(jsonPath("$.error").value("Too Many Requests"))
+                .andExpect(jsonPath("$.validationErrors.rate").exists())
+                .andExpect(jsonPath("$.path").value("uri=/api/orders/stats"));
+        assertThat(meterRegistry.get("orders.admission.rejected").tag("reason", "rate_limit").counter().count()).isEqualTo(1);
+
+        // El límite es por usuario: admin sigue entrando
+        mockMvc.perform(get("/api/orders/stats").with(httpBasic("admin", "admin123"))).andExpect(status().isOk());
+
+        // Sin credenciales la respuesta sigue siendo 401, no 429
+        mockMvc.perform(get("/api/orders/stats")).andExpect(status().isUnauthorized());
+
+        // Todas las peticiones admitidas ya salieron
+        assertThat(meterRegistry.get("orders.admission.in_flight").gauge().value()).isZero();
+        assertThat(meterRegistry.get("orders.admission.limit").gauge().value()).isEqualTo(20);
+    }
+}
@@ -0,0 +1,167 @@
+package com.meli.ordermanagement.controller;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.meli.ordermanagement.archive.OrderArchive;
+import com.meli.ordermanagement.archive.OrderArchiver;
+import com.meli.ordermanagement.dto.CreateOrderRequestDTO;
+import com.meli.ordermanagement.dto.OrderPageDTO;
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.dto.OrderStatsDTO;
+import com.meli.ordermanagement.dto.UpdateOrderRequestDTO;
+import com.meli.ordermanagement.model.OrderStatus;
+import com.meli.ordermanagement.model.OrderStatusConverter;
+import com.meli.ordermanagement.repository.OrderSearchCriteria;
+import com.meli.ordermanagement.service.OrderService;
+import com.meli.ordermanagement.stats.OrderStatsReconciler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Archivo de órdenes viejas: se "envejecen" órdenes directo en la tabla y se corre el OrderArchiver a mano.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive-test",
+        "orders.cache.enabled=false",
+        "orders.archive.enabled=true",
+        "orders.archive.min-age=30d",
+        "orders.archive.batch-size=2",
+        "orders.archive.pause-between-batches=0ms"
+})
+public class ArchivedOrdersTest {
+
+    private static final OrderStatusConverter STATUS_CONVERTER = new OrderStatusConverter();
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderArchiver orderArchiver;
+
+    @Autowired
+    private OrderArchive orderArchive;
+
+    @Autowired
+    private OrderStatsReconciler orderStatsReconciler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void movesOnlyOldFinishedOrders_andReadsFallThroughToTheArchive() {
+        LocalDateTime old = LocalDateTime.now().minusDays(60).truncatedTo(ChronoUnit.MICROS);
+        List<Long> archivable = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            archivable.add(createOrder("Old Customer", old.plusMinutes(i), i % 2 == 0 ? OrderStatus.DELIVERED : OrderStatus.CANCELLED));
+        }
+        // Vieja pero sin terminar, y terminada pero reciente: se quedan en "orders"
+        long oldOpen = createOrder("Old Customer", old, OrderStatus.SHIPPED);
+        long recentDone = createOrder("Recent Customer", LocalDateTime.now(), OrderStatus.DELIVERED);
+        orderStatsReconciler.reconcile();
+        OrderStatsDTO before = orderService.getStatistics(old.toLocalDate(), LocalDate.now());
+        double moved = counter("orders.archive.moved", null);
+        double hits = counter("orders.archive.lookups", "hit");
+        double misses = counter("orders.archive.lookups", "miss");
+
+        // Con lotes de 2 son 3 transacciones
+        assertThat(orderArchiver.archive()).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders_archive WHERE id IN (?, ?, ?, ?, ?)", Long.class,
+                archivable.toArray())).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE id IN (?, ?, ?, ?, ?)", Long.class,
+                archivable.toArray())).isZero();
+        assertThat(orderArchiver.archive()).isZero();
+
+        // Lecturas por id: primero "orders", después el archivo
+        OrderResponseDTO archived = orderService.getOrderById(archivable.get(0)).orElseThrow();
+        assertThat(archived.getStatus()).isEqualTo(OrderStatus.DELIVERED);
+        assertThat(archived.getOrderDate()).isEqualTo(old);
+        assertThat(orderService.getOrderVersion(archivable.get(1))).contains(0L);
+        assertThat(orderService.getOrdersByIds(List.of(recentDone, archivable.get(2), oldOpen, 999_999L)))
+                .extracting(OrderResponseDTO::getId).containsExactly(recentDone, archivable.get(2), oldOpen);
+        assertThat(orderService.getOrderById(999_999L)).isEmpty();
+
+        // Las órdenes archivadas son de solo lectura
+        UpdateOrderRequestDTO update = new UpdateOrderRequestDTO();
+        update.setCustomerName("Old Customer");
+        update.setStatus(OrderStatus.PENDING);
+        update.setTotalAmount(BigDecimal.ONE);
+        assertThat(orderService.updateOrder(archivable.get(0), update)).isEmpty();
+        assertThat(orderService.deleteOrder(archivable.get(0))).isFalse();
+
+        // Moverlas no cambia las estadísticas
+        orderStatsReconciler.reconcile();
+        OrderStatsDTO after = orderService.getStatistics(old.toLocalDate(), LocalDate.now());
+        assertThat(after.getTotal()).usingRecursiveComparison().isEqualTo(before.getTotal());
+        assertThat(after.getByStatus()).usingRecursiveComparison().isEqualTo(before.getByStatus());
+
+        assertThat(counter("orders.archive.moved", null) - moved).isEqualTo(5);
+        assertThat(counter("orders.archive.lookups", "hit") - hits).isEqualTo(3);
+        assertThat(counter("orders.archive.lookups", "miss") - misses).isEqualTo(2);
+    }
+
+    @Test
+    public void searchesReadTheArchiveOnlyWhenTheirRangeReachesIt() {
+        LocalDateTime old = LocalDateTime.now().minusDays(45).truncatedTo(ChronoUnit.MICROS);
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            expected.add(createOrder("Paged Customer", old.plusMinutes(i), OrderStatus.DELIVERED));
+        }
+        expected.add(createOrder("Paged Customer", old.plusMinutes(10), OrderStatus.SHIPPED));
+        expected.add(createOrder("Paged Customer", LocalDateTime.now(), OrderStatus.PENDING));
+        orderArchiver.archive();
+
+        // Paginando de a 2 se cruzan el archivo y "orders" sin saltear ni repetir órdenes
+        OrderSearchCriteria byCustomer = new OrderSearchCriteria(null, "Paged Customer", null, null);
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            OrderPageDTO page = orderService.searchOrders(byCustomer, cursor, 2);
+            page.getItems().forEach(order -> seen.add(order.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertThat(seen).isEqualTo(expected);
+
+        List<Long> streamed = new ArrayList<>();
+        orderService.streamAllOrders(order -> {
+            if (order.getCustomerName().equals("Paged Customer")) {
+                streamed.add(order.getId());
+            }
+        });
+        assertThat(streamed).isEqualTo(expected);
+        assertThat(orderService.getAllOrders()).extracting(OrderResponseDTO::getId).containsAll(expected);
+
+        // Rangos recientes o estados abiertos no pueden estar en el archivo
+        assertThat(orderArchive.mayHold(new OrderSearchCriteria(null, null, LocalDateTime.now().minusDays(7), null), null)).isFalse();
+        assertThat(orderArchive.mayHold(new OrderSearchCriteria(OrderStatus.PENDING, null, null, null), null)).isFalse();
+        assertThat(orderArchive.mayHold(OrderSearchCriteria.none(), LocalDateTime.now().minusDays(1))).isFalse();
+        assertThat(orderArchive.mayHold(OrderSearchCriteria.none(), null)).isTrue();
+    }
+
+    private double counter(String name, String result) {
+        return (result == null ? meterRegistry.get(name) : meterRegistry.get(name).tag("result", result)).functionCounter().count();
+    }
+
+    // Crea la orden por el servicio y después le cambia fecha y estado directo en la tabla
+    private long createOrder(String customer, LocalDateTime orderDate, OrderStatus status) {
+        CreateOrderRequestDTO request = new CreateOrderRequestDTO();
+        request.setCustomerName(customer);
+        request.setTotalAmount(new BigDecimal("10.00"));
+        long id = orderService.createOrder(request).getId();
+        jdbcTemplate.update("UPDATE orders SET order_date = ?, status = ? WHERE id = ?",
+                orderDate, STATUS_CONVERTER.convertToDatabaseColumn(status), id);
+        return id;
+    }
+}
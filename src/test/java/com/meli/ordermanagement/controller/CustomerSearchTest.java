@@ -0,0 +1,122 @@
+package com.meli.ordermanagement.controller;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.ordermanagement.dto.CreateOrderRequestDTO;
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.dto.UpdateOrderRequestDTO;
+import com.meli.ordermanagement.model.OrderStatus;
+import com.meli.ordermanagement.search.CustomerSearch;
+import com.meli.ordermanagement.service.OrderService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Búsqueda por parte del nombre del cliente. Sin @Transactional: el índice se actualiza recién al hacer commit.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:customer-search-test")
+@AutoConfigureMockMvc
+@WithMockUser
+public class CustomerSearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerSearch customerSearch;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void whenSearchingPartOfACustomerName_thenRankedPagesOfTheirOrders() throws Exception {
+        long first = createOrder("Lucía Fernández");
+        long second = createOrder("Lucia Fernandez");
+        long other = createOrder("Fernando Ruiz");
+        createOrder("Someone Else");
+
+        // El mismo nombre normalizado: primero la orden más nueva; después "Fernando" (empieza con "fern")
+        MvcResult page = mockMvc.perform(get("/api/orders/search").param("q", "FERN").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(ids(page)).containsExactly(other, second);
+        String cursor = page.getResponse().getHeader(OrderController.NEXT_CURSOR_HEADER);
+        assertThat(cursor).isNotNull();
+
+        MvcResult next = mockMvc.perform(get("/api/orders/search").param("q", "FERN").param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(ids(next)).containsExactly(first);
+        assertThat(next.getResponse().getHeader(OrderController.NEXT_CURSOR_HEADER)).isNull();
+
+        mockMvc.perform(get("/api/orders/search").param("q", "fern").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void whenOrdersChange_thenTheSearchFollows() throws Exception {
+        long id = createOrder("Renamed Before");
+        UpdateOrderRequestDTO update = new UpdateOrderRequestDTO();
+        update.setCustomerName("Renamed After");
+        update.setStatus(OrderStatus.SHIPPED);
+        update.setTotalAmount(BigDecimal.TEN);
+        orderService.updateOrder(id, update);
+
+        assertThat(search("renamed before")).isEmpty();
+        assertThat(search("renamed after")).containsExactly(id);
+
+        orderService.deleteOrder(id);
+        assertThat(search("renamed after")).isEmpty();
+    }
+
+    @Test
+    public void whenOrdersWereWrittenElsewhere_thenTheStartupLoadFindsThem() throws Exception {
+        long id = createOrder("Loaded Customer");
+        // Como si la orden la hubiera escrito otro nodo: el índice de este no la conoce
+        jdbcTemplate.update("UPDATE orders SET customer_name = ? WHERE id = ?", "Written Elsewhere", id);
+        assertThat(search("elsewhere")).isEmpty();
+        // Y una búsqueda por el nombre viejo no devuelve una orden que ya no coincide
+        assertThat(search("loaded customer")).isEmpty();
+
+        customerSearch.loadOnStartup();
+        assertThat(search("elsewhere")).containsExactly(id);
+    }
+
+    private long createOrder(String customer) {
+        CreateOrderRequestDTO request = new CreateOrderRequestDTO();
+        request.setCustomerName(customer);
+        request.setTotalAmount(new BigDecimal("10.00"));
+        return orderService.createOrder(request).getId();
+    }
+
+    private List<Long> search(String query) throws Exception {
+        return ids(mockMvc.perform(get("/api/orders/search").param("q", query)).andExpect(status().isOk()).andReturn());
+    }
+
+    private List<Long> ids(MvcResult result) throws Exception {
+        List<OrderResponseDTO> orders = objectMapper.readValue(result.getResponse().getContentAsString(),
+                new TypeReference<List<OrderResponseDTO>>() { });
+        List<Long> ids = new ArrayList<>();
+        orders.forEach(order -> ids.add(order.getId()));
+        return ids;
+    }
+}
@@ -0,0 +1,93 @@
+package com.meli.ordermanagement.controller;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.repository.LogOrderRepository;
+import com.meli.ordermanagement.repository.ReactiveOrderRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Perfil "edge": la API reactiva sin ninguna base de datos, con las órdenes en el log embebido (OrderLog).
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("edge")
+public class EdgeOrderControllerTest {
+
+    @DynamicPropertySource
+    static void logDirectory(DynamicPropertyRegistry registry) throws IOException {
+        String directory = Files.createTempDirectory("edge-orders").toString();
+        registry.add("orders.storage.log.dir", () -> directory);
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ApplicationContext context;
+
+    private WebTestClient client() {
+        return webTestClient.mutate().defaultHeaders(headers -> headers.setBasicAuth("user", "user123")).build();
+    }
+
+    @Test
+    public void runsWithoutADatabase() {
+        assertThat(context.getBeanNamesForType(DataSource.class)).isEmpty();
+        assertThat(context.getBean(ReactiveOrderRepository.class)).isInstanceOf(LogOrderRepository.class);
+    }
+
+    @Test
+    public void whenOrderLifecycle_thenSameContractAsTheDatabase() {
+        OrderResponseDTO created = client().post().uri("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"customerName\":\"Edge Customer\",\"totalAmount\":12.50}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody(OrderResponseDTO.class).returnResult().getResponseBody();
+
+        // Actualizar con If-Match viejo: 412; con el vigente: 200 y nueva versión
+        String update = "{\"customerName\":\"Edge Customer\",\"status\":\"Shipped\",\"totalAmount\":12.50}";
+        client().put().uri("/api/orders/{id}", created.getId())
+                .header(HttpHeaders.IF_MATCH, "\"7\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(update)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        client().put().uri("/api/orders/{id}", created.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(update)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"");
+        client().get().uri("/api/orders/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.status").isEqualTo("Shipped").jsonPath("$.totalAmount").isEqualTo(12.5);
+
+        List<OrderResponseDTO> orders = client().get().uri("/api/orders")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(OrderResponseDTO.class).getResponseBody().collectList().block();
+        assertThat(orders).extracting(OrderResponseDTO::getId).contains(created.getId());
+
+        client().delete().uri("/api/orders/{id}", created.getId()).exchange().expectStatus().isNoContent();
+        client().get().uri("/api/orders/{id}", created.getId()).exchange().expectStatus().isNotFound();
+    }
+}
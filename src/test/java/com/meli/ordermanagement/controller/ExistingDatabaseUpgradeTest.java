@@ -0,0 +1,116 @@
+package com.meli.ordermanagement.controller;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.meli.ordermanagement.dto.CreateOrderRequestDTO;
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.dto.UpdateOrderRequestDTO;
+import com.meli.ordermanagement.model.OrderStatus;
+import com.meli.ordermanagement.repository.OrderSchemaUpgrade;
+import com.meli.ordermanagement.service.OrderService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Una base que ya tenía órdenes antes de que "ddl-auto: update" agregara lo nuevo: se imita con JDBC
+// y se vuelve a correr la puesta al día del arranque.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:existing-database-upgrade-test")
+public class ExistingDatabaseUpgradeTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderSchemaUpgrade orderSchemaUpgrade;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    public void whenTheIdSequenceIsNewButOrdersExist_thenNewOrdersGetIdsAboveThem() {
+        // Órdenes numeradas por la vieja columna IDENTITY, y orders_seq recién creada (empieza en 1)
+        insertOrder(1000);
+        insertOrder(1001);
+        jdbcTemplate.execute("ALTER SEQUENCE orders_seq RESTART WITH 1");
+
+        orderSchemaUpgrade.upgrade();
+
+        long highest = jdbcTemplate.queryForObject("SELECT MAX(id) FROM orders", Long.class);
+        CreateOrderRequestDTO request = new CreateOrderRequestDTO();
+        request.setCustomerName("After Upgrade");
+        request.setTotalAmount(BigDecimal.TEN);
+        assertThat(orderService.createOrder(request).getId()).isGreaterThan(highest);
+
+        // Correrla de nuevo no cambia nada: la secuencia ya está por encima
+        long before = jdbcTemplate.queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES "
+                + "WHERE SEQUENCE_NAME = 'ORDERS_SEQ'", Long.class);
+        orderSchemaUpgrade.upgrade();
+        long after = jdbcTemplate.queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES "
+                + "WHERE SEQUENCE_NAME = 'ORDERS_SEQ'", Long.class);
+        assertThat(after - before).isLessThanOrEqualTo(50);
+    }
+
+    @Test
+    public void whenOldOrdersHaveNoVersion_thenTheyGetVersionZero() {
+        // Como quedó la columna cuando Hibernate la agregó a una tabla con filas: sin valor
+        jdbcTemplate.execute("ALTER TABLE orders ALTER COLUMN version SET NULL");
+        jdbcTemplate.execute("ALTER TABLE orders ALTER COLUMN version DROP DEFAULT");
+        jdbcTemplate.update("INSERT INTO orders (id, customer_name, order_date, status, total_amount) "
+                + "VALUES (2000, 'Unversioned Customer', CURRENT_TIMESTAMP, 1, 10.00)");
+        // Aun así tiene ETag: la que no tiene versión cuenta como 0
+        assertThat(orderService.getOrderVersion(2000L)).contains(0L);
+
+        orderSchemaUpgrade.upgrade();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM orders WHERE id = 2000", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT IS_NULLABLE FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_NAME = 'ORDERS' AND COLUMN_NAME = 'VERSION'", String.class)).isEqualTo("NO");
+        UpdateOrderRequestDTO update = new UpdateOrderRequestDTO();
+        update.setCustomerName("Versioned Customer");
+        update.setStatus(OrderStatus.SHIPPED);
+        update.setTotalAmount(BigDecimal.TEN);
+        assertThat(orderService.updateOrder(2000L, update, Set.of(0L))).get()
+                .extracting(OrderResponseDTO::getVersion).isEqualTo(1L);
+    }
+
+    @Test
+    public void whenStatusesAreStillText_thenTheyBecomeCodes() {
+        // La columna como la dejó la versión anterior: texto con las etiquetas
+        jdbcTemplate.execute("ALTER TABLE orders ALTER COLUMN status SET DATA TYPE VARCHAR(255)");
+        jdbcTemplate.update("INSERT INTO orders (id, customer_name, order_date, status, total_amount, version) VALUES "
+                + "(3000, 'Text Status', CURRENT_TIMESTAMP, 'Pending', 10.00, 0), "
+                + "(3001, 'Text Status', CURRENT_TIMESTAMP, 'Shipped', 10.00, 0), "
+                + "(3002, 'Text Status', CURRENT_TIMESTAMP, 'DELIVERED', 10.00, 0), "
+                + "(3003, 'Text Status', CURRENT_TIMESTAMP, 'Lost', 10.00, 0)");
+
+        // Un valor que no es un estado frena todo, sin tocar nada
+        assertThatThrownBy(() -> orderSchemaUpgrade.upgrade()).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Lost");
+        assertThat(statusType()).isEqualTo("CHARACTER VARYING");
+
+        jdbcTemplate.update("UPDATE orders SET status = 'Cancelled' WHERE id = 3003");
+        orderSchemaUpgrade.upgrade();
+
+        assertThat(statusType()).isEqualTo("SMALLINT");
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM orders WHERE id BETWEEN 3000 AND 3003 ORDER BY id",
+                Short.class)).containsExactly((short) 1, (short) 3, (short) 4, (short) 5);
+        assertThat(orderService.getOrderById(3001L)).get()
+                .extracting(OrderResponseDTO::getStatus).isEqualTo(OrderStatus.SHIPPED);
+    }
+
+    private String statusType() {
+        return jdbcTemplate.queryForObject("SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_NAME = 'ORDERS' AND COLUMN_NAME = 'STATUS'", String.class);
+    }
+
+    private void insertOrder(long id) {
+        jdbcTemplate.update("INSERT INTO orders (id, customer_name, order_date, status, total_amount, version) "
+                + "VALUES (?, 'Existing Customer', CURRENT_TIMESTAMP, 1, 10.00, 0)", id);
+    }
+}
@@ -0,0 +1,51 @@
+package com.meli.ordermanagement.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Perfil fast-startup: inicialización diferida, repositorios "deferred" y Hibernate sin leer metadatos JDBC.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:fast-startup-test")
+@ActiveProfiles({"dev", "fast-startup"})
+@AutoConfigureMockMvc
+public class FastStartupProfileTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Test
+    public void whenFastStartupProfileIsActive_thenOwnBeansAreEagerAndTheApiWorks() throws Exception {
+        // Los beans propios (tareas programadas, listeners) se crean al arrancar; los de Spring Boot esperan a que se usen
+        assertThat(beanFactory.containsSingleton("orderStatsReconciler")).isTrue();
+        assertThat(beanFactory.containsSingleton("basicErrorController")).isFalse();
+        // Hibernate arranca en segundo plano: solo pasa si el modo "deferred" quedó activo
+        assertThat(beanFactory.getBean("&entityManagerFactory", LocalContainerEntityManagerFactoryBean.class)
+                .getBootstrapExecutor()).isNotNull();
+
+        mockMvc.perform(post("/api/orders")
+                        .with(httpBasic("user", "user123"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"Fast Start\",\"totalAmount\":42.50}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/orders").with(httpBasic("user", "user123")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.customerName == 'Fast Start')]").exists());
+    }
+}
@@ -0,0 +1,116 @@
+package com.meli.ordermanagement.controller;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Servidor real: los eventos llegan por una conexión abierta, después de cada commit.
+// Heartbeat corto para que las conexiones cerradas por el test se liberen pronto.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.datasource.url=jdbc:h2:mem:changes-test", "orders.changes.heartbeat=1s"})
+public class OrderChangesControllerTest {
+
+    private static final String AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("user:user123".getBytes(StandardCharsets.UTF_8));
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void whenOrdersChange_thenSubscribersReceiveEventsAndCanResume() throws Exception {
+        try (BufferedReader sse = open("text/event-stream", null)) {
+            long id = createOrder("Feed Customer");
+            send(HttpRequest.newBuilder(uri("/api/orders/" + id)).header("Authorization", AUTHORIZATION)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString("{\"customerName\":\"Feed Customer\",\"status\":\"Shipped\",\"totalAmount\":20.00}")));
+
+            List<String> created = readEvent(sse);
+            assertThat(created.get(1)).isEqualTo("event: created");
+            JsonNode createdJson = objectMapper.readTree(created.get(2).substring("data: ".length()));
+            assertThat(createdJson.get("orderId").asLong()).isEqualTo(id);
+            List<String> updated = readEvent(sse);
+            assertThat(updated.get(1)).isEqualTo("event: updated");
+            assertThat(updated.get(2)).contains("\"status\":\"Shipped\"");
+            long createdSequence = Long.parseLong(created.get(0).substring("id: ".length()));
+
+            // Al reconectar con Last-Event-ID se recibe lo que faltaba, ahora como NDJSON
+            try (BufferedReader ndjson = open("application/x-ndjson", createdSequence)) {
+                JsonNode missed = objectMapper.readTree(ndjson.readLine());
+                assertThat(missed.get("sequence").asLong()).isEqualTo(createdSequence + 1);
+                assertThat(missed.get("type").asText()).isEqualTo("UPDATED");
+            }
+        }
+    }
+
+    @Test
+    public void whenResumingFromAnUnknownSequence_thenResetIsSent() throws Exception {
+        try (BufferedReader sse = open("text/event-stream", 1L)) {
+            List<String> reset = readEvent(sse);
+            assertThat(reset.get(1)).isEqualTo("event: reset");
+        }
+    }
+
+    private BufferedReader open(String accept, Long lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri("/api/orders/changes"))
+                .header("Authorization", AUTHORIZATION)
+                .header("Accept", accept);
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", String.valueOf(lastEventId));
+        }
+        HttpResponse<InputStream> response = client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type").orElse("")).startsWith(accept);
+        return new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8));
+    }
+
+    // Lee las líneas de un evento SSE (id, event, data) hasta la línea en blanco.
+    private static List<String> readEvent(BufferedReader sse) throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (String line = sse.readLine(); line != null; line = sse.readLine()) {
+            if (line.isEmpty()) {
+                if (!lines.isEmpty()) {
+                    return lines;
+                }
+            } else if (!line.startsWith(":")) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    private long createOrder(String customerName) throws Exception {
+        HttpResponse<String> created = send(HttpRequest.newBuilder(uri("/api/orders"))
+                .header("Authorization", AUTHORIZATION)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"customerName\":\"" + customerName + "\",\"totalAmount\":20.00}")));
+        assertThat(created.statusCode()).isEqualTo(201);
+        return objectMapper.readTree(created.body()).get("id").asLong();
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
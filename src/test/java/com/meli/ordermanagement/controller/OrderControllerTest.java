@@ -1,33 +1,51 @@
 package com.meli.ordermanagement.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.meli.ordermanagement.dto.OrderResponseDTO;
 import com.meli.ordermanagement.model.Order;
+import com.meli.ordermanagement.model.OrderStatus;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest // 1. Levanta una aplicación de Spring Boot completa para la prueba
 @AutoConfigureMockMvc // 2. Nos da una herramienta para simular peticiones web
 @Transactional // 3. Asegura que la base de datos se limpie después de cada prueba
+@WithMockUser // 4. Simula un usuario autenticado, porque la API está protegida
 public class OrderControllerTest {
 
     @Autowired
-    private MockMvc mockMvc; // 4. El "Postman" para nuestras pruebas
+    private MockMvc mockMvc; // 5. El "Postman" para nuestras pruebas
 
     @Autowired
     private ObjectMapper objectMapper; // Una herramienta para convertir objetos Java a JSON
 
+    @Autowired
+    private MeterRegistry meterRegistry; // Donde quedan las métricas (tiempos y contadores)
+
     @Test
     public void whenCreateOrder_thenStatus201AndOrderReturned() throws Exception {
         // Arrange: Preparamos el escenario
@@ -62,4 +80,287 @@ public class OrderControllerTest {
                 .andExpect(jsonPath("$").isArray()) // Verificamos que la respuesta sea una lista
                 .andExpect(jsonPath("$[0].customerName").value("Another Customer"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenGetAllOrdersWithLimit_thenPagesAreLinkedByCursor() throws Exception {
+        // Arrange: creamos tres órdenes
+        for (String name : new String[] {"Page Customer 1", "Page Customer 2", "Page Customer 3"}) {
+            Order order = new Order();
+            order.setCustomerName(name);
+            order.setTotalAmount(new BigDecimal("10.00"));
+            mockMvc.perform(post("/api/orders")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(order)));
+        }
+
+        // Act & Assert: la primera página trae dos órdenes y un cursor
+        MvcResult firstPage = mockMvc.perform(get("/api/orders").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].customerName").value("Page Customer 1"))
+                .andExpect(header().exists(OrderController.NEXT_CURSOR_HEADER))
+                .andReturn();
+        String cursor = firstPage.getResponse().getHeader(OrderController.NEXT_CURSOR_HEADER);
+
+        // La segunda página continúa donde terminó la primera y ya no tiene cursor
+        mockMvc.perform(get("/api/orders").param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].customerName").value("Page Customer 3"))
+                .andExpect(header().doesNotExist(OrderController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    public void whenGetOrdersByIds_thenFoundOrdersComeInRequestOrder() throws Exception {
+        // Arrange: dos órdenes, y un ID que no existe
+        long first = createOrder("Multi-get A");
+        long second = createOrder("Multi-get B");
+
+        // Act & Assert: se piden al revés; la que no existe simplemente no aparece
+        mockMvc.perform(get("/api/orders").param("ids", second + ",999999," + first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].customerName").value("Multi-get B"))
+                .andExpect(jsonPath("$[1].customerName").value("Multi-get A"));
+    }
+
+    @Test
+    public void whenGetTooManyOrdersByIds_thenStatus400() throws Exception {
+        String ids = String.join(",", LongStream.rangeClosed(1, 501).mapToObj(Long::toString).toList());
+
+        mockMvc.perform(get("/api/orders").param("ids", ids))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void whenGetAllOrdersWithBadCursor_thenStatus400() throws Exception {
+        mockMvc.perform(get("/api/orders").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors.cursor").exists());
+    }
+
+    @Test
+    public void whenCreateOrdersInBatch_thenEachItemGetsItsOwnResult() throws Exception {
+        // Arrange: una orden válida y otra sin nombre de cliente
+        String body = "[{\"customerName\":\"Batch Customer\",\"totalAmount\":10.50},"
+                + "{\"customerName\":\"\",\"totalAmount\":5.00}]";
+
+        // Act & Assert
+        mockMvc.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].order.id").exists())
+                .andExpect(jsonPath("$.results[0].order.status").value("Pending"))
+                .andExpect(jsonPath("$.results[1].outcome").value("REJECTED"))
+                .andExpect(jsonPath("$.results[1].validationErrors.customerName").exists());
+    }
+
+    @Test
+    public void whenOrderIsUpdatedAfterBeingRead_thenNextReadSeesTheChange() throws Exception {
+        // Arrange: creamos una orden y la leemos una vez (queda en la caché)
+        Order order = new Order();
+        order.setCustomerName("Cached Customer");
+        order.setTotalAmount(new BigDecimal("50.00"));
+        MvcResult created = mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(order)))
+                .andReturn();
+        Long id = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+        mockMvc.perform(get("/api/orders/{id}", id))
+                .andExpect(jsonPath("$.status").value("Pending"));
+
+        // Act: la actualizamos
+        String update = "{\"customerName\":\"Cached Customer\",\"status\":\"Shipped\",\"totalAmount\":50.00}";
+        mockMvc.perform(put("/api/orders/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(update))
+                .andExpect(status().isOk());
+
+        // Assert: la siguiente lectura no devuelve la copia vieja
+        mockMvc.perform(get("/api/orders/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("Shipped"));
+    }
+
+    @Test
+    public void whenGetWithCurrentETag_thenStatus304WithoutBody() throws Exception {
+        Long id = createOrder("ETag Customer");
+
+        MvcResult first = mockMvc.perform(get("/api/orders/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andReturn();
+
+        mockMvc.perform(get("/api/orders/{id}", id).header("If-None-Match", first.getResponse().getHeader("ETag")))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(result -> assertThat(result.getResponse().getContentLength()).isZero());
+    }
+
+    @Test
+    public void whenPutWithStaleIfMatch_thenStatus412AndOrderIsUnchanged() throws Exception {
+        Long id = createOrder("If-Match Customer");
+        String update = "{\"customerName\":\"If-Match Customer\",\"status\":\"Shipped\",\"totalAmount\":20.00}";
+
+        // Con la versión correcta, la actualización pasa y el ETag avanza
+        mockMvc.perform(put("/api/orders/{id}", id).header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(update))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+
+        // Con la versión vieja, se rechaza
+        mockMvc.perform(put("/api/orders/{id}", id).header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(update.replace("Shipped", "Cancelled")))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string("ETag", "\"1\""));
+
+        mockMvc.perform(get("/api/orders/{id}", id))
+                .andExpect(jsonPath("$.status").value("Shipped"));
+    }
+
+    @Test
+    public void whenSearchingByStatusAndCustomer_thenOnlyMatchingOrdersReturned() throws Exception {
+        Long shippedId = createOrder("Search Customer");
+        createOrder("Search Customer");
+        createOrder("Other Customer");
+        String update = "{\"customerName\":\"Search Customer\",\"status\":\"Shipped\",\"totalAmount\":20.00}";
+        mockMvc.perform(put("/api/orders/{id}", shippedId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(update))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/orders").param("status", "Shipped").param("customer", "Search Customer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(shippedId))
+                .andExpect(jsonPath("$[0].status").value("Shipped"));
+
+        mockMvc.perform(get("/api/orders").param("customer", "Search Customer").param("status", "pending"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    public void whenSearchingWithUnknownStatus_thenStatus400() throws Exception {
+        mockMvc.perform(get("/api/orders").param("status", "Lost"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors.status").exists());
+    }
+
+    @Test
+    public void whenGetStats_thenTotalsPerStatusAreReturned() throws Exception {
+        mockMvc.perform(get("/api/orders/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total.orders").isNumber())
+                .andExpect(jsonPath("$.byStatus.Pending.orders").isNumber())
+                .andExpect(jsonPath("$.byDay").isArray());
+    }
+
+    @Test
+    public void whenRequestsAreHandled_thenServiceJsonAndValidationMetricsAreRecorded() throws Exception {
+        double blankNamesBefore = meterRegistry.counter("orders.validation.failures", "field", "customerName").count();
+
+        Long id = createOrder("Metrics Customer");
+        mockMvc.perform(get("/api/orders/" + id)).andExpect(status().isOk());
+        mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"\",\"totalAmount\":10.00}"))
+                .andExpect(status().isBadRequest());
+
+        assertThat(meterRegistry.get("orders.service").tag("method", "getOrderById").timer().count()).isPositive();
+        assertThat(meterRegistry.get("orders.json").tag("operation", "write").tag("type", "OrderResponseDTO").timer().count())
+                .isPositive();
+        assertThat(meterRegistry.counter("orders.validation.failures", "field", "customerName").count())
+                .isEqualTo(blankNamesBefore + 1);
+    }
+
+    @Test
+    public void whenCreateOrderIsRetriedWithSameIdempotencyKey_thenFirstAnswerIsReplayed() throws Exception {
+        String body = "{\"customerName\":\"Retry Customer\",\"totalAmount\":15.00}";
+
+        MvcResult first = mockMvc.perform(post("/api/orders")
+                        .header("Idempotency-Key", "retry-key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn();
+        long id = objectMapper.readTree(first.getResponse().getContentAsString()).get("id").asLong();
+
+        // El reintento devuelve la misma orden, no una nueva
+        mockMvc.perform(post("/api/orders")
+                        .header("Idempotency-Key", "retry-key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(jsonPath("$.id").value(id));
+
+        // La misma llave con otra orden se rechaza
+        mockMvc.perform(post("/api/orders")
+                        .header("Idempotency-Key", "retry-key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"Other Customer\",\"totalAmount\":15.00}"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.validationErrors['Idempotency-Key']").exists());
+    }
+
+    @Test
+    public void whenClientSpeaksCbor_thenRequestAndResponseAreCbor() throws Exception {
+        CBORMapper cbor = CBORMapper.builder().findAndAddModules().build();
+        byte[] body = cbor.writeValueAsBytes(Map.of("customerName", "Cbor Customer", "totalAmount", new BigDecimal("19.90")));
+
+        // Act: la orden se envía y se recibe en CBOR
+        MvcResult created = mockMvc.perform(post("/api/orders")
+                        .contentType("application/cbor")
+                        .accept("application/cbor")
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Content-Type", "application/cbor"))
+                .andReturn();
+
+        // Assert: mismos campos que en JSON; la fecha llega como números y el monto como decimal binario
+        OrderResponseDTO order = cbor.readValue(created.getResponse().getContentAsByteArray(), OrderResponseDTO.class);
+        assertThat(order.getCustomerName()).isEqualTo("Cbor Customer");
+        assertThat(order.getTotalAmount()).isEqualByComparingTo("19.90");
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(cbor.readTree(created.getResponse().getContentAsByteArray()).get("orderDate").isArray()).isTrue();
+    }
+
+    @Test
+    public void whenClientAcceptsSmile_thenOrderListIsSmileAndJsonStaysTheDefault() throws Exception {
+        createOrder("Smile Customer");
+
+        MvcResult smile = mockMvc.perform(get("/api/orders").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-jackson-smile"))
+                .andReturn();
+        List<OrderResponseDTO> orders = SmileMapper.builder().findAndAddModules().build()
+                .readValue(smile.getResponse().getContentAsByteArray(), new TypeReference<List<OrderResponseDTO>>() { });
+        assertThat(orders).extracting(OrderResponseDTO::getCustomerName).contains("Smile Customer");
+
+        // Sin Accept (o con */*) la respuesta sigue siendo JSON
+        mockMvc.perform(get("/api/orders"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/json"));
+    }
+
+    private Long createOrder(String customerName) throws Exception {
+        Order order = new Order();
+        order.setCustomerName(customerName);
+        order.setTotalAmount(new BigDecimal("20.00"));
+        MvcResult created = mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(order)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+    }
+}
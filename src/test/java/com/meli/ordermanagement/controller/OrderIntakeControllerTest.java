@@ -0,0 +1,78 @@
+package com.meli.ordermanagement.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Sin @Transactional: las órdenes se guardan en otro hilo y con su propio commit.
+// Usa su propia base H2 para no dejar órdenes en la de OrderControllerTest.
+@SpringBootTest(properties = {
+        "orders.write-behind.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:intake-test"
+})
+@AutoConfigureMockMvc
+@WithMockUser
+public class OrderIntakeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void whenCreateOrderWithWriteBehind_thenStatus202AndOrderIsSavedInTheBackground() throws Exception {
+        // Act: la orden se acepta sin esperar a la base de datos
+        MvcResult accepted = mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"Write Behind Customer\",\"totalAmount\":42.00}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").exists())
+                .andExpect(jsonPath("$.status").value("Pending"))
+                .andExpect(jsonPath("$.version").value(0))
+                .andReturn();
+        JsonNode order = objectMapper.readTree(accepted.getResponse().getContentAsString());
+        long id = order.get("id").asLong();
+        assertThat(accepted.getResponse().getHeader("Location")).endsWith("/api/orders/intake/" + id);
+
+        // Assert: en poco tiempo la intake nos manda a la orden ya guardada
+        MvcResult progress = null;
+        for (int i = 0; i < 100; i++) {
+            progress = mockMvc.perform(get("/api/orders/intake/{id}", id)).andReturn();
+            if (progress.getResponse().getStatus() == 303) {
+                break;
+            }
+            assertThat(progress.getResponse().getContentAsString()).contains("QUEUED");
+            Thread.sleep(50);
+        }
+        assertThat(progress.getResponse().getStatus()).isEqualTo(303);
+        assertThat(progress.getResponse().getHeader("Location")).endsWith("/api/orders/" + id);
+        assertThat(progress.getResponse().getContentAsString()).contains("SAVED");
+
+        mockMvc.perform(get("/api/orders/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(jsonPath("$.customerName").value("Write Behind Customer"))
+                .andExpect(jsonPath("$.orderDate").value(order.get("orderDate").asText()));
+    }
+
+    @Test
+    public void whenIntakeStatusOfUnknownOrder_thenStatus404() throws Exception {
+        mockMvc.perform(get("/api/orders/intake/{id}", 999999L))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,106 @@
+package com.meli.ordermanagement.controller;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.model.OrderStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Perfil "reactive": WebFlux + R2DBC sobre su propia base H2 (la misma para JDBC y R2DBC).
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.datasource.url=jdbc:h2:mem:reactive-test",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive-test"
+})
+@ActiveProfiles({"dev", "reactive"})
+public class ReactiveOrderControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private WebTestClient client() {
+        return webTestClient.mutate().defaultHeaders(headers -> headers.setBasicAuth("user", "user123")).build();
+    }
+
+    @Test
+    public void whenOrderLifecycle_thenSameContractAsServletStack() {
+        // Crear: 201 con ETag
+        OrderResponseDTO created = client().post().uri("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"customerName\":\"Reactive Customer\",\"totalAmount\":12.50}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody(OrderResponseDTO.class).returnResult().getResponseBody();
+        assertThat(created.getStatus()).isEqualTo(OrderStatus.PENDING);
+
+        // Leer: con el ETag vigente la respuesta es 304 sin cuerpo
+        client().get().uri("/api/orders/{id}", created.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isNotModified();
+
+        // Actualizar con If-Match viejo: 412; con el vigente: 200 y nueva versión
+        String update = "{\"customerName\":\"Reactive Customer\",\"status\":\"Shipped\",\"totalAmount\":12.50}";
+        client().put().uri("/api/orders/{id}", created.getId())
+                .header(HttpHeaders.IF_MATCH, "\"7\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(update)
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"");
+        client().put().uri("/api/orders/{id}", created.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(update)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody().jsonPath("$.status").isEqualTo("Shipped");
+
+        // Listar como NDJSON (un objeto por línea)
+        List<OrderResponseDTO> orders = client().get().uri("/api/orders")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(OrderResponseDTO.class).getResponseBody().collectList().block();
+        assertThat(orders).extracting(OrderResponseDTO::getId).contains(created.getId());
+
+        // Borrar: 204 y después 404
+        client().delete().uri("/api/orders/{id}", created.getId()).exchange().expectStatus().isNoContent();
+        client().get().uri("/api/orders/{id}", created.getId()).exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    public void whenInvalidInput_thenSameErrorShapeAsServletStack() {
+        client().post().uri("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"customerName\":\"\",\"totalAmount\":-1}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Validation Failed")
+                .jsonPath("$.validationErrors.customerName").isEqualTo("Customer name cannot be empty.")
+                .jsonPath("$.validationErrors.totalAmount").exists()
+                .jsonPath("$.path").isEqualTo("uri=/api/orders");
+
+        client().put().uri("/api/orders/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"customerName\":\"X\",\"status\":\"Lost\",\"totalAmount\":1}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Malformed Request");
+
+        // Sin credenciales la API sigue protegida
+        webTestClient.get().uri("/api/orders").exchange().expectStatus().isUnauthorized();
+    }
+}
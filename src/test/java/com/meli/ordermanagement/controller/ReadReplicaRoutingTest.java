@@ -0,0 +1,150 @@
+package com.meli.ordermanagement.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Primario y dos réplicas, cada uno una base H2 en memoria distinta. Nada copia datos entre ellas, así que
+// cada base tiene órdenes propias y se ve de dónde salió cada lectura. Las réplicas se llenan recién en cada test,
+// así que la búsqueda por cliente (que lee todas las órdenes al arrancar) queda apagada.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica-test-primary",
+        "orders.search.enabled=false",
+        "orders.replicas.enabled=true",
+        "orders.replicas.datasources[0].url=" + ReadReplicaRoutingTest.REPLICA_A,
+        "orders.replicas.datasources[0].username=sa",
+        "orders.replicas.datasources[1].url=" + ReadReplicaRoutingTest.REPLICA_B,
+        "orders.replicas.datasources[1].username=sa",
+        "orders.replicas.sticky-window=1m",
+        "orders.replicas.health-check-interval=PT1H"
+})
+@AutoConfigureMockMvc
+public class ReadReplicaRoutingTest {
+
+    static final String REPLICA_A = "jdbc:h2:mem:replica-test-a;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_B = "jdbc:h2:mem:replica-test-b;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    public void setUpReplicas() {
+        prepareReplica(REPLICA_A, "Replica A Customer");
+        prepareReplica(REPLICA_B, "Replica B Customer");
+    }
+
+    private static void prepareReplica(String url, String customer) {
+        DriverManagerDataSource replica = new DriverManagerDataSource(url, "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/orders-schema.sql")).execute(replica);
+        JdbcTemplate jdbc = new JdbcTemplate(replica);
+        jdbc.update("DELETE FROM orders");
+        jdbc.update("INSERT INTO orders (id, customer_name, order_date, status, total_amount, version) "
+                + "VALUES (1, ?, CURRENT_TIMESTAMP, 1, 10.00, 0)", customer);
+    }
+
+    @Test
+    public void readsAreSpreadOverTheReplicas() throws Exception {
+        // Dos lecturas seguidas van a réplicas distintas
+        List<String> customers = new ArrayList<>();
+        customers.addAll(customersIn(listOrders("admin", "admin123")));
+        customers.addAll(customersIn(listOrders("admin", "admin123")));
+
+        assertThat(customers).containsExactlyInAnyOrder("Replica A Customer", "Replica B Customer");
+    }
+
+    @Test
+    public void afterWriting_aUserReadsTheirOwnOrderFromThePrimary() throws Exception {
+        // Act: "user" crea una orden (va al primario)
+        String created = mockMvc.perform(post("/api/orders")
+                        .with(httpBasic("user", "user123"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"Fresh Customer\",\"totalAmount\":25.00}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(created).get("id").asLong();
+
+        // Assert: "user" la ve enseguida, también por ID
+        assertThat(customersIn(listOrders("user", "user123"))).contains("Fresh Customer");
+        mockMvc.perform(get("/api/orders/" + id).with(httpBasic("user", "user123"))).andExpect(status().isOk());
+
+        // "admin" no escribió nada: sigue leyendo de las réplicas, que (aquí) nunca la reciben
+        assertThat(customersIn(listOrders("admin", "admin123"))).doesNotContain("Fresh Customer");
+    }
+
+    @Test
+    public void anOrderReadByAnotherUser_isNotCachedFromALaggingReplica() throws Exception {
+        long id = createOrder("Before Update");
+        // Las réplicas van atrasadas: todavía tienen la orden como era antes del cambio
+        for (String replica : List.of(REPLICA_A, REPLICA_B)) {
+            JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(replica, "sa", ""));
+            jdbc.update("DELETE FROM orders WHERE id = ?", id);
+            jdbc.update("INSERT INTO orders (id, customer_name, order_date, status, total_amount, version) "
+                    + "VALUES (?, 'Before Update', CURRENT_TIMESTAMP, 1, 25.00, 0)", id);
+        }
+
+        // Act: "user" la cambia y enseguida "admin" (que no escribió nada) la lee, y así queda en la caché
+        mockMvc.perform(put("/api/orders/" + id)
+                        .with(httpBasic("user", "user123"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"After Update\",\"status\":\"SHIPPED\",\"totalAmount\":25.00}"))
+                .andExpect(status().isOk());
+        String readByAdmin = getOrder(id, "admin", "admin123");
+
+        // Assert: los dos ven el cambio, también "user", que ahora lee de la caché
+        assertThat(readByAdmin).isEqualTo("After Update");
+        assertThat(getOrder(id, "user", "user123")).isEqualTo("After Update");
+    }
+
+    private long createOrder(String customer) throws Exception {
+        String created = mockMvc.perform(post("/api/orders")
+                        .with(httpBasic("user", "user123"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"" + customer + "\",\"totalAmount\":25.00}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(created).get("id").asLong();
+    }
+
+    private String getOrder(long id, String username, String password) throws Exception {
+        String body = mockMvc.perform(get("/api/orders/" + id).with(httpBasic(username, password)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("customerName").asText();
+    }
+
+    private JsonNode listOrders(String username, String password) throws Exception {
+        String body = mockMvc.perform(get("/api/orders").with(httpBasic(username, password)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static List<String> customersIn(JsonNode orders) {
+        List<String> customers = new ArrayList<>();
+        orders.forEach(order -> customers.add(order.get("customerName").asText()));
+        return customers;
+    }
+}
@@ -0,0 +1,73 @@
+package com.meli.ordermanagement.controller;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.StringJoiner;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Servidor real: la compresión la hace Tomcat, no Spring MVC, así que MockMvc no la ve.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:compression-test")
+public class ResponseCompressionTest {
+
+    private static final String AUTHORIZATION = "Basic "
+            + Base64.getEncoder().encodeToString("user:user123".getBytes(StandardCharsets.UTF_8));
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    public void whenClientAcceptsGzip_thenLargeResponsesAreCompressedAndSmallOnesAreNot() throws Exception {
+        // Arrange: suficientes órdenes para que la lista pase de 2 KB
+        StringJoiner batch = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < 50; i++) {
+            batch.add("{\"customerName\":\"Compressed Customer " + i + "\",\"totalAmount\":" + (10 + i) + ".00}");
+        }
+        HttpResponse<String> created = client.send(request("/api/orders/batch")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(batch.toString()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(created.statusCode()).isEqualTo(200);
+
+        // Act: la lista completa, pidiendo gzip
+        HttpResponse<byte[]> list = client.send(request("/api/orders").header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        // Assert: llega comprimida y se descomprime a la lista de siempre
+        assertThat(list.statusCode()).isEqualTo(200);
+        assertThat(list.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        byte[] json;
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(list.body()))) {
+            json = gzip.readAllBytes();
+        }
+        JsonNode orders = new ObjectMapper().readTree(json);
+        assertThat(orders.size()).isGreaterThanOrEqualTo(50);
+        assertThat(list.body().length).isLessThan(json.length / 3);
+
+        // Una sola orden está por debajo del umbral y se envía tal cual
+        long id = orders.get(0).get("id").asLong();
+        HttpResponse<String> single = client.send(request("/api/orders/" + id).header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(single.statusCode()).isEqualTo(200);
+        assertThat(single.headers().firstValue("Content-Encoding")).isEmpty();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).header("Authorization", AUTHORIZATION);
+    }
+}
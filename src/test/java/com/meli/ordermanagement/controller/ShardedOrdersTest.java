@@ -0,0 +1,198 @@
+package com.meli.ordermanagement.controller;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.ordermanagement.sharding.OrderShards;
+import com.meli.ordermanagement.sharding.ShardedOrderIds;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Tres shards, cada uno una base H2 en memoria distinta: el principal (spring.datasource) y dos más.
+// Se mira directamente en cada base dónde quedó cada orden.
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ShardedOrdersTest.SHARD_0,
+        "orders.cache.enabled=false",
+        "orders.sharding.enabled=true",
+        "orders.sharding.shards[0].url=" + ShardedOrdersTest.SHARD_1,
+        "orders.sharding.shards[0].username=sa",
+        "orders.sharding.shards[1].url=" + ShardedOrdersTest.SHARD_2,
+        "orders.sharding.shards[1].username=sa"
+})
+@AutoConfigureMockMvc
+public class ShardedOrdersTest {
+
+    static final String SHARD_0 = "jdbc:h2:mem:shard-test-0;DB_CLOSE_DELAY=-1";
+    static final String SHARD_1 = "jdbc:h2:mem:shard-test-1;DB_CLOSE_DELAY=-1";
+    static final String SHARD_2 = "jdbc:h2:mem:shard-test-2;DB_CLOSE_DELAY=-1";
+
+    private static final List<JdbcTemplate> SHARDS = List.of(
+            shard(SHARD_0, "password"), shard(SHARD_1, ""), shard(SHARD_2, ""));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderShards orderShards;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    public void emptyShards() {
+        SHARDS.forEach(shard -> shard.update("DELETE FROM orders"));
+    }
+
+    // El shard principal usa el usuario de spring.datasource (application-dev.yml).
+    private static JdbcTemplate shard(String url, String password) {
+        return new JdbcTemplate(new DriverManagerDataSource(url, "sa", password));
+    }
+
+    @Test
+    public void aNewOrderIsWrittenOnItsCustomersShard_andItsIdSaysWhich() throws Exception {
+        for (int shard = 0; shard < 3; shard++) {
+            String customer = customerOn(shard, 0);
+
+            long id = create(customer);
+
+            assertThat(ShardedOrderIds.shardOf(id)).isEqualTo(shard);
+            for (int other = 0; other < 3; other++) {
+                assertThat(countIn(other, id)).isEqualTo(other == shard ? 1 : 0);
+            }
+        }
+    }
+
+    @Test
+    public void getUpdateAndDelete_goToTheShardOfTheId() throws Exception {
+        long id = create(customerOn(2, 0));
+
+        mockMvc.perform(get("/api/orders/{id}", id).with(httpBasic("admin", "admin123")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customerName").value(customerOn(2, 0)));
+
+        mockMvc.perform(put("/api/orders/{id}", id).with(httpBasic("admin", "admin123"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"Renamed\",\"status\":\"Shipped\",\"totalAmount\":30.00}"))
+                .andExpect(status().isOk());
+        assertThat(SHARDS.get(2).queryForObject("SELECT customer_name FROM orders WHERE id = ?", String.class, id))
+                .isEqualTo("Renamed");
+
+        mockMvc.perform(delete("/api/orders/{id}", id).with(httpBasic("admin", "admin123")))
+                .andExpect(status().isNoContent());
+        assertThat(countIn(2, id)).isZero();
+    }
+
+    @Test
+    public void listing_mergesEveryShardInOrder_acrossPages() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            for (int shard = 0; shard < 3; shard++) {
+                ids.add(create(customerOn(shard, i)));
+            }
+        }
+
+        // Act: recorremos el listado de a 4, siguiendo el cursor
+        List<JsonNode> listed = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/orders").param("limit", "4").with(httpBasic("admin", "admin123"));
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+            objectMapper.readTree(result.getResponse().getContentAsString()).forEach(listed::add);
+            cursor = result.getResponse().getHeader(OrderController.NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+
+        // Assert: todas, una sola vez, y en orden (orderDate, id) aunque vengan de tres bases
+        assertThat(listed).extracting(order -> order.get("id").asLong()).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(listed).isSortedAccordingTo(Comparator
+                .comparing((JsonNode order) -> order.get("orderDate").asText())
+                .thenComparing(order -> order.get("id").asLong()));
+    }
+
+    @Test
+    public void multiGet_readsEachShard_andKeepsRequestOrder() throws Exception {
+        long onShard2 = create(customerOn(2, 0));
+        long onShard0 = create(customerOn(0, 0));
+        long onShard1 = create(customerOn(1, 0));
+
+        mockMvc.perform(get("/api/orders").param("ids", onShard1 + "," + onShard2 + "," + onShard0)
+                        .with(httpBasic("admin", "admin123")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(onShard1))
+                .andExpect(jsonPath("$[1].id").value(onShard2))
+                .andExpect(jsonPath("$[2].id").value(onShard0));
+    }
+
+    @Test
+    public void aBatchIsSplitByShard_andAnsweredInRequestOrder() throws Exception {
+        String body = "[{\"customerName\":\"" + customerOn(1, 0) + "\",\"totalAmount\":10.00},"
+                + "{\"customerName\":\"\",\"totalAmount\":5.00},"
+                + "{\"customerName\":\"" + customerOn(0, 0) + "\",\"totalAmount\":20.00},"
+                + "{\"customerName\":\"" + customerOn(2, 0) + "\",\"totalAmount\":30.00}]";
+
+        String response = mockMvc.perform(post("/api/orders/batch").with(httpBasic("admin", "admin123"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(3))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[1].outcome").value("REJECTED"))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode results = objectMapper.readTree(response).get("results");
+        int[] expectedShards = {1, -1, 0, 2};
+        for (int index = 0; index < 4; index++) {
+            assertThat(results.get(index).get("index").asInt()).isEqualTo(index);
+            if (expectedShards[index] >= 0) {
+                long id = results.get(index).get("order").get("id").asLong();
+                assertThat(countIn(expectedShards[index], id)).isEqualTo(1);
+            }
+        }
+    }
+
+    // El n-ésimo nombre de cliente (de "Customer 0", "Customer 1", ...) que cae en ese shard.
+    private String customerOn(int shard, int n) {
+        int found = 0;
+        for (int i = 0; ; i++) {
+            String customer = "Customer " + i;
+            if (orderShards.shardForCustomer(customer) == shard && found++ == n) {
+                return customer;
+            }
+        }
+    }
+
+    private long create(String customer) throws Exception {
+        String created = mockMvc.perform(post("/api/orders").with(httpBasic("admin", "admin123"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerName\":\"" + customer + "\",\"totalAmount\":25.00}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(created).get("id").asLong();
+    }
+
+    private static int countIn(int shard, long id) {
+        return SHARDS.get(shard).queryForObject("SELECT COUNT(*) FROM orders WHERE id = ?", Integer.class, id);
+    }
+}
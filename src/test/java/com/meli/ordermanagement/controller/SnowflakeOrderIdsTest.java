@@ -0,0 +1,53 @@
+package com.meli.ordermanagement.controller;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.meli.ordermanagement.dto.BatchCreateResponseDTO;
+import com.meli.ordermanagement.dto.CreateOrderRequestDTO;
+import com.meli.ordermanagement.ids.SnowflakeIdGenerator;
+import com.meli.ordermanagement.service.OrderService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Las órdenes se numeran en la aplicación (Snowflake) en lugar de con la secuencia de la base.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:snowflake-ids",
+        "orders.ids.strategy=snowflake",
+        "orders.ids.node-id=42"
+})
+public class SnowflakeOrderIdsTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    public void newOrdersGetSnowflakeIdsOfThisNode_inCreationOrder() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(orderService.createOrder(request("Snowflake Customer " + i)).getId());
+        }
+        BatchCreateResponseDTO batch = orderService.createOrders(List.of(request("Batch A"), request("Batch B")));
+        batch.getResults().forEach(result -> ids.add(result.getOrder().getId()));
+
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(ids).allSatisfy(id -> assertThat(SnowflakeIdGenerator.nodeOf(id)).isEqualTo(42));
+        // Un id de la secuencia nunca llega a estos valores
+        assertThat(ids.get(0)).isGreaterThan(1L << 40);
+        // y los clientes JavaScript los leen sin redondear
+        assertThat(ids).allSatisfy(id -> assertThat(id).isLessThan(1L << 53));
+        assertThat(orderService.getOrderById(ids.get(0))).isPresent();
+    }
+
+    private static CreateOrderRequestDTO request(String customer) {
+        CreateOrderRequestDTO request = new CreateOrderRequestDTO();
+        request.setCustomerName(customer);
+        request.setTotalAmount(new BigDecimal("12.50"));
+        return request;
+    }
+}
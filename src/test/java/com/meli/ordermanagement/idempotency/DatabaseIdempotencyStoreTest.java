@@ -0,0 +1,80 @@
+package com.meli.ordermanagement.idempotency;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.exception.IdempotencyKeyInProgressException;
+import com.meli.ordermanagement.exception.IdempotencyKeyReusedException;
+import com.meli.ordermanagement.model.OrderStatus;
+import com.meli.ordermanagement.repository.IdempotencyRecordRepository;
+
+// Sin @Transactional: el store confirma cada escritura en su propia transacción.
+@SpringBootTest(properties = {
+        "orders.idempotency.store=database",
+        "spring.datasource.url=jdbc:h2:mem:idempotency-test"
+})
+public class DatabaseIdempotencyStoreTest {
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private IdempotencyRecordRepository records;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static IdempotentResponse created(long id) {
+        OrderResponseDTO order = new OrderResponseDTO();
+        order.setId(id);
+        order.setCustomerName("Stored Customer");
+        order.setStatus(OrderStatus.PENDING);
+        return new IdempotentResponse(201, order, null, "\"0\"", false);
+    }
+
+    @Test
+    public void whenKeyIsUsedAgain_shouldReplayTheStoredAnswer() {
+        assertThat(idempotencyStore).isInstanceOf(DatabaseIdempotencyStore.class);
+        idempotencyStore.execute("user:db-1", "fp", () -> created(1));
+
+        IdempotentResponse replayed = idempotencyStore.execute("user:db-1", "fp", () -> created(2));
+
+        assertThat(replayed.replayed()).isTrue();
+        assertThat(replayed.status()).isEqualTo(201);
+        assertThat(replayed.eTag()).isEqualTo("\"0\"");
+        assertThat(replayed.body().getId()).isEqualTo(1L);
+        assertThat(replayed.body().getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThatThrownBy(() -> idempotencyStore.execute("user:db-1", "other", () -> created(3)))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+    }
+
+    @Test
+    public void whenKeyIsClaimedButNotAnswered_shouldWaitThenAnswerInProgress() {
+        records.claim("user:db-2", "fp", LocalDateTime.now());
+        DatabaseIdempotencyStore impatient = new DatabaseIdempotencyStore(records, objectMapper,
+                Duration.ofHours(1), Duration.ofMillis(120));
+
+        assertThatThrownBy(() -> impatient.execute("user:db-2", "fp", () -> created(4)))
+                .isInstanceOf(IdempotencyKeyInProgressException.class);
+    }
+
+    @Test
+    public void whenActionFails_shouldFreeTheKeyAndPurgeShouldDropExpiredKeys() {
+        assertThatThrownBy(() -> idempotencyStore.execute("user:db-3", "fp", () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(records.findStored("user:db-3")).isEmpty();
+
+        idempotencyStore.execute("user:db-4", "fp", () -> created(5));
+        new DatabaseIdempotencyStore(records, objectMapper, Duration.ofSeconds(-1), Duration.ofSeconds(1)).purgeExpired();
+        assertThat(records.findStored("user:db-4")).isEmpty();
+    }
+}
@@ -0,0 +1,100 @@
+package com.meli.ordermanagement.idempotency;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.exception.IdempotencyKeyInProgressException;
+import com.meli.ordermanagement.exception.IdempotencyKeyReusedException;
+
+public class InMemoryIdempotencyStoreTest {
+
+    private static IdempotentResponse created(long id) {
+        OrderResponseDTO order = new OrderResponseDTO();
+        order.setId(id);
+        return new IdempotentResponse(201, order, null, "\"0\"", false);
+    }
+
+    @Test
+    public void whenTheSameKeyArrivesTwiceAtOnce_shouldRunOnceAndReplayTheAnswer() throws Exception {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMinutes(1), 100, Duration.ofSeconds(5));
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<IdempotentResponse> first = CompletableFuture.supplyAsync(() -> store.execute("user:k1", "fp", () -> {
+            runs.incrementAndGet();
+            running.countDown();
+            await(release);
+            return created(1);
+        }));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        // La reintento llega mientras la primera sigue en curso: debe esperarla, no crear otra orden
+        CompletableFuture<IdempotentResponse> retry = CompletableFuture.supplyAsync(() -> store.execute("user:k1", "fp", () -> {
+            runs.incrementAndGet();
+            return created(2);
+        }));
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).replayed()).isFalse();
+        IdempotentResponse replayed = retry.get(5, TimeUnit.SECONDS);
+        assertThat(replayed.replayed()).isTrue();
+        assertThat(replayed.body().getId()).isEqualTo(1L);
+        assertThat(runs.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void whenKeyIsReusedWithAnotherBody_shouldRefuse() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMinutes(1), 100, Duration.ofSeconds(5));
+        store.execute("user:k1", "fp-a", () -> created(1));
+
+        assertThatThrownBy(() -> store.execute("user:k1", "fp-b", () -> created(2)))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+    }
+
+    @Test
+    public void whenFirstRequestFails_shouldFreeTheKey() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMinutes(1), 100, Duration.ofSeconds(5));
+        assertThatThrownBy(() -> store.execute("user:k1", "fp", () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        IdempotentResponse response = store.execute("user:k1", "fp", () -> created(3));
+
+        assertThat(response.replayed()).isFalse();
+        assertThat(response.body().getId()).isEqualTo(3L);
+    }
+
+    @Test
+    public void whenFirstRequestTakesTooLong_shouldAnswerInProgress() throws Exception {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMinutes(1), 100, Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<IdempotentResponse> first = CompletableFuture.supplyAsync(() -> store.execute("user:k1", "fp", () -> {
+            await(release);
+            return created(1);
+        }));
+        while (store.size() == 0) {
+            Thread.sleep(1);
+        }
+
+        assertThatThrownBy(() -> store.execute("user:k1", "fp", () -> created(2)))
+                .isInstanceOf(IdempotencyKeyInProgressException.class);
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).body().getId()).isEqualTo(1L);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
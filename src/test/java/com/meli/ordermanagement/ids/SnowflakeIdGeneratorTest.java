@@ -0,0 +1,131 @@
+package com.meli.ordermanagement.ids;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+public class SnowflakeIdGeneratorTest {
+
+    // Un reloj que solo se mueve a mano, empezando un día después de EPOCH
+    private final AtomicLong clock = new AtomicLong(SnowflakeIdGenerator.EPOCH + 86_400_000L);
+
+    @Test
+    public void idsCarryTheNodeAndTheTime_andGrow() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, Duration.ofSeconds(1), clock::get);
+
+        long first = generator.nextId();
+        long second = generator.nextId();
+        clock.addAndGet(5);
+        long third = generator.nextId();
+
+        assertThat(first).isPositive().isLessThan(second);
+        assertThat(second).isLessThan(third);
+        assertThat(SnowflakeIdGenerator.nodeOf(third)).isEqualTo(7);
+        assertThat(SnowflakeIdGenerator.createdAt(third).toEpochMilli()).isEqualTo(clock.get());
+    }
+
+    @Test
+    public void whenTheMillisecondIsUsedUp_theNextOneIsBorrowed() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, Duration.ofSeconds(1), clock::get);
+
+        // Más de 64 ids sin que el reloj avance
+        long previous = 0;
+        for (int i = 0; i < 200; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            previous = id;
+        }
+
+        assertThat(SnowflakeIdGenerator.createdAt(previous).toEpochMilli()).isEqualTo(clock.get() + 3);
+    }
+
+    @Test
+    public void whenTheClockGoesBackALittle_idsKeepGrowing() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, Duration.ofSeconds(1), clock::get);
+        long before = generator.nextId();
+
+        clock.addAndGet(-500); // p. ej. una corrección de NTP
+
+        assertThat(generator.nextId()).isGreaterThan(before);
+    }
+
+    @Test
+    public void whenTheClockGoesBackTooFar_noIdsAreMade() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, Duration.ofSeconds(1), clock::get);
+        generator.nextId();
+
+        clock.addAndGet(-5_000);
+
+        assertThatThrownBy(generator::nextId).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void idsFitInADouble_untilTheLastMillisecond() {
+        // JavaScript lee los números JSON como double: un id mayor a 2^53 llegaría redondeado
+        clock.set(SnowflakeIdGenerator.EPOCH + (1L << SnowflakeIdGenerator.TIMESTAMP_BITS) - 1);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID, Duration.ofSeconds(1),
+                clock::get);
+
+        long last = 0;
+        for (int i = 0; i < 63; i++) {
+            last = generator.nextId();
+        }
+
+        assertThat(last).isEqualTo((1L << 53) - 1);
+        assertThat((long) (double) last).isEqualTo(last);
+        assertThat(SnowflakeIdGenerator.nodeOf(last)).isEqualTo(SnowflakeIdGenerator.MAX_NODE_ID);
+        // Pasado ese milisegundo no hay más ids, en lugar de ids que ya no entran
+        assertThatThrownBy(generator::nextId).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void nodeIdsOutOfRange_areRefused() {
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void manyThreadsOnSeveralNodes_neverGetTheSameId() throws Exception {
+        int nodes = 4;
+        int threadsPerNode = 8;
+        int idsPerThread = 5_000;
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+
+        // Nodos simulados: cada uno con su generador, todos con el reloj real
+        try (ExecutorService threads = Executors.newFixedThreadPool(nodes * threadsPerNode)) {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int node = 0; node < nodes; node++) {
+                SnowflakeIdGenerator generator = new SnowflakeIdGenerator(node, Duration.ofSeconds(1));
+                for (int t = 0; t < threadsPerNode; t++) {
+                    results.add(threads.submit(() -> {
+                        long previous = 0;
+                        boolean increasing = true;
+                        for (int i = 0; i < idsPerThread; i++) {
+                            long id = generator.nextId();
+                            increasing &= id > previous;
+                            previous = id;
+                            seen.add(id);
+                        }
+                        return increasing;
+                    }));
+                }
+            }
+            for (Future<Boolean> result : results) {
+                // Dentro de un mismo hilo los ids siempre crecen
+                assertThat(result.get()).isTrue();
+            }
+        }
+
+        assertThat(seen).hasSize(nodes * threadsPerNode * idsPerThread);
+    }
+}
@@ -0,0 +1,101 @@
+package com.meli.ordermanagement.intake;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.meli.ordermanagement.dto.CreateOrderRequestDTO;
+import com.meli.ordermanagement.dto.OrderIntakeStatusDTO;
+import com.meli.ordermanagement.exception.IntakeUnavailableException;
+import com.meli.ordermanagement.model.Order;
+import com.meli.ordermanagement.service.OrderService;
+
+public class OrderIntakeTest {
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private OrderService orderService() {
+        OrderService orderService = mock(OrderService.class);
+        when(orderService.prepareOrder(any())).thenAnswer(invocation -> {
+            Order order = new Order();
+            order.setId(ids.incrementAndGet());
+            order.setVersion(0L);
+            return order;
+        });
+        return orderService;
+    }
+
+    private static CreateOrderRequestDTO request() {
+        CreateOrderRequestDTO request = new CreateOrderRequestDTO();
+        request.setCustomerName("Intake Customer");
+        request.setTotalAmount(new BigDecimal("10.00"));
+        return request;
+    }
+
+    @Test
+    public void whenQueueIsFull_shouldRefuseTheOrder() throws Exception {
+        OrderService orderService = orderService();
+        CountDownLatch release = new CountDownLatch(1);
+        // El primer lote se queda "escribiendo" hasta que lo soltemos
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(orderService).saveAcceptedOrders(any());
+        OrderIntake intake = new OrderIntake(orderService, 1, 10, Duration.ofMillis(10), Duration.ofSeconds(5), Duration.ofMinutes(1));
+        intake.start();
+        try {
+            intake.submit(request());
+            while (intake.getQueueSize() > 0) {
+                Thread.sleep(5);
+            }
+            intake.submit(request()); // ocupa el único lugar de la cola
+
+            assertThatThrownBy(() -> intake.submit(request())).isInstanceOf(IntakeUnavailableException.class);
+        } finally {
+            release.countDown();
+            intake.stop();
+        }
+        assertThatThrownBy(() -> intake.submit(request())).isInstanceOf(IntakeUnavailableException.class);
+    }
+
+    @Test
+    public void whenOneOrderOfTheBatchFails_shouldSaveTheOthersAndMarkItFailed() {
+        OrderService orderService = orderService();
+        Set<Long> saved = ConcurrentHashMap.newKeySet();
+        // La orden 2 nunca se puede guardar, ni en lote ni sola
+        doAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            if (orders.stream().anyMatch(order -> order.getId() == 2L)) {
+                throw new IllegalStateException("boom");
+            }
+            orders.forEach(order -> saved.add(order.getId()));
+            return null;
+        }).when(orderService).saveAcceptedOrders(any());
+        OrderIntake intake = new OrderIntake(orderService, 10, 10, Duration.ofMillis(10), Duration.ofSeconds(5), Duration.ofMinutes(1));
+
+        intake.start();
+        Long first = intake.submit(request()).getId();
+        Long second = intake.submit(request()).getId();
+        Long third = intake.submit(request()).getId();
+        // stop() espera a que se escriba todo lo que quedó en la cola
+        intake.stop();
+
+        assertThat(saved).containsExactlyInAnyOrder(first, third);
+        assertThat(intake.status(first)).isEmpty();
+        assertThat(intake.status(third)).isEmpty();
+        assertThat(intake.status(second)).get()
+                .extracting(OrderIntakeStatusDTO::getState).isEqualTo(OrderIntakeStatusDTO.State.FAILED);
+    }
+}
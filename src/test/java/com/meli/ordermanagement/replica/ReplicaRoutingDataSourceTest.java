@@ -0,0 +1,128 @@
+package com.meli.ordermanagement.replica;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofSeconds(5), now::get);
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replicaA = mock(DataSource.class);
+    private final DataSource replicaB = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection connectionA = mock(Connection.class);
+    private final Connection connectionB = mock(Connection.class);
+
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replicaA.getConnection()).thenReturn(connectionA);
+        when(replicaB.getConnection()).thenReturn(connectionB);
+        when(connectionA.isValid(anyInt())).thenReturn(true);
+        when(connectionB.isValid(anyInt())).thenReturn(true);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("a", replicaA);
+        replicas.put("b", replicaB);
+        routing = new ReplicaRoutingDataSource(primary, replicas, tracker);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void shouldSpreadReadsOverTheReplicasInTurn() throws SQLException {
+        assertThat(routing.getConnection()).isSameAs(connectionA);
+        assertThat(routing.getConnection()).isSameAs(connectionB);
+        assertThat(routing.getConnection()).isSameAs(connectionA);
+    }
+
+    @Test
+    public void whenAReplicaFails_shouldSkipItUntilTheHealthCheckSeesItBack() throws SQLException {
+        when(replicaA.getConnection()).thenThrow(new SQLException("down"));
+
+        // A falla: se usa B y A queda fuera
+        assertThat(routing.getConnection()).isSameAs(connectionB);
+        assertThat(routing.getHealthyCount()).isEqualTo(1);
+        assertThat(routing.getConnection()).isSameAs(connectionB);
+        assertThat(routing.getConnection()).isSameAs(connectionB);
+
+        // A vuelve: el chequeo periódico la recupera
+        doReturn(connectionA).when(replicaA).getConnection();
+        routing.checkHealth();
+        assertThat(routing.getHealthyCount()).isEqualTo(2);
+        assertThat(List.of(routing.getConnection(), routing.getConnection())).containsExactlyInAnyOrder(connectionA, connectionB);
+    }
+
+    @Test
+    public void whenNoReplicaIsHealthy_shouldReadFromThePrimary() throws SQLException {
+        when(connectionA.isValid(anyInt())).thenReturn(false);
+        when(replicaB.getConnection()).thenThrow(new SQLException("down"));
+
+        routing.checkHealth();
+
+        assertThat(routing.getHealthyCount()).isZero();
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+    }
+
+    @Test
+    public void afterAUserWrites_theirReadsStayOnThePrimaryForTheWindow() throws SQLException {
+        tracker.afterCommit(transaction(false), null);
+
+        // Quien escribió lee del primario...
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+        // ...los demás siguen en las réplicas
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+        assertThat(routing.getConnection()).isSameAs(connectionA);
+
+        // Pasada la ventana, también quien escribió vuelve a las réplicas
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        assertThat(routing.getConnection()).isSameAs(connectionB);
+    }
+
+    @Test
+    public void readOnlyTransactionsDoNotPinToThePrimary() throws SQLException {
+        tracker.afterCommit(transaction(true), null);
+
+        assertThat(routing.getConnection()).isSameAs(connectionA);
+    }
+
+    private static TransactionExecution transaction(boolean readOnly) {
+        TransactionExecution transaction = mock(TransactionExecution.class);
+        when(transaction.isNewTransaction()).thenReturn(true);
+        when(transaction.isReadOnly()).thenReturn(readOnly);
+        return transaction;
+    }
+}
@@ -0,0 +1,69 @@
+package com.meli.ordermanagement.search;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+public class CustomerNameIndexTest {
+
+    @Test
+    public void findsAnyPartOfTheName_ignoringCaseAccentsAndSpaces() {
+        CustomerNameIndex index = new CustomerNameIndex();
+        index.add(1, "José  Pérez");
+        index.add(2, "Ana Gómez");
+        index.add(3, "Pereira Ltda");
+
+        assertThat(index.search("PEREZ", 0, 10)).containsExactly(1L);
+        assertThat(index.search("jose perez", 0, 10)).containsExactly(1L);
+        assertThat(index.search("ere", 0, 10)).containsExactlyInAnyOrder(1L, 3L);
+        // Más corta que un trigrama: se recorren los nombres
+        assertThat(index.search("om", 0, 10)).containsExactly(2L);
+        assertThat(index.search("xyz", 0, 10)).isEmpty();
+        assertThat(index.search("  ", 0, 10)).isEmpty();
+        // Tiene todos los trigramas de "bcabc" pero no la contiene
+        index.add(4, "abcab");
+        assertThat(index.search("bcabc", 0, 10)).isEmpty();
+    }
+
+    @Test
+    public void ranksExactThenPrefixThenWordThenAnywhere_andPagesThroughTheOrders() {
+        CustomerNameIndex index = new CustomerNameIndex();
+        index.add(10, "Carlos Martinez");   // una palabra empieza con "mart"
+        index.add(11, "Smart Shop");        // en el medio de una palabra
+        index.add(12, "Martina");           // el nombre empieza con "mart"
+        index.add(13, "Mart");              // exacto
+        index.add(14, "Martina");
+        index.add(14, "Martina");           // repetida: no cambia nada
+
+        List<Long> ranked = index.search("mart", 0, 10);
+        // Las órdenes de un mismo cliente van de la más nueva a la más vieja
+        assertThat(ranked).containsExactly(13L, 14L, 12L, 10L, 11L);
+        assertThat(index.getOrderCount()).isEqualTo(5);
+
+        assertThat(index.search("mart", 1, 2)).containsExactly(14L, 12L);
+        assertThat(index.search("mart", 2, 2)).containsExactly(12L, 10L);
+        assertThat(index.search("mart", 5, 2)).isEmpty();
+    }
+
+    @Test
+    public void followsRenamesAndDeletes() {
+        CustomerNameIndex index = new CustomerNameIndex();
+        index.add(1, "Old Name");
+        index.add(2, "Old Name");
+
+        index.rename(1, "Old Name", "New Name");
+        assertThat(index.search("old", 0, 10)).containsExactly(2L);
+        assertThat(index.search("new", 0, 10)).containsExactly(1L);
+
+        index.remove(2, "Old Name");
+        assertThat(index.search("old", 0, 10)).isEmpty();
+        assertThat(index.getNameCount()).isEqualTo(1);
+
+        // El número del nombre borrado se reusa
+        index.add(3, "Third Name");
+        assertThat(index.search("name", 0, 10)).containsExactly(1L, 3L);
+        assertThat(index.getNameCount()).isEqualTo(2);
+        assertThat(index.getOrderCount()).isEqualTo(2);
+    }
+}
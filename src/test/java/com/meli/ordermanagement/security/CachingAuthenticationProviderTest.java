@@ -0,0 +1,56 @@
+package com.meli.ordermanagement.security;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingAuthenticationProviderTest {
+
+    @Mock
+    private AuthenticationProvider delegate;
+
+    @Test
+    public void whenSameCredentialsAreSentTwice_shouldRunTheRealCheckOnlyOnce() {
+        Authentication verified = UsernamePasswordAuthenticationToken.authenticated(
+                "user", null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        when(delegate.authenticate(any())).thenReturn(verified);
+        CachingAuthenticationProvider provider = new CachingAuthenticationProvider(delegate, Duration.ofMinutes(5), 100);
+
+        Authentication first = provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "user123"));
+        Authentication second = provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "user123"));
+
+        assertThat(first).isSameAs(verified);
+        assertThat(second).isSameAs(verified);
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    @Test
+    public void whenCredentialsAreWrong_shouldNeverRememberThem() {
+        when(delegate.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+        CachingAuthenticationProvider provider = new CachingAuthenticationProvider(delegate, Duration.ofMinutes(5), 100);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThatThrownBy(() -> provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "wrong")))
+                    .isInstanceOf(BadCredentialsException.class);
+        }
+
+        verify(delegate, times(2)).authenticate(any());
+        assertThat(provider.size()).isZero();
+    }
+}
@@ -1,37 +1,68 @@
 package com.meli.ordermanagement.service;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 
-import com.meli.ordermanagement.model.Order;
+import com.meli.ordermanagement.archive.OrderArchive;
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.model.OrderStatus;
 import com.meli.ordermanagement.repository.OrderRepository;
 
+import jakarta.persistence.EntityManager;
+
 @ExtendWith(MockitoExtension.class)
 public class OrderServiceTest {
 
     @Mock 
     private OrderRepository orderRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    // Sin archivo ni índice de clientes: el mock (usado para los dos ObjectProvider) devuelve null
+    @Mock
+    private ObjectProvider<OrderArchive> orderArchive;
+
     @InjectMocks 
     private OrderService orderService;
 
     @Test 
     public void whenGetAllOrders_shouldReturnOrderList() {
-        List<Order> mockOrders = new ArrayList<>();
-        mockOrders.add(new Order()); 
-        when(orderRepository.findAll()).thenReturn(mockOrders); 
+        List<OrderResponseDTO> mockOrders = new ArrayList<>();
+        mockOrders.add(new OrderResponseDTO());
+        when(orderRepository.findAllResponses()).thenReturn(mockOrders);
 
-        List<com.meli.ordermanagement.dto.OrderResponseDTO> foundOrders = orderService.getAllOrders();
+        List<OrderResponseDTO> foundOrders = orderService.getAllOrders();
 
         assertThat(foundOrders).isNotEmpty();
         assertThat(foundOrders.size()).isEqualTo(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenStreamAllOrders_shouldEmitEachOrderWithoutLoadingEntities() {
+        OrderResponseDTO order = new OrderResponseDTO(7L, "Streamed Customer", LocalDateTime.now(),
+                OrderStatus.PENDING, new BigDecimal("5.00"), 0L);
+        when(orderRepository.streamAllResponses()).thenReturn(Stream.of(order));
+
+        List<OrderResponseDTO> received = new ArrayList<>();
+        orderService.streamAllOrders(received::add);
+
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0).getId()).isEqualTo(7L);
+        // Las filas llegan ya como DTO: no hay entidades que soltar del contexto de persistencia
+        verifyNoInteractions(entityManager);
+    }
+}
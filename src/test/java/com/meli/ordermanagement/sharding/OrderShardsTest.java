@@ -0,0 +1,102 @@
+package com.meli.ordermanagement.sharding;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.meli.ordermanagement.dto.OrderPageDTO;
+import com.meli.ordermanagement.dto.OrderResponseDTO;
+import com.meli.ordermanagement.model.OrderStatus;
+import com.meli.ordermanagement.service.OrderPages;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class OrderShardsTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Test
+    public void theShardTravelsInsideTheId() {
+        long id = ShardedOrderIds.encode(12345, 7);
+
+        assertThat(ShardedOrderIds.shardOf(id)).isEqualTo(7);
+        // Los IDs siguen creciendo con la secuencia, sea cual sea el shard
+        assertThat(ShardedOrderIds.encode(12346, 0)).isGreaterThan(id);
+    }
+
+    @Test
+    public void idsThatNoShardGaveOut_goToTheMainShard() {
+        try (OrderShards shards = new OrderShards(3)) {
+            assertThat(shards.shardOf(ShardedOrderIds.encode(1, 2))).isEqualTo(2);
+            assertThat(shards.shardOf(ShardedOrderIds.encode(1, 9))).isEqualTo(ShardContext.MAIN_SHARD);
+            // Un ID escrito a mano, p. ej. 5, diría "shard 5", que no existe
+            assertThat(shards.shardOf(5)).isEqualTo(ShardContext.MAIN_SHARD);
+        }
+    }
+
+    @Test
+    public void customersAreSpreadOverEveryShard_andAlwaysLandOnTheSameOne() {
+        try (OrderShards shards = new OrderShards(4)) {
+            Set<Integer> used = new HashSet<>();
+            for (int i = 0; i < 100; i++) {
+                used.add(shards.shardForCustomer("Customer " + i));
+            }
+
+            assertThat(used).containsExactlyInAnyOrder(0, 1, 2, 3);
+            assertThat(shards.shardForCustomer("Ana")).isEqualTo(shards.shardForCustomer("Ana"));
+        }
+    }
+
+    @Test
+    public void onEachShard_runsOnEveryShardWithItsContext() throws Throwable {
+        try (OrderShards shards = new OrderShards(3)) {
+            List<Integer> seen = shards.onEachShard(shard -> ShardContext.current());
+
+            assertThat(seen).containsExactly(0, 1, 2);
+            assertThat(ShardContext.current()).isNull();
+        }
+    }
+
+    @Test
+    public void onEachShard_rethrowsTheShardsOwnFailure() {
+        try (OrderShards shards = new OrderShards(2)) {
+            assertThatThrownBy(() -> shards.onEachShard(shard -> {
+                throw new IllegalStateException("shard " + shard + " is down");
+            })).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    public void mergedPages_areSortedAndCutAtTheLimit() {
+        OrderPageDTO shard0 = new OrderPageDTO(List.of(order(1, 0), order(4, 3)), null);
+        OrderPageDTO shard1 = new OrderPageDTO(List.of(order(2, 1), order(3, 2), order(5, 4)), null);
+
+        OrderPageDTO page = OrderPages.merge(List.of(shard0, shard1), 3);
+
+        assertThat(page.getItems()).extracting(OrderResponseDTO::getId).containsExactly(1L, 2L, 3L);
+        // Sobraron órdenes: hay página siguiente
+        assertThat(page.getNextCursor()).isNotNull();
+    }
+
+    @Test
+    public void mergedPage_hasACursorWhenAnyShardHasMore() {
+        OrderPageDTO shard0 = new OrderPageDTO(List.of(order(1, 0)), "more");
+        OrderPageDTO shard1 = new OrderPageDTO(List.of(), null);
+
+        OrderPageDTO page = OrderPages.merge(List.of(shard0, shard1), 1);
+
+        assertThat(page.getItems()).extracting(OrderResponseDTO::getId).containsExactly(1L);
+        assertThat(page.getNextCursor()).isNotNull();
+        assertThat(OrderPages.merge(List.of(shard1, shard1), 1).getNextCursor()).isNull();
+    }
+
+    private static OrderResponseDTO order(long id, int minute) {
+        return new OrderResponseDTO(id, "Customer " + id, T0.plusMinutes(minute), OrderStatus.PENDING,
+                new BigDecimal("10.00"), 0L);
+    }
+}
@@ -0,0 +1,59 @@
+package com.meli.ordermanagement.stats;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+import com.meli.ordermanagement.dto.OrderStatsDTO;
+import com.meli.ordermanagement.model.OrderStatus;
+import com.meli.ordermanagement.repository.DailyStatusTotal;
+
+public class OrderStatisticsTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 3, 3, 10, 0);
+    private static final LocalDateTime TUESDAY = MONDAY.plusDays(1);
+
+    @Test
+    public void whenOrdersAreCreatedUpdatedAndDeleted_shouldKeepTotalsPerStatusAndDay() {
+        OrderStatistics statistics = new OrderStatistics();
+
+        statistics.recordCreated(MONDAY, OrderStatus.PENDING, new BigDecimal("10.00"));
+        statistics.recordCreated(MONDAY, OrderStatus.PENDING, new BigDecimal("20.00"));
+        statistics.recordCreated(TUESDAY, OrderStatus.PENDING, new BigDecimal("5.00"));
+        statistics.recordUpdated(MONDAY, OrderStatus.PENDING, new BigDecimal("20.00"),
+                OrderStatus.SHIPPED, new BigDecimal("25.00"));
+        statistics.recordDeleted(TUESDAY, OrderStatus.PENDING, new BigDecimal("5.00"));
+
+        OrderStatsDTO stats = statistics.snapshot(MONDAY.toLocalDate(), TUESDAY.toLocalDate());
+        assertThat(stats.getTotal().getOrders()).isEqualTo(2);
+        assertThat(stats.getTotal().getRevenue()).isEqualByComparingTo("35.00");
+        assertThat(stats.getByStatus().get(OrderStatus.PENDING).getOrders()).isEqualTo(1);
+        assertThat(stats.getByStatus().get(OrderStatus.SHIPPED).getRevenue()).isEqualByComparingTo("25.00");
+        assertThat(stats.getByDay()).hasSize(2);
+        assertThat(stats.getByDay().get(0).getTotal().getOrders()).isEqualTo(2);
+        assertThat(stats.getByDay().get(1).getTotal().getOrders()).isZero();
+    }
+
+    @Test
+    public void whenReconciled_shouldMatchTheDatabaseTotals() {
+        OrderStatistics statistics = new OrderStatistics();
+        statistics.recordCreated(MONDAY, OrderStatus.PENDING, new BigDecimal("10.00"));
+        statistics.recordCreated(TUESDAY, OrderStatus.CANCELLED, new BigDecimal("99.00"));
+
+        // La base de datos tiene una orden más el lunes (escrita por otro nodo) y ninguna el martes
+        statistics.reconcile(List.of(
+                new DailyStatusTotal(MONDAY.toLocalDate(), OrderStatus.PENDING, 2, new BigDecimal("30.00"))));
+
+        OrderStatsDTO stats = statistics.snapshot(MONDAY.toLocalDate(), TUESDAY.toLocalDate());
+        assertThat(stats.getTotal().getOrders()).isEqualTo(2);
+        assertThat(stats.getTotal().getRevenue()).isEqualByComparingTo("30.00");
+        assertThat(stats.getByStatus().get(OrderStatus.CANCELLED).getOrders()).isZero();
+        assertThat(stats.getLastReconciledAt()).isNotNull();
+        assertThat(statistics.snapshot(LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 3)).getByDay().get(0)
+                .getByStatus().get(OrderStatus.PENDING).getRevenue()).isEqualByComparingTo("30.00");
+    }
+}
@@ -0,0 +1,30 @@
+package com.meli.ordermanagement.stats;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+import com.meli.ordermanagement.model.OrderStatus;
+import com.meli.ordermanagement.repository.DailyStatusTotal;
+
+public class OrderStatsReconcilerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 3);
+
+    @Test
+    public void whenAGroupHasNoAmountsInOnePart_shouldAddItAsZero() {
+        // SUM(totalAmount) da null cuando ninguna orden del grupo tiene monto (p. ej. en el archivo)
+        List<DailyStatusTotal> orders = List.of(new DailyStatusTotal(DAY, OrderStatus.PENDING, 2, new BigDecimal("30.00")),
+                new DailyStatusTotal(DAY, OrderStatus.SHIPPED, 1, null));
+        List<DailyStatusTotal> archive = List.of(new DailyStatusTotal(DAY, OrderStatus.PENDING, 1, null),
+                new DailyStatusTotal(DAY, OrderStatus.SHIPPED, 1, null));
+
+        List<DailyStatusTotal> totals = OrderStatsReconciler.add(List.of(orders, archive));
+
+        assertThat(totals).containsExactly(new DailyStatusTotal(DAY, OrderStatus.PENDING, 3, new BigDecimal("30.00")),
+                new DailyStatusTotal(DAY, OrderStatus.SHIPPED, 2, BigDecimal.ZERO));
+    }
+}
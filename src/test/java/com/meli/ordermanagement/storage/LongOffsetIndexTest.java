@@ -0,0 +1,39 @@
+package com.meli.ordermanagement.storage;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+public class LongOffsetIndexTest {
+
+    @Test
+    public void behavesLikeAHashMap_underRandomPutsAndRemoves() {
+        LongOffsetIndex index = new LongOffsetIndex(16);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            // Pocas claves (incluida la 0) para que haya muchas colisiones, crecimientos y borrados
+            long key = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(index.remove(key)).isEqualTo(expected.getOrDefault(key, LongOffsetIndex.ABSENT));
+                expected.remove(key);
+            } else {
+                long value = random.nextLong(Long.MAX_VALUE);
+                assertThat(index.put(key, value)).isEqualTo(expected.getOrDefault(key, LongOffsetIndex.ABSENT));
+                expected.put(key, value);
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(expected.size());
+        for (long key = 0; key < 5_000; key++) {
+            assertThat(index.get(key)).isEqualTo(expected.getOrDefault(key, LongOffsetIndex.ABSENT));
+        }
+        Map<Long, Integer> values = new HashMap<>();
+        index.forEachValue(value -> values.merge(value, 1, Integer::sum));
+        assertThat(values.values().stream().mapToInt(Integer::intValue).sum()).isEqualTo(expected.size());
+    }
+}
@@ -0,0 +1,146 @@
+package com.meli.ordermanagement.storage;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.meli.ordermanagement.model.Order;
+import com.meli.ordermanagement.model.OrderStatus;
+
+public class OrderLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void ordersSurviveAReopen_exactlyAsWritten() {
+        Order order = order(1, "Cliente Ñandú", "1234.5678");
+        try (OrderLog orderLog = new OrderLog(directory, 1 << 20, false)) {
+            assertThat(orderLog.insert(order)).isTrue();
+            assertThat(orderLog.insert(order)).isFalse();
+            assertThat(orderLog.insert(order(2, null, null))).isTrue();
+        }
+
+        try (OrderLog orderLog = new OrderLog(directory, 1 << 20, false)) {
+            assertThat(orderLog.find(1)).contains(order);
+            assertThat(orderLog.find(2)).hasValueSatisfying(other -> {
+                assertThat(other.getCustomerName()).isNull();
+                assertThat(other.getTotalAmount()).isNull();
+            });
+            // Los ids nuevos siguen después del mayor que ya existe
+            assertThat(orderLog.nextId()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    public void updatesCheckTheVersion_andDeletesStayDeletedAfterAReopen() {
+        try (OrderLog orderLog = new OrderLog(directory, 1 << 20, false)) {
+            orderLog.insert(order(1, "Cliente", "10.00"));
+            orderLog.insert(order(2, "Otro", "20.00"));
+
+            Order shipped = order(1, "Cliente", "10.00");
+            shipped.setStatus(OrderStatus.SHIPPED);
+            shipped.setVersion(1L);
+            assertThat(orderLog.update(shipped, 7)).isFalse();
+            assertThat(orderLog.update(shipped, 0)).isTrue();
+            assertThat(orderLog.delete(2)).isTrue();
+            assertThat(orderLog.delete(2)).isFalse();
+        }
+
+        try (OrderLog orderLog = new OrderLog(directory, 1 << 20, false)) {
+            assertThat(orderLog.find(1)).hasValueSatisfying(order -> {
+                assertThat(order.getStatus()).isEqualTo(OrderStatus.SHIPPED);
+                assertThat(order.getVersion()).isEqualTo(1);
+            });
+            assertThat(orderLog.find(2)).isEmpty();
+            assertThat(orderLog.findAll()).hasSize(1);
+            // El id borrado no se vuelve a entregar
+            assertThat(orderLog.nextId()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    public void aHalfWrittenRecordAtTheEnd_isWipedOnReopen() throws IOException {
+        try (OrderLog orderLog = new OrderLog(directory, 1 << 20, false)) {
+            orderLog.insert(order(1, "Cliente", "10.00"));
+        }
+        // Simula una caída a mitad de escritura: un registro con largo pero sin el resto
+        Path segment = segments().findFirst().orElseThrow();
+        int end;
+        try (LogSegment log = LogSegment.open(segment)) {
+            end = LogSegment.HEADER_SIZE + log.frameLength(LogSegment.HEADER_SIZE);
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(end);
+            file.writeInt(60);
+            file.writeInt(12345);
+            file.write(new byte[] {OrderRecords.PUT, 9, 9, 9});
+        }
+
+        try (OrderLog orderLog = new OrderLog(directory, 1 << 20, false)) {
+            assertThat(orderLog.findAll()).extracting(Order::getId).containsExactly(1L);
+            orderLog.insert(order(2, "Después", "5.00"));
+        }
+        try (OrderLog orderLog = new OrderLog(directory, 1 << 20, false)) {
+            assertThat(orderLog.findAll()).extracting(Order::getId).containsExactlyInAnyOrder(1L, 2L);
+        }
+    }
+
+    @Test
+    public void compactionDropsGarbageSegments_andKeepsEveryLiveOrder() throws IOException {
+        int segmentSize = 4096;
+        try (OrderLog orderLog = new OrderLog(directory, segmentSize, false)) {
+            for (long id = 1; id <= 20; id++) {
+                orderLog.insert(order(id, "Cliente " + id, "10.00"));
+            }
+            // Muchas versiones de la orden 1 y borrado de las pares: casi todo es basura
+            for (long version = 1; version <= 200; version++) {
+                Order order = order(1, "Cliente 1", "10.00");
+                order.setVersion(version);
+                orderLog.update(order, version - 1);
+            }
+            for (long id = 2; id <= 20; id += 2) {
+                orderLog.delete(id);
+            }
+            long before = segments().count();
+
+            assertThat(orderLog.compact(0.5)).isPositive();
+
+            assertThat(segments().count()).isLessThan(before);
+            assertThat(orderLog.find(1)).hasValueSatisfying(order -> assertThat(order.getVersion()).isEqualTo(200));
+            assertThat(orderLog.findAll()).hasSize(10);
+        }
+
+        try (OrderLog orderLog = new OrderLog(directory, segmentSize, false)) {
+            assertThat(orderLog.findAll()).extracting(Order::getId)
+                    .containsExactlyInAnyOrder(1L, 3L, 5L, 7L, 9L, 11L, 13L, 15L, 17L, 19L);
+            assertThat(orderLog.find(1)).hasValueSatisfying(order -> assertThat(order.getVersion()).isEqualTo(200));
+            assertThat(orderLog.nextId()).isEqualTo(21);
+        }
+    }
+
+    private Stream<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(LogSegment::isSegment).sorted().toList().stream();
+        }
+    }
+
+    private static Order order(long id, String customer, String amount) {
+        Order order = new Order();
+        order.setId(id);
+        order.setCustomerName(customer);
+        order.setTotalAmount(amount == null ? null : new BigDecimal(amount));
+        order.setOrderDate(LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000));
+        order.setStatus(OrderStatus.PENDING);
+        order.setVersion(0L);
+        return order;
+    }
+}